@@ -7,7 +7,7 @@
 package com.netease.arctic.ams.api;
 
 @SuppressWarnings({"cast", "rawtypes", "serial", "unchecked", "unused"})
-@javax.annotation.Generated(value = "Autogenerated by Thrift Compiler (0.13.0)", date = "2023-05-16")
+@javax.annotation.Generated(value = "Autogenerated by Thrift Compiler (0.13.0)", date = "2026-10-17")
 public class OptimizingService {
 
   public interface Iface {
@@ -24,6 +24,12 @@ public class OptimizingService {
 
     public java.lang.String authenticate(OptimizerRegisterInfo registerInfo) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException;
 
+    public java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> pollTasks(java.lang.String authToken, java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException;
+
+    public void ackTasks(java.lang.String authToken, int threadId, java.util.List<OptimizingTaskId> taskIds) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException;
+
+    public void completeTasks(java.lang.String authToken, java.util.List<OptimizingTaskResult> taskResults) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException;
+
   }
 
   public interface AsyncIface {
@@ -40,6 +46,12 @@ public class OptimizingService {
 
     public void authenticate(OptimizerRegisterInfo registerInfo, org.apache.thrift.async.AsyncMethodCallback<java.lang.String> resultHandler) throws org.apache.thrift.TException;
 
+    public void pollTasks(java.lang.String authToken, java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread, org.apache.thrift.async.AsyncMethodCallback<java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>>> resultHandler) throws org.apache.thrift.TException;
+
+    public void ackTasks(java.lang.String authToken, int threadId, java.util.List<OptimizingTaskId> taskIds, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException;
+
+    public void completeTasks(java.lang.String authToken, java.util.List<OptimizingTaskResult> taskResults, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException;
+
   }
 
   public static class Client extends org.apache.thrift.TServiceClient implements Iface {
@@ -206,6 +218,82 @@ public class OptimizingService {
       throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "authenticate failed: unknown result");
     }
 
+    public java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> pollTasks(java.lang.String authToken, java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException
+    {
+      send_pollTasks(authToken, maxTasksByThread);
+      return recv_pollTasks();
+    }
+
+    public void send_pollTasks(java.lang.String authToken, java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread) throws org.apache.thrift.TException
+    {
+      pollTasks_args args = new pollTasks_args();
+      args.setAuthToken(authToken);
+      args.setMaxTasksByThread(maxTasksByThread);
+      sendBase("pollTasks", args);
+    }
+
+    public java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> recv_pollTasks() throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException
+    {
+      pollTasks_result result = new pollTasks_result();
+      receiveBase(result, "pollTasks");
+      if (result.isSetSuccess()) {
+        return result.success;
+      }
+      if (result.e1 != null) {
+        throw result.e1;
+      }
+      throw new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.MISSING_RESULT, "pollTasks failed: unknown result");
+    }
+
+    public void ackTasks(java.lang.String authToken, int threadId, java.util.List<OptimizingTaskId> taskIds) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException
+    {
+      send_ackTasks(authToken, threadId, taskIds);
+      recv_ackTasks();
+    }
+
+    public void send_ackTasks(java.lang.String authToken, int threadId, java.util.List<OptimizingTaskId> taskIds) throws org.apache.thrift.TException
+    {
+      ackTasks_args args = new ackTasks_args();
+      args.setAuthToken(authToken);
+      args.setThreadId(threadId);
+      args.setTaskIds(taskIds);
+      sendBase("ackTasks", args);
+    }
+
+    public void recv_ackTasks() throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException
+    {
+      ackTasks_result result = new ackTasks_result();
+      receiveBase(result, "ackTasks");
+      if (result.e1 != null) {
+        throw result.e1;
+      }
+      return;
+    }
+
+    public void completeTasks(java.lang.String authToken, java.util.List<OptimizingTaskResult> taskResults) throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException
+    {
+      send_completeTasks(authToken, taskResults);
+      recv_completeTasks();
+    }
+
+    public void send_completeTasks(java.lang.String authToken, java.util.List<OptimizingTaskResult> taskResults) throws org.apache.thrift.TException
+    {
+      completeTasks_args args = new completeTasks_args();
+      args.setAuthToken(authToken);
+      args.setTaskResults(taskResults);
+      sendBase("completeTasks", args);
+    }
+
+    public void recv_completeTasks() throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException
+    {
+      completeTasks_result result = new completeTasks_result();
+      receiveBase(result, "completeTasks");
+      if (result.e1 != null) {
+        throw result.e1;
+      }
+      return;
+    }
+
   }
   public static class AsyncClient extends org.apache.thrift.async.TAsyncClient implements AsyncIface {
     public static class Factory implements org.apache.thrift.async.TAsyncClientFactory<AsyncClient> {
@@ -425,6 +513,114 @@ public class OptimizingService {
       }
     }
 
+    public void pollTasks(java.lang.String authToken, java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread, org.apache.thrift.async.AsyncMethodCallback<java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>>> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      pollTasks_call method_call = new pollTasks_call(authToken, maxTasksByThread, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class pollTasks_call extends org.apache.thrift.async.TAsyncMethodCall<java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>>> {
+      private java.lang.String authToken;
+      private java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread;
+      public pollTasks_call(java.lang.String authToken, java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread, org.apache.thrift.async.AsyncMethodCallback<java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>>> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.authToken = authToken;
+        this.maxTasksByThread = maxTasksByThread;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("pollTasks", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        pollTasks_args args = new pollTasks_args();
+        args.setAuthToken(authToken);
+        args.setMaxTasksByThread(maxTasksByThread);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> getResult() throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return (new Client(prot)).recv_pollTasks();
+      }
+    }
+
+    public void ackTasks(java.lang.String authToken, int threadId, java.util.List<OptimizingTaskId> taskIds, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      ackTasks_call method_call = new ackTasks_call(authToken, threadId, taskIds, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class ackTasks_call extends org.apache.thrift.async.TAsyncMethodCall<Void> {
+      private java.lang.String authToken;
+      private int threadId;
+      private java.util.List<OptimizingTaskId> taskIds;
+      public ackTasks_call(java.lang.String authToken, int threadId, java.util.List<OptimizingTaskId> taskIds, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.authToken = authToken;
+        this.threadId = threadId;
+        this.taskIds = taskIds;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("ackTasks", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        ackTasks_args args = new ackTasks_args();
+        args.setAuthToken(authToken);
+        args.setThreadId(threadId);
+        args.setTaskIds(taskIds);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public Void getResult() throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return null;
+      }
+    }
+
+    public void completeTasks(java.lang.String authToken, java.util.List<OptimizingTaskResult> taskResults, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException {
+      checkReady();
+      completeTasks_call method_call = new completeTasks_call(authToken, taskResults, resultHandler, this, ___protocolFactory, ___transport);
+      this.___currentMethod = method_call;
+      ___manager.call(method_call);
+    }
+
+    public static class completeTasks_call extends org.apache.thrift.async.TAsyncMethodCall<Void> {
+      private java.lang.String authToken;
+      private java.util.List<OptimizingTaskResult> taskResults;
+      public completeTasks_call(java.lang.String authToken, java.util.List<OptimizingTaskResult> taskResults, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler, org.apache.thrift.async.TAsyncClient client, org.apache.thrift.protocol.TProtocolFactory protocolFactory, org.apache.thrift.transport.TNonblockingTransport transport) throws org.apache.thrift.TException {
+        super(client, protocolFactory, transport, resultHandler, false);
+        this.authToken = authToken;
+        this.taskResults = taskResults;
+      }
+
+      public void write_args(org.apache.thrift.protocol.TProtocol prot) throws org.apache.thrift.TException {
+        prot.writeMessageBegin(new org.apache.thrift.protocol.TMessage("completeTasks", org.apache.thrift.protocol.TMessageType.CALL, 0));
+        completeTasks_args args = new completeTasks_args();
+        args.setAuthToken(authToken);
+        args.setTaskResults(taskResults);
+        args.write(prot);
+        prot.writeMessageEnd();
+      }
+
+      public Void getResult() throws com.netease.arctic.ams.api.ArcticException, org.apache.thrift.TException {
+        if (getState() != org.apache.thrift.async.TAsyncMethodCall.State.RESPONSE_READ) {
+          throw new java.lang.IllegalStateException("Method call not finished!");
+        }
+        org.apache.thrift.transport.TMemoryInputTransport memoryTransport = new org.apache.thrift.transport.TMemoryInputTransport(getFrameBuffer().array());
+        org.apache.thrift.protocol.TProtocol prot = client.getProtocolFactory().getProtocol(memoryTransport);
+        return null;
+      }
+    }
+
   }
 
   public static class Processor<I extends Iface> extends org.apache.thrift.TBaseProcessor<I> implements org.apache.thrift.TProcessor {
@@ -444,6 +640,9 @@ public class OptimizingService {
       processMap.put("ackTask", new ackTask());
       processMap.put("completeTask", new completeTask());
       processMap.put("authenticate", new authenticate());
+      processMap.put("pollTasks", new pollTasks());
+      processMap.put("ackTasks", new ackTasks());
+      processMap.put("completeTasks", new completeTasks());
       return processMap;
     }
 
@@ -617,6 +816,93 @@ public class OptimizingService {
       }
     }
 
+    public static class pollTasks<I extends Iface> extends org.apache.thrift.ProcessFunction<I, pollTasks_args> {
+      public pollTasks() {
+        super("pollTasks");
+      }
+
+      public pollTasks_args getEmptyArgsInstance() {
+        return new pollTasks_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean rethrowUnhandledExceptions() {
+        return false;
+      }
+
+      public pollTasks_result getResult(I iface, pollTasks_args args) throws org.apache.thrift.TException {
+        pollTasks_result result = new pollTasks_result();
+        try {
+          result.success = iface.pollTasks(args.authToken, args.maxTasksByThread);
+        } catch (com.netease.arctic.ams.api.ArcticException e1) {
+          result.e1 = e1;
+        }
+        return result;
+      }
+    }
+
+    public static class ackTasks<I extends Iface> extends org.apache.thrift.ProcessFunction<I, ackTasks_args> {
+      public ackTasks() {
+        super("ackTasks");
+      }
+
+      public ackTasks_args getEmptyArgsInstance() {
+        return new ackTasks_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean rethrowUnhandledExceptions() {
+        return false;
+      }
+
+      public ackTasks_result getResult(I iface, ackTasks_args args) throws org.apache.thrift.TException {
+        ackTasks_result result = new ackTasks_result();
+        try {
+          iface.ackTasks(args.authToken, args.threadId, args.taskIds);
+        } catch (com.netease.arctic.ams.api.ArcticException e1) {
+          result.e1 = e1;
+        }
+        return result;
+      }
+    }
+
+    public static class completeTasks<I extends Iface> extends org.apache.thrift.ProcessFunction<I, completeTasks_args> {
+      public completeTasks() {
+        super("completeTasks");
+      }
+
+      public completeTasks_args getEmptyArgsInstance() {
+        return new completeTasks_args();
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      @Override
+      protected boolean rethrowUnhandledExceptions() {
+        return false;
+      }
+
+      public completeTasks_result getResult(I iface, completeTasks_args args) throws org.apache.thrift.TException {
+        completeTasks_result result = new completeTasks_result();
+        try {
+          iface.completeTasks(args.authToken, args.taskResults);
+        } catch (com.netease.arctic.ams.api.ArcticException e1) {
+          result.e1 = e1;
+        }
+        return result;
+      }
+    }
+
   }
 
   public static class AsyncProcessor<I extends AsyncIface> extends org.apache.thrift.TBaseAsyncProcessor<I> {
@@ -636,6 +922,9 @@ public class OptimizingService {
       processMap.put("ackTask", new ackTask());
       processMap.put("completeTask", new completeTask());
       processMap.put("authenticate", new authenticate());
+      processMap.put("pollTasks", new pollTasks());
+      processMap.put("ackTasks", new ackTasks());
+      processMap.put("completeTasks", new completeTasks());
       return processMap;
     }
 
@@ -1021,26 +1310,219 @@ public class OptimizingService {
       }
     }
 
-  }
-
-  public static class ping_args implements org.apache.thrift.TBase<ping_args, ping_args._Fields>, java.io.Serializable, Cloneable, Comparable<ping_args>   {
-    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ping_args");
+    public static class pollTasks<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, pollTasks_args, java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>>> {
+      public pollTasks() {
+        super("pollTasks");
+      }
 
+      public pollTasks_args getEmptyArgsInstance() {
+        return new pollTasks_args();
+      }
 
-    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new ping_argsStandardSchemeFactory();
-    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new ping_argsTupleSchemeFactory();
+      public org.apache.thrift.async.AsyncMethodCallback<java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>>> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>>>() { 
+          public void onComplete(java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> o) {
+            pollTasks_result result = new pollTasks_result();
+            result.success = o;
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            pollTasks_result result = new pollTasks_result();
+            if (e instanceof com.netease.arctic.ams.api.ArcticException) {
+              result.e1 = (com.netease.arctic.ams.api.ArcticException) e;
+              result.setE1IsSet(true);
+              msg = result;
+            } else if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
 
+      protected boolean isOneway() {
+        return false;
+      }
 
-    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
-    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
-;
+      public void start(I iface, pollTasks_args args, org.apache.thrift.async.AsyncMethodCallback<java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>>> resultHandler) throws org.apache.thrift.TException {
+        iface.pollTasks(args.authToken, args.maxTasksByThread,resultHandler);
+      }
+    }
 
-      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+    public static class ackTasks<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, ackTasks_args, Void> {
+      public ackTasks() {
+        super("ackTasks");
+      }
 
-      static {
-        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
-          byName.put(field.getFieldName(), field);
-        }
+      public ackTasks_args getEmptyArgsInstance() {
+        return new ackTasks_args();
+      }
+
+      public org.apache.thrift.async.AsyncMethodCallback<Void> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<Void>() { 
+          public void onComplete(Void o) {
+            ackTasks_result result = new ackTasks_result();
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            ackTasks_result result = new ackTasks_result();
+            if (e instanceof com.netease.arctic.ams.api.ArcticException) {
+              result.e1 = (com.netease.arctic.ams.api.ArcticException) e;
+              result.setE1IsSet(true);
+              msg = result;
+            } else if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, ackTasks_args args, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException {
+        iface.ackTasks(args.authToken, args.threadId, args.taskIds,resultHandler);
+      }
+    }
+
+    public static class completeTasks<I extends AsyncIface> extends org.apache.thrift.AsyncProcessFunction<I, completeTasks_args, Void> {
+      public completeTasks() {
+        super("completeTasks");
+      }
+
+      public completeTasks_args getEmptyArgsInstance() {
+        return new completeTasks_args();
+      }
+
+      public org.apache.thrift.async.AsyncMethodCallback<Void> getResultHandler(final org.apache.thrift.server.AbstractNonblockingServer.AsyncFrameBuffer fb, final int seqid) {
+        final org.apache.thrift.AsyncProcessFunction fcall = this;
+        return new org.apache.thrift.async.AsyncMethodCallback<Void>() { 
+          public void onComplete(Void o) {
+            completeTasks_result result = new completeTasks_result();
+            try {
+              fcall.sendResponse(fb, result, org.apache.thrift.protocol.TMessageType.REPLY,seqid);
+            } catch (org.apache.thrift.transport.TTransportException e) {
+              _LOGGER.error("TTransportException writing to internal frame buffer", e);
+              fb.close();
+            } catch (java.lang.Exception e) {
+              _LOGGER.error("Exception writing to internal frame buffer", e);
+              onError(e);
+            }
+          }
+          public void onError(java.lang.Exception e) {
+            byte msgType = org.apache.thrift.protocol.TMessageType.REPLY;
+            org.apache.thrift.TSerializable msg;
+            completeTasks_result result = new completeTasks_result();
+            if (e instanceof com.netease.arctic.ams.api.ArcticException) {
+              result.e1 = (com.netease.arctic.ams.api.ArcticException) e;
+              result.setE1IsSet(true);
+              msg = result;
+            } else if (e instanceof org.apache.thrift.transport.TTransportException) {
+              _LOGGER.error("TTransportException inside handler", e);
+              fb.close();
+              return;
+            } else if (e instanceof org.apache.thrift.TApplicationException) {
+              _LOGGER.error("TApplicationException inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = (org.apache.thrift.TApplicationException)e;
+            } else {
+              _LOGGER.error("Exception inside handler", e);
+              msgType = org.apache.thrift.protocol.TMessageType.EXCEPTION;
+              msg = new org.apache.thrift.TApplicationException(org.apache.thrift.TApplicationException.INTERNAL_ERROR, e.getMessage());
+            }
+            try {
+              fcall.sendResponse(fb,msg,msgType,seqid);
+            } catch (java.lang.Exception ex) {
+              _LOGGER.error("Exception writing to internal frame buffer", ex);
+              fb.close();
+            }
+          }
+        };
+      }
+
+      protected boolean isOneway() {
+        return false;
+      }
+
+      public void start(I iface, completeTasks_args args, org.apache.thrift.async.AsyncMethodCallback<Void> resultHandler) throws org.apache.thrift.TException {
+        iface.completeTasks(args.authToken, args.taskResults,resultHandler);
+      }
+    }
+
+  }
+
+  public static class ping_args implements org.apache.thrift.TBase<ping_args, ping_args._Fields>, java.io.Serializable, Cloneable, Comparable<ping_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ping_args");
+
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new ping_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new ping_argsTupleSchemeFactory();
+
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+;
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
       }
 
       /**
@@ -5851,4 +6333,2995 @@ public class OptimizingService {
     }
   }
 
+  public static class pollTasks_args implements org.apache.thrift.TBase<pollTasks_args, pollTasks_args._Fields>, java.io.Serializable, Cloneable, Comparable<pollTasks_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pollTasks_args");
+
+    private static final org.apache.thrift.protocol.TField AUTH_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("authToken", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField MAX_TASKS_BY_THREAD_FIELD_DESC = new org.apache.thrift.protocol.TField("maxTasksByThread", org.apache.thrift.protocol.TType.MAP, (short)2);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pollTasks_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pollTasks_argsTupleSchemeFactory();
+
+    public @org.apache.thrift.annotation.Nullable java.lang.String authToken; // required
+    public @org.apache.thrift.annotation.Nullable java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      AUTH_TOKEN((short)1, "authToken"),
+      MAX_TASKS_BY_THREAD((short)2, "maxTasksByThread");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // AUTH_TOKEN
+            return AUTH_TOKEN;
+          case 2: // MAX_TASKS_BY_THREAD
+            return MAX_TASKS_BY_THREAD;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.AUTH_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("authToken", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.MAX_TASKS_BY_THREAD, new org.apache.thrift.meta_data.FieldMetaData("maxTasksByThread", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32), 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32))));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pollTasks_args.class, metaDataMap);
+    }
+
+    public pollTasks_args() {
+    }
+
+    public pollTasks_args(
+      java.lang.String authToken,
+      java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread)
+    {
+      this();
+      this.authToken = authToken;
+      this.maxTasksByThread = maxTasksByThread;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public pollTasks_args(pollTasks_args other) {
+      if (other.isSetAuthToken()) {
+        this.authToken = other.authToken;
+      }
+      if (other.isSetMaxTasksByThread()) {
+        java.util.Map<java.lang.Integer,java.lang.Integer> __this__maxTasksByThread = new java.util.HashMap<java.lang.Integer,java.lang.Integer>(other.maxTasksByThread);
+        this.maxTasksByThread = __this__maxTasksByThread;
+      }
+    }
+
+    public pollTasks_args deepCopy() {
+      return new pollTasks_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.authToken = null;
+      this.maxTasksByThread = null;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.String getAuthToken() {
+      return this.authToken;
+    }
+
+    public pollTasks_args setAuthToken(@org.apache.thrift.annotation.Nullable java.lang.String authToken) {
+      this.authToken = authToken;
+      return this;
+    }
+
+    public void unsetAuthToken() {
+      this.authToken = null;
+    }
+
+    /** Returns true if field authToken is set (has been assigned a value) and false otherwise */
+    public boolean isSetAuthToken() {
+      return this.authToken != null;
+    }
+
+    public void setAuthTokenIsSet(boolean value) {
+      if (!value) {
+        this.authToken = null;
+      }
+    }
+
+    public int getMaxTasksByThreadSize() {
+      return (this.maxTasksByThread == null) ? 0 : this.maxTasksByThread.size();
+    }
+
+    public void putToMaxTasksByThread(int key, int val) {
+      if (this.maxTasksByThread == null) {
+        this.maxTasksByThread = new java.util.HashMap<java.lang.Integer,java.lang.Integer>();
+      }
+      this.maxTasksByThread.put(key, val);
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.Map<java.lang.Integer,java.lang.Integer> getMaxTasksByThread() {
+      return this.maxTasksByThread;
+    }
+
+    public pollTasks_args setMaxTasksByThread(@org.apache.thrift.annotation.Nullable java.util.Map<java.lang.Integer,java.lang.Integer> maxTasksByThread) {
+      this.maxTasksByThread = maxTasksByThread;
+      return this;
+    }
+
+    public void unsetMaxTasksByThread() {
+      this.maxTasksByThread = null;
+    }
+
+    /** Returns true if field maxTasksByThread is set (has been assigned a value) and false otherwise */
+    public boolean isSetMaxTasksByThread() {
+      return this.maxTasksByThread != null;
+    }
+
+    public void setMaxTasksByThreadIsSet(boolean value) {
+      if (!value) {
+        this.maxTasksByThread = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case AUTH_TOKEN:
+        if (value == null) {
+          unsetAuthToken();
+        } else {
+          setAuthToken((java.lang.String)value);
+        }
+        break;
+
+      case MAX_TASKS_BY_THREAD:
+        if (value == null) {
+          unsetMaxTasksByThread();
+        } else {
+          setMaxTasksByThread((java.util.Map<java.lang.Integer,java.lang.Integer>)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case AUTH_TOKEN:
+        return getAuthToken();
+
+      case MAX_TASKS_BY_THREAD:
+        return getMaxTasksByThread();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case AUTH_TOKEN:
+        return isSetAuthToken();
+      case MAX_TASKS_BY_THREAD:
+        return isSetMaxTasksByThread();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof pollTasks_args)
+        return this.equals((pollTasks_args)that);
+      return false;
+    }
+
+    public boolean equals(pollTasks_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_authToken = true && this.isSetAuthToken();
+      boolean that_present_authToken = true && that.isSetAuthToken();
+      if (this_present_authToken || that_present_authToken) {
+        if (!(this_present_authToken && that_present_authToken))
+          return false;
+        if (!this.authToken.equals(that.authToken))
+          return false;
+      }
+
+      boolean this_present_maxTasksByThread = true && this.isSetMaxTasksByThread();
+      boolean that_present_maxTasksByThread = true && that.isSetMaxTasksByThread();
+      if (this_present_maxTasksByThread || that_present_maxTasksByThread) {
+        if (!(this_present_maxTasksByThread && that_present_maxTasksByThread))
+          return false;
+        if (!this.maxTasksByThread.equals(that.maxTasksByThread))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetAuthToken()) ? 131071 : 524287);
+      if (isSetAuthToken())
+        hashCode = hashCode * 8191 + authToken.hashCode();
+
+      hashCode = hashCode * 8191 + ((isSetMaxTasksByThread()) ? 131071 : 524287);
+      if (isSetMaxTasksByThread())
+        hashCode = hashCode * 8191 + maxTasksByThread.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(pollTasks_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetAuthToken()).compareTo(other.isSetAuthToken());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetAuthToken()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.authToken, other.authToken);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetMaxTasksByThread()).compareTo(other.isSetMaxTasksByThread());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetMaxTasksByThread()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.maxTasksByThread, other.maxTasksByThread);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("pollTasks_args(");
+      boolean first = true;
+
+      sb.append("authToken:");
+      if (this.authToken == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.authToken);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("maxTasksByThread:");
+      if (this.maxTasksByThread == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.maxTasksByThread);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class pollTasks_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_argsStandardScheme getScheme() {
+        return new pollTasks_argsStandardScheme();
+      }
+    }
+
+    private static class pollTasks_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<pollTasks_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, pollTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // AUTH_TOKEN
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.authToken = iprot.readString();
+                struct.setAuthTokenIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // MAX_TASKS_BY_THREAD
+              if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
+                {
+                  org.apache.thrift.protocol.TMap _map30 = iprot.readMapBegin();
+                  struct.maxTasksByThread = new java.util.HashMap<java.lang.Integer,java.lang.Integer>(2*_map30.size);
+                  int _key31;
+                  int _val32;
+                  for (int _i33 = 0; _i33 < _map30.size; ++_i33)
+                  {
+                    _key31 = iprot.readI32();
+                    _val32 = iprot.readI32();
+                    struct.maxTasksByThread.put(_key31, _val32);
+                  }
+                  iprot.readMapEnd();
+                }
+                struct.setMaxTasksByThreadIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, pollTasks_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.authToken != null) {
+          oprot.writeFieldBegin(AUTH_TOKEN_FIELD_DESC);
+          oprot.writeString(struct.authToken);
+          oprot.writeFieldEnd();
+        }
+        if (struct.maxTasksByThread != null) {
+          oprot.writeFieldBegin(MAX_TASKS_BY_THREAD_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I32, org.apache.thrift.protocol.TType.I32, struct.maxTasksByThread.size()));
+            for (java.util.Map.Entry<java.lang.Integer, java.lang.Integer> _iter34 : struct.maxTasksByThread.entrySet())
+            {
+              oprot.writeI32(_iter34.getKey());
+              oprot.writeI32(_iter34.getValue());
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class pollTasks_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_argsTupleScheme getScheme() {
+        return new pollTasks_argsTupleScheme();
+      }
+    }
+
+    private static class pollTasks_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<pollTasks_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, pollTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetAuthToken()) {
+          optionals.set(0);
+        }
+        if (struct.isSetMaxTasksByThread()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetAuthToken()) {
+          oprot.writeString(struct.authToken);
+        }
+        if (struct.isSetMaxTasksByThread()) {
+          {
+            oprot.writeI32(struct.maxTasksByThread.size());
+            for (java.util.Map.Entry<java.lang.Integer, java.lang.Integer> _iter35 : struct.maxTasksByThread.entrySet())
+            {
+              oprot.writeI32(_iter35.getKey());
+              oprot.writeI32(_iter35.getValue());
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, pollTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.authToken = iprot.readString();
+          struct.setAuthTokenIsSet(true);
+        }
+        if (incoming.get(1)) {
+          {
+            org.apache.thrift.protocol.TMap _map36 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I32, org.apache.thrift.protocol.TType.I32, iprot.readI32());
+            struct.maxTasksByThread = new java.util.HashMap<java.lang.Integer,java.lang.Integer>(2*_map36.size);
+            int _key37;
+            int _val38;
+            for (int _i39 = 0; _i39 < _map36.size; ++_i39)
+            {
+              _key37 = iprot.readI32();
+              _val38 = iprot.readI32();
+              struct.maxTasksByThread.put(_key37, _val38);
+            }
+          }
+          struct.setMaxTasksByThreadIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class pollTasks_result implements org.apache.thrift.TBase<pollTasks_result, pollTasks_result._Fields>, java.io.Serializable, Cloneable, Comparable<pollTasks_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("pollTasks_result");
+
+    private static final org.apache.thrift.protocol.TField SUCCESS_FIELD_DESC = new org.apache.thrift.protocol.TField("success", org.apache.thrift.protocol.TType.MAP, (short)0);
+    private static final org.apache.thrift.protocol.TField E1_FIELD_DESC = new org.apache.thrift.protocol.TField("e1", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new pollTasks_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new pollTasks_resultTupleSchemeFactory();
+
+    public @org.apache.thrift.annotation.Nullable java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> success; // required
+    public @org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.ArcticException e1; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      SUCCESS((short)0, "success"),
+      E1((short)1, "e1");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 0: // SUCCESS
+            return SUCCESS;
+          case 1: // E1
+            return E1;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.SUCCESS, new org.apache.thrift.meta_data.FieldMetaData("success", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.MapMetaData(org.apache.thrift.protocol.TType.MAP, 
+              new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32), 
+              new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+                  new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, OptimizingTask.class)))));
+      tmpMap.put(_Fields.E1, new org.apache.thrift.meta_data.FieldMetaData("e1", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, com.netease.arctic.ams.api.ArcticException.class)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(pollTasks_result.class, metaDataMap);
+    }
+
+    public pollTasks_result() {
+    }
+
+    public pollTasks_result(
+      java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> success,
+      com.netease.arctic.ams.api.ArcticException e1)
+    {
+      this();
+      this.success = success;
+      this.e1 = e1;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public pollTasks_result(pollTasks_result other) {
+      if (other.isSetSuccess()) {
+        java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> __this__success = new java.util.HashMap<java.lang.Integer,java.util.List<OptimizingTask>>(other.success.size());
+        for (java.util.Map.Entry<java.lang.Integer, java.util.List<OptimizingTask>> other_element : other.success.entrySet()) {
+
+          java.lang.Integer other_element_key = other_element.getKey();
+          java.util.List<OptimizingTask> other_element_value = other_element.getValue();
+
+          java.lang.Integer __this__success_copy_key = other_element_key;
+
+          java.util.List<OptimizingTask> __this__success_copy_value = new java.util.ArrayList<OptimizingTask>(other_element_value.size());
+          for (OptimizingTask other_element_value_element : other_element_value) {
+            __this__success_copy_value.add(new OptimizingTask(other_element_value_element));
+          }
+
+          __this__success.put(__this__success_copy_key, __this__success_copy_value);
+        }
+        this.success = __this__success;
+      }
+      if (other.isSetE1()) {
+        this.e1 = new com.netease.arctic.ams.api.ArcticException(other.e1);
+      }
+    }
+
+    public pollTasks_result deepCopy() {
+      return new pollTasks_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.success = null;
+      this.e1 = null;
+    }
+
+    public int getSuccessSize() {
+      return (this.success == null) ? 0 : this.success.size();
+    }
+
+    public void putToSuccess(int key, java.util.List<OptimizingTask> val) {
+      if (this.success == null) {
+        this.success = new java.util.HashMap<java.lang.Integer,java.util.List<OptimizingTask>>();
+      }
+      this.success.put(key, val);
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> getSuccess() {
+      return this.success;
+    }
+
+    public pollTasks_result setSuccess(@org.apache.thrift.annotation.Nullable java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>> success) {
+      this.success = success;
+      return this;
+    }
+
+    public void unsetSuccess() {
+      this.success = null;
+    }
+
+    /** Returns true if field success is set (has been assigned a value) and false otherwise */
+    public boolean isSetSuccess() {
+      return this.success != null;
+    }
+
+    public void setSuccessIsSet(boolean value) {
+      if (!value) {
+        this.success = null;
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public com.netease.arctic.ams.api.ArcticException getE1() {
+      return this.e1;
+    }
+
+    public pollTasks_result setE1(@org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.ArcticException e1) {
+      this.e1 = e1;
+      return this;
+    }
+
+    public void unsetE1() {
+      this.e1 = null;
+    }
+
+    /** Returns true if field e1 is set (has been assigned a value) and false otherwise */
+    public boolean isSetE1() {
+      return this.e1 != null;
+    }
+
+    public void setE1IsSet(boolean value) {
+      if (!value) {
+        this.e1 = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case SUCCESS:
+        if (value == null) {
+          unsetSuccess();
+        } else {
+          setSuccess((java.util.Map<java.lang.Integer,java.util.List<OptimizingTask>>)value);
+        }
+        break;
+
+      case E1:
+        if (value == null) {
+          unsetE1();
+        } else {
+          setE1((com.netease.arctic.ams.api.ArcticException)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case SUCCESS:
+        return getSuccess();
+
+      case E1:
+        return getE1();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case SUCCESS:
+        return isSetSuccess();
+      case E1:
+        return isSetE1();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof pollTasks_result)
+        return this.equals((pollTasks_result)that);
+      return false;
+    }
+
+    public boolean equals(pollTasks_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_success = true && this.isSetSuccess();
+      boolean that_present_success = true && that.isSetSuccess();
+      if (this_present_success || that_present_success) {
+        if (!(this_present_success && that_present_success))
+          return false;
+        if (!this.success.equals(that.success))
+          return false;
+      }
+
+      boolean this_present_e1 = true && this.isSetE1();
+      boolean that_present_e1 = true && that.isSetE1();
+      if (this_present_e1 || that_present_e1) {
+        if (!(this_present_e1 && that_present_e1))
+          return false;
+        if (!this.e1.equals(that.e1))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetSuccess()) ? 131071 : 524287);
+      if (isSetSuccess())
+        hashCode = hashCode * 8191 + success.hashCode();
+
+      hashCode = hashCode * 8191 + ((isSetE1()) ? 131071 : 524287);
+      if (isSetE1())
+        hashCode = hashCode * 8191 + e1.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(pollTasks_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetSuccess()).compareTo(other.isSetSuccess());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetSuccess()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.success, other.success);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetE1()).compareTo(other.isSetE1());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE1()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e1, other.e1);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("pollTasks_result(");
+      boolean first = true;
+
+      sb.append("success:");
+      if (this.success == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.success);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("e1:");
+      if (this.e1 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e1);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class pollTasks_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_resultStandardScheme getScheme() {
+        return new pollTasks_resultStandardScheme();
+      }
+    }
+
+    private static class pollTasks_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<pollTasks_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, pollTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 0: // SUCCESS
+              if (schemeField.type == org.apache.thrift.protocol.TType.MAP) {
+                {
+                  org.apache.thrift.protocol.TMap _map40 = iprot.readMapBegin();
+                  struct.success = new java.util.HashMap<java.lang.Integer,java.util.List<OptimizingTask>>(2*_map40.size);
+                  int _key41;
+                  @org.apache.thrift.annotation.Nullable java.util.List<OptimizingTask> _val42;
+                  for (int _i43 = 0; _i43 < _map40.size; ++_i43)
+                  {
+                    _key41 = iprot.readI32();
+                    {
+                      org.apache.thrift.protocol.TList _list44 = iprot.readListBegin();
+                      _val42 = new java.util.ArrayList<OptimizingTask>(_list44.size);
+                      @org.apache.thrift.annotation.Nullable OptimizingTask _elem45;
+                      for (int _i46 = 0; _i46 < _list44.size; ++_i46)
+                      {
+                        _elem45 = new OptimizingTask();
+                        _elem45.read(iprot);
+                        _val42.add(_elem45);
+                      }
+                      iprot.readListEnd();
+                    }
+                    struct.success.put(_key41, _val42);
+                  }
+                  iprot.readMapEnd();
+                }
+                struct.setSuccessIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 1: // E1
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e1 = new com.netease.arctic.ams.api.ArcticException();
+                struct.e1.read(iprot);
+                struct.setE1IsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, pollTasks_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.success != null) {
+          oprot.writeFieldBegin(SUCCESS_FIELD_DESC);
+          {
+            oprot.writeMapBegin(new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I32, org.apache.thrift.protocol.TType.LIST, struct.success.size()));
+            for (java.util.Map.Entry<java.lang.Integer, java.util.List<OptimizingTask>> _iter47 : struct.success.entrySet())
+            {
+              oprot.writeI32(_iter47.getKey());
+              {
+                oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, _iter47.getValue().size()));
+                for (OptimizingTask _iter48 : _iter47.getValue())
+                {
+                  _iter48.write(oprot);
+                }
+                oprot.writeListEnd();
+              }
+            }
+            oprot.writeMapEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        if (struct.e1 != null) {
+          oprot.writeFieldBegin(E1_FIELD_DESC);
+          struct.e1.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class pollTasks_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public pollTasks_resultTupleScheme getScheme() {
+        return new pollTasks_resultTupleScheme();
+      }
+    }
+
+    private static class pollTasks_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<pollTasks_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, pollTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetSuccess()) {
+          optionals.set(0);
+        }
+        if (struct.isSetE1()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetSuccess()) {
+          {
+            oprot.writeI32(struct.success.size());
+            for (java.util.Map.Entry<java.lang.Integer, java.util.List<OptimizingTask>> _iter49 : struct.success.entrySet())
+            {
+              oprot.writeI32(_iter49.getKey());
+              {
+                oprot.writeI32(_iter49.getValue().size());
+                for (OptimizingTask _iter50 : _iter49.getValue())
+                {
+                  _iter50.write(oprot);
+                }
+              }
+            }
+          }
+        }
+        if (struct.isSetE1()) {
+          struct.e1.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, pollTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          {
+            org.apache.thrift.protocol.TMap _map51 = new org.apache.thrift.protocol.TMap(org.apache.thrift.protocol.TType.I32, org.apache.thrift.protocol.TType.LIST, iprot.readI32());
+            struct.success = new java.util.HashMap<java.lang.Integer,java.util.List<OptimizingTask>>(2*_map51.size);
+            int _key52;
+            @org.apache.thrift.annotation.Nullable java.util.List<OptimizingTask> _val53;
+            for (int _i54 = 0; _i54 < _map51.size; ++_i54)
+            {
+              _key52 = iprot.readI32();
+              {
+                org.apache.thrift.protocol.TList _list55 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+                _val53 = new java.util.ArrayList<OptimizingTask>(_list55.size);
+                @org.apache.thrift.annotation.Nullable OptimizingTask _elem56;
+                for (int _i57 = 0; _i57 < _list55.size; ++_i57)
+                {
+                  _elem56 = new OptimizingTask();
+                  _elem56.read(iprot);
+                  _val53.add(_elem56);
+                }
+              }
+              struct.success.put(_key52, _val53);
+            }
+          }
+          struct.setSuccessIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.e1 = new com.netease.arctic.ams.api.ArcticException();
+          struct.e1.read(iprot);
+          struct.setE1IsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class ackTasks_args implements org.apache.thrift.TBase<ackTasks_args, ackTasks_args._Fields>, java.io.Serializable, Cloneable, Comparable<ackTasks_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ackTasks_args");
+
+    private static final org.apache.thrift.protocol.TField AUTH_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("authToken", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField THREAD_ID_FIELD_DESC = new org.apache.thrift.protocol.TField("threadId", org.apache.thrift.protocol.TType.I32, (short)2);
+    private static final org.apache.thrift.protocol.TField TASK_IDS_FIELD_DESC = new org.apache.thrift.protocol.TField("taskIds", org.apache.thrift.protocol.TType.LIST, (short)3);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new ackTasks_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new ackTasks_argsTupleSchemeFactory();
+
+    public @org.apache.thrift.annotation.Nullable java.lang.String authToken; // required
+    public int threadId; // required
+    public @org.apache.thrift.annotation.Nullable java.util.List<OptimizingTaskId> taskIds; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      AUTH_TOKEN((short)1, "authToken"),
+      THREAD_ID((short)2, "threadId"),
+      TASK_IDS((short)3, "taskIds");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // AUTH_TOKEN
+            return AUTH_TOKEN;
+          case 2: // THREAD_ID
+            return THREAD_ID;
+          case 3: // TASK_IDS
+            return TASK_IDS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    private static final int __THREADID_ISSET_ID = 0;
+    private byte __isset_bitfield = 0;
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.AUTH_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("authToken", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.THREAD_ID, new org.apache.thrift.meta_data.FieldMetaData("threadId", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.I32)));
+      tmpMap.put(_Fields.TASK_IDS, new org.apache.thrift.meta_data.FieldMetaData("taskIds", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, OptimizingTaskId.class))));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ackTasks_args.class, metaDataMap);
+    }
+
+    public ackTasks_args() {
+    }
+
+    public ackTasks_args(
+      java.lang.String authToken,
+      int threadId,
+      java.util.List<OptimizingTaskId> taskIds)
+    {
+      this();
+      this.authToken = authToken;
+      this.threadId = threadId;
+      setThreadIdIsSet(true);
+      this.taskIds = taskIds;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public ackTasks_args(ackTasks_args other) {
+      __isset_bitfield = other.__isset_bitfield;
+      if (other.isSetAuthToken()) {
+        this.authToken = other.authToken;
+      }
+      this.threadId = other.threadId;
+      if (other.isSetTaskIds()) {
+        java.util.List<OptimizingTaskId> __this__taskIds = new java.util.ArrayList<OptimizingTaskId>(other.taskIds.size());
+        for (OptimizingTaskId other_element : other.taskIds) {
+          __this__taskIds.add(new OptimizingTaskId(other_element));
+        }
+        this.taskIds = __this__taskIds;
+      }
+    }
+
+    public ackTasks_args deepCopy() {
+      return new ackTasks_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.authToken = null;
+      setThreadIdIsSet(false);
+      this.threadId = 0;
+      this.taskIds = null;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.String getAuthToken() {
+      return this.authToken;
+    }
+
+    public ackTasks_args setAuthToken(@org.apache.thrift.annotation.Nullable java.lang.String authToken) {
+      this.authToken = authToken;
+      return this;
+    }
+
+    public void unsetAuthToken() {
+      this.authToken = null;
+    }
+
+    /** Returns true if field authToken is set (has been assigned a value) and false otherwise */
+    public boolean isSetAuthToken() {
+      return this.authToken != null;
+    }
+
+    public void setAuthTokenIsSet(boolean value) {
+      if (!value) {
+        this.authToken = null;
+      }
+    }
+
+    public int getThreadId() {
+      return this.threadId;
+    }
+
+    public ackTasks_args setThreadId(int threadId) {
+      this.threadId = threadId;
+      setThreadIdIsSet(true);
+      return this;
+    }
+
+    public void unsetThreadId() {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.clearBit(__isset_bitfield, __THREADID_ISSET_ID);
+    }
+
+    /** Returns true if field threadId is set (has been assigned a value) and false otherwise */
+    public boolean isSetThreadId() {
+      return org.apache.thrift.EncodingUtils.testBit(__isset_bitfield, __THREADID_ISSET_ID);
+    }
+
+    public void setThreadIdIsSet(boolean value) {
+      __isset_bitfield = org.apache.thrift.EncodingUtils.setBit(__isset_bitfield, __THREADID_ISSET_ID, value);
+    }
+
+    public int getTaskIdsSize() {
+      return (this.taskIds == null) ? 0 : this.taskIds.size();
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.Iterator<OptimizingTaskId> getTaskIdsIterator() {
+      return (this.taskIds == null) ? null : this.taskIds.iterator();
+    }
+
+    public void addToTaskIds(OptimizingTaskId elem) {
+      if (this.taskIds == null) {
+        this.taskIds = new java.util.ArrayList<OptimizingTaskId>();
+      }
+      this.taskIds.add(elem);
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.List<OptimizingTaskId> getTaskIds() {
+      return this.taskIds;
+    }
+
+    public ackTasks_args setTaskIds(@org.apache.thrift.annotation.Nullable java.util.List<OptimizingTaskId> taskIds) {
+      this.taskIds = taskIds;
+      return this;
+    }
+
+    public void unsetTaskIds() {
+      this.taskIds = null;
+    }
+
+    /** Returns true if field taskIds is set (has been assigned a value) and false otherwise */
+    public boolean isSetTaskIds() {
+      return this.taskIds != null;
+    }
+
+    public void setTaskIdsIsSet(boolean value) {
+      if (!value) {
+        this.taskIds = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case AUTH_TOKEN:
+        if (value == null) {
+          unsetAuthToken();
+        } else {
+          setAuthToken((java.lang.String)value);
+        }
+        break;
+
+      case THREAD_ID:
+        if (value == null) {
+          unsetThreadId();
+        } else {
+          setThreadId((java.lang.Integer)value);
+        }
+        break;
+
+      case TASK_IDS:
+        if (value == null) {
+          unsetTaskIds();
+        } else {
+          setTaskIds((java.util.List<OptimizingTaskId>)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case AUTH_TOKEN:
+        return getAuthToken();
+
+      case THREAD_ID:
+        return getThreadId();
+
+      case TASK_IDS:
+        return getTaskIds();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case AUTH_TOKEN:
+        return isSetAuthToken();
+      case THREAD_ID:
+        return isSetThreadId();
+      case TASK_IDS:
+        return isSetTaskIds();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof ackTasks_args)
+        return this.equals((ackTasks_args)that);
+      return false;
+    }
+
+    public boolean equals(ackTasks_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_authToken = true && this.isSetAuthToken();
+      boolean that_present_authToken = true && that.isSetAuthToken();
+      if (this_present_authToken || that_present_authToken) {
+        if (!(this_present_authToken && that_present_authToken))
+          return false;
+        if (!this.authToken.equals(that.authToken))
+          return false;
+      }
+
+      boolean this_present_threadId = true;
+      boolean that_present_threadId = true;
+      if (this_present_threadId || that_present_threadId) {
+        if (!(this_present_threadId && that_present_threadId))
+          return false;
+        if (this.threadId != that.threadId)
+          return false;
+      }
+
+      boolean this_present_taskIds = true && this.isSetTaskIds();
+      boolean that_present_taskIds = true && that.isSetTaskIds();
+      if (this_present_taskIds || that_present_taskIds) {
+        if (!(this_present_taskIds && that_present_taskIds))
+          return false;
+        if (!this.taskIds.equals(that.taskIds))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetAuthToken()) ? 131071 : 524287);
+      if (isSetAuthToken())
+        hashCode = hashCode * 8191 + authToken.hashCode();
+
+      hashCode = hashCode * 8191 + threadId;
+
+      hashCode = hashCode * 8191 + ((isSetTaskIds()) ? 131071 : 524287);
+      if (isSetTaskIds())
+        hashCode = hashCode * 8191 + taskIds.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(ackTasks_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetAuthToken()).compareTo(other.isSetAuthToken());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetAuthToken()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.authToken, other.authToken);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetThreadId()).compareTo(other.isSetThreadId());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetThreadId()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.threadId, other.threadId);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetTaskIds()).compareTo(other.isSetTaskIds());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTaskIds()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.taskIds, other.taskIds);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("ackTasks_args(");
+      boolean first = true;
+
+      sb.append("authToken:");
+      if (this.authToken == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.authToken);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("threadId:");
+      sb.append(this.threadId);
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("taskIds:");
+      if (this.taskIds == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.taskIds);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        // it doesn't seem like you should have to do this, but java serialization is wacky, and doesn't call the default constructor.
+        __isset_bitfield = 0;
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class ackTasks_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public ackTasks_argsStandardScheme getScheme() {
+        return new ackTasks_argsStandardScheme();
+      }
+    }
+
+    private static class ackTasks_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<ackTasks_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, ackTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // AUTH_TOKEN
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.authToken = iprot.readString();
+                struct.setAuthTokenIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // THREAD_ID
+              if (schemeField.type == org.apache.thrift.protocol.TType.I32) {
+                struct.threadId = iprot.readI32();
+                struct.setThreadIdIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 3: // TASK_IDS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list58 = iprot.readListBegin();
+                  struct.taskIds = new java.util.ArrayList<OptimizingTaskId>(_list58.size);
+                  @org.apache.thrift.annotation.Nullable OptimizingTaskId _elem59;
+                  for (int _i60 = 0; _i60 < _list58.size; ++_i60)
+                  {
+                    _elem59 = new OptimizingTaskId();
+                    _elem59.read(iprot);
+                    struct.taskIds.add(_elem59);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setTaskIdsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, ackTasks_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.authToken != null) {
+          oprot.writeFieldBegin(AUTH_TOKEN_FIELD_DESC);
+          oprot.writeString(struct.authToken);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldBegin(THREAD_ID_FIELD_DESC);
+        oprot.writeI32(struct.threadId);
+        oprot.writeFieldEnd();
+        if (struct.taskIds != null) {
+          oprot.writeFieldBegin(TASK_IDS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.taskIds.size()));
+            for (OptimizingTaskId _iter61 : struct.taskIds)
+            {
+              _iter61.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class ackTasks_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public ackTasks_argsTupleScheme getScheme() {
+        return new ackTasks_argsTupleScheme();
+      }
+    }
+
+    private static class ackTasks_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<ackTasks_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, ackTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetAuthToken()) {
+          optionals.set(0);
+        }
+        if (struct.isSetThreadId()) {
+          optionals.set(1);
+        }
+        if (struct.isSetTaskIds()) {
+          optionals.set(2);
+        }
+        oprot.writeBitSet(optionals, 3);
+        if (struct.isSetAuthToken()) {
+          oprot.writeString(struct.authToken);
+        }
+        if (struct.isSetThreadId()) {
+          oprot.writeI32(struct.threadId);
+        }
+        if (struct.isSetTaskIds()) {
+          {
+            oprot.writeI32(struct.taskIds.size());
+            for (OptimizingTaskId _iter62 : struct.taskIds)
+            {
+              _iter62.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, ackTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(3);
+        if (incoming.get(0)) {
+          struct.authToken = iprot.readString();
+          struct.setAuthTokenIsSet(true);
+        }
+        if (incoming.get(1)) {
+          struct.threadId = iprot.readI32();
+          struct.setThreadIdIsSet(true);
+        }
+        if (incoming.get(2)) {
+          {
+            org.apache.thrift.protocol.TList _list63 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.taskIds = new java.util.ArrayList<OptimizingTaskId>(_list63.size);
+            @org.apache.thrift.annotation.Nullable OptimizingTaskId _elem64;
+            for (int _i65 = 0; _i65 < _list63.size; ++_i65)
+            {
+              _elem64 = new OptimizingTaskId();
+              _elem64.read(iprot);
+              struct.taskIds.add(_elem64);
+            }
+          }
+          struct.setTaskIdsIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class ackTasks_result implements org.apache.thrift.TBase<ackTasks_result, ackTasks_result._Fields>, java.io.Serializable, Cloneable, Comparable<ackTasks_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("ackTasks_result");
+
+    private static final org.apache.thrift.protocol.TField E1_FIELD_DESC = new org.apache.thrift.protocol.TField("e1", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new ackTasks_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new ackTasks_resultTupleSchemeFactory();
+
+    public @org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.ArcticException e1; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      E1((short)1, "e1");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // E1
+            return E1;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.E1, new org.apache.thrift.meta_data.FieldMetaData("e1", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, com.netease.arctic.ams.api.ArcticException.class)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(ackTasks_result.class, metaDataMap);
+    }
+
+    public ackTasks_result() {
+    }
+
+    public ackTasks_result(
+      com.netease.arctic.ams.api.ArcticException e1)
+    {
+      this();
+      this.e1 = e1;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public ackTasks_result(ackTasks_result other) {
+      if (other.isSetE1()) {
+        this.e1 = new com.netease.arctic.ams.api.ArcticException(other.e1);
+      }
+    }
+
+    public ackTasks_result deepCopy() {
+      return new ackTasks_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.e1 = null;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public com.netease.arctic.ams.api.ArcticException getE1() {
+      return this.e1;
+    }
+
+    public ackTasks_result setE1(@org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.ArcticException e1) {
+      this.e1 = e1;
+      return this;
+    }
+
+    public void unsetE1() {
+      this.e1 = null;
+    }
+
+    /** Returns true if field e1 is set (has been assigned a value) and false otherwise */
+    public boolean isSetE1() {
+      return this.e1 != null;
+    }
+
+    public void setE1IsSet(boolean value) {
+      if (!value) {
+        this.e1 = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case E1:
+        if (value == null) {
+          unsetE1();
+        } else {
+          setE1((com.netease.arctic.ams.api.ArcticException)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case E1:
+        return getE1();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case E1:
+        return isSetE1();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof ackTasks_result)
+        return this.equals((ackTasks_result)that);
+      return false;
+    }
+
+    public boolean equals(ackTasks_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_e1 = true && this.isSetE1();
+      boolean that_present_e1 = true && that.isSetE1();
+      if (this_present_e1 || that_present_e1) {
+        if (!(this_present_e1 && that_present_e1))
+          return false;
+        if (!this.e1.equals(that.e1))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetE1()) ? 131071 : 524287);
+      if (isSetE1())
+        hashCode = hashCode * 8191 + e1.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(ackTasks_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetE1()).compareTo(other.isSetE1());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE1()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e1, other.e1);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("ackTasks_result(");
+      boolean first = true;
+
+      sb.append("e1:");
+      if (this.e1 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e1);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class ackTasks_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public ackTasks_resultStandardScheme getScheme() {
+        return new ackTasks_resultStandardScheme();
+      }
+    }
+
+    private static class ackTasks_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<ackTasks_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, ackTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // E1
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e1 = new com.netease.arctic.ams.api.ArcticException();
+                struct.e1.read(iprot);
+                struct.setE1IsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, ackTasks_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.e1 != null) {
+          oprot.writeFieldBegin(E1_FIELD_DESC);
+          struct.e1.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class ackTasks_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public ackTasks_resultTupleScheme getScheme() {
+        return new ackTasks_resultTupleScheme();
+      }
+    }
+
+    private static class ackTasks_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<ackTasks_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, ackTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetE1()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetE1()) {
+          struct.e1.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, ackTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.e1 = new com.netease.arctic.ams.api.ArcticException();
+          struct.e1.read(iprot);
+          struct.setE1IsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class completeTasks_args implements org.apache.thrift.TBase<completeTasks_args, completeTasks_args._Fields>, java.io.Serializable, Cloneable, Comparable<completeTasks_args>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("completeTasks_args");
+
+    private static final org.apache.thrift.protocol.TField AUTH_TOKEN_FIELD_DESC = new org.apache.thrift.protocol.TField("authToken", org.apache.thrift.protocol.TType.STRING, (short)1);
+    private static final org.apache.thrift.protocol.TField TASK_RESULTS_FIELD_DESC = new org.apache.thrift.protocol.TField("taskResults", org.apache.thrift.protocol.TType.LIST, (short)2);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new completeTasks_argsStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new completeTasks_argsTupleSchemeFactory();
+
+    public @org.apache.thrift.annotation.Nullable java.lang.String authToken; // required
+    public @org.apache.thrift.annotation.Nullable java.util.List<OptimizingTaskResult> taskResults; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      AUTH_TOKEN((short)1, "authToken"),
+      TASK_RESULTS((short)2, "taskResults");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // AUTH_TOKEN
+            return AUTH_TOKEN;
+          case 2: // TASK_RESULTS
+            return TASK_RESULTS;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.AUTH_TOKEN, new org.apache.thrift.meta_data.FieldMetaData("authToken", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.FieldValueMetaData(org.apache.thrift.protocol.TType.STRING)));
+      tmpMap.put(_Fields.TASK_RESULTS, new org.apache.thrift.meta_data.FieldMetaData("taskResults", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.ListMetaData(org.apache.thrift.protocol.TType.LIST, 
+              new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, OptimizingTaskResult.class))));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(completeTasks_args.class, metaDataMap);
+    }
+
+    public completeTasks_args() {
+    }
+
+    public completeTasks_args(
+      java.lang.String authToken,
+      java.util.List<OptimizingTaskResult> taskResults)
+    {
+      this();
+      this.authToken = authToken;
+      this.taskResults = taskResults;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public completeTasks_args(completeTasks_args other) {
+      if (other.isSetAuthToken()) {
+        this.authToken = other.authToken;
+      }
+      if (other.isSetTaskResults()) {
+        java.util.List<OptimizingTaskResult> __this__taskResults = new java.util.ArrayList<OptimizingTaskResult>(other.taskResults.size());
+        for (OptimizingTaskResult other_element : other.taskResults) {
+          __this__taskResults.add(new OptimizingTaskResult(other_element));
+        }
+        this.taskResults = __this__taskResults;
+      }
+    }
+
+    public completeTasks_args deepCopy() {
+      return new completeTasks_args(this);
+    }
+
+    @Override
+    public void clear() {
+      this.authToken = null;
+      this.taskResults = null;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.String getAuthToken() {
+      return this.authToken;
+    }
+
+    public completeTasks_args setAuthToken(@org.apache.thrift.annotation.Nullable java.lang.String authToken) {
+      this.authToken = authToken;
+      return this;
+    }
+
+    public void unsetAuthToken() {
+      this.authToken = null;
+    }
+
+    /** Returns true if field authToken is set (has been assigned a value) and false otherwise */
+    public boolean isSetAuthToken() {
+      return this.authToken != null;
+    }
+
+    public void setAuthTokenIsSet(boolean value) {
+      if (!value) {
+        this.authToken = null;
+      }
+    }
+
+    public int getTaskResultsSize() {
+      return (this.taskResults == null) ? 0 : this.taskResults.size();
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.Iterator<OptimizingTaskResult> getTaskResultsIterator() {
+      return (this.taskResults == null) ? null : this.taskResults.iterator();
+    }
+
+    public void addToTaskResults(OptimizingTaskResult elem) {
+      if (this.taskResults == null) {
+        this.taskResults = new java.util.ArrayList<OptimizingTaskResult>();
+      }
+      this.taskResults.add(elem);
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.util.List<OptimizingTaskResult> getTaskResults() {
+      return this.taskResults;
+    }
+
+    public completeTasks_args setTaskResults(@org.apache.thrift.annotation.Nullable java.util.List<OptimizingTaskResult> taskResults) {
+      this.taskResults = taskResults;
+      return this;
+    }
+
+    public void unsetTaskResults() {
+      this.taskResults = null;
+    }
+
+    /** Returns true if field taskResults is set (has been assigned a value) and false otherwise */
+    public boolean isSetTaskResults() {
+      return this.taskResults != null;
+    }
+
+    public void setTaskResultsIsSet(boolean value) {
+      if (!value) {
+        this.taskResults = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case AUTH_TOKEN:
+        if (value == null) {
+          unsetAuthToken();
+        } else {
+          setAuthToken((java.lang.String)value);
+        }
+        break;
+
+      case TASK_RESULTS:
+        if (value == null) {
+          unsetTaskResults();
+        } else {
+          setTaskResults((java.util.List<OptimizingTaskResult>)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case AUTH_TOKEN:
+        return getAuthToken();
+
+      case TASK_RESULTS:
+        return getTaskResults();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case AUTH_TOKEN:
+        return isSetAuthToken();
+      case TASK_RESULTS:
+        return isSetTaskResults();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof completeTasks_args)
+        return this.equals((completeTasks_args)that);
+      return false;
+    }
+
+    public boolean equals(completeTasks_args that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_authToken = true && this.isSetAuthToken();
+      boolean that_present_authToken = true && that.isSetAuthToken();
+      if (this_present_authToken || that_present_authToken) {
+        if (!(this_present_authToken && that_present_authToken))
+          return false;
+        if (!this.authToken.equals(that.authToken))
+          return false;
+      }
+
+      boolean this_present_taskResults = true && this.isSetTaskResults();
+      boolean that_present_taskResults = true && that.isSetTaskResults();
+      if (this_present_taskResults || that_present_taskResults) {
+        if (!(this_present_taskResults && that_present_taskResults))
+          return false;
+        if (!this.taskResults.equals(that.taskResults))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetAuthToken()) ? 131071 : 524287);
+      if (isSetAuthToken())
+        hashCode = hashCode * 8191 + authToken.hashCode();
+
+      hashCode = hashCode * 8191 + ((isSetTaskResults()) ? 131071 : 524287);
+      if (isSetTaskResults())
+        hashCode = hashCode * 8191 + taskResults.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(completeTasks_args other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetAuthToken()).compareTo(other.isSetAuthToken());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetAuthToken()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.authToken, other.authToken);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      lastComparison = java.lang.Boolean.valueOf(isSetTaskResults()).compareTo(other.isSetTaskResults());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetTaskResults()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.taskResults, other.taskResults);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+    }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("completeTasks_args(");
+      boolean first = true;
+
+      sb.append("authToken:");
+      if (this.authToken == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.authToken);
+      }
+      first = false;
+      if (!first) sb.append(", ");
+      sb.append("taskResults:");
+      if (this.taskResults == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.taskResults);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class completeTasks_argsStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public completeTasks_argsStandardScheme getScheme() {
+        return new completeTasks_argsStandardScheme();
+      }
+    }
+
+    private static class completeTasks_argsStandardScheme extends org.apache.thrift.scheme.StandardScheme<completeTasks_args> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, completeTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // AUTH_TOKEN
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRING) {
+                struct.authToken = iprot.readString();
+                struct.setAuthTokenIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            case 2: // TASK_RESULTS
+              if (schemeField.type == org.apache.thrift.protocol.TType.LIST) {
+                {
+                  org.apache.thrift.protocol.TList _list66 = iprot.readListBegin();
+                  struct.taskResults = new java.util.ArrayList<OptimizingTaskResult>(_list66.size);
+                  @org.apache.thrift.annotation.Nullable OptimizingTaskResult _elem67;
+                  for (int _i68 = 0; _i68 < _list66.size; ++_i68)
+                  {
+                    _elem67 = new OptimizingTaskResult();
+                    _elem67.read(iprot);
+                    struct.taskResults.add(_elem67);
+                  }
+                  iprot.readListEnd();
+                }
+                struct.setTaskResultsIsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, completeTasks_args struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.authToken != null) {
+          oprot.writeFieldBegin(AUTH_TOKEN_FIELD_DESC);
+          oprot.writeString(struct.authToken);
+          oprot.writeFieldEnd();
+        }
+        if (struct.taskResults != null) {
+          oprot.writeFieldBegin(TASK_RESULTS_FIELD_DESC);
+          {
+            oprot.writeListBegin(new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, struct.taskResults.size()));
+            for (OptimizingTaskResult _iter69 : struct.taskResults)
+            {
+              _iter69.write(oprot);
+            }
+            oprot.writeListEnd();
+          }
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class completeTasks_argsTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public completeTasks_argsTupleScheme getScheme() {
+        return new completeTasks_argsTupleScheme();
+      }
+    }
+
+    private static class completeTasks_argsTupleScheme extends org.apache.thrift.scheme.TupleScheme<completeTasks_args> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, completeTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetAuthToken()) {
+          optionals.set(0);
+        }
+        if (struct.isSetTaskResults()) {
+          optionals.set(1);
+        }
+        oprot.writeBitSet(optionals, 2);
+        if (struct.isSetAuthToken()) {
+          oprot.writeString(struct.authToken);
+        }
+        if (struct.isSetTaskResults()) {
+          {
+            oprot.writeI32(struct.taskResults.size());
+            for (OptimizingTaskResult _iter70 : struct.taskResults)
+            {
+              _iter70.write(oprot);
+            }
+          }
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, completeTasks_args struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(2);
+        if (incoming.get(0)) {
+          struct.authToken = iprot.readString();
+          struct.setAuthTokenIsSet(true);
+        }
+        if (incoming.get(1)) {
+          {
+            org.apache.thrift.protocol.TList _list71 = new org.apache.thrift.protocol.TList(org.apache.thrift.protocol.TType.STRUCT, iprot.readI32());
+            struct.taskResults = new java.util.ArrayList<OptimizingTaskResult>(_list71.size);
+            @org.apache.thrift.annotation.Nullable OptimizingTaskResult _elem72;
+            for (int _i73 = 0; _i73 < _list71.size; ++_i73)
+            {
+              _elem72 = new OptimizingTaskResult();
+              _elem72.read(iprot);
+              struct.taskResults.add(_elem72);
+            }
+          }
+          struct.setTaskResultsIsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
+  public static class completeTasks_result implements org.apache.thrift.TBase<completeTasks_result, completeTasks_result._Fields>, java.io.Serializable, Cloneable, Comparable<completeTasks_result>   {
+    private static final org.apache.thrift.protocol.TStruct STRUCT_DESC = new org.apache.thrift.protocol.TStruct("completeTasks_result");
+
+    private static final org.apache.thrift.protocol.TField E1_FIELD_DESC = new org.apache.thrift.protocol.TField("e1", org.apache.thrift.protocol.TType.STRUCT, (short)1);
+
+    private static final org.apache.thrift.scheme.SchemeFactory STANDARD_SCHEME_FACTORY = new completeTasks_resultStandardSchemeFactory();
+    private static final org.apache.thrift.scheme.SchemeFactory TUPLE_SCHEME_FACTORY = new completeTasks_resultTupleSchemeFactory();
+
+    public @org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.ArcticException e1; // required
+
+    /** The set of fields this struct contains, along with convenience methods for finding and manipulating them. */
+    public enum _Fields implements org.apache.thrift.TFieldIdEnum {
+      E1((short)1, "e1");
+
+      private static final java.util.Map<java.lang.String, _Fields> byName = new java.util.HashMap<java.lang.String, _Fields>();
+
+      static {
+        for (_Fields field : java.util.EnumSet.allOf(_Fields.class)) {
+          byName.put(field.getFieldName(), field);
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByThriftId(int fieldId) {
+        switch(fieldId) {
+          case 1: // E1
+            return E1;
+          default:
+            return null;
+        }
+      }
+
+      /**
+       * Find the _Fields constant that matches fieldId, throwing an exception
+       * if it is not found.
+       */
+      public static _Fields findByThriftIdOrThrow(int fieldId) {
+        _Fields fields = findByThriftId(fieldId);
+        if (fields == null) throw new java.lang.IllegalArgumentException("Field " + fieldId + " doesn't exist!");
+        return fields;
+      }
+
+      /**
+       * Find the _Fields constant that matches name, or null if its not found.
+       */
+      @org.apache.thrift.annotation.Nullable
+      public static _Fields findByName(java.lang.String name) {
+        return byName.get(name);
+      }
+
+      private final short _thriftId;
+      private final java.lang.String _fieldName;
+
+      _Fields(short thriftId, java.lang.String fieldName) {
+        _thriftId = thriftId;
+        _fieldName = fieldName;
+      }
+
+      public short getThriftFieldId() {
+        return _thriftId;
+      }
+
+      public java.lang.String getFieldName() {
+        return _fieldName;
+      }
+    }
+
+    // isset id assignments
+    public static final java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> metaDataMap;
+    static {
+      java.util.Map<_Fields, org.apache.thrift.meta_data.FieldMetaData> tmpMap = new java.util.EnumMap<_Fields, org.apache.thrift.meta_data.FieldMetaData>(_Fields.class);
+      tmpMap.put(_Fields.E1, new org.apache.thrift.meta_data.FieldMetaData("e1", org.apache.thrift.TFieldRequirementType.DEFAULT, 
+          new org.apache.thrift.meta_data.StructMetaData(org.apache.thrift.protocol.TType.STRUCT, com.netease.arctic.ams.api.ArcticException.class)));
+      metaDataMap = java.util.Collections.unmodifiableMap(tmpMap);
+      org.apache.thrift.meta_data.FieldMetaData.addStructMetaDataMap(completeTasks_result.class, metaDataMap);
+    }
+
+    public completeTasks_result() {
+    }
+
+    public completeTasks_result(
+      com.netease.arctic.ams.api.ArcticException e1)
+    {
+      this();
+      this.e1 = e1;
+    }
+
+    /**
+     * Performs a deep copy on <i>other</i>.
+     */
+    public completeTasks_result(completeTasks_result other) {
+      if (other.isSetE1()) {
+        this.e1 = new com.netease.arctic.ams.api.ArcticException(other.e1);
+      }
+    }
+
+    public completeTasks_result deepCopy() {
+      return new completeTasks_result(this);
+    }
+
+    @Override
+    public void clear() {
+      this.e1 = null;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public com.netease.arctic.ams.api.ArcticException getE1() {
+      return this.e1;
+    }
+
+    public completeTasks_result setE1(@org.apache.thrift.annotation.Nullable com.netease.arctic.ams.api.ArcticException e1) {
+      this.e1 = e1;
+      return this;
+    }
+
+    public void unsetE1() {
+      this.e1 = null;
+    }
+
+    /** Returns true if field e1 is set (has been assigned a value) and false otherwise */
+    public boolean isSetE1() {
+      return this.e1 != null;
+    }
+
+    public void setE1IsSet(boolean value) {
+      if (!value) {
+        this.e1 = null;
+      }
+    }
+
+    public void setFieldValue(_Fields field, @org.apache.thrift.annotation.Nullable java.lang.Object value) {
+      switch (field) {
+      case E1:
+        if (value == null) {
+          unsetE1();
+        } else {
+          setE1((com.netease.arctic.ams.api.ArcticException)value);
+        }
+        break;
+
+      }
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public java.lang.Object getFieldValue(_Fields field) {
+      switch (field) {
+      case E1:
+        return getE1();
+
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    /** Returns true if field corresponding to fieldID is set (has been assigned a value) and false otherwise */
+    public boolean isSet(_Fields field) {
+      if (field == null) {
+        throw new java.lang.IllegalArgumentException();
+      }
+
+      switch (field) {
+      case E1:
+        return isSetE1();
+      }
+      throw new java.lang.IllegalStateException();
+    }
+
+    @Override
+    public boolean equals(java.lang.Object that) {
+      if (that == null)
+        return false;
+      if (that instanceof completeTasks_result)
+        return this.equals((completeTasks_result)that);
+      return false;
+    }
+
+    public boolean equals(completeTasks_result that) {
+      if (that == null)
+        return false;
+      if (this == that)
+        return true;
+
+      boolean this_present_e1 = true && this.isSetE1();
+      boolean that_present_e1 = true && that.isSetE1();
+      if (this_present_e1 || that_present_e1) {
+        if (!(this_present_e1 && that_present_e1))
+          return false;
+        if (!this.e1.equals(that.e1))
+          return false;
+      }
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+
+      hashCode = hashCode * 8191 + ((isSetE1()) ? 131071 : 524287);
+      if (isSetE1())
+        hashCode = hashCode * 8191 + e1.hashCode();
+
+      return hashCode;
+    }
+
+    @Override
+    public int compareTo(completeTasks_result other) {
+      if (!getClass().equals(other.getClass())) {
+        return getClass().getName().compareTo(other.getClass().getName());
+      }
+
+      int lastComparison = 0;
+
+      lastComparison = java.lang.Boolean.valueOf(isSetE1()).compareTo(other.isSetE1());
+      if (lastComparison != 0) {
+        return lastComparison;
+      }
+      if (isSetE1()) {
+        lastComparison = org.apache.thrift.TBaseHelper.compareTo(this.e1, other.e1);
+        if (lastComparison != 0) {
+          return lastComparison;
+        }
+      }
+      return 0;
+    }
+
+    @org.apache.thrift.annotation.Nullable
+    public _Fields fieldForId(int fieldId) {
+      return _Fields.findByThriftId(fieldId);
+    }
+
+    public void read(org.apache.thrift.protocol.TProtocol iprot) throws org.apache.thrift.TException {
+      scheme(iprot).read(iprot, this);
+    }
+
+    public void write(org.apache.thrift.protocol.TProtocol oprot) throws org.apache.thrift.TException {
+      scheme(oprot).write(oprot, this);
+      }
+
+    @Override
+    public java.lang.String toString() {
+      java.lang.StringBuilder sb = new java.lang.StringBuilder("completeTasks_result(");
+      boolean first = true;
+
+      sb.append("e1:");
+      if (this.e1 == null) {
+        sb.append("null");
+      } else {
+        sb.append(this.e1);
+      }
+      first = false;
+      sb.append(")");
+      return sb.toString();
+    }
+
+    public void validate() throws org.apache.thrift.TException {
+      // check for required fields
+      // check for sub-struct validity
+    }
+
+    private void writeObject(java.io.ObjectOutputStream out) throws java.io.IOException {
+      try {
+        write(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(out)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private void readObject(java.io.ObjectInputStream in) throws java.io.IOException, java.lang.ClassNotFoundException {
+      try {
+        read(new org.apache.thrift.protocol.TCompactProtocol(new org.apache.thrift.transport.TIOStreamTransport(in)));
+      } catch (org.apache.thrift.TException te) {
+        throw new java.io.IOException(te);
+      }
+    }
+
+    private static class completeTasks_resultStandardSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public completeTasks_resultStandardScheme getScheme() {
+        return new completeTasks_resultStandardScheme();
+      }
+    }
+
+    private static class completeTasks_resultStandardScheme extends org.apache.thrift.scheme.StandardScheme<completeTasks_result> {
+
+      public void read(org.apache.thrift.protocol.TProtocol iprot, completeTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TField schemeField;
+        iprot.readStructBegin();
+        while (true)
+        {
+          schemeField = iprot.readFieldBegin();
+          if (schemeField.type == org.apache.thrift.protocol.TType.STOP) { 
+            break;
+          }
+          switch (schemeField.id) {
+            case 1: // E1
+              if (schemeField.type == org.apache.thrift.protocol.TType.STRUCT) {
+                struct.e1 = new com.netease.arctic.ams.api.ArcticException();
+                struct.e1.read(iprot);
+                struct.setE1IsSet(true);
+              } else { 
+                org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+              }
+              break;
+            default:
+              org.apache.thrift.protocol.TProtocolUtil.skip(iprot, schemeField.type);
+          }
+          iprot.readFieldEnd();
+        }
+        iprot.readStructEnd();
+
+        // check for required fields of primitive type, which can't be checked in the validate method
+        struct.validate();
+      }
+
+      public void write(org.apache.thrift.protocol.TProtocol oprot, completeTasks_result struct) throws org.apache.thrift.TException {
+        struct.validate();
+
+        oprot.writeStructBegin(STRUCT_DESC);
+        if (struct.e1 != null) {
+          oprot.writeFieldBegin(E1_FIELD_DESC);
+          struct.e1.write(oprot);
+          oprot.writeFieldEnd();
+        }
+        oprot.writeFieldStop();
+        oprot.writeStructEnd();
+      }
+
+    }
+
+    private static class completeTasks_resultTupleSchemeFactory implements org.apache.thrift.scheme.SchemeFactory {
+      public completeTasks_resultTupleScheme getScheme() {
+        return new completeTasks_resultTupleScheme();
+      }
+    }
+
+    private static class completeTasks_resultTupleScheme extends org.apache.thrift.scheme.TupleScheme<completeTasks_result> {
+
+      @Override
+      public void write(org.apache.thrift.protocol.TProtocol prot, completeTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol oprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet optionals = new java.util.BitSet();
+        if (struct.isSetE1()) {
+          optionals.set(0);
+        }
+        oprot.writeBitSet(optionals, 1);
+        if (struct.isSetE1()) {
+          struct.e1.write(oprot);
+        }
+      }
+
+      @Override
+      public void read(org.apache.thrift.protocol.TProtocol prot, completeTasks_result struct) throws org.apache.thrift.TException {
+        org.apache.thrift.protocol.TTupleProtocol iprot = (org.apache.thrift.protocol.TTupleProtocol) prot;
+        java.util.BitSet incoming = iprot.readBitSet(1);
+        if (incoming.get(0)) {
+          struct.e1 = new com.netease.arctic.ams.api.ArcticException();
+          struct.e1.read(iprot);
+          struct.setE1IsSet(true);
+        }
+      }
+    }
+
+    private static <S extends org.apache.thrift.scheme.IScheme> S scheme(org.apache.thrift.protocol.TProtocol proto) {
+      return (org.apache.thrift.scheme.StandardScheme.class.equals(proto.getScheme()) ? STANDARD_SCHEME_FACTORY : TUPLE_SCHEME_FACTORY).getScheme();
+    }
+  }
+
 }
@@ -6,6 +6,8 @@ public class OptimizerProperties {
   public static final String RESOURCE_ID = "resource-id";
   public static final String AMS_OPTIMIZER_URI = "ams-optimizing-uri";
   public static final String AMS_HOME = "ams-home";
+  // the newest version of RewriteFilesCodec payloads the optimizer reads, absent for old optimizers
+  public static final String REWRITE_FILES_CODEC_VERSION = "rewrite-files-codec-version";
 
   // Resource container properties
   public static final String EXPORT_PROPERTY_PREFIX = "export.";
@@ -19,6 +21,22 @@ public class OptimizerProperties {
   public static final boolean OPTIMIZER_EXTEND_DISK_STORAGE_DEFAULT = false;
   public static final String OPTIMIZER_DISK_STORAGE_PATH = "disk-storage-path";
   public static final String OPTIMIZER_MEMORY_STORAGE_SIZE = "memory-storage-size";
+  public static final String OPTIMIZER_TASK_PARALLEL = "task-parallel";
+  public static final String OPTIMIZER_TASK_PREFETCH = "task-prefetch";
   public static final String MAX_INPUT_FILE_SIZE_PER_THREAD = "max-input-file-size-per-thread";
   public static final Long MAX_INPUT_FILE_SIZE_PER_THREAD_DEFAULT = 512 * 1024 * 1024L; // 512MB
+  public static final String AUTOSCALE_ENABLED = "autoscale.enabled";
+  public static final boolean AUTOSCALE_ENABLED_DEFAULT = false;
+  public static final String AUTOSCALE_MIN_PARALLELISM = "autoscale.min-parallelism";
+  public static final int AUTOSCALE_MIN_PARALLELISM_DEFAULT = 0;
+  public static final String AUTOSCALE_MAX_PARALLELISM = "autoscale.max-parallelism";
+  public static final int AUTOSCALE_MAX_PARALLELISM_DEFAULT = 10;
+  public static final String AUTOSCALE_OPTIMIZER_PARALLELISM = "autoscale.optimizer-parallelism";
+  public static final int AUTOSCALE_OPTIMIZER_PARALLELISM_DEFAULT = 1;
+  public static final String AUTOSCALE_SCALE_OUT_WAIT_TIME = "autoscale.scale-out-wait-time";
+  public static final long AUTOSCALE_SCALE_OUT_WAIT_TIME_DEFAULT = 60000L; // 1min
+  public static final String AUTOSCALE_SCALE_IN_IDLE_TIME = "autoscale.scale-in-idle-time";
+  public static final long AUTOSCALE_SCALE_IN_IDLE_TIME_DEFAULT = 600000L; // 10min
+  public static final String AUTOSCALE_REGISTER_TIMEOUT = "autoscale.register-timeout";
+  public static final long AUTOSCALE_REGISTER_TIMEOUT_DEFAULT = 300000L; // 5min
 }
@@ -47,4 +47,18 @@ service OptimizingService {
 
     string authenticate(1: OptimizerRegisterInfo registerInfo)
             throws (1: arctic_commons.ArcticException e1)
+
+    // poll at most the given number of tasks for each thread of the map in one call, a thread
+    // without polled tasks is absent from the result
+    map<i32, list<OptimizingTask>> pollTasks(1: string authToken, 2: map<i32, i32> maxTasksByThread)
+            throws (1: arctic_commons.ArcticException e1)
+
+    // ack all the tasks or none of them, so the optimizer can drop the whole batch on failure
+    void ackTasks(1: string authToken, 2: i32 threadId, 3: list<OptimizingTaskId> taskIds)
+            throws(1: arctic_commons.ArcticException e1)
+
+    // complete the results independently of each other, the first failure is thrown after all the
+    // results are tried
+    void completeTasks(1: string authToken, 2: list<OptimizingTaskResult> taskResults)
+            throws (1: arctic_commons.ArcticException e1)
 }
\ No newline at end of file
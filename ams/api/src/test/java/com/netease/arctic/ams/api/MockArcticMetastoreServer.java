@@ -393,7 +393,7 @@ public class MockArcticMetastoreServer implements Runnable {
     private final Map<String, OptimizerRegisterInfo> registeredOptimizers =
         new ConcurrentHashMap<>();
     private final Queue<OptimizingTask> pendingTasks = new ArrayBlockingQueue<>(100);
-    private final Map<String, Map<Integer, OptimizingTaskId>> executingTasks =
+    private final Map<String, Map<OptimizingTaskId, Integer>> executingTasks =
         new ConcurrentHashMap<>();
     private final Map<String, List<OptimizingTaskResult>> completedTasks =
         new ConcurrentHashMap<>();
@@ -420,21 +420,21 @@ public class MockArcticMetastoreServer implements Runnable {
       if (!executingTasks.containsKey(authToken)) {
         executingTasks.putIfAbsent(authToken, new ConcurrentHashMap<>());
       }
-      Map<Integer, OptimizingTaskId> executingTasksMap = executingTasks.get(authToken);
-      if (executingTasksMap.containsKey(threadId)) {
+      Map<OptimizingTaskId, Integer> executingTasksMap = executingTasks.get(authToken);
+      if (executingTasksMap.putIfAbsent(taskId, threadId) != null) {
         throw new ArcticException(
             ErrorCodes.DUPLICATED_TASK_ERROR_CODE,
             "DuplicateTask",
             String.format(
-                "Optimizer:%s" + " thread:%d is executing another task", authToken, threadId));
+                "Optimizer:%s" + " task:%s is already acked by thread:%d",
+                authToken, taskId, executingTasksMap.get(taskId)));
       }
-      executingTasksMap.put(threadId, taskId);
     }
 
     @Override
     public void completeTask(String authToken, OptimizingTaskResult taskResult) throws TException {
       checkToken(authToken);
-      executingTasks.get(authToken).remove(taskResult.getThreadId());
+      executingTasks.get(authToken).remove(taskResult.getTaskId());
       if (!completedTasks.containsKey(authToken)) {
         completedTasks.putIfAbsent(authToken, new CopyOnWriteArrayList<>());
       }
@@ -449,6 +449,37 @@ public class MockArcticMetastoreServer implements Runnable {
       return token;
     }
 
+    @Override
+    public Map<Integer, List<OptimizingTask>> pollTasks(
+        String authToken, Map<Integer, Integer> maxTasksByThread) throws TException {
+      checkToken(authToken);
+      Map<Integer, List<OptimizingTask>> tasks = new HashMap<>();
+      for (Map.Entry<Integer, Integer> entry : maxTasksByThread.entrySet()) {
+        OptimizingTask task;
+        while (tasks.getOrDefault(entry.getKey(), Collections.emptyList()).size() < entry.getValue()
+            && (task = pendingTasks.poll()) != null) {
+          tasks.computeIfAbsent(entry.getKey(), threadId -> new ArrayList<>()).add(task);
+        }
+      }
+      return tasks;
+    }
+
+    @Override
+    public void ackTasks(String authToken, int threadId, List<OptimizingTaskId> taskIds)
+        throws TException {
+      for (OptimizingTaskId taskId : taskIds) {
+        ackTask(authToken, threadId, taskId);
+      }
+    }
+
+    @Override
+    public void completeTasks(String authToken, List<OptimizingTaskResult> taskResults)
+        throws TException {
+      for (OptimizingTaskResult taskResult : taskResults) {
+        completeTask(authToken, taskResult);
+      }
+    }
+
     public Map<String, OptimizerRegisterInfo> getRegisteredOptimizers() {
       return registeredOptimizers;
     }
@@ -461,7 +492,7 @@ public class MockArcticMetastoreServer implements Runnable {
       return pendingTasks;
     }
 
-    public Map<String, Map<Integer, OptimizingTaskId>> getExecutingTasks() {
+    public Map<String, Map<OptimizingTaskId, Integer>> getExecutingTasks() {
       return executingTasks;
     }
 
@@ -1,10 +1,12 @@
 package com.netease.arctic.optimizer.common;
 
 import com.netease.arctic.ams.api.OptimizerProperties;
+import com.netease.arctic.optimizing.RewriteFilesCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class Optimizer {
@@ -13,13 +15,39 @@ public class Optimizer {
   private final OptimizerConfig config;
   private final OptimizerToucher toucher;
   private final OptimizerExecutor[] executors;
+  // Pipeline shared by the executors, null if task prefetch is disabled or not shared
+  private final TaskPipeline sharedPipeline;
 
   public Optimizer(OptimizerConfig config) {
+    this(config, true);
+  }
+
+  /**
+   * @param shareTaskPipeline whether the executors share one task pipeline, which polls tasks for
+   *     all of them in one call. It should be false if the executors are started in different
+   *     processes, each executor owns a pipeline then.
+   */
+  public Optimizer(OptimizerConfig config, boolean shareTaskPipeline) {
     this.config = config;
     this.toucher = new OptimizerToucher(config);
     this.executors = new OptimizerExecutor[config.getExecutionParallel()];
+    this.sharedPipeline =
+        shareTaskPipeline && config.getTaskPrefetch() > 0
+            ? new TaskPipeline(
+                config,
+                IntStream.range(0, config.getExecutionParallel())
+                    .boxed()
+                    .collect(Collectors.toList()))
+            : null;
     IntStream.range(0, config.getExecutionParallel())
-        .forEach(i -> executors[i] = new OptimizerExecutor(config, i));
+        .forEach(
+            i ->
+                executors[i] =
+                    sharedPipeline == null
+                        ? new OptimizerExecutor(config, i)
+                        : new OptimizerExecutor(config, i, sharedPipeline));
+    toucher.withRegisterProperty(
+        OptimizerProperties.REWRITE_FILES_CODEC_VERSION, String.valueOf(RewriteFilesCodec.VERSION));
     if (config.getResourceId() != null) {
       toucher.withRegisterProperty(OptimizerProperties.RESOURCE_ID, config.getResourceId());
     }
@@ -41,6 +69,9 @@ public class Optimizer {
   public void stopOptimizing() {
     toucher.stop();
     Arrays.stream(executors).forEach(OptimizerExecutor::stop);
+    if (sharedPipeline != null) {
+      sharedPipeline.stop();
+    }
   }
 
   public OptimizerToucher getToucher() {
@@ -82,6 +82,18 @@ public class OptimizerConfig implements Serializable {
       usage = "Memory storage size limit when extending disk storage(MB), default 512MB")
   private long memoryStorageSize = 512; // 512 M
 
+  @Option(
+      name = "-tp",
+      aliases = "--" + OptimizerProperties.OPTIMIZER_TASK_PARALLEL,
+      usage = "Number of threads executing a single task, default 1")
+  private int taskParallel = 1;
+
+  @Option(
+      name = "-pf",
+      aliases = "--" + OptimizerProperties.OPTIMIZER_TASK_PREFETCH,
+      usage = "Number of acked tasks prefetched by each execution thread, default 0(disabled)")
+  private int taskPrefetch = 0;
+
   @Option(name = "-id", aliases = "--" + OptimizerProperties.RESOURCE_ID, usage = "Resource id")
   private String resourceId;
 
@@ -156,6 +168,22 @@ public class OptimizerConfig implements Serializable {
     this.diskStoragePath = diskStoragePath;
   }
 
+  public int getTaskParallel() {
+    return taskParallel;
+  }
+
+  public void setTaskParallel(int taskParallel) {
+    this.taskParallel = taskParallel;
+  }
+
+  public int getTaskPrefetch() {
+    return taskPrefetch;
+  }
+
+  public void setTaskPrefetch(int taskPrefetch) {
+    this.taskPrefetch = taskPrefetch;
+  }
+
   public String getResourceId() {
     return resourceId;
   }
@@ -175,6 +203,8 @@ public class OptimizerConfig implements Serializable {
         .add("extendDiskStorage", extendDiskStorage)
         .add("rocksDBBasePath", diskStoragePath)
         .add("memoryStorageSize", memoryStorageSize)
+        .add("taskParallel", taskParallel)
+        .add("taskPrefetch", taskPrefetch)
         .add("resourceId", resourceId)
         .toString();
   }
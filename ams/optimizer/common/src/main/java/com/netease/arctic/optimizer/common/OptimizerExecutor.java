@@ -5,28 +5,58 @@ import com.netease.arctic.ams.api.OptimizingTaskResult;
 import com.netease.arctic.optimizing.OptimizingExecutor;
 import com.netease.arctic.optimizing.OptimizingExecutorFactory;
 import com.netease.arctic.optimizing.OptimizingInputProperties;
+import com.netease.arctic.optimizing.RewriteFilesCodec;
 import com.netease.arctic.optimizing.TableOptimizing;
 import com.netease.arctic.utils.ExceptionUtil;
-import com.netease.arctic.utils.SerializationUtil;
 import org.apache.iceberg.common.DynConstructors;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.ByteBuffer;
+import java.util.Collections;
 
 public class OptimizerExecutor extends AbstractOptimizerOperator {
 
   private static final Logger LOG = LoggerFactory.getLogger(OptimizerExecutor.class);
 
   private final int threadId;
+  // Pipeline of prefetched tasks and completing results, null if task prefetch is disabled
+  private final TaskPipeline pipeline;
+  private final boolean ownsPipeline;
 
+  /** Create an executor prefetching tasks in its own pipeline if task prefetch is enabled. */
   public OptimizerExecutor(OptimizerConfig config, int threadId) {
+    this(
+        config,
+        threadId,
+        config.getTaskPrefetch() > 0
+            ? new TaskPipeline(config, Collections.singleton(threadId))
+            : null,
+        true);
+  }
+
+  /**
+   * Create an executor taking tasks from a pipeline shared with other executors of the same
+   * process, the pipeline is started by the executor and stopped by its owner.
+   */
+  public OptimizerExecutor(OptimizerConfig config, int threadId, TaskPipeline pipeline) {
+    this(config, threadId, pipeline, false);
+  }
+
+  private OptimizerExecutor(
+      OptimizerConfig config, int threadId, TaskPipeline pipeline, boolean ownsPipeline) {
     super(config);
     this.threadId = threadId;
+    this.pipeline = pipeline;
+    this.ownsPipeline = ownsPipeline;
   }
 
   public void start() {
+    if (pipeline != null) {
+      startPipelined();
+      return;
+    }
     while (isStarted()) {
       try {
         OptimizingTask task = pollTask();
@@ -44,6 +74,40 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
     return threadId;
   }
 
+  @Override
+  public void setToken(String newToken) {
+    super.setToken(newToken);
+    if (pipeline != null) {
+      pipeline.setToken(newToken);
+    }
+  }
+
+  @Override
+  public void stop() {
+    super.stop();
+    if (ownsPipeline && pipeline != null) {
+      pipeline.stop();
+    }
+  }
+
+  /**
+   * Execute the tasks prefetched by the pipeline one by one, the result of a task is completed to
+   * ams by the pipeline while the next task is executing.
+   */
+  private void startPipelined() {
+    pipeline.start();
+    while (isStarted()) {
+      try {
+        OptimizingTask task = pipeline.takeTask(threadId);
+        if (task != null) {
+          pipeline.completeTask(executeTask(task));
+        }
+      } catch (Throwable t) {
+        LOG.error("Optimizer executor[{}] got an unexpected error", threadId, t);
+      }
+    }
+  }
+
   private OptimizingTask pollTask() {
     OptimizingTask task = null;
     while (isStarted()) {
@@ -87,7 +151,7 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
       OptimizingInputProperties properties = OptimizingInputProperties.parse(task.getProperties());
       String executorFactoryImpl = properties.getExecutorFactoryImpl();
       TableOptimizing.OptimizingInput input =
-          SerializationUtil.simpleDeserialize(task.getTaskInput());
+          RewriteFilesCodec.deserializeInput(task.getTaskInput());
       DynConstructors.Ctor<OptimizingExecutorFactory> ctor =
           DynConstructors.builder(OptimizingExecutorFactory.class)
               .impl(executorFactoryImpl)
@@ -99,11 +163,15 @@ public class OptimizerExecutor extends AbstractOptimizerOperator {
       }
       properties.setMaxSizeInMemory(getConfig().getMemoryStorageSize() * 1024 * 1024);
       properties.setSpillMapPath(getConfig().getDiskStoragePath());
+      properties.setTaskParallel(getConfig().getTaskParallel());
       factory.initialize(properties.getProperties());
 
       OptimizingExecutor executor = factory.createExecutor(input);
       TableOptimizing.OptimizingOutput output = executor.execute();
-      ByteBuffer outputByteBuffer = SerializationUtil.simpleSerialize(output);
+      // ams versions sending Java-serialized inputs can not read encoded outputs either
+      ByteBuffer outputByteBuffer =
+          RewriteFilesCodec.serializeOutput(
+              output, !RewriteFilesCodec.isEncoded(task.getTaskInput()));
       OptimizingTaskResult result = new OptimizingTaskResult(task.getTaskId(), threadId);
       result.setTaskOutput(outputByteBuffer);
       result.setSummary(output.summary());
@@ -0,0 +1,262 @@
+package com.netease.arctic.optimizer.common;
+
+import com.netease.arctic.ams.api.OptimizingTask;
+import com.netease.arctic.ams.api.OptimizingTaskId;
+import com.netease.arctic.ams.api.OptimizingTaskResult;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Task pipeline shared by a set of executor threads: a prefetching thread polls tasks for all the
+ * threads with free slots in one call into bounded local queues per thread, and a completing thread
+ * completes the results of the threads to ams in batches while the next tasks are executing.
+ *
+ * <p>A prefetched task is acked when a thread takes it to execute, so a task waiting too long in a
+ * local queue is rescheduled by ams after the task ack timeout, and the thread skips it once its
+ * ack is rejected. When the pipeline is stopped, prefetching is stopped first, then the tasks not
+ * taken yet are acked and completed as failed together with the pending results, so ams retries
+ * them at once instead of waiting for the ack timeout.
+ */
+public class TaskPipeline extends AbstractOptimizerOperator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TaskPipeline.class);
+
+  // Interval to check whether the pipeline is stopped while waiting for tasks or results
+  private static final long WAIT_INTERVAL = 1000; // 1s
+  // Max time to wait for the pending results to be completed when stopping
+  private static final long STOP_TIMEOUT = 30000; // 30s
+
+  private final Map<Integer, BlockingQueue<OptimizingTask>> prefetchedTasks =
+      new LinkedHashMap<>();
+  private final BlockingQueue<OptimizingTaskResult> completingResults = new LinkedBlockingQueue<>();
+  // Released when a task is taken, so the prefetching thread polls for the freed slots
+  private final Semaphore freedSlots = new Semaphore(1);
+  private boolean running = false;
+  private volatile boolean prefetching = true;
+  private volatile boolean completing = true;
+  private Thread prefetcher;
+  private Thread completer;
+
+  public TaskPipeline(OptimizerConfig config, Collection<Integer> threadIds) {
+    super(config);
+    Preconditions.checkArgument(config.getTaskPrefetch() > 0, "task prefetch should be positive");
+    Preconditions.checkArgument(!threadIds.isEmpty(), "threadIds can not be empty");
+    threadIds.forEach(
+        threadId ->
+            prefetchedTasks.put(threadId, new LinkedBlockingQueue<>(config.getTaskPrefetch())));
+  }
+
+  /** Start the prefetching and completing threads, the pipeline is started once. */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    prefetcher = startDaemon(this::prefetchTasks, "optimizer-prefetcher");
+    completer = startDaemon(this::completeResults, "optimizer-completer");
+  }
+
+  /**
+   * Stop prefetching, complete the prefetched tasks not taken yet as failed and the queued results
+   * to ams, then stop the pipeline. Results queued after stopping are not completed.
+   */
+  @Override
+  public synchronized void stop() {
+    prefetching = false;
+    if (running) {
+      try {
+        prefetcher.join(STOP_TIMEOUT);
+        releasePrefetchedTasks();
+        completing = false;
+        completer.join(STOP_TIMEOUT);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      if (!completingResults.isEmpty()) {
+        LOG.warn(
+            "Optimizer task pipeline stopped with {} results not completed",
+            completingResults.size());
+      }
+    }
+    super.stop();
+  }
+
+  /**
+   * Take a prefetched task of the thread and ack it to ams, tasks failed to be acked are skipped.
+   *
+   * @return the acked task, or null if no task is prefetched for the thread within a short time
+   */
+  public OptimizingTask takeTask(int threadId) throws InterruptedException {
+    while (prefetching) {
+      OptimizingTask task =
+          getPrefetchedTasks(threadId).poll(WAIT_INTERVAL, TimeUnit.MILLISECONDS);
+      if (task == null) {
+        return null;
+      }
+      freedSlots.release();
+      if (ackTasks(threadId, Collections.singletonList(task))) {
+        return task;
+      }
+    }
+    return null;
+  }
+
+  /** Queue the result to be completed to ams, results are completed in the queued order. */
+  public void completeTask(OptimizingTaskResult result) {
+    completingResults.offer(result);
+  }
+
+  private BlockingQueue<OptimizingTask> getPrefetchedTasks(int threadId) {
+    BlockingQueue<OptimizingTask> tasks = prefetchedTasks.get(threadId);
+    Preconditions.checkArgument(tasks != null, "Thread %s is not in the pipeline", threadId);
+    return tasks;
+  }
+
+  private Thread startDaemon(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * Ack the prefetched tasks not taken yet and queue them as failed results, to be retried by ams.
+   * Tasks failed to be acked are left to the task ack timeout of ams.
+   */
+  private void releasePrefetchedTasks() {
+    prefetchedTasks.forEach(
+        (threadId, tasks) -> {
+          List<OptimizingTask> releasedTasks = new ArrayList<>();
+          tasks.drainTo(releasedTasks);
+          if (releasedTasks.isEmpty() || !ackTasks(threadId, releasedTasks)) {
+            return;
+          }
+          for (OptimizingTask task : releasedTasks) {
+            OptimizingTaskResult result = new OptimizingTaskResult(task.getTaskId(), threadId);
+            result.setErrorMessage("Optimizer stopped before executing the task");
+            completingResults.offer(result);
+          }
+          LOG.info(
+              "Optimizer executor[{}] released {} prefetched tasks",
+              threadId,
+              releasedTasks.size());
+        });
+  }
+
+  private void prefetchTasks() {
+    while (prefetching) {
+      try {
+        if (!freedSlots.tryAcquire(WAIT_INTERVAL, TimeUnit.MILLISECONDS)) {
+          continue;
+        }
+        freedSlots.drainPermits();
+        Map<Integer, Integer> maxTasksByThread = new LinkedHashMap<>();
+        prefetchedTasks.forEach(
+            (threadId, tasks) -> {
+              if (tasks.remainingCapacity() > 0) {
+                maxTasksByThread.put(threadId, tasks.remainingCapacity());
+              }
+            });
+        // Wait for a task to be taken if all the slots are occupied
+        if (!maxTasksByThread.isEmpty()) {
+          try {
+            pollTasks(maxTasksByThread)
+                .forEach((threadId, tasks) -> getPrefetchedTasks(threadId).addAll(tasks));
+          } finally {
+            freedSlots.release();
+          }
+        }
+      } catch (Throwable t) {
+        if (prefetching) {
+          LOG.error("Optimizer task pipeline prefetched tasks failed", t);
+        }
+      }
+    }
+  }
+
+  /** Complete the queued results until the pipeline is stopping and no result is queued. */
+  private void completeResults() {
+    List<OptimizingTaskResult> results = new ArrayList<>();
+    while (isStarted() && (completing || !completingResults.isEmpty())) {
+      try {
+        OptimizingTaskResult result = completingResults.poll(WAIT_INTERVAL, TimeUnit.MILLISECONDS);
+        if (result != null) {
+          results.add(result);
+          completingResults.drainTo(results);
+          completeTasks(results);
+        }
+      } catch (Throwable t) {
+        if (isStarted()) {
+          LOG.error("Optimizer task pipeline completed tasks failed", t);
+        }
+      } finally {
+        results.clear();
+      }
+    }
+  }
+
+  private Map<Integer, List<OptimizingTask>> pollTasks(Map<Integer, Integer> maxTasksByThread) {
+    Map<Integer, List<OptimizingTask>> tasks = Collections.emptyMap();
+    while (prefetching) {
+      try {
+        tasks = callAuthenticatedAms((client, token) -> client.pollTasks(token, maxTasksByThread));
+      } catch (TException exception) {
+        LOG.error(
+            "Optimizer task pipeline polled tasks for {} failed", maxTasksByThread, exception);
+      }
+      if (tasks != null && !tasks.isEmpty()) {
+        LOG.info("Optimizer task pipeline polled tasks for threads {} from ams", tasks.keySet());
+        break;
+      } else {
+        waitAShortTime();
+      }
+    }
+    return tasks == null ? Collections.emptyMap() : tasks;
+  }
+
+  private boolean ackTasks(int threadId, List<OptimizingTask> tasks) {
+    List<OptimizingTaskId> taskIds =
+        tasks.stream().map(OptimizingTask::getTaskId).collect(Collectors.toList());
+    try {
+      callAuthenticatedAms(
+          (client, token) -> {
+            client.ackTasks(token, threadId, taskIds);
+            return null;
+          });
+      LOG.info("Optimizer executor[{}] acknowledged tasks{} to ams", threadId, taskIds);
+      return true;
+    } catch (TException exception) {
+      LOG.error("Optimizer executor[{}] acknowledged tasks{} failed", threadId, taskIds, exception);
+      return false;
+    }
+  }
+
+  private void completeTasks(List<OptimizingTaskResult> results) {
+    List<OptimizingTaskId> taskIds =
+        results.stream().map(OptimizingTaskResult::getTaskId).collect(Collectors.toList());
+    try {
+      callAuthenticatedAms(
+          (client, token) -> {
+            client.completeTasks(token, results);
+            return null;
+          });
+      LOG.info("Optimizer task pipeline completed tasks{} to ams", taskIds);
+    } catch (TException exception) {
+      LOG.error("Optimizer task pipeline completed tasks{} failed", taskIds, exception);
+    }
+  }
+}
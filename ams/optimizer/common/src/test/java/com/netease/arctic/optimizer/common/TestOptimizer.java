@@ -54,4 +54,28 @@ public class TestOptimizer extends OptimizerTestBase {
     Assert.assertEquals(2, taskResults.size());
     optimizer.stopOptimizing();
   }
+
+  @Test
+  public void testStartOptimizerWithSharedTaskPipeline() throws InterruptedException {
+    OptimizerConfig optimizerConfig =
+        OptimizerTestHelpers.buildOptimizerConfig(TEST_AMS.getServerUrl());
+    optimizerConfig.setTaskPrefetch(2);
+    Optimizer optimizer = new Optimizer(optimizerConfig);
+    new Thread(optimizer::startOptimizing).start();
+    TimeUnit.SECONDS.sleep(1);
+    for (int i = 0; i < 4; i++) {
+      TEST_AMS
+          .getOptimizerHandler()
+          .offerTask(TestOptimizerExecutor.TestOptimizingInput.successInput(i).toTask(1, i));
+    }
+    TimeUnit.MILLISECONDS.sleep(OptimizerTestHelpers.CALL_AMS_INTERVAL * 10);
+    String token = optimizer.getToucher().getToken();
+    List<OptimizingTaskResult> taskResults =
+        TEST_AMS.getOptimizerHandler().getCompletedTasks().get(token);
+    // the tasks are polled for both threads in one call and completed in batches
+    Assert.assertEquals(4, taskResults.size());
+    Assert.assertEquals(
+        2, taskResults.stream().mapToInt(OptimizingTaskResult::getThreadId).distinct().count());
+    optimizer.stopOptimizing();
+  }
 }
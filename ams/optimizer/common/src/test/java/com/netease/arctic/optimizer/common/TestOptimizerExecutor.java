@@ -35,6 +35,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -103,6 +105,92 @@ public class TestOptimizerExecutor extends OptimizerTestBase {
     Assert.assertTrue(taskResult.getErrorMessage().contains(FAILED_TASK_MESSAGE));
   }
 
+  @Test
+  public void testExecuteTasksWithPrefetch() throws InterruptedException, TException {
+    OptimizerConfig optimizerConfig =
+        OptimizerTestHelpers.buildOptimizerConfig(TEST_AMS.getServerUrl());
+    optimizerConfig.setTaskPrefetch(2);
+    OptimizerExecutor prefetchExecutor = new OptimizerExecutor(optimizerConfig, 1);
+    new Thread(prefetchExecutor::start).start();
+    try {
+      TEST_AMS.getOptimizerHandler().authenticate(new OptimizerRegisterInfo());
+      String token =
+          TEST_AMS.getOptimizerHandler().getRegisteredOptimizers().keySet().iterator().next();
+      for (int i = 0; i < 5; i++) {
+        TEST_AMS
+            .getOptimizerHandler()
+            .offerTask(
+                (i == 3 ? TestOptimizingInput.failedInput(i) : TestOptimizingInput.successInput(i))
+                    .toTask(0, i));
+      }
+      prefetchExecutor.setToken(token);
+      TimeUnit.MILLISECONDS.sleep(OptimizerTestHelpers.CALL_AMS_INTERVAL * 4);
+      Assert.assertEquals(0, TEST_AMS.getOptimizerHandler().getPendingTasks().size());
+      List<OptimizingTaskResult> taskResults =
+          TEST_AMS.getOptimizerHandler().getCompletedTasks().get(token);
+      Assert.assertEquals(5, taskResults.size());
+      for (int i = 0; i < 5; i++) {
+        OptimizingTaskResult taskResult = taskResults.get(i);
+        Assert.assertEquals(new OptimizingTaskId(0, i), taskResult.getTaskId());
+        Assert.assertEquals(1, taskResult.getThreadId());
+        if (i == 3) {
+          Assert.assertTrue(taskResult.getErrorMessage().contains(FAILED_TASK_MESSAGE));
+        } else {
+          TestOptimizingOutput output =
+              SerializationUtil.simpleDeserialize(taskResult.getTaskOutput());
+          Assert.assertEquals(i, output.inputId());
+        }
+      }
+    } finally {
+      prefetchExecutor.stop();
+    }
+  }
+
+  @Test
+  public void testReleasePrefetchedTasksOnStop() throws InterruptedException, TException {
+    OptimizerConfig optimizerConfig =
+        OptimizerTestHelpers.buildOptimizerConfig(TEST_AMS.getServerUrl());
+    optimizerConfig.setTaskPrefetch(3);
+    TaskPipeline pipeline = new TaskPipeline(optimizerConfig, Collections.singletonList(1));
+    TEST_AMS.getOptimizerHandler().authenticate(new OptimizerRegisterInfo());
+    String token =
+        TEST_AMS.getOptimizerHandler().getRegisteredOptimizers().keySet().iterator().next();
+    for (int i = 0; i < 3; i++) {
+      TEST_AMS.getOptimizerHandler().offerTask(TestOptimizingInput.successInput(i).toTask(0, i));
+    }
+    pipeline.setToken(token);
+    pipeline.start();
+    TimeUnit.MILLISECONDS.sleep(OptimizerTestHelpers.CALL_AMS_INTERVAL * 2);
+    Assert.assertEquals(0, TEST_AMS.getOptimizerHandler().getPendingTasks().size());
+
+    // prefetched tasks are not acked until they are taken
+    Assert.assertTrue(executingTasks(token).isEmpty());
+    OptimizingTask task = pipeline.takeTask(1);
+    Assert.assertEquals(new OptimizingTaskId(0, 0), task.getTaskId());
+    Assert.assertEquals(Collections.singletonMap(task.getTaskId(), 1), executingTasks(token));
+
+    // the prefetched tasks not taken are acked and completed as failed
+    pipeline.stop();
+    List<OptimizingTaskResult> taskResults =
+        TEST_AMS.getOptimizerHandler().getCompletedTasks().get(token);
+    Assert.assertEquals(2, taskResults.size());
+    for (int i = 0; i < 2; i++) {
+      OptimizingTaskResult taskResult = taskResults.get(i);
+      Assert.assertEquals(new OptimizingTaskId(0, i + 1), taskResult.getTaskId());
+      Assert.assertEquals(1, taskResult.getThreadId());
+      Assert.assertNull(taskResult.getTaskOutput());
+      Assert.assertNotNull(taskResult.getErrorMessage());
+    }
+    Assert.assertNull(pipeline.takeTask(1));
+  }
+
+  private static Map<OptimizingTaskId, Integer> executingTasks(String token) {
+    return TEST_AMS
+        .getOptimizerHandler()
+        .getExecutingTasks()
+        .getOrDefault(token, Collections.emptyMap());
+  }
+
   public static class TestOptimizingInput extends BaseOptimizingInput {
     private final int inputId;
     private final boolean executeSuccess;
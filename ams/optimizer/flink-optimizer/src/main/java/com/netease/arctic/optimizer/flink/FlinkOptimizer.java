@@ -27,7 +27,8 @@ public class FlinkOptimizer {
     // calculate optimizer memory allocation
     calcOptimizerMemory(optimizerConfig, env);
 
-    Optimizer optimizer = new Optimizer(optimizerConfig);
+    // each subtask starts one executor, so the executors can not share a task pipeline
+    Optimizer optimizer = new Optimizer(optimizerConfig, false);
     env.addSource(new FlinkToucher(optimizer.getToucher()))
         .setParallelism(1)
         .broadcast()
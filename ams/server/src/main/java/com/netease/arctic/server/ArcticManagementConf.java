@@ -57,6 +57,33 @@ public class ArcticManagementConf {
               "Sets the size of the worker pool. The worker pool limits the number of tasks concurrently processing "
                   + "manifests in the base table implementation across all concurrent planning or commit operations.");
 
+  public static final ConfigOption<Long> TABLE_MANIFEST_CACHE_CAPACITY =
+      ConfigOptions.key("table-manifest-cache.capacity")
+          .longType()
+          .defaultValue(1000000L)
+          .withDescription(
+              "Max number of file paths read from manifests and manifest lists of tables kept in memory, "
+                  + "0 to disable the cache.");
+
+  public static final ConfigOption<String> TABLE_MANIFEST_CACHE_LOCAL_DIR =
+      ConfigOptions.key("table-manifest-cache.local-dir")
+          .stringType()
+          .defaultValue("")
+          .withDescription(
+              "Local directory to persist file paths read from manifests, empty to keep them only in memory.");
+
+  public static final ConfigOption<Long> TABLE_CACHE_CAPACITY =
+      ConfigOptions.key("table-cache.capacity")
+          .longType()
+          .defaultValue(1000L)
+          .withDescription("Max number of loaded tables kept in memory, 0 to disable the cache.");
+
+  public static final ConfigOption<Long> TABLE_CACHE_TTL =
+      ConfigOptions.key("table-cache.ttl")
+          .longType()
+          .defaultValue(300000L)
+          .withDescription("Time in milliseconds a loaded table is kept in memory at most.");
+
   public static final ConfigOption<Long> REFRESH_EXTERNAL_CATALOGS_INTERVAL =
       ConfigOptions.key("refresh-external-catalogs.interval")
           .longType()
@@ -154,6 +181,14 @@ public class ArcticManagementConf {
           .defaultValue(60000L)
           .withDescription("Interval for refreshing table metadata.");
 
+  public static final ConfigOption<Long> REFRESH_TABLES_FULL_EVALUATION_INTERVAL =
+      ConfigOptions.key("refresh-tables.full-evaluation-interval")
+          .longType()
+          .defaultValue(3600000L)
+          .withDescription(
+              "Max interval for evaluating all files of a table for optimizing, tables are"
+                  + " evaluated incrementally from the changed files of new snapshots in between.");
+
   public static final ConfigOption<Long> BLOCKER_TIMEOUT =
       ConfigOptions.key("blocker.timeout")
           .longType()
@@ -220,12 +255,28 @@ public class ArcticManagementConf {
           .defaultValue(19090)
           .withDescription("Port that the Http server is bound to.");
 
+  public static final ConfigOption<Long> HTTP_SERVER_REST_CATALOG_RESPONSE_CACHE_SIZE =
+      ConfigOptions.key("http-server.rest-catalog.response-cache-size")
+          .longType()
+          .defaultValue(134217728L)
+          .withDescription(
+              "Max bytes of serialized table responses of the Iceberg REST catalog kept in memory, "
+                  + "0 to disable the cache.");
+
   public static final ConfigOption<Integer> OPTIMIZING_COMMIT_THREAD_COUNT =
       ConfigOptions.key("self-optimizing.commit-thread-count")
           .intType()
           .defaultValue(10)
           .withDescription("The number of threads that self-optimizing uses to submit results.");
 
+  public static final ConfigOption<Integer> OPTIMIZING_EVALUATING_THREAD_COUNT =
+      ConfigOptions.key("self-optimizing.evaluating-thread-count")
+          .intType()
+          .defaultValue(10)
+          .withDescription(
+              "The number of threads that self-optimizing uses to evaluate scanned files of "
+                  + "tables, shared by all tables.");
+
   public static final ConfigOption<String> DB_TYPE =
       ConfigOptions.key("database.type")
           .stringType()
@@ -256,6 +307,33 @@ public class ArcticManagementConf {
           .defaultValue("")
           .withDescription("The password for connecting to the database.");
 
+  public static final ConfigOption<Integer> DB_CONNECTION_POOL_MAX_TOTAL =
+      ConfigOptions.key("database.connection-pool-max-total")
+          .intType()
+          .defaultValue(20)
+          .withDescription("The max number of connections in the database connection pool.");
+
+  public static final ConfigOption<Integer> DB_CONNECTION_POOL_MAX_IDLE =
+      ConfigOptions.key("database.connection-pool-max-idle")
+          .intType()
+          .defaultValue(16)
+          .withDescription("The max number of idle connections in the database connection pool.");
+
+  public static final ConfigOption<Long> DB_CONNECTION_POOL_MAX_WAIT =
+      ConfigOptions.key("database.connection-pool-max-wait")
+          .longType()
+          .defaultValue(1000L)
+          .withDescription(
+              "The max time in milliseconds to wait for a connection from the pool when it is exhausted.");
+
+  public static final ConfigOption<Long> DB_STATE_FLUSH_INTERVAL =
+      ConfigOptions.key("database.state-flush-interval")
+          .longType()
+          .defaultValue(200L)
+          .withDescription(
+              "Interval in milliseconds to flush updated table and task runtime states to the database in batches,"
+                  + " states are written immediately if it is not positive.");
+
   public static final ConfigOption<Long> OPTIMIZER_HB_TIMEOUT =
       ConfigOptions.key("optimizer.heart-beat-timeout")
           .longType()
@@ -280,6 +358,20 @@ public class ArcticManagementConf {
           .defaultValue(3000L)
           .withDescription("Optimizer polling task timeout.");
 
+  public static final ConfigOption<Integer> OPTIMIZER_POLL_THREAD_COUNT =
+      ConfigOptions.key("optimizer.poll-thread-count")
+          .intType()
+          .defaultValue(4)
+          .withDescription(
+              "The number of threads used for handing out tasks to parked polls of optimizers.");
+
+  public static final ConfigOption<Long> OPTIMIZER_AUTOSCALER_INTERVAL =
+      ConfigOptions.key("optimizer.autoscaler-interval")
+          .longType()
+          .defaultValue(60000L)
+          .withDescription(
+              "Interval of checking the backlog of the optimizer groups with autoscale enabled.");
+
   /** config key prefix of terminal */
   public static final String TERMINAL_PREFIX = "terminal.";
 
@@ -7,4 +7,6 @@ public class ArcticServiceConstants {
   public static final long QUOTA_LOOK_BACK_TIME = 60 * 60 * 1000;
 
   public static final long INVALID_SNAPSHOT_ID = -1L;
+
+  public static final long INVALID_SEQUENCE_NUMBER = -1L;
 }
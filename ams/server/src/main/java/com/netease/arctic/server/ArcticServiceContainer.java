@@ -32,7 +32,10 @@ import com.netease.arctic.server.dashboard.response.ErrorResponse;
 import com.netease.arctic.server.dashboard.utils.AmsUtil;
 import com.netease.arctic.server.dashboard.utils.CommonUtil;
 import com.netease.arctic.server.exception.ArcticRuntimeException;
+import com.netease.arctic.server.optimizing.maintainer.IcebergTableMaintainer;
+import com.netease.arctic.server.optimizing.plan.OptimizingEvaluator;
 import com.netease.arctic.server.persistence.SqlSessionFactoryProvider;
+import com.netease.arctic.server.persistence.WriteBehindPersistence;
 import com.netease.arctic.server.resource.ContainerMetadata;
 import com.netease.arctic.server.resource.OptimizerManager;
 import com.netease.arctic.server.resource.ResourceContainers;
@@ -44,15 +47,21 @@ import com.netease.arctic.server.terminal.TerminalManager;
 import com.netease.arctic.server.utils.ConfigOption;
 import com.netease.arctic.server.utils.ConfigurationUtil;
 import com.netease.arctic.server.utils.Configurations;
+import com.netease.arctic.server.utils.ManifestContentCache;
 import com.netease.arctic.server.utils.ThriftServiceProxy;
 import io.javalin.Javalin;
 import io.javalin.http.HttpCode;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.iceberg.SystemProperties;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.thrift.AsyncProcessFunction;
+import org.apache.thrift.TAsyncProcessor;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TBaseAsyncProcessor;
 import org.apache.thrift.TMultiplexedProcessor;
 import org.apache.thrift.TProcessor;
 import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.protocol.TMultiplexedProtocol;
 import org.apache.thrift.protocol.TProtocolFactory;
 import org.apache.thrift.server.TServer;
 import org.apache.thrift.server.TThreadedSelectorServer;
@@ -132,6 +141,10 @@ public class ArcticServiceContainer {
     tableService = new DefaultTableService(serviceConfig);
     optimizingService = new DefaultOptimizingService(serviceConfig, tableService);
 
+    WriteBehindPersistence.getInstance().start(serviceConfig);
+    ManifestContentCache.initialize(serviceConfig);
+    IcebergTableMaintainer.initialize(serviceConfig);
+    OptimizingEvaluator.initialize(serviceConfig);
     LOG.info("Setting up AMS table executors...");
     AsyncTableExecutors.getInstance().setup(tableService, serviceConfig);
     addHandlerChain(optimizingService.getTableRuntimeHandler());
@@ -180,6 +193,7 @@ public class ArcticServiceContainer {
       terminalManager.dispose();
       terminalManager = null;
     }
+    WriteBehindPersistence.getInstance().stop();
     optimizingService = null;
   }
 
@@ -203,7 +217,7 @@ public class ArcticServiceContainer {
   private void initHttpService() {
     DashboardServer dashboardServer =
         new DashboardServer(serviceConfig, tableService, optimizingService, terminalManager);
-    RestCatalogService restCatalogService = new RestCatalogService(tableService);
+    RestCatalogService restCatalogService = new RestCatalogService(tableService, serviceConfig);
 
     httpServer =
         Javalin.create(
@@ -299,15 +313,20 @@ public class ArcticServiceContainer {
             queueSizePerSelector,
             maxMessageSize);
 
-    OptimizingService.Processor<OptimizingService.Iface> optimizingProcessor =
-        new OptimizingService.Processor<>(
+    // polls of optimizers are parked without occupying worker threads
+    AsyncOptimizingService asyncOptimizingService =
+        new AsyncOptimizingService(
             ThriftServiceProxy.createProxy(
                 OptimizingService.Iface.class,
                 optimizingService,
-                ArcticRuntimeException::normalize));
+                ArcticRuntimeException::normalize),
+            optimizingService);
     optimizingServiceServer =
         createThriftServer(
-            optimizingProcessor,
+            multiplexedAsyncProcessor(
+                Constants.THRIFT_OPTIMIZING_SERVICE_NAME,
+                asyncOptimizingService,
+                new OptimizingService.AsyncProcessor<>(asyncOptimizingService)),
             Constants.THRIFT_OPTIMIZING_SERVICE_NAME,
             bindHost,
             serviceConfig.getInteger(ArcticManagementConf.OPTIMIZING_SERVICE_THRIFT_BIND_PORT),
@@ -335,8 +354,12 @@ public class ArcticServiceContainer {
     final TProtocolFactory inputProtoFactory =
         new TBinaryProtocol.Factory(true, true, maxMessageSize, maxMessageSize);
     TTransportFactory transportFactory = new TFramedTransport.Factory();
-    TMultiplexedProcessor multiplexedProcessor = new TMultiplexedProcessor();
-    multiplexedProcessor.registerProcessor(processorName, processor);
+    TProcessor multiplexedProcessor = processor;
+    if (!(processor instanceof TAsyncProcessor)) {
+      TMultiplexedProcessor syncProcessor = new TMultiplexedProcessor();
+      syncProcessor.registerProcessor(processorName, processor);
+      multiplexedProcessor = syncProcessor;
+    }
     TThreadedSelectorServer.Args args =
         new TThreadedSelectorServer.Args(serverTransport)
             .processor(multiplexedProcessor)
@@ -357,6 +380,21 @@ public class ArcticServiceContainer {
     return new TThreadedSelectorServer(args);
   }
 
+  /**
+   * TMultiplexedProcessor does not support asynchronous processors, so register the functions with
+   * the service name prefix added by the TMultiplexedProtocol of clients instead.
+   */
+  private static <I> TBaseAsyncProcessor<I> multiplexedAsyncProcessor(
+      String processorName, I iface, TBaseAsyncProcessor<I> processor) {
+    Map<String, AsyncProcessFunction<I, ? extends TBase, ?>> processMap = new HashMap<>();
+    processor
+        .getProcessMapView()
+        .forEach(
+            (name, function) ->
+                processMap.put(processorName + TMultiplexedProtocol.SEPARATOR + name, function));
+    return new TBaseAsyncProcessor<>(iface, processMap);
+  }
+
   private ThreadFactory getThriftThreadFactory(String processorName) {
     return new ThreadFactoryBuilder()
         .setDaemon(false)
@@ -448,6 +486,7 @@ public class ArcticServiceContainer {
 
       validateThreadCount(systemConfig, ArcticManagementConf.REFRESH_TABLES_THREAD_COUNT);
       validateThreadCount(systemConfig, ArcticManagementConf.OPTIMIZING_COMMIT_THREAD_COUNT);
+      validateThreadCount(systemConfig, ArcticManagementConf.OPTIMIZING_EVALUATING_THREAD_COUNT);
 
       if (enabled(systemConfig, ArcticManagementConf.EXPIRE_SNAPSHOTS_ENABLED)) {
         validateThreadCount(systemConfig, ArcticManagementConf.EXPIRE_SNAPSHOTS_THREAD_COUNT);
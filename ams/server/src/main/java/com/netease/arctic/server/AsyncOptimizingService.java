@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server;
+
+import com.netease.arctic.ams.api.OptimizerRegisterInfo;
+import com.netease.arctic.ams.api.OptimizingService;
+import com.netease.arctic.ams.api.OptimizingTask;
+import com.netease.arctic.ams.api.OptimizingTaskId;
+import com.netease.arctic.ams.api.OptimizingTaskResult;
+import com.netease.arctic.server.exception.ArcticRuntimeException;
+import org.apache.thrift.TException;
+import org.apache.thrift.async.AsyncMethodCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous OptimizingService handler for the non-blocking thrift server. Polls are parked in
+ * the {@link com.netease.arctic.server.optimizing.OptimizingQueue} and answered when tasks become
+ * available, so a waiting optimizer thread does not occupy a thrift worker thread. The other
+ * methods are short and executed directly on the worker thread.
+ */
+public class AsyncOptimizingService implements OptimizingService.AsyncIface {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncOptimizingService.class);
+
+  private final OptimizingService.Iface syncService;
+  private final DefaultOptimizingService optimizingService;
+
+  /**
+   * @param syncService service executing the non-polling methods, which should normalize exceptions
+   *     already
+   * @param optimizingService service the polls are parked in
+   */
+  public AsyncOptimizingService(
+      OptimizingService.Iface syncService, DefaultOptimizingService optimizingService) {
+    this.syncService = syncService;
+    this.optimizingService = optimizingService;
+  }
+
+  @Override
+  public void ping(AsyncMethodCallback<Void> resultHandler) {
+    execute(resultHandler, () -> syncService.ping());
+  }
+
+  @Override
+  public void touch(String authToken, AsyncMethodCallback<Void> resultHandler) {
+    execute(resultHandler, () -> syncService.touch(authToken));
+  }
+
+  @Override
+  public void pollTask(
+      String authToken, int threadId, AsyncMethodCallback<OptimizingTask> resultHandler) {
+    complete("pollTask", resultHandler, () -> optimizingService.pollTaskAsync(authToken, threadId));
+  }
+
+  @Override
+  public void ackTask(
+      String authToken,
+      int threadId,
+      OptimizingTaskId taskId,
+      AsyncMethodCallback<Void> resultHandler) {
+    execute(resultHandler, () -> syncService.ackTask(authToken, threadId, taskId));
+  }
+
+  @Override
+  public void completeTask(
+      String authToken, OptimizingTaskResult taskResult, AsyncMethodCallback<Void> resultHandler) {
+    execute(resultHandler, () -> syncService.completeTask(authToken, taskResult));
+  }
+
+  @Override
+  public void authenticate(
+      OptimizerRegisterInfo registerInfo, AsyncMethodCallback<String> resultHandler) {
+    try {
+      resultHandler.onComplete(syncService.authenticate(registerInfo));
+    } catch (Exception e) {
+      resultHandler.onError(e);
+    }
+  }
+
+  @Override
+  public void pollTasks(
+      String authToken,
+      Map<Integer, Integer> maxTasksByThread,
+      AsyncMethodCallback<Map<Integer, List<OptimizingTask>>> resultHandler) {
+    complete(
+        "pollTasks",
+        resultHandler,
+        () -> optimizingService.pollTasksAsync(authToken, maxTasksByThread));
+  }
+
+  @Override
+  public void ackTasks(
+      String authToken,
+      int threadId,
+      List<OptimizingTaskId> taskIds,
+      AsyncMethodCallback<Void> resultHandler) {
+    execute(resultHandler, () -> syncService.ackTasks(authToken, threadId, taskIds));
+  }
+
+  @Override
+  public void completeTasks(
+      String authToken,
+      List<OptimizingTaskResult> taskResults,
+      AsyncMethodCallback<Void> resultHandler) {
+    execute(resultHandler, () -> syncService.completeTasks(authToken, taskResults));
+  }
+
+  private void execute(AsyncMethodCallback<Void> resultHandler, ThriftCall call) {
+    try {
+      call.run();
+      resultHandler.onComplete(null);
+    } catch (Exception e) {
+      resultHandler.onError(e);
+    }
+  }
+
+  private <T> void complete(
+      String method,
+      AsyncMethodCallback<T> resultHandler,
+      Supplier<CompletableFuture<T>> futureSupplier) {
+    CompletableFuture<T> future;
+    try {
+      future = futureSupplier.get();
+    } catch (Throwable throwable) {
+      resultHandler.onError(normalize(method, throwable));
+      return;
+    }
+    future.whenComplete(
+        (result, throwable) -> {
+          if (throwable == null) {
+            resultHandler.onComplete(result);
+          } else {
+            resultHandler.onError(normalize(method, throwable));
+          }
+        });
+  }
+
+  private Exception normalize(String method, Throwable throwable) {
+    if (throwable instanceof CompletionException && throwable.getCause() != null) {
+      throwable = throwable.getCause();
+    }
+    LOG.error(
+        String.format(
+            "Thrift service:%s.%s execute failed",
+            optimizingService.getClass().getSimpleName(), method),
+        throwable);
+    return ArcticRuntimeException.normalize(throwable);
+  }
+
+  @FunctionalInterface
+  private interface ThriftCall {
+    void run() throws TException;
+  }
+}
@@ -37,6 +37,7 @@ import com.netease.arctic.server.optimizing.TaskRuntime;
 import com.netease.arctic.server.persistence.StatedPersistentBase;
 import com.netease.arctic.server.persistence.mapper.OptimizerMapper;
 import com.netease.arctic.server.persistence.mapper.ResourceMapper;
+import com.netease.arctic.server.resource.OptimizerAutoScaler;
 import com.netease.arctic.server.resource.OptimizerInstance;
 import com.netease.arctic.server.resource.OptimizerManager;
 import com.netease.arctic.server.resource.OptimizerThread;
@@ -58,15 +59,21 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
 import java.util.concurrent.Delayed;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -94,9 +101,11 @@ public class DefaultOptimizingService extends StatedPersistentBase
   private final Map<String, OptimizingQueue> optimizingQueueByToken = new ConcurrentHashMap<>();
   private final Map<String, OptimizerInstance> authOptimizers = new ConcurrentHashMap<>();
   private final OptimizerKeeper optimizerKeeper = new OptimizerKeeper();
+  private final OptimizerAutoScaler optimizerAutoScaler;
   private final TableService tableService;
   private final RuntimeHandlerChain tableHandlerChain;
   private final Executor planExecutor;
+  private final ScheduledExecutorService pollScheduler;
 
   public DefaultOptimizingService(Configurations serviceConfig, DefaultTableService tableService) {
     this.optimizerTouchTimeout = serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_HB_TIMEOUT);
@@ -106,12 +115,24 @@ public class DefaultOptimizingService extends StatedPersistentBase
     this.pollingTimeout = serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_POLLING_TIMEOUT);
     this.tableService = tableService;
     this.tableHandlerChain = new TableRuntimeHandlerImpl();
+    this.optimizerAutoScaler =
+        new OptimizerAutoScaler(
+            serviceConfig.getLong(ArcticManagementConf.OPTIMIZER_AUTOSCALER_INTERVAL),
+            this,
+            this::getOptionalQueueByGroup);
     this.planExecutor =
         Executors.newCachedThreadPool(
             new ThreadFactoryBuilder()
                 .setNameFormat("plan-executor-thread-%d")
                 .setDaemon(true)
                 .build());
+    this.pollScheduler =
+        Executors.newScheduledThreadPool(
+            serviceConfig.getInteger(ArcticManagementConf.OPTIMIZER_POLL_THREAD_COUNT),
+            new ThreadFactoryBuilder()
+                .setNameFormat("poll-scheduler-thread-%d")
+                .setDaemon(true)
+                .build());
   }
 
   public RuntimeHandlerChain getTableRuntimeHandler() {
@@ -135,6 +156,7 @@ public class DefaultOptimizingService extends StatedPersistentBase
                   group,
                   this,
                   planExecutor,
+                  pollScheduler,
                   Optional.ofNullable(tableRuntimeMetas).orElseGet(ArrayList::new),
                   maxPlanningParallelism);
           optimizingQueueByGroup.put(groupName, optimizingQueue);
@@ -193,12 +215,81 @@ public class DefaultOptimizingService extends StatedPersistentBase
         .orElse(null);
   }
 
+  /**
+   * Poll a task without blocking the calling thread, the returned future is completed with null if
+   * no task is available within the polling timeout.
+   */
+  public CompletableFuture<OptimizingTask> pollTaskAsync(String authToken, int threadId) {
+    return pollTasksAsync(authToken, Collections.singletonMap(threadId, 1))
+        .thenApply(tasks -> tasks.isEmpty() ? null : tasks.get(threadId).get(0));
+  }
+
+  /**
+   * Poll at most the given number of tasks for each thread without blocking the calling thread, the
+   * returned future is completed with an empty map if no task is available within the polling
+   * timeout.
+   */
+  public CompletableFuture<Map<Integer, List<OptimizingTask>>> pollTasksAsync(
+      String authToken, Map<Integer, Integer> maxTasksByThread) {
+    LOG.debug(
+        "Optimizer {} try polling at most {} tasks by thread asynchronously",
+        authToken,
+        maxTasksByThread);
+    int maxTasks = sumMaxTasks(maxTasksByThread);
+    OptimizingQueue queue = getQueueByToken(authToken);
+    OptimizerInstance optimizer = getAuthenticatedOptimizer(authToken);
+    return queue
+        .pollTasksAsync(maxTasks, pollingTimeout)
+        .thenApply(tasks -> assignTasks(tasks, maxTasksByThread, optimizer, queue));
+  }
+
+  private int sumMaxTasks(Map<Integer, Integer> maxTasksByThread) {
+    Preconditions.checkArgument(
+        maxTasksByThread != null && !maxTasksByThread.isEmpty(), "threads can not be empty");
+    Preconditions.checkArgument(
+        maxTasksByThread.values().stream().allMatch(maxTasks -> maxTasks != null && maxTasks > 0),
+        "maxTasks of each thread should be positive");
+    return maxTasksByThread.values().stream().mapToInt(Integer::intValue).sum();
+  }
+
+  /**
+   * Assign the polled tasks to the threads in turn, so the tasks are spread over the threads when
+   * fewer tasks than requested are available.
+   */
+  private Map<Integer, List<OptimizingTask>> assignTasks(
+      List<TaskRuntime> tasks,
+      Map<Integer, Integer> maxTasksByThread,
+      OptimizerInstance optimizer,
+      OptimizingQueue queue) {
+    Map<Integer, List<OptimizingTask>> assignedTasks = new HashMap<>();
+    Map<Integer, Integer> remainingTasks = new LinkedHashMap<>(maxTasksByThread);
+    Iterator<TaskRuntime> taskIterator = tasks.iterator();
+    while (taskIterator.hasNext()) {
+      Iterator<Map.Entry<Integer, Integer>> threadIterator = remainingTasks.entrySet().iterator();
+      while (taskIterator.hasNext() && threadIterator.hasNext()) {
+        Map.Entry<Integer, Integer> thread = threadIterator.next();
+        OptimizingTask task =
+            extractOptimizingTask(
+                taskIterator.next(), optimizer.getThread(thread.getKey()), queue);
+        if (task != null) {
+          assignedTasks.computeIfAbsent(thread.getKey(), threadId -> new ArrayList<>()).add(task);
+        }
+        if (thread.getValue() > 1) {
+          thread.setValue(thread.getValue() - 1);
+        } else {
+          threadIterator.remove();
+        }
+      }
+    }
+    return assignedTasks;
+  }
+
   private OptimizingTask extractOptimizingTask(
       TaskRuntime task, OptimizerThread optimizerThread, OptimizingQueue queue) {
     try {
       task.schedule(optimizerThread);
       LOG.info("OptimizerThread {} polled task {}", optimizerThread, task.getTaskId());
-      return task.getOptimizingTask();
+      return task.getOptimizingTask(optimizerThread.getOptimizer().supportsRewriteFilesCodec());
     } catch (Throwable throwable) {
       LOG.error("Schedule task {} failed, put it to retry queue", task.getTaskId(), throwable);
       queue.retryTask(task);
@@ -226,6 +317,67 @@ public class DefaultOptimizingService extends StatedPersistentBase
         .complete(thread, taskResult);
   }
 
+  @Override
+  public Map<Integer, List<OptimizingTask>> pollTasks(
+      String authToken, Map<Integer, Integer> maxTasksByThread) {
+    LOG.debug("Optimizer {} try polling at most {} tasks by thread", authToken, maxTasksByThread);
+    int maxTasks = sumMaxTasks(maxTasksByThread);
+    OptimizingQueue queue = getQueueByToken(authToken);
+    OptimizerInstance optimizer = getAuthenticatedOptimizer(authToken);
+    return assignTasks(
+        queue.pollTasks(maxTasks, pollingTimeout), maxTasksByThread, optimizer, queue);
+  }
+
+  /**
+   * Ack all the tasks or none of them. Tasks acked before a failing one are put back to the retry
+   * queue, so the optimizer can drop the whole batch, and tasks not acked are rescheduled after the
+   * ack timeout like a single failed ack.
+   */
+  @Override
+  public void ackTasks(String authToken, int threadId, List<OptimizingTaskId> taskIds) {
+    LOG.info("Ack tasks {} by optimizer {} (threadId {})", taskIds, authToken, threadId);
+    OptimizingQueue queue = getQueueByToken(authToken);
+    OptimizerThread thread = getAuthenticatedOptimizer(authToken).getThread(threadId);
+    List<TaskRuntime> tasks =
+        taskIds.stream()
+            .map(
+                taskId ->
+                    Optional.ofNullable(queue.getTask(taskId))
+                        .orElseThrow(() -> new TaskNotFoundException(taskId)))
+            .collect(Collectors.toList());
+    List<TaskRuntime> ackedTasks = new ArrayList<>(tasks.size());
+    try {
+      for (TaskRuntime task : tasks) {
+        task.ack(thread);
+        ackedTasks.add(task);
+      }
+    } catch (RuntimeException e) {
+      LOG.warn(
+          "Ack tasks {} by optimizer {} (threadId {}) failed, retry {} acked tasks",
+          taskIds,
+          authToken,
+          threadId,
+          ackedTasks.size(),
+          e);
+      ackedTasks.forEach(queue::retryTask);
+      throw e;
+    }
+  }
+
+  /**
+   * Complete the results independently of each other under a single acquisition of the schedule
+   * lock of the queue, the first failure is thrown after all the results are tried.
+   */
+  @Override
+  public void completeTasks(String authToken, List<OptimizingTaskResult> taskResults) {
+    LOG.info(
+        "Optimizer {} complete tasks {}",
+        authToken,
+        taskResults.stream().map(OptimizingTaskResult::getTaskId).collect(Collectors.toList()));
+    OptimizingQueue queue = getQueueByToken(authToken);
+    queue.completeTasks(getAuthenticatedOptimizer(authToken), taskResults);
+  }
+
   @Override
   public String authenticate(OptimizerRegisterInfo registerInfo) {
     LOG.info("Register optimizer {}.", registerInfo);
@@ -290,6 +442,7 @@ public class DefaultOptimizingService extends StatedPersistentBase
                   resourceGroup,
                   this,
                   planExecutor,
+                  pollScheduler,
                   new ArrayList<>(),
                   maxPlanningParallelism);
           optimizingQueueByGroup.put(resourceGroup.getName(), optimizingQueue);
@@ -357,6 +510,7 @@ public class DefaultOptimizingService extends StatedPersistentBase
   @Override
   public void dispose() {
     optimizerKeeper.dispose();
+    optimizerAutoScaler.dispose();
     tableHandlerChain.dispose();
     optimizingQueueByGroup.clear();
     optimizingQueueByToken.clear();
@@ -418,6 +572,12 @@ public class DefaultOptimizingService extends StatedPersistentBase
           .ifPresent(q -> q.refreshTable(tableRuntime));
     }
 
+    @Override
+    public void handleSnapshotChanged(TableRuntime tableRuntime) {
+      getOptionalQueueByGroup(tableRuntime.getOptimizerGroup())
+          .ifPresent(q -> q.rekeyTable(tableRuntime));
+    }
+
     @Override
     public void handleTableAdded(AmoroTable<?> table, TableRuntime tableRuntime) {
       getOptionalQueueByGroup(tableRuntime.getOptimizerGroup())
@@ -436,6 +596,7 @@ public class DefaultOptimizingService extends StatedPersistentBase
       loadOptimizingQueues(tableRuntimeMetaList);
       optimizerKeeper.start();
       LOG.info("SuspendingDetector for Optimizer has been started.");
+      optimizerAutoScaler.start();
       LOG.info("OptimizerManagementService initializing has completed");
     }
 
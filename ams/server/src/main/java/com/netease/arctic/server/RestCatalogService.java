@@ -29,8 +29,11 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.ams.api.properties.CatalogMetaProperties;
 import com.netease.arctic.server.catalog.InternalCatalog;
@@ -40,11 +43,14 @@ import com.netease.arctic.server.manager.MetricsManager;
 import com.netease.arctic.server.metrics.IcebergMetricsContent;
 import com.netease.arctic.server.persistence.PersistentBase;
 import com.netease.arctic.server.table.TableService;
+import com.netease.arctic.server.table.internal.IcebergInternalTableOperations;
 import com.netease.arctic.server.table.internal.InternalTableCreator;
 import com.netease.arctic.server.table.internal.InternalTableHandler;
+import com.netease.arctic.server.utils.Configurations;
 import com.netease.arctic.utils.CatalogUtil;
 import com.netease.arctic.utils.TablePropertyUtil;
 import io.javalin.apibuilder.EndpointGroup;
+import io.javalin.core.util.Header;
 import io.javalin.http.ContentType;
 import io.javalin.http.Context;
 import io.javalin.http.HttpCode;
@@ -76,6 +82,7 @@ import org.apache.iceberg.rest.responses.LoadTableResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -108,11 +115,23 @@ public class RestCatalogService extends PersistentBase {
   private final TableService tableService;
   private final MetricsManager metricsManager;
 
-  public RestCatalogService(TableService tableService) {
+  /** Serialized {@link LoadTableResponse} of tables, keyed by the metadata file location. */
+  private final Cache<String, String> tableResponses;
+
+  public RestCatalogService(TableService tableService, Configurations serviceConfig) {
     this.tableService = tableService;
     ObjectMapper objectMapper = jsonMapper();
     this.jsonMapper = new JavalinJackson(objectMapper);
     this.metricsManager = MetricsManager.instance();
+    long responseCacheSize =
+        serviceConfig.getLong(ArcticManagementConf.HTTP_SERVER_REST_CATALOG_RESPONSE_CACHE_SIZE);
+    this.tableResponses =
+        responseCacheSize > 0
+            ? Caffeine.newBuilder()
+                .maximumWeight(responseCacheSize)
+                .weigher((String location, String response) -> response.length())
+                .build()
+            : null;
   }
 
   public EndpointGroup endpoints() {
@@ -299,20 +318,71 @@ public class RestCatalogService extends PersistentBase {
         });
   }
 
-  /** GET PREFIX/v1/catalogs/{catalog}/namespaces/{namespace}/tables/{table} */
+  /**
+   * GET PREFIX/v1/catalogs/{catalog}/namespaces/{namespace}/tables/{table}
+   *
+   * <p>The response is identified by the current metadata file location of the table, it is
+   * returned as the ETag and 304 is returned if the client already has it. The serialized response
+   * is cached, so the metadata file is only read and serialized once after each commit.
+   */
   public void loadTable(Context ctx) {
-    handleTable(
+    withTable(
         ctx,
         handler -> {
           TableOperations ops = handler.newTableOperator();
-          TableMetadata tableMetadata = ops.current();
-          if (tableMetadata == null) {
-            throw new NoSuchTableException("failed to load table from metadata file.");
+          String metadataLocation =
+              ops instanceof IcebergInternalTableOperations
+                  ? ((IcebergInternalTableOperations) ops).currentMetadataLocation()
+                  : null;
+          if (metadataLocation == null) {
+            jsonResponse(ctx, loadTableResponse(ops));
+            return null;
+          }
+          String etag = etag(metadataLocation);
+          ctx.header(Header.ETAG, etag);
+          if (matchesETag(ctx.header(Header.IF_NONE_MATCH), etag)) {
+            ctx.status(HttpCode.NOT_MODIFIED);
+            return null;
           }
-          return LoadTableResponse.builder().withTableMetadata(tableMetadata).build();
+          String response =
+              tableResponses == null
+                  ? jsonMapper.toJsonString(loadTableResponse(ops))
+                  : tableResponses.get(
+                      metadataLocation,
+                      location -> jsonMapper.toJsonString(loadTableResponse(ops)));
+          ctx.contentType(ContentType.APPLICATION_JSON).result(response);
+          return null;
         });
   }
 
+  private static LoadTableResponse loadTableResponse(TableOperations ops) {
+    TableMetadata tableMetadata = ops.current();
+    if (tableMetadata == null) {
+      throw new NoSuchTableException("failed to load table from metadata file.");
+    }
+    return LoadTableResponse.builder().withTableMetadata(tableMetadata).build();
+  }
+
+  private static String etag(String metadataLocation) {
+    return "\"" + Hashing.murmur3_128().hashString(metadataLocation, StandardCharsets.UTF_8) + "\"";
+  }
+
+  private static boolean matchesETag(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String tag : ifNoneMatch.split(",")) {
+      String trimmed = tag.trim();
+      if (trimmed.startsWith("W/")) {
+        trimmed = trimmed.substring(2);
+      }
+      if (trimmed.equals("*") || trimmed.equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /** POST PREFIX/v1/catalogs/{catalog}/namespaces/{namespace}/tables/{table} */
   public void commitTable(Context ctx) {
     handleTable(
@@ -331,6 +401,7 @@ public class RestCatalogService extends PersistentBase {
           TableMetadata newMetadata = builder.build();
 
           ops.commit(base, newMetadata);
+          tableService.invalidateTable(handler.tableMetadata().getTableIdentifier());
           TableMetadata current = ops.current();
           return LoadTableResponse.builder().withTableMetadata(current).build();
         });
@@ -383,11 +454,21 @@ public class RestCatalogService extends PersistentBase {
 
   private void handleCatalog(
       Context ctx, Function<InternalCatalog, ? extends RESTResponse> handler) {
-    String catalog = ctx.pathParam("catalog");
-    Preconditions.checkNotNull(catalog, "lack require path params: catalog");
-    InternalCatalog internalCatalog = getCatalog(catalog);
+    response(ctx, withCatalog(ctx, handler));
+  }
+
+  private void handleNamespace(
+      Context ctx, BiFunction<InternalCatalog, String, ? extends RESTResponse> handler) {
+    response(ctx, withNamespace(ctx, handler));
+  }
+
+  private void handleTable(
+      Context ctx,
+      Function<InternalTableHandler<TableOperations>, ? extends RESTResponse> tableHandler) {
+    response(ctx, withTable(ctx, tableHandler));
+  }
 
-    RESTResponse r = handler.apply(internalCatalog);
+  private void response(Context ctx, RESTResponse r) {
     if (r != null) {
       jsonResponse(ctx, r);
     } else {
@@ -395,9 +476,15 @@ public class RestCatalogService extends PersistentBase {
     }
   }
 
-  private void handleNamespace(
-      Context ctx, BiFunction<InternalCatalog, String, ? extends RESTResponse> handler) {
-    handleCatalog(
+  private <T> T withCatalog(Context ctx, Function<InternalCatalog, T> handler) {
+    String catalog = ctx.pathParam("catalog");
+    Preconditions.checkNotNull(catalog, "lack require path params: catalog");
+    InternalCatalog internalCatalog = getCatalog(catalog);
+    return handler.apply(internalCatalog);
+  }
+
+  private <T> T withNamespace(Context ctx, BiFunction<InternalCatalog, String, T> handler) {
+    return withCatalog(
         ctx,
         catalog -> {
           String ns = ctx.pathParam("namespace");
@@ -408,10 +495,9 @@ public class RestCatalogService extends PersistentBase {
         });
   }
 
-  private void handleTable(
-      Context ctx,
-      Function<InternalTableHandler<TableOperations>, ? extends RESTResponse> tableHandler) {
-    handleNamespace(
+  private <T> T withTable(
+      Context ctx, Function<InternalTableHandler<TableOperations>, T> tableHandler) {
+    return withNamespace(
         ctx,
         (catalog, database) -> {
           String tableName = ctx.pathParam("table");
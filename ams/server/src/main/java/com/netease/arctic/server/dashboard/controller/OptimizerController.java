@@ -203,8 +203,13 @@ public class OptimizerController {
             .setProperties(resourceGroup.getProperties())
             .setThreadCount(parallelism)
             .build();
-    ResourceContainers.get(resource.getContainerName()).requestResource(resource);
     optimizerManager.createResource(resource);
+    try {
+      ResourceContainers.get(resource.getContainerName()).requestResource(resource);
+    } catch (Throwable t) {
+      optimizerManager.deleteResource(resource.getResourceId());
+      throw t;
+    }
     ctx.json(OkResponse.of("success to scaleOut optimizer"));
   }
 
@@ -87,6 +87,16 @@ public abstract class AbstractResourceContainer implements ResourceContainer {
                 resource.getProperties().get(OptimizerProperties.OPTIMIZER_MEMORY_STORAGE_SIZE));
       }
     }
+    if (resource.getProperties().containsKey(OptimizerProperties.OPTIMIZER_TASK_PARALLEL)) {
+      stringBuilder
+          .append(" -tp ")
+          .append(resource.getProperties().get(OptimizerProperties.OPTIMIZER_TASK_PARALLEL));
+    }
+    if (resource.getProperties().containsKey(OptimizerProperties.OPTIMIZER_TASK_PREFETCH)) {
+      stringBuilder
+          .append(" -pf ")
+          .append(resource.getProperties().get(OptimizerProperties.OPTIMIZER_TASK_PREFETCH));
+    }
     if (StringUtils.isNotEmpty(resource.getResourceId())) {
       stringBuilder.append(" -id ").append(resource.getResourceId());
     }
@@ -66,6 +66,8 @@ public class MetricsSummary {
 
   private int newDeleteFileCnt = 0;
   private long newDeleteRecordCnt = 0;
+  /** Time reported by the optimizer to execute the task, excluding the time waiting in queue */
+  private long executeDuration = 0;
 
   public MetricsSummary() {}
 
@@ -261,6 +263,14 @@ public class MetricsSummary {
     this.newFileCnt = newFileCnt;
   }
 
+  public long getExecuteDuration() {
+    return executeDuration;
+  }
+
+  protected void setExecuteDuration(long executeDuration) {
+    this.executeDuration = executeDuration;
+  }
+
   public long getRewriteDataSize() {
     return rewriteDataSize;
   }
@@ -342,6 +352,7 @@ public class MetricsSummary {
         .add("newDeleteSize", newDeleteSize)
         .add("newDeleteFileCnt", newDeleteFileCnt)
         .add("newDeleteRecordCnt", newDeleteRecordCnt)
+        .add("executeDuration", executeDuration)
         .toString();
   }
 }
@@ -3,15 +3,20 @@ package com.netease.arctic.server.optimizing;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.google.common.base.Objects;
 import com.netease.arctic.hive.HiveTableProperties;
+import com.netease.arctic.optimizing.ClusteringStrategy;
 import com.netease.arctic.table.TableProperties;
 import com.netease.arctic.utils.CompatiblePropertyUtil;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
 import org.apache.iceberg.util.PropertyUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.Map;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class OptimizingConfig {
+  private static final Logger LOG = LoggerFactory.getLogger(OptimizingConfig.class);
 
   // self-optimizing.enabled
   private boolean enabled;
@@ -34,6 +39,9 @@ public class OptimizingConfig {
   // self-optimizing.max-task-size-bytes
   private long maxTaskSize;
 
+  // self-optimizing.target-task-duration
+  private long targetTaskDuration;
+
   // self-optimizing.max-file-count
   private int maxFileCount;
 
@@ -58,6 +66,21 @@ public class OptimizingConfig {
   // self-optimizing.full.rewrite-all-files
   private boolean fullRewriteAllFiles;
 
+  // self-optimizing.clustering.strategy
+  private ClusteringStrategy clusteringStrategy = ClusteringStrategy.NONE;
+
+  // self-optimizing.clustering.columns
+  private String clusteringColumns = "";
+
+  // self-optimizing.clustering.trigger.overlap-ratio
+  private double clusteringOverlapRatio;
+
+  // self-optimizing.clustering.min-interval
+  private long clusteringMinInterval;
+
+  // self-optimizing.clustering.max-task-size-bytes
+  private long clusteringMaxTaskSize;
+
   // base.file-index.hash-bucket
   private int baseHashBucket;
 
@@ -135,6 +158,15 @@ public class OptimizingConfig {
     return this;
   }
 
+  public long getTargetTaskDuration() {
+    return targetTaskDuration;
+  }
+
+  public OptimizingConfig setTargetTaskDuration(long targetTaskDuration) {
+    this.targetTaskDuration = targetTaskDuration;
+    return this;
+  }
+
   public int getMaxFileCount() {
     return maxFileCount;
   }
@@ -215,6 +247,56 @@ public class OptimizingConfig {
     return this;
   }
 
+  public ClusteringStrategy getClusteringStrategy() {
+    return clusteringStrategy;
+  }
+
+  public OptimizingConfig setClusteringStrategy(ClusteringStrategy clusteringStrategy) {
+    this.clusteringStrategy = clusteringStrategy;
+    return this;
+  }
+
+  public String getClusteringColumns() {
+    return clusteringColumns;
+  }
+
+  public OptimizingConfig setClusteringColumns(String clusteringColumns) {
+    this.clusteringColumns = clusteringColumns;
+    return this;
+  }
+
+  public double getClusteringOverlapRatio() {
+    return clusteringOverlapRatio;
+  }
+
+  public OptimizingConfig setClusteringOverlapRatio(double clusteringOverlapRatio) {
+    this.clusteringOverlapRatio = clusteringOverlapRatio;
+    return this;
+  }
+
+  public long getClusteringMinInterval() {
+    return clusteringMinInterval;
+  }
+
+  public OptimizingConfig setClusteringMinInterval(long clusteringMinInterval) {
+    this.clusteringMinInterval = clusteringMinInterval;
+    return this;
+  }
+
+  public long getClusteringMaxTaskSize() {
+    return clusteringMaxTaskSize;
+  }
+
+  public OptimizingConfig setClusteringMaxTaskSize(long clusteringMaxTaskSize) {
+    this.clusteringMaxTaskSize = clusteringMaxTaskSize;
+    return this;
+  }
+
+  public boolean clusteringEnabled() {
+    return clusteringStrategy != ClusteringStrategy.NONE
+        && StringUtils.isNotBlank(clusteringColumns);
+  }
+
   public int getBaseHashBucket() {
     return baseHashBucket;
   }
@@ -253,6 +335,7 @@ public class OptimizingConfig {
         && maxCommitRetryCount == that.maxCommitRetryCount
         && targetSize == that.targetSize
         && maxTaskSize == that.maxTaskSize
+        && targetTaskDuration == that.targetTaskDuration
         && maxFileCount == that.maxFileCount
         && openFileCost == that.openFileCost
         && fragmentRatio == that.fragmentRatio
@@ -261,6 +344,11 @@ public class OptimizingConfig {
         && Double.compare(that.majorDuplicateRatio, majorDuplicateRatio) == 0
         && fullTriggerInterval == that.fullTriggerInterval
         && fullRewriteAllFiles == that.fullRewriteAllFiles
+        && clusteringStrategy == that.clusteringStrategy
+        && Objects.equal(clusteringColumns, that.clusteringColumns)
+        && Double.compare(that.clusteringOverlapRatio, clusteringOverlapRatio) == 0
+        && clusteringMinInterval == that.clusteringMinInterval
+        && clusteringMaxTaskSize == that.clusteringMaxTaskSize
         && baseHashBucket == that.baseHashBucket
         && baseRefreshInterval == that.baseRefreshInterval
         && hiveRefreshInterval == that.hiveRefreshInterval
@@ -277,6 +365,7 @@ public class OptimizingConfig {
         maxCommitRetryCount,
         targetSize,
         maxTaskSize,
+        targetTaskDuration,
         maxFileCount,
         openFileCost,
         fragmentRatio,
@@ -285,6 +374,11 @@ public class OptimizingConfig {
         majorDuplicateRatio,
         fullTriggerInterval,
         fullRewriteAllFiles,
+        clusteringStrategy,
+        clusteringColumns,
+        clusteringOverlapRatio,
+        clusteringMinInterval,
+        clusteringMaxTaskSize,
         baseHashBucket,
         baseRefreshInterval,
         hiveRefreshInterval);
@@ -300,6 +394,7 @@ public class OptimizingConfig {
         .add("maxCommitRetryCount", maxCommitRetryCount)
         .add("targetSize", targetSize)
         .add("maxTaskSize", maxTaskSize)
+        .add("targetTaskDuration", targetTaskDuration)
         .add("maxFileCount", maxFileCount)
         .add("openFileCost", openFileCost)
         .add("fragmentRatio", fragmentRatio)
@@ -308,6 +403,11 @@ public class OptimizingConfig {
         .add("majorDuplicateRatio", majorDuplicateRatio)
         .add("fullTriggerInterval", fullTriggerInterval)
         .add("fullRewriteAllFiles", fullRewriteAllFiles)
+        .add("clusteringStrategy", clusteringStrategy)
+        .add("clusteringColumns", clusteringColumns)
+        .add("clusteringOverlapRatio", clusteringOverlapRatio)
+        .add("clusteringMinInterval", clusteringMinInterval)
+        .add("clusteringMaxTaskSize", clusteringMaxTaskSize)
         .add("baseHashBucket", baseHashBucket)
         .add("baseRefreshInterval", baseRefreshInterval)
         .add("hiveRefreshInterval", hiveRefreshInterval)
@@ -356,6 +456,11 @@ public class OptimizingConfig {
                 properties,
                 TableProperties.SELF_OPTIMIZING_MAX_TASK_SIZE,
                 TableProperties.SELF_OPTIMIZING_MAX_TASK_SIZE_DEFAULT))
+        .setTargetTaskDuration(
+            CompatiblePropertyUtil.propertyAsLong(
+                properties,
+                TableProperties.SELF_OPTIMIZING_TARGET_TASK_DURATION,
+                TableProperties.SELF_OPTIMIZING_TARGET_TASK_DURATION_DEFAULT))
         .setTargetQuota(
             CompatiblePropertyUtil.propertyAsDouble(
                 properties,
@@ -386,6 +491,27 @@ public class OptimizingConfig {
                 properties,
                 TableProperties.SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES,
                 TableProperties.SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES_DEFAULT))
+        .setClusteringStrategy(parseClusteringStrategy(properties))
+        .setClusteringColumns(
+            CompatiblePropertyUtil.propertyAsString(
+                properties,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_COLUMNS,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_COLUMNS_DEFAULT))
+        .setClusteringOverlapRatio(
+            CompatiblePropertyUtil.propertyAsDouble(
+                properties,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_TRIGGER_OVERLAP_RATIO,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_TRIGGER_OVERLAP_RATIO_DEFAULT))
+        .setClusteringMinInterval(
+            CompatiblePropertyUtil.propertyAsLong(
+                properties,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_MIN_INTERVAL,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_MIN_INTERVAL_DEFAULT))
+        .setClusteringMaxTaskSize(
+            CompatiblePropertyUtil.propertyAsLong(
+                properties,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_MAX_TASK_SIZE,
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_MAX_TASK_SIZE_DEFAULT))
         .setBaseHashBucket(
             CompatiblePropertyUtil.propertyAsInt(
                 properties,
@@ -407,4 +533,24 @@ public class OptimizingConfig {
                 TableProperties.SELF_OPTIMIZING_MIN_PLAN_INTERVAL,
                 TableProperties.SELF_OPTIMIZING_MIN_PLAN_INTERVAL_DEFAULT));
   }
+
+  /** An unknown strategy disables clustering rather than failing to parse the table config. */
+  private static ClusteringStrategy parseClusteringStrategy(Map<String, String> properties) {
+    String strategy =
+        CompatiblePropertyUtil.propertyAsString(
+            properties,
+            TableProperties.SELF_OPTIMIZING_CLUSTERING_STRATEGY,
+            TableProperties.SELF_OPTIMIZING_CLUSTERING_STRATEGY_DEFAULT);
+    try {
+      return ClusteringStrategy.valueOfDesc(strategy);
+    } catch (IllegalArgumentException e) {
+      LOG.warn(
+          "Unknown {} {}, use the default {}",
+          TableProperties.SELF_OPTIMIZING_CLUSTERING_STRATEGY,
+          strategy,
+          TableProperties.SELF_OPTIMIZING_CLUSTERING_STRATEGY_DEFAULT);
+      return ClusteringStrategy.valueOfDesc(
+          TableProperties.SELF_OPTIMIZING_CLUSTERING_STRATEGY_DEFAULT);
+    }
+  }
 }
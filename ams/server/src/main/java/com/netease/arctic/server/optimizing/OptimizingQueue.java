@@ -21,15 +21,18 @@ package com.netease.arctic.server.optimizing;
 import com.netease.arctic.AmoroTable;
 import com.netease.arctic.ams.api.OptimizerProperties;
 import com.netease.arctic.ams.api.OptimizingTaskId;
+import com.netease.arctic.ams.api.OptimizingTaskResult;
 import com.netease.arctic.ams.api.resource.ResourceGroup;
 import com.netease.arctic.optimizing.RewriteFilesInput;
 import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.exception.OptimizingClosedException;
+import com.netease.arctic.server.exception.TaskNotFoundException;
 import com.netease.arctic.server.optimizing.plan.OptimizingPlanner;
 import com.netease.arctic.server.optimizing.plan.TaskDescriptor;
 import com.netease.arctic.server.persistence.PersistentBase;
 import com.netease.arctic.server.persistence.TaskFilesPersistence;
 import com.netease.arctic.server.persistence.mapper.OptimizingMapper;
+import com.netease.arctic.server.resource.OptimizerInstance;
 import com.netease.arctic.server.resource.QuotaProvider;
 import com.netease.arctic.server.table.ServerTableIdentifier;
 import com.netease.arctic.server.table.TableManager;
@@ -43,6 +46,7 @@ import com.netease.arctic.utils.TablePropertyUtil;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
@@ -50,7 +54,9 @@ import org.apache.iceberg.util.StructLikeMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +67,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
@@ -78,10 +85,13 @@ public class OptimizingQueue extends PersistentBase {
   private final SchedulingPolicy scheduler;
   private final TableManager tableManager;
   private final Executor planExecutor;
+  private final ScheduledExecutorService pollScheduler;
   // Keep all planning table identifiers
   private final Set<ServerTableIdentifier> planningTables = new HashSet<>();
   private final Lock scheduleLock = new ReentrantLock();
   private final Condition planningCompleted = scheduleLock.newCondition();
+  // Asynchronous polls waiting for tasks, guarded by scheduleLock
+  private final Queue<ParkedPoll> parkedPolls = new LinkedList<>();
   private final int maxPlanningParallelism;
   private ResourceGroup optimizerGroup;
 
@@ -90,10 +100,12 @@ public class OptimizingQueue extends PersistentBase {
       ResourceGroup optimizerGroup,
       QuotaProvider quotaProvider,
       Executor planExecutor,
+      ScheduledExecutorService pollScheduler,
       List<TableRuntimeMeta> tableRuntimeMetaList,
       int maxPlanningParallelism) {
     Preconditions.checkNotNull(optimizerGroup, "Optimizer group can not be null");
     this.planExecutor = planExecutor;
+    this.pollScheduler = pollScheduler;
     this.optimizerGroup = optimizerGroup;
     this.quotaProvider = quotaProvider;
     this.scheduler = new SchedulingPolicy(optimizerGroup);
@@ -141,6 +153,11 @@ public class OptimizingQueue extends PersistentBase {
     }
   }
 
+  /** Re-key the table in the scheduler on changes of its snapshots or quota. */
+  public void rekeyTable(TableRuntime tableRuntime) {
+    scheduler.rekeyTable(tableRuntime);
+  }
+
   public void releaseTable(TableRuntime tableRuntime) {
     scheduler.removeTable(tableRuntime);
     LOG.info(
@@ -168,6 +185,114 @@ public class OptimizingQueue extends PersistentBase {
     return task;
   }
 
+  /**
+   * Poll at most maxTasks tasks, retried tasks are handed out first, then tasks of the scheduled
+   * processes in order. Tasks are collected under a single acquisition of the schedule lock.
+   *
+   * @return polled tasks, empty if no task is available before the deadline
+   */
+  public List<TaskRuntime> pollTasks(int maxTasks, long maxWaitTime) {
+    Preconditions.checkArgument(maxTasks > 0, "maxTasks should be positive");
+    long deadline = calculateDeadline(maxWaitTime);
+    List<TaskRuntime> tasks = fetchTasks(maxTasks);
+    while (tasks.isEmpty() && waitTask(deadline)) {
+      tasks = fetchTasks(maxTasks);
+    }
+    return tasks;
+  }
+
+  /**
+   * Poll at most maxTasks tasks without blocking the calling thread. If no task is available, the
+   * poll is parked and completed when planning finishes or a task is retried, or with an empty list
+   * when maxWaitTime elapses.
+   */
+  public CompletableFuture<List<TaskRuntime>> pollTasksAsync(int maxTasks, long maxWaitTime) {
+    Preconditions.checkArgument(maxTasks > 0, "maxTasks should be positive");
+    CompletableFuture<List<TaskRuntime>> future = new CompletableFuture<>();
+    List<TaskRuntime> tasks = Collections.emptyList();
+    boolean parked = false;
+    scheduleLock.lock();
+    try {
+      // parked polls are earlier and there are no tasks for them
+      if (parkedPolls.isEmpty()) {
+        tasks = fetchTasks(maxTasks);
+      }
+      long currentTime = System.currentTimeMillis();
+      long deadline = calculateDeadline(maxWaitTime);
+      if (tasks.isEmpty() && deadline > currentTime) {
+        scheduleTableIfNecessary(currentTime);
+        parkedPolls.offer(new ParkedPoll(maxTasks, deadline, future));
+        parked = true;
+      }
+    } finally {
+      scheduleLock.unlock();
+    }
+    if (parked) {
+      pollScheduler.schedule(this::dispatchParkedPolls, maxWaitTime, TimeUnit.MILLISECONDS);
+    } else {
+      future.complete(tasks);
+    }
+    return future;
+  }
+
+  /**
+   * Hand out available tasks to parked polls in arrival order and complete expired polls. Polls are
+   * completed after releasing the schedule lock on other threads of the poll scheduler, as their
+   * callbacks schedule tasks and persist them.
+   */
+  private void dispatchParkedPolls() {
+    List<Runnable> completions = Lists.newArrayList();
+    scheduleLock.lock();
+    try {
+      long currentTime = System.currentTimeMillis();
+      boolean drained = false;
+      Iterator<ParkedPoll> pollIterator = parkedPolls.iterator();
+      while (pollIterator.hasNext()) {
+        ParkedPoll poll = pollIterator.next();
+        if (poll.future.isDone()) {
+          pollIterator.remove();
+          continue;
+        }
+        List<TaskRuntime> tasks = drained ? Collections.emptyList() : fetchTasks(poll.maxTasks);
+        drained = tasks.isEmpty();
+        if (!tasks.isEmpty() || poll.deadline <= currentTime) {
+          pollIterator.remove();
+          completions.add(() -> poll.future.complete(tasks));
+        }
+      }
+      if (!parkedPolls.isEmpty()) {
+        scheduleTableIfNecessary(currentTime);
+      }
+    } catch (Throwable throwable) {
+      LOG.error("Dispatch tasks to parked polls failed", throwable);
+    } finally {
+      scheduleLock.unlock();
+    }
+    completions.forEach(pollScheduler::execute);
+  }
+
+  private void wakeUpParkedPolls() {
+    pollScheduler.execute(this::dispatchParkedPolls);
+  }
+
+  private List<TaskRuntime> fetchTasks(int maxTasks) {
+    List<TaskRuntime> tasks = Lists.newArrayList();
+    scheduleLock.lock();
+    try {
+      TaskRuntime task;
+      while (tasks.size() < maxTasks && (task = retryTaskQueue.poll()) != null) {
+        tasks.add(task);
+      }
+      Iterator<TableOptimizingProcess> processIterator = tableQueue.iterator();
+      while (tasks.size() < maxTasks && processIterator.hasNext()) {
+        processIterator.next().poll(maxTasks - tasks.size(), tasks);
+      }
+    } finally {
+      scheduleLock.unlock();
+    }
+    return tasks;
+  }
+
   private long calculateDeadline(long maxWaitTime) {
     long deadline = System.currentTimeMillis() + maxWaitTime;
     return deadline <= 0 ? Long.MAX_VALUE : deadline;
@@ -241,13 +366,14 @@ public class OptimizingQueue extends PersistentBase {
               } finally {
                 scheduleLock.unlock();
               }
+              wakeUpParkedPolls();
             });
   }
 
   private TableOptimizingProcess planInternal(TableRuntime tableRuntime) {
     tableRuntime.beginPlanning();
     try {
-      AmoroTable<?> table = tableManager.loadTable(tableRuntime.getTableIdentifier());
+      AmoroTable<?> table = tableManager.reloadTable(tableRuntime.getTableIdentifier());
       OptimizingPlanner planner =
           new OptimizingPlanner(
               tableRuntime.refresh(table),
@@ -275,6 +401,41 @@ public class OptimizingQueue extends PersistentBase {
         .orElse(null);
   }
 
+  /**
+   * Complete the results of an optimizer under a single acquisition of the schedule lock. Results
+   * are completed independently of each other, the first failure is thrown after all the results
+   * are tried with the later ones suppressed.
+   */
+  public void completeTasks(OptimizerInstance optimizer, List<OptimizingTaskResult> taskResults) {
+    RuntimeException failure = null;
+    scheduleLock.lock();
+    try {
+      for (OptimizingTaskResult taskResult : taskResults) {
+        try {
+          Optional.ofNullable(getTask(taskResult.getTaskId()))
+              .orElseThrow(() -> new TaskNotFoundException(taskResult.getTaskId()))
+              .complete(optimizer.getThread(taskResult.getThreadId()), taskResult);
+        } catch (RuntimeException e) {
+          LOG.error(
+              "Optimizer {} complete task {} failed",
+              optimizer.getToken(),
+              taskResult.getTaskId(),
+              e);
+          if (failure == null) {
+            failure = e;
+          } else {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+    } finally {
+      scheduleLock.unlock();
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
   public List<TaskRuntime> collectTasks() {
     return tableQueue.stream()
         .flatMap(p -> p.getTaskMap().values().stream())
@@ -288,9 +449,43 @@ public class OptimizingQueue extends PersistentBase {
         .collect(Collectors.toList());
   }
 
+  /** Collect the backlog of the queue, the optimizers of the group are scaled by it. */
+  public Backlog getBacklog() {
+    int waitingTasks = 0;
+    int runningTasks = 0;
+    long waitingSince = Long.MAX_VALUE;
+    Map<Long, Long> retryingTasks =
+        retryTaskQueue.stream()
+            .collect(Collectors.groupingBy(TaskRuntime::getProcessId, Collectors.counting()));
+    for (TableOptimizingProcess process : tableQueue) {
+      int waiting =
+          process.waitingTaskCount()
+              + retryingTasks.getOrDefault(process.getProcessId(), 0L).intValue();
+      if (waiting > 0) {
+        waitingTasks += waiting;
+        waitingSince = Math.min(waitingSince, process.getPlanTime());
+      }
+      runningTasks +=
+          (int)
+              process.getTaskMap().values().stream()
+                  .filter(
+                      task ->
+                          task.getStatus() == TaskRuntime.Status.SCHEDULED
+                              || task.getStatus() == TaskRuntime.Status.ACKED)
+                  .count();
+    }
+    return new Backlog(
+        waitingTasks,
+        runningTasks,
+        waitingTasks > 0 ? waitingSince : ArcticServiceConstants.INVALID_TIME,
+        scheduler.getPendingInputSize());
+  }
+
   public void retryTask(TaskRuntime taskRuntime) {
     taskRuntime.reset();
     retryTaskQueue.offer(taskRuntime);
+    // the caller may hold the lock of the process, dispatch in the poll scheduler
+    wakeUpParkedPolls();
   }
 
   public void updateOptimizerGroup(ResourceGroup optimizerGroup) {
@@ -318,6 +513,67 @@ public class OptimizingQueue extends PersistentBase {
     return scheduler;
   }
 
+  private static class ParkedPoll {
+    private final int maxTasks;
+    private final long deadline;
+    private final CompletableFuture<List<TaskRuntime>> future;
+
+    ParkedPoll(int maxTasks, long deadline, CompletableFuture<List<TaskRuntime>> future) {
+      this.maxTasks = maxTasks;
+      this.deadline = deadline;
+      this.future = future;
+    }
+  }
+
+  /** The optimizing backlog of a queue. */
+  public static class Backlog {
+    private final int waitingTasks;
+    private final int runningTasks;
+    private final long waitingSince;
+    private final long pendingInputSize;
+
+    public Backlog(int waitingTasks, int runningTasks, long waitingSince, long pendingInputSize) {
+      this.waitingTasks = waitingTasks;
+      this.runningTasks = runningTasks;
+      this.waitingSince = waitingSince;
+      this.pendingInputSize = pendingInputSize;
+    }
+
+    /** Tasks planned or retried but not polled by any optimizer yet. */
+    public int getWaitingTasks() {
+      return waitingTasks;
+    }
+
+    /** Tasks scheduled to or executing on optimizers. */
+    public int getRunningTasks() {
+      return runningTasks;
+    }
+
+    /** The plan time of the earliest process with waiting tasks, or INVALID_TIME if none. */
+    public long getWaitingSince() {
+      return waitingSince;
+    }
+
+    /** Input size of the tables pending for planning. */
+    public long getPendingInputSize() {
+      return pendingInputSize;
+    }
+
+    public boolean isIdle() {
+      return waitingTasks == 0 && runningTasks == 0 && pendingInputSize == 0;
+    }
+
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("waitingTasks", waitingTasks)
+          .add("runningTasks", runningTasks)
+          .add("waitingSince", waitingSince)
+          .add("pendingInputSize", pendingInputSize)
+          .toString();
+    }
+  }
+
   private class TableOptimizingProcess implements OptimizingProcess, TaskRuntime.TaskOwner {
     private final long processId;
     private final OptimizingType optimizingType;
@@ -344,6 +600,27 @@ public class OptimizingQueue extends PersistentBase {
       }
     }
 
+    public int waitingTaskCount() {
+      lock.lock();
+      try {
+        return taskQueue.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    public void poll(int maxTasks, List<TaskRuntime> tasks) {
+      lock.lock();
+      try {
+        TaskRuntime task;
+        for (int i = 0; i < maxTasks && (task = taskQueue.poll()) != null; i++) {
+          tasks.add(task);
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
     public TableOptimizingProcess(OptimizingPlanner planner) {
       processId = planner.getProcessId();
       tableRuntime = planner.getTableRuntime();
@@ -408,6 +685,7 @@ public class OptimizingQueue extends PersistentBase {
       try {
         try {
           tableRuntime.addTaskQuota(taskRuntime.getCurrentQuota());
+          scheduler.rekeyTable(tableRuntime);
         } catch (Throwable throwable) {
           LOG.warn(
               "{} failed to add task quota {}, ignore it",
@@ -419,6 +697,9 @@ public class OptimizingQueue extends PersistentBase {
           throw new OptimizingClosedException(processId);
         }
         if (taskRuntime.getStatus() == TaskRuntime.Status.SUCCESS) {
+          tableRuntime
+              .getTaskCostModel()
+              .addTask(new TaskCostModel.TaskCost(optimizingType, taskRuntime));
           // the lock of TableOptimizingProcess makes it thread-safe
           if (allTasksPrepared()
               && tableRuntime.getOptimizingStatus().isProcessing()
@@ -532,6 +813,7 @@ public class OptimizingQueue extends PersistentBase {
         endTime = System.currentTimeMillis();
         persistProcessCompleted(false);
       } finally {
+        tableManager.invalidateTable(tableRuntime.getTableIdentifier());
         clearProcess(this);
         lock.unlock();
       }
@@ -544,7 +826,7 @@ public class OptimizingQueue extends PersistentBase {
 
     private UnKeyedTableCommit buildCommit() {
       ArcticTable table =
-          (ArcticTable) tableManager.loadTable(tableRuntime.getTableIdentifier()).originalTable();
+          (ArcticTable) tableManager.reloadTable(tableRuntime.getTableIdentifier()).originalTable();
       if (table.isUnkeyedTable()) {
         return new UnKeyedTableCommit(targetSnapshotId, table, taskMap.values());
       } else {
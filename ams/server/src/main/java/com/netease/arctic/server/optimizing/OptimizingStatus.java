@@ -1,6 +1,7 @@
 package com.netease.arctic.server.optimizing;
 
 public enum OptimizingStatus {
+  CLUSTER_OPTIMIZING("clustering", true),
   FULL_OPTIMIZING("full", true),
   MAJOR_OPTIMIZING("major", true),
   MINOR_OPTIMIZING("minor", true),
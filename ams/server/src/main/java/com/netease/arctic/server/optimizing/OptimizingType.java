@@ -3,7 +3,8 @@ package com.netease.arctic.server.optimizing;
 public enum OptimizingType {
   MINOR(OptimizingStatus.MINOR_OPTIMIZING),
   MAJOR(OptimizingStatus.MAJOR_OPTIMIZING),
-  FULL(OptimizingStatus.FULL_OPTIMIZING);
+  FULL(OptimizingStatus.FULL_OPTIMIZING),
+  CLUSTERING(OptimizingStatus.CLUSTER_OPTIMIZING);
 
   private final OptimizingStatus status;
 
@@ -7,26 +7,59 @@ import com.netease.arctic.server.table.ServerTableIdentifier;
 import com.netease.arctic.server.table.TableRuntime;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
 
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
 
+/**
+ * Select the next table to plan in an optimizer group.
+ *
+ * <p>Pending tables are kept in a priority queue ordered by the priority of the policy, indexed by
+ * table identifier, so that selecting a table costs O(log n) instead of a sweep over all tables.
+ * Tables are re-keyed when they are refreshed on status, config, snapshot or quota changes. Since
+ * the quota occupation of a table decays over time without any change, all the tables are also
+ * re-keyed once a minute. Tables no longer pending are dropped when they are met during selection,
+ * they are added back by the next status change.
+ *
+ * <p>Pending tables not eligible for planning yet are parked outside the priority queue until the
+ * time they may become eligible: the end of the minimal plan interval, or the expiration of the
+ * blockers. Tables without new snapshots are parked until a snapshot change re-keys them. Parked
+ * tables are re-keyed when they are unparked and by the periodic re-key of all the tables.
+ */
 public class SchedulingPolicy {
 
   private static final String SCHEDULING_POLICY_PROPERTY_NAME = "scheduling-policy";
   private static final String QUOTA = "quota";
   private static final String BALANCED = "balanced";
+  // Interval to re-key all the tables, bounds how stale the quota occupations of tables can be
+  private static final long REKEY_INTERVAL = 60000; // 1min
 
   private final Map<ServerTableIdentifier, TableRuntime> tableRuntimeMap = new HashMap<>();
+  private final Map<ServerTableIdentifier, ScheduledTable> scheduledTableMap = new HashMap<>();
+  private final NavigableSet<ScheduledTable> scheduledTables = new TreeSet<>();
+  // Tables ordered by the time they may become eligible for planning
+  private final NavigableSet<ScheduledTable> parkedTables = new TreeSet<>();
   private volatile String policyName;
-  private Comparator<TableRuntime> tableSorter;
+  private TablePriority tablePriority;
   private final Lock tableLock = new ReentrantLock();
+  private final long rekeyInterval;
+  private long lastRekeyTime = System.currentTimeMillis();
 
   public SchedulingPolicy(ResourceGroup group) {
+    this(group, REKEY_INTERVAL);
+  }
+
+  @VisibleForTesting
+  SchedulingPolicy(ResourceGroup group, long rekeyInterval) {
+    this.rekeyInterval = rekeyInterval;
     setTableSorterIfNeeded(group);
   }
 
@@ -38,12 +71,14 @@ public class SchedulingPolicy {
               .orElseGet(Maps::newHashMap)
               .getOrDefault(SCHEDULING_POLICY_PROPERTY_NAME, QUOTA);
       if (policyName.equalsIgnoreCase(QUOTA)) {
-        if (tableSorter == null || !(tableSorter instanceof QuotaOccupySorter)) {
-          tableSorter = new QuotaOccupySorter();
+        if (tablePriority == null || !(tablePriority instanceof QuotaOccupyPriority)) {
+          tablePriority = new QuotaOccupyPriority();
+          rekeyTables();
         }
       } else if (policyName.equalsIgnoreCase(BALANCED)) {
-        if (tableSorter == null || !(tableSorter instanceof BalancedSorter)) {
-          tableSorter = new BalancedSorter();
+        if (tablePriority == null || !(tablePriority instanceof BalancedPriority)) {
+          tablePriority = new BalancedPriority();
+          rekeyTables();
         }
       } else {
         throw new IllegalArgumentException("Illegal scheduling policy: " + policyName);
@@ -60,11 +95,33 @@ public class SchedulingPolicy {
   public TableRuntime scheduleTable(Set<ServerTableIdentifier> skipSet) {
     tableLock.lock();
     try {
-      fillSkipSet(skipSet);
-      return tableRuntimeMap.values().stream()
-          .filter(tableRuntime -> !skipSet.contains(tableRuntime.getTableIdentifier()))
-          .min(tableSorter)
-          .orElse(null);
+      long currentTime = System.currentTimeMillis();
+      if (currentTime - lastRekeyTime >= rekeyInterval) {
+        rekeyTables();
+      } else {
+        unparkTables(currentTime);
+      }
+      Iterator<ScheduledTable> iterator = scheduledTables.iterator();
+      while (iterator.hasNext()) {
+        TableRuntime tableRuntime = iterator.next().tableRuntime;
+        ServerTableIdentifier identifier = tableRuntime.getTableIdentifier();
+        if (skipSet.contains(identifier)) {
+          continue;
+        }
+        if (tableRuntime.getOptimizingStatus() != OptimizingStatus.PENDING) {
+          iterator.remove();
+          scheduledTableMap.remove(identifier);
+          continue;
+        }
+        long eligibleTime = getEligibleTime(tableRuntime, currentTime);
+        if (eligibleTime > currentTime) {
+          iterator.remove();
+          park(tableRuntime, eligibleTime);
+        } else {
+          return tableRuntime;
+        }
+      }
+      return null;
     } finally {
       tableLock.unlock();
     }
@@ -79,29 +136,64 @@ public class SchedulingPolicy {
     }
   }
 
-  private void fillSkipSet(Set<ServerTableIdentifier> originalSet) {
-    long currentTime = System.currentTimeMillis();
-    tableRuntimeMap.values().stream()
-        .filter(
-            tableRuntime ->
-                !isTablePending(tableRuntime)
-                    || tableRuntime.isBlocked(BlockableOperation.OPTIMIZE)
-                    || currentTime - tableRuntime.getLastPlanTime()
-                        < tableRuntime.getOptimizingConfig().getMinPlanInterval())
-        .forEach(tableRuntime -> originalSet.add(tableRuntime.getTableIdentifier()));
+  /**
+   * Get the time the table may become eligible for planning, which is not later than the current
+   * time if the table is eligible now.
+   */
+  private long getEligibleTime(TableRuntime tableRuntime, long currentTime) {
+    if (!hasNewSnapshots(tableRuntime)) {
+      return Long.MAX_VALUE;
+    }
+    long planIntervalEndTime =
+        tableRuntime.getLastPlanTime() + tableRuntime.getOptimizingConfig().getMinPlanInterval();
+    if (planIntervalEndTime > currentTime) {
+      return planIntervalEndTime;
+    }
+    return tableRuntime.getBlockingExpirationTime(BlockableOperation.OPTIMIZE);
   }
 
-  private boolean isTablePending(TableRuntime tableRuntime) {
-    return tableRuntime.getOptimizingStatus() == OptimizingStatus.PENDING
-        && (tableRuntime.getLastOptimizedSnapshotId() != tableRuntime.getCurrentSnapshotId()
-            || tableRuntime.getLastOptimizedChangeSnapshotId()
-                != tableRuntime.getCurrentChangeSnapshotId());
+  private boolean hasNewSnapshots(TableRuntime tableRuntime) {
+    return tableRuntime.getLastOptimizedSnapshotId() != tableRuntime.getCurrentSnapshotId()
+        || tableRuntime.getLastOptimizedChangeSnapshotId()
+            != tableRuntime.getCurrentChangeSnapshotId();
   }
 
+  /** Add the table or re-key it if it is already added. */
   public void addTable(TableRuntime tableRuntime) {
     tableLock.lock();
     try {
       tableRuntimeMap.put(tableRuntime.getTableIdentifier(), tableRuntime);
+      rekey(tableRuntime);
+    } finally {
+      tableLock.unlock();
+    }
+  }
+
+  /** Re-key the table if it is added, on changes of its snapshots or quota. */
+  public void rekeyTable(TableRuntime tableRuntime) {
+    tableLock.lock();
+    try {
+      if (tableRuntimeMap.containsKey(tableRuntime.getTableIdentifier())) {
+        rekey(tableRuntime);
+      }
+    } finally {
+      tableLock.unlock();
+    }
+  }
+
+  /** The total size of the pending input of the tables waiting for planning. */
+  public long getPendingInputSize() {
+    tableLock.lock();
+    try {
+      return scheduledTableMap.values().stream()
+          .map(scheduledTable -> scheduledTable.tableRuntime.getPendingInput())
+          .filter(Objects::nonNull)
+          .mapToLong(
+              input ->
+                  input.getDataFileSize()
+                      + input.getEqualityDeleteBytes()
+                      + input.getPositionalDeleteBytes())
+          .sum();
     } finally {
       tableLock.unlock();
     }
@@ -111,39 +203,99 @@ public class SchedulingPolicy {
     tableLock.lock();
     try {
       tableRuntimeMap.remove(tableRuntime.getTableIdentifier());
+      unschedule(tableRuntime.getTableIdentifier());
     } finally {
       tableLock.unlock();
     }
   }
 
+  private void rekey(TableRuntime tableRuntime) {
+    unschedule(tableRuntime.getTableIdentifier());
+    if (tableRuntime.getOptimizingStatus() == OptimizingStatus.PENDING) {
+      ScheduledTable scheduledTable =
+          new ScheduledTable(tableRuntime, tablePriority.priority(tableRuntime));
+      scheduledTables.add(scheduledTable);
+      scheduledTableMap.put(tableRuntime.getTableIdentifier(), scheduledTable);
+    }
+  }
+
+  private void park(TableRuntime tableRuntime, long eligibleTime) {
+    ScheduledTable parkedTable = new ScheduledTable(tableRuntime, eligibleTime);
+    parkedTables.add(parkedTable);
+    scheduledTableMap.put(tableRuntime.getTableIdentifier(), parkedTable);
+  }
+
+  private void unparkTables(long currentTime) {
+    while (!parkedTables.isEmpty() && parkedTables.first().priority <= currentTime) {
+      TableRuntime tableRuntime = parkedTables.first().tableRuntime;
+      rekey(tableRuntime);
+    }
+  }
+
+  private void unschedule(ServerTableIdentifier identifier) {
+    ScheduledTable scheduledTable = scheduledTableMap.remove(identifier);
+    if (scheduledTable != null && !scheduledTables.remove(scheduledTable)) {
+      parkedTables.remove(scheduledTable);
+    }
+  }
+
+  private void rekeyTables() {
+    tableRuntimeMap.values().forEach(this::rekey);
+    lastRekeyTime = System.currentTimeMillis();
+  }
+
   @VisibleForTesting
   Map<ServerTableIdentifier, TableRuntime> getTableRuntimeMap() {
     return tableRuntimeMap;
   }
 
-  private static class QuotaOccupySorter implements Comparator<TableRuntime> {
+  @VisibleForTesting
+  Set<ServerTableIdentifier> getParkedTables() {
+    return parkedTables.stream()
+        .map(parkedTable -> parkedTable.tableRuntime.getTableIdentifier())
+        .collect(Collectors.toSet());
+  }
+
+  private static class ScheduledTable implements Comparable<ScheduledTable> {
+    private final TableRuntime tableRuntime;
+    // the priority of the policy, or the eligible time of a parked table
+    private final double priority;
+    // breaks ties of priorities, identifiers are unique in a scheduler
+    private final String identifier;
+
+    private ScheduledTable(TableRuntime tableRuntime, double priority) {
+      this.tableRuntime = tableRuntime;
+      this.priority = priority;
+      this.identifier = tableRuntime.getTableIdentifier().toString();
+    }
+
+    @Override
+    public int compareTo(ScheduledTable another) {
+      int result = Double.compare(priority, another.priority);
+      return result != 0 ? result : identifier.compareTo(another.identifier);
+    }
+  }
 
-    private final Map<TableRuntime, Double> tableWeightMap = Maps.newHashMap();
+  /** Tables with lower priority values are scheduled first. */
+  private interface TablePriority {
+    double priority(TableRuntime tableRuntime);
+  }
 
+  private static class QuotaOccupyPriority implements TablePriority {
     @Override
-    public int compare(TableRuntime one, TableRuntime another) {
-      return Double.compare(
-          tableWeightMap.computeIfAbsent(one, TableRuntime::calculateQuotaOccupy),
-          tableWeightMap.computeIfAbsent(another, TableRuntime::calculateQuotaOccupy));
+    public double priority(TableRuntime tableRuntime) {
+      return tableRuntime.calculateQuotaOccupy();
     }
   }
 
-  private static class BalancedSorter implements Comparator<TableRuntime> {
+  private static class BalancedPriority implements TablePriority {
     @Override
-    public int compare(TableRuntime one, TableRuntime another) {
-      return Long.compare(
-          Math.max(
-              one.getLastFullOptimizingTime(),
-              Math.max(one.getLastMinorOptimizingTime(), one.getLastMajorOptimizingTime())),
+    public double priority(TableRuntime tableRuntime) {
+      return Math.max(
+          Math.max(tableRuntime.getLastFullOptimizingTime(), tableRuntime.getLastClusteringTime()),
           Math.max(
-              another.getLastFullOptimizingTime(),
-              Math.max(
-                  another.getLastMinorOptimizingTime(), another.getLastMajorOptimizingTime())));
+              tableRuntime.getLastMinorOptimizingTime(),
+              tableRuntime.getLastMajorOptimizingTime()));
     }
   }
 }
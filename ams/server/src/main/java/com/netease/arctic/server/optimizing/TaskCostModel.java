@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing;
+
+import com.netease.arctic.server.ArcticServiceConstants;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Cost model of optimizing tasks of a table, learned from the execution time of finished tasks. The
+ * execution time is reported by optimizers, excluding the time tasks wait to be executed after
+ * being polled, and tasks without it are not learned.
+ *
+ * <p>The execution time of a task is modeled as linear to the size of data files, the size of
+ * delete files and the number of files it reads, with separate rates for each optimizing type. The
+ * rates are fitted by least squares with older tasks decayed, so the model follows the recent
+ * throughput of optimizers. It is thread-safe.
+ */
+public class TaskCostModel {
+  /** The time to look back for finished tasks when the model is loaded. */
+  public static final long LOOK_BACK_TIME = 7 * 24 * 60 * 60 * 1000L;
+
+  /** The weight kept by older tasks each time a new task is added. */
+  private static final double DECAY = 0.95;
+
+  /** The least number of tasks of an optimizing type to predict. */
+  private static final int MIN_TASK_COUNT = 5;
+
+  private final Map<OptimizingType, Rates> rates = new EnumMap<>(OptimizingType.class);
+
+  public void addTask(TaskCost taskCost) {
+    MetricsSummary summary = taskCost.getSummary();
+    if (summary == null) {
+      return;
+    }
+    addTask(
+        taskCost.getOptimizingType(),
+        dataSize(summary),
+        deleteSize(summary),
+        fileCount(summary),
+        summary.getExecuteDuration());
+  }
+
+  /**
+   * Add a finished task to the model.
+   *
+   * @param optimizingType the optimizing type of the task
+   * @param dataSize the size of data files read by the task
+   * @param deleteSize the size of delete files read by the task
+   * @param fileCount the number of files read by the task
+   * @param duration the execution time of the task in milliseconds
+   */
+  public synchronized void addTask(
+      OptimizingType optimizingType, long dataSize, long deleteSize, int fileCount, long duration) {
+    if (optimizingType == null || duration <= 0 || dataSize + deleteSize <= 0) {
+      return;
+    }
+    rates
+        .computeIfAbsent(optimizingType, type -> new Rates())
+        .add(new double[] {dataSize, deleteSize, fileCount}, duration);
+  }
+
+  /**
+   * Predict the execution time of a task.
+   *
+   * @param optimizingType the optimizing type of the task
+   * @param dataSize the size of data files to read
+   * @param deleteSize the size of delete files to read
+   * @param fileCount the number of files to read
+   * @return the predicted time in milliseconds, or {@link ArcticServiceConstants#INVALID_TIME} if
+   *     there are not enough finished tasks of the optimizing type
+   */
+  public synchronized long predict(
+      OptimizingType optimizingType, long dataSize, long deleteSize, int fileCount) {
+    Rates typeRates = rates.get(optimizingType);
+    if (typeRates == null || typeRates.taskCount < MIN_TASK_COUNT) {
+      return ArcticServiceConstants.INVALID_TIME;
+    }
+    return Math.round(typeRates.predict(new double[] {dataSize, deleteSize, fileCount}));
+  }
+
+  private static long dataSize(MetricsSummary summary) {
+    return summary.getRewriteDataSize() + summary.getRewritePosDataSize();
+  }
+
+  private static long deleteSize(MetricsSummary summary) {
+    return summary.getEqualityDeleteSize()
+        + Math.max(summary.getPositionDeleteSize(), summary.getPositionalDeleteSize());
+  }
+
+  private static int fileCount(MetricsSummary summary) {
+    return summary.getRewriteDataFileCnt()
+        + Math.max(summary.getRewritePosDataFileCnt(), summary.getReRowDeletedDataFileCnt())
+        + summary.getEqDeleteFileCnt()
+        + summary.getPosDeleteFileCnt();
+  }
+
+  /**
+   * Rates of data size, delete size and file count, fitted by decayed least squares. Inputs never
+   * seen are left out of the fitting, and data and delete files share one rate if the inputs could
+   * not be told apart, such as delete files always growing with data files.
+   */
+  private static class Rates {
+    private static final int DIMENSION = 3;
+    private static final double SINGULAR_THRESHOLD = 1e-6;
+
+    private final double[][] inputProducts = new double[DIMENSION][DIMENSION];
+    private final double[] inputTimeProducts = new double[DIMENSION];
+    private double[] rates = new double[DIMENSION];
+    private int taskCount = 0;
+
+    private void add(double[] inputs, double time) {
+      for (int i = 0; i < DIMENSION; i++) {
+        for (int j = 0; j < DIMENSION; j++) {
+          inputProducts[i][j] = inputProducts[i][j] * DECAY + inputs[i] * inputs[j];
+        }
+        inputTimeProducts[i] = inputTimeProducts[i] * DECAY + inputs[i] * time;
+      }
+      taskCount++;
+      double[] fitted = solve();
+      if (fitted == null) {
+        fitted = sharedSizeRate();
+      } else if (inputProducts[1][1] == 0) {
+        // delete files are never read, take them as data files
+        fitted[1] = fitted[0];
+      }
+      rates = fitted;
+    }
+
+    private double predict(double[] inputs) {
+      double time = 0;
+      for (int i = 0; i < DIMENSION; i++) {
+        time += rates[i] * inputs[i];
+      }
+      return time;
+    }
+
+    /** Solve the normal equations with Gaussian elimination, return null if not well fitted. */
+    private double[] solve() {
+      int[] indexes = new int[DIMENSION];
+      int size = 0;
+      for (int i = 0; i < DIMENSION; i++) {
+        if (inputProducts[i][i] > 0) {
+          indexes[size++] = i;
+        }
+      }
+      // scale each input by its magnitude, as sizes and counts differ by orders
+      double[] scales = new double[size];
+      for (int i = 0; i < size; i++) {
+        scales[i] = Math.sqrt(inputProducts[indexes[i]][indexes[i]]);
+      }
+      double[][] matrix = new double[size][size + 1];
+      for (int i = 0; i < size; i++) {
+        for (int j = 0; j < size; j++) {
+          matrix[i][j] = inputProducts[indexes[i]][indexes[j]] / scales[i] / scales[j];
+        }
+        matrix[i][size] = inputTimeProducts[indexes[i]] / scales[i];
+      }
+      for (int i = 0; i < size; i++) {
+        if (matrix[i][i] < SINGULAR_THRESHOLD) {
+          return null;
+        }
+        for (int k = i + 1; k < size; k++) {
+          double factor = matrix[k][i] / matrix[i][i];
+          for (int j = i; j <= size; j++) {
+            matrix[k][j] -= factor * matrix[i][j];
+          }
+        }
+      }
+      double[] scaledRates = new double[size];
+      double[] fitted = new double[DIMENSION];
+      for (int i = size - 1; i >= 0; i--) {
+        double value = matrix[i][size];
+        for (int j = i + 1; j < size; j++) {
+          value -= matrix[i][j] * scaledRates[j];
+        }
+        scaledRates[i] = value / matrix[i][i];
+        // a negative rate means the inputs are too correlated to tell apart
+        if (scaledRates[i] < 0 || Double.isNaN(scaledRates[i])) {
+          return null;
+        }
+        fitted[indexes[i]] = scaledRates[i] / scales[i];
+      }
+      return fitted;
+    }
+
+    /** One rate for the total size of data and delete files. */
+    private double[] sharedSizeRate() {
+      double sizeProduct = inputProducts[0][0] + 2 * inputProducts[0][1] + inputProducts[1][1];
+      double rate =
+          sizeProduct > 0 ? (inputTimeProducts[0] + inputTimeProducts[1]) / sizeProduct : 0;
+      return new double[] {rate, rate, 0};
+    }
+  }
+
+  /** A finished task loaded from the history of the table. */
+  public static class TaskCost {
+    private OptimizingType optimizingType;
+    private MetricsSummary summary;
+
+    public TaskCost() {}
+
+    public TaskCost(OptimizingType optimizingType, TaskRuntime task) {
+      this.optimizingType = optimizingType;
+      this.summary = task.getMetricsSummary();
+    }
+
+    public OptimizingType getOptimizingType() {
+      return optimizingType;
+    }
+
+    public MetricsSummary getSummary() {
+      return summary;
+    }
+  }
+}
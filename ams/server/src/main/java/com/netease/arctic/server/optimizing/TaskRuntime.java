@@ -22,6 +22,8 @@ import com.google.common.collect.Sets;
 import com.netease.arctic.ams.api.OptimizingTask;
 import com.netease.arctic.ams.api.OptimizingTaskId;
 import com.netease.arctic.ams.api.OptimizingTaskResult;
+import com.netease.arctic.optimizing.OptimizingTaskSummary;
+import com.netease.arctic.optimizing.RewriteFilesCodec;
 import com.netease.arctic.optimizing.RewriteFilesInput;
 import com.netease.arctic.optimizing.RewriteFilesOutput;
 import com.netease.arctic.server.ArcticServiceConstants;
@@ -34,8 +36,8 @@ import com.netease.arctic.server.persistence.StatedPersistentBase;
 import com.netease.arctic.server.persistence.TaskFilesPersistence;
 import com.netease.arctic.server.persistence.mapper.OptimizingMapper;
 import com.netease.arctic.server.resource.OptimizerThread;
-import com.netease.arctic.utils.SerializationUtil;
 import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
+import org.apache.iceberg.util.PropertyUtil;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -94,6 +96,11 @@ public class TaskRuntime extends StatedPersistentBase {
                 OptimizingUtil.getRecordCnt(filesOutput.getDeleteFiles()));
             summary.setNewFileSize(summary.getNewDataSize() + summary.getNewDeleteSize());
             summary.setNewFileCnt(summary.getNewDataFileCnt() + summary.getNewDeleteFileCnt());
+            if (result.getSummary() != null) {
+              summary.setExecuteDuration(
+                  PropertyUtil.propertyAsLong(
+                      result.getSummary(), OptimizingTaskSummary.EXECUTE_DURATION, 0));
+            }
             endTime = System.currentTimeMillis();
             costTime += endTime - startTime;
             output = filesOutput;
@@ -206,8 +213,17 @@ public class TaskRuntime extends StatedPersistentBase {
   }
 
   public OptimizingTask getOptimizingTask() {
+    return getOptimizingTask(true);
+  }
+
+  /**
+   * Build the task sent to an optimizer, the input is Java-serialized for optimizers which can not
+   * read {@link RewriteFilesCodec} payloads.
+   */
+  public OptimizingTask getOptimizingTask(boolean rewriteFilesCodecSupported) {
     OptimizingTask optimizingTask = new OptimizingTask(taskId);
-    optimizingTask.setTaskInput(SerializationUtil.simpleSerialize(input));
+    optimizingTask.setTaskInput(
+        RewriteFilesCodec.serializeInput(input, !rewriteFilesCodecSupported));
     optimizingTask.setProperties(properties);
     return optimizingTask;
   }
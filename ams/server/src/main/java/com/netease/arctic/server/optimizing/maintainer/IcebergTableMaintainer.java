@@ -24,11 +24,14 @@ import com.netease.arctic.ams.api.CommitMetaProducer;
 import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.io.PathInfo;
 import com.netease.arctic.io.SupportsFileSystemOperations;
+import com.netease.arctic.server.ArcticManagementConf;
 import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.table.DataExpirationConfig;
 import com.netease.arctic.server.table.TableConfiguration;
 import com.netease.arctic.server.table.TableRuntime;
+import com.netease.arctic.server.utils.Configurations;
 import com.netease.arctic.server.utils.IcebergTableUtil;
+import com.netease.arctic.server.utils.ManifestContentCache;
 import com.netease.arctic.utils.TableFileUtil;
 import org.apache.hadoop.fs.Path;
 import org.apache.iceberg.ContentFile;
@@ -51,17 +54,23 @@ import org.apache.iceberg.exceptions.ValidationException;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.expressions.Expressions;
 import org.apache.iceberg.expressions.Literal;
+import org.apache.iceberg.io.BulkDeletionFailureException;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
 import org.apache.iceberg.io.FileInfo;
+import org.apache.iceberg.io.SupportsBulkOperations;
 import org.apache.iceberg.io.SupportsPrefixOperations;
 import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
 import org.apache.iceberg.relocated.com.google.common.base.Strings;
 import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.apache.iceberg.types.Conversions;
 import org.apache.iceberg.types.Type;
 import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.Tasks;
+import org.apache.iceberg.util.ThreadPools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -74,6 +83,7 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
@@ -81,6 +91,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
@@ -104,12 +115,35 @@ public class IcebergTableMaintainer implements TableMaintainer {
   public static final String EXPIRE_TIMESTAMP_MS = "TIMESTAMP_MS";
   public static final String EXPIRE_TIMESTAMP_S = "TIMESTAMP_S";
 
+  // list folders and read manifests of huge tables in parallel, sized like the manifest io pool
+  private static volatile ExecutorService orphanFilesCleaningPool =
+      newOrphanFilesCleaningPool(new Configurations());
+  // save the checkpoint of orphan files cleaning after every batch of folders is cleaned
+  private static final int CHECKPOINT_FOLDER_BATCH = 100;
+  private static final int DELETE_FILE_BATCH = 1000;
+
   protected Table table;
 
   public IcebergTableMaintainer(Table table) {
     this.table = table;
   }
 
+  /**
+   * Size the pool cleaning orphan files of all tables by {@link
+   * ArcticManagementConf#TABLE_MANIFEST_IO_THREAD_COUNT}.
+   */
+  public static void initialize(Configurations config) {
+    ExecutorService previousPool = orphanFilesCleaningPool;
+    orphanFilesCleaningPool = newOrphanFilesCleaningPool(config);
+    previousPool.shutdown();
+  }
+
+  private static ExecutorService newOrphanFilesCleaningPool(Configurations config) {
+    return ThreadPools.newWorkerPool(
+        "orphan-files-cleaning",
+        config.getInteger(ArcticManagementConf.TABLE_MANIFEST_IO_THREAD_COUNT));
+  }
+
   @Override
   public void cleanOrphanFiles(TableRuntime tableRuntime) {
     TableConfiguration tableConfiguration = tableRuntime.getTableConfiguration();
@@ -120,7 +154,7 @@ public class IcebergTableMaintainer implements TableMaintainer {
 
     long keepTime = tableConfiguration.getOrphanExistingMinutes() * 60 * 1000;
 
-    cleanContentFiles(System.currentTimeMillis() - keepTime);
+    cleanContentFiles(System.currentTimeMillis() - keepTime, tableRuntime);
 
     // refresh
     table.refresh();
@@ -279,13 +313,32 @@ public class IcebergTableMaintainer implements TableMaintainer {
   }
 
   protected void cleanContentFiles(long lastTime) {
+    cleanContentFiles(lastTime, null);
+  }
+
+  /**
+   * Clean orphan content files, the progress is saved to the orphan files cleaning checkpoint of
+   * the table runtime if it exists.
+   */
+  protected void cleanContentFiles(long lastTime, TableRuntime tableRuntime) {
+    String dataLocation = table.location() + File.separator + DATA_FOLDER_NAME;
+    OrphanFilesCleaningCheckpoint checkpoint =
+        tableRuntime == null ? null : tableRuntime.getOrphanCleanCheckpoint();
+    if (checkpoint != null && checkpoint.isFinished(dataLocation)) {
+      LOG.info("{} skip cleaning content files which have been cleaned", table.name());
+      return;
+    }
     // For clean data files, should getRuntime valid files in the base store and the change store,
     // so acquire in advance
     // to prevent repeated acquisition
     Set<String> validFiles = orphanFileCleanNeedToExcludeFiles();
     LOG.info("{} start clean content files of change store", table.name());
-    int deleteFilesCnt = clearInternalTableContentsFiles(lastTime, validFiles);
+    int deleteFilesCnt = clearInternalTableContentsFiles(lastTime, validFiles, tableRuntime);
     LOG.info("{} total delete {} files from change store", table.name(), deleteFilesCnt);
+    if (checkpoint != null && !checkpoint.hasFailedFolder(dataLocation)) {
+      checkpoint.finish(dataLocation);
+      tableRuntime.updateOrphanCleanCheckpoint(checkpoint);
+    }
   }
 
   protected void cleanMetadata(long lastTime) {
@@ -330,7 +383,8 @@ public class IcebergTableMaintainer implements TableMaintainer {
     return (ArcticFileIO) table.io();
   }
 
-  private int clearInternalTableContentsFiles(long lastTime, Set<String> exclude) {
+  private int clearInternalTableContentsFiles(
+      long lastTime, Set<String> exclude, TableRuntime tableRuntime) {
     String dataLocation = table.location() + File.separator + DATA_FOLDER_NAME;
 
     try (ArcticFileIO io = arcticFileIO()) {
@@ -338,7 +392,7 @@ public class IcebergTableMaintainer implements TableMaintainer {
       // dir.
       if (io.supportFileSystemOperations()) {
         SupportsFileSystemOperations fio = io.asFileSystemIO();
-        return deleteInvalidFilesInFs(fio, dataLocation, lastTime, exclude);
+        return deleteInvalidFilesInFs(fio, dataLocation, lastTime, exclude, tableRuntime);
       } else if (io.supportPrefixOperations()) {
         SupportsPrefixOperations pio = io.asPrefixFileIO();
         return deleteInvalidFilesByPrefix(pio, dataLocation, lastTime, exclude);
@@ -456,80 +510,189 @@ public class IcebergTableMaintainer implements TableMaintainer {
     return snapshot.map(Snapshot::timestampMillis).orElse(Long.MAX_VALUE);
   }
 
-  private static int deleteInvalidFilesInFs(
-      SupportsFileSystemOperations fio, String location, long lastTime, Set<String> excludes) {
+  /**
+   * Delete orphan files in the location, sub-folders of the location are cleaned in parallel and in
+   * the order of their locations, so that the cleaning could be resumed from the last cleaned
+   * sub-folder saved in the checkpoint.
+   */
+  private int deleteInvalidFilesInFs(
+      SupportsFileSystemOperations fio,
+      String location,
+      long lastTime,
+      Set<String> excludes,
+      TableRuntime tableRuntime) {
     if (!fio.exists(location)) {
       return 0;
     }
 
-    int deleteCount = 0;
+    OrphanFilesCleaningCheckpoint checkpoint =
+        tableRuntime == null ? null : tableRuntime.getOrphanCleanCheckpoint();
+    String lastCleanedFolder = checkpoint == null ? null : checkpoint.lastCleanedFolder(location);
+    List<String> orphanFiles = Lists.newArrayList();
+    List<PathInfo> folders = Lists.newArrayList();
     for (PathInfo p : fio.listDirectory(location)) {
-      String uriPath = TableFileUtil.getUriPath(p.location());
       if (p.isDirectory()) {
-        int deleted = deleteInvalidFilesInFs(fio, p.location(), lastTime, excludes);
-        deleteCount += deleted;
-        if (!p.location().endsWith(METADATA_FOLDER_NAME)
-            && !p.location().endsWith(DATA_FOLDER_NAME)
-            && p.createdAtMillis() < lastTime
-            && fio.isEmptyDirectory(p.location())) {
-          TableFileUtil.deleteEmptyDirectory(fio, p.location(), excludes);
+        if (lastCleanedFolder == null || p.location().compareTo(lastCleanedFolder) > 0) {
+          folders.add(p);
         }
-      } else {
-        String parentLocation = TableFileUtil.getParent(p.location());
-        String parentUriPath = TableFileUtil.getUriPath(parentLocation);
-        if (!excludes.contains(uriPath)
-            && !excludes.contains(parentUriPath)
-            && p.createdAtMillis() < lastTime) {
-          fio.deleteFile(p.location());
-          deleteCount += 1;
+      } else if (isOrphanFile(p, lastTime, excludes)) {
+        orphanFiles.add(p.location());
+      }
+    }
+    AtomicInteger deleteCount = new AtomicInteger(deleteFiles(fio, orphanFiles));
+    folders.sort(Comparator.comparing(PathInfo::location));
+    if (lastCleanedFolder != null) {
+      LOG.info(
+          "{} resume cleaning orphan files after folder {}, {} folders left",
+          table.name(),
+          lastCleanedFolder,
+          folders.size());
+    }
+
+    for (List<PathInfo> batch : Lists.partition(folders, CHECKPOINT_FOLDER_BATCH)) {
+      Set<String> failedFolders = Sets.newConcurrentHashSet();
+      Tasks.foreach(batch)
+          .executeWith(orphanFilesCleaningPool)
+          .suppressFailureWhenFinished()
+          .onFailure(
+              (folder, e) -> {
+                failedFolders.add(folder.location());
+                LOG.warn(
+                    "{} failed to clean orphan files in {}", table.name(), folder.location(), e);
+              })
+          .run(
+              folder -> {
+                deleteCount.addAndGet(
+                    deleteInvalidFilesRecursively(fio, folder.location(), lastTime, excludes));
+                deleteEmptyFolder(fio, folder, lastTime, excludes);
+              });
+      if (checkpoint != null && !checkpoint.hasFailedFolder(location)) {
+        // the checkpoint never passes a failed folder, so it is cleaned again when resuming
+        int cleanedCount = batch.size();
+        for (int i = 0; i < batch.size(); i++) {
+          if (failedFolders.contains(batch.get(i).location())) {
+            cleanedCount = i;
+            checkpoint.folderFailed(location);
+            break;
+          }
+        }
+        if (cleanedCount > 0) {
+          checkpoint.folderCleaned(location, batch.get(cleanedCount - 1).location());
+          tableRuntime.updateOrphanCleanCheckpoint(checkpoint);
         }
       }
     }
+    return deleteCount.get();
+  }
+
+  private static int deleteInvalidFilesRecursively(
+      SupportsFileSystemOperations fio, String location, long lastTime, Set<String> excludes) {
+    List<String> orphanFiles = Lists.newArrayList();
+    List<PathInfo> folders = Lists.newArrayList();
+    for (PathInfo p : fio.listDirectory(location)) {
+      if (p.isDirectory()) {
+        folders.add(p);
+      } else if (isOrphanFile(p, lastTime, excludes)) {
+        orphanFiles.add(p.location());
+      }
+    }
+    int deleteCount = deleteFiles(fio, orphanFiles);
+    for (PathInfo folder : folders) {
+      deleteCount += deleteInvalidFilesRecursively(fio, folder.location(), lastTime, excludes);
+      deleteEmptyFolder(fio, folder, lastTime, excludes);
+    }
     return deleteCount;
   }
 
+  private static boolean isOrphanFile(PathInfo p, long lastTime, Set<String> excludes) {
+    String uriPath = TableFileUtil.getUriPath(p.location());
+    String parentUriPath = TableFileUtil.getUriPath(TableFileUtil.getParent(p.location()));
+    return !excludes.contains(uriPath)
+        && !excludes.contains(parentUriPath)
+        && p.createdAtMillis() < lastTime;
+  }
+
+  private static void deleteEmptyFolder(
+      SupportsFileSystemOperations fio, PathInfo p, long lastTime, Set<String> excludes) {
+    if (!p.location().endsWith(METADATA_FOLDER_NAME)
+        && !p.location().endsWith(DATA_FOLDER_NAME)
+        && p.createdAtMillis() < lastTime
+        && fio.isEmptyDirectory(p.location())) {
+      TableFileUtil.deleteEmptyDirectory(fio, p.location(), excludes);
+    }
+  }
+
   private static int deleteInvalidFilesByPrefix(
       SupportsPrefixOperations pio, String prefix, long lastTime, Set<String> excludes) {
     int deleteCount = 0;
+    List<String> orphanFiles = Lists.newArrayList();
     for (FileInfo fileInfo : pio.listPrefix(prefix)) {
       String uriPath = TableFileUtil.getUriPath(fileInfo.location());
       if (!excludes.contains(uriPath) && fileInfo.createdAtMillis() < lastTime) {
-        pio.deleteFile(fileInfo.location());
-        deleteCount += 1;
+        orphanFiles.add(fileInfo.location());
+        if (orphanFiles.size() >= DELETE_FILE_BATCH) {
+          deleteCount += deleteFiles(pio, orphanFiles);
+          orphanFiles.clear();
+        }
       }
     }
+    deleteCount += deleteFiles(pio, orphanFiles);
     return deleteCount;
   }
 
+  /**
+   * Delete files in bulk if the file io supports it, or one by one.
+   *
+   * @return the number of deleted files
+   */
+  private static int deleteFiles(FileIO io, List<String> locations) {
+    if (locations.isEmpty()) {
+      return 0;
+    }
+    if (io instanceof SupportsBulkOperations) {
+      try {
+        ((SupportsBulkOperations) io).deleteFiles(locations);
+      } catch (BulkDeletionFailureException e) {
+        LOG.warn("Failed to delete {} of {} files", e.numberFailedObjects(), locations.size(), e);
+        return locations.size() - e.numberFailedObjects();
+      }
+    } else {
+      locations.forEach(io::deleteFile);
+    }
+    return locations.size();
+  }
+
   private static Set<String> getValidMetadataFiles(Table internalTable) {
     String tableName = internalTable.name();
-    Set<String> validFiles = new HashSet<>();
-    Iterable<Snapshot> snapshots = internalTable.snapshots();
-    int size = Iterables.size(snapshots);
+    Set<String> validFiles = Sets.newConcurrentHashSet();
+    List<Snapshot> snapshots = Lists.newArrayList(internalTable.snapshots());
+    int size = snapshots.size();
     LOG.info("{} getRuntime {} snapshots to scan", tableName, size);
-    int cnt = 0;
-    for (Snapshot snapshot : snapshots) {
-      cnt++;
-      int before = validFiles.size();
-      String manifestListLocation = snapshot.manifestListLocation();
-
-      validFiles.add(TableFileUtil.getUriPath(manifestListLocation));
-
-      // valid data files
-      List<ManifestFile> manifestFiles = snapshot.allManifests(internalTable.io());
-      for (ManifestFile manifestFile : manifestFiles) {
-        validFiles.add(TableFileUtil.getUriPath(manifestFile.path()));
-      }
+    AtomicInteger cnt = new AtomicInteger();
+    Tasks.foreach(snapshots)
+        .executeWith(orphanFilesCleaningPool)
+        .stopOnFailure()
+        .throwFailureWhenFinished()
+        .run(
+            snapshot -> {
+              validFiles.add(TableFileUtil.getUriPath(snapshot.manifestListLocation()));
+
+              // valid data files
+              List<ManifestFile> manifestFiles =
+                  ManifestContentCache.getInstance().manifests(snapshot, internalTable.io());
+              for (ManifestFile manifestFile : manifestFiles) {
+                validFiles.add(TableFileUtil.getUriPath(manifestFile.path()));
+              }
 
-      LOG.info(
-          "{} scan snapshot {}: {} and getRuntime {} files, complete {}/{}",
-          tableName,
-          snapshot.snapshotId(),
-          formatTime(snapshot.timestampMillis()),
-          validFiles.size() - before,
-          cnt,
-          size);
-    }
+              LOG.info(
+                  "{} scan snapshot {}: {} and getRuntime {} manifest files, complete {}/{}",
+                  tableName,
+                  snapshot.snapshotId(),
+                  formatTime(snapshot.timestampMillis()),
+                  manifestFiles.size() + 1,
+                  cnt.incrementAndGet(),
+                  size);
+            });
     Stream.of(
             ReachableFileUtil.metadataFileLocations(internalTable, false).stream(),
             ReachableFileUtil.statisticsFilesLocations(internalTable).stream(),
@@ -564,16 +727,21 @@ public class IcebergTableMaintainer implements TableMaintainer {
       Set<String> exclude,
       Pattern excludeRegex) {
     int count = 0;
+    List<String> orphanFiles = Lists.newArrayList();
     for (FileInfo fileInfo : pio.listPrefix(location)) {
       String uriPath = TableFileUtil.getUriPath(fileInfo.location());
       if (!exclude.contains(uriPath)
           && fileInfo.createdAtMillis() < lastTime
           && (excludeRegex == null
               || !excludeRegex.matcher(TableFileUtil.getFileName(fileInfo.location())).matches())) {
-        pio.deleteFile(fileInfo.location());
-        count += 1;
+        orphanFiles.add(fileInfo.location());
+        if (orphanFiles.size() >= DELETE_FILE_BATCH) {
+          count += deleteFiles(pio, orphanFiles);
+          orphanFiles.clear();
+        }
       }
     }
+    count += deleteFiles(pio, orphanFiles);
     return count;
   }
 
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.maintainer;
+
+import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Progress of a running orphan files cleaning of a table, which is saved after each batch of
+ * sub-folders of a data location is cleaned. A cleaning interrupted by a failure or a restart skips
+ * the sub-folders cleaned before when it runs again.
+ *
+ * <p>Sub-folders are cleaned in the order of their locations, so only the last cleaned sub-folder
+ * of each data location is recorded. Once a sub-folder fails to be cleaned, the checkpoint of its
+ * data location does not advance anymore in this run.
+ */
+public class OrphanFilesCleaningCheckpoint {
+
+  private static final String FINISHED = "";
+
+  private long startTime;
+  private final Map<String, String> cleanedFolders = new ConcurrentHashMap<>();
+  // not persisted, a resumed cleaning starts from the last sub-folder before the failed one
+  private final Set<String> failedLocations = ConcurrentHashMap.newKeySet();
+
+  public OrphanFilesCleaningCheckpoint() {}
+
+  public OrphanFilesCleaningCheckpoint(long startTime) {
+    this.startTime = startTime;
+  }
+
+  public long getStartTime() {
+    return startTime;
+  }
+
+  public Map<String, String> getCleanedFolders() {
+    return cleanedFolders;
+  }
+
+  /** Whether the checkpoint belongs to a cleaning started no earlier than the given time. */
+  public boolean startedAfter(long time) {
+    return startTime >= time;
+  }
+
+  /** The last cleaned sub-folder of the location, null if no sub-folder has been cleaned. */
+  public String lastCleanedFolder(String location) {
+    String folder = cleanedFolders.get(location);
+    return FINISHED.equals(folder) ? null : folder;
+  }
+
+  public boolean isFinished(String location) {
+    return FINISHED.equals(cleanedFolders.get(location));
+  }
+
+  public void folderCleaned(String location, String folder) {
+    cleanedFolders.put(location, folder);
+  }
+
+  /** Mark that a sub-folder of the location failed to be cleaned in this run. */
+  public void folderFailed(String location) {
+    failedLocations.add(location);
+  }
+
+  public boolean hasFailedFolder(String location) {
+    return failedLocations.contains(location);
+  }
+
+  public void finish(String location) {
+    cleanedFolders.put(location, FINISHED);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("startTime", startTime)
+        .add("cleanedFolders", cleanedFolders)
+        .toString();
+  }
+}
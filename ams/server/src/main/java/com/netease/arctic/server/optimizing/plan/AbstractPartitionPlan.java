@@ -20,17 +20,27 @@ package com.netease.arctic.server.optimizing.plan;
 
 import com.netease.arctic.optimizing.OptimizingInputProperties;
 import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.optimizing.OptimizingConfig;
 import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.optimizing.TaskCostModel;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.table.ArcticTable;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.relocated.com.google.common.base.Splitter;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.types.Comparators;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
 import org.apache.iceberg.util.BinPacking;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,6 +56,8 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
   protected ArcticTable tableObject;
   private Long fromSequence = null;
   private Long toSequence = null;
+  private long duplicatedDeleteFileSize = 0;
+  private long taskSizeLimit = Long.MAX_VALUE;
   protected final long planTime;
 
   protected final Map<DataFile, List<ContentFile<?>>> rewriteDataFiles = Maps.newHashMap();
@@ -53,6 +65,9 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
   // reserved Delete files are Delete files which are related to Data files not optimized in this
   // plan
   protected final Set<String> reservedDeleteFiles = Sets.newHashSet();
+  // Data files not added by other optimizing types, only kept if clustering is enabled and
+  // rewritten if clustering is necessary
+  protected final Map<DataFile, List<ContentFile<?>>> clusteringDataFiles = Maps.newHashMap();
 
   public AbstractPartitionPlan(
       TableRuntime tableRuntime, ArcticTable table, String partition, long planTime) {
@@ -109,6 +124,9 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
     if (!added) {
       // if the Data file is not added, it's Delete files should not be removed from iceberg
       deletes.stream().map(delete -> delete.path().toString()).forEach(reservedDeleteFiles::add);
+      if (evaluator().isClusteringEnabled()) {
+        clusteringDataFiles.put(dataFile, deletes);
+      }
     }
     return added;
   }
@@ -118,11 +136,104 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
       taskSplitter = buildTaskSplitter();
     }
     beforeSplit();
-    return taskSplitter.splitTasks(targetTaskCount).stream()
+    List<SplitTask> splitTasks;
+    if (getOptimizingType() == OptimizingType.CLUSTERING) {
+      rewriteAllDataFiles();
+      splitTasks = splitClusteringTasks();
+    } else {
+      splitTasks = taskSplitter.splitTasks(targetTaskCount);
+    }
+    duplicatedDeleteFileSize = duplicatedDeleteFileSize(splitTasks);
+    return splitTasks.stream()
         .map(task -> task.buildTask(buildTaskProperties()))
         .collect(Collectors.toList());
   }
 
+  /**
+   * Get the estimated size of delete files read repeatedly by the split tasks, a delete file read
+   * by n tasks is counted n - 1 times.
+   */
+  public long getDuplicatedDeleteFileSize() {
+    return duplicatedDeleteFileSize;
+  }
+
+  private static long duplicatedDeleteFileSize(List<SplitTask> splitTasks) {
+    Set<String> deleteFiles = Sets.newHashSet();
+    long duplicatedSize = 0;
+    for (SplitTask splitTask : splitTasks) {
+      for (ContentFile<?> deleteFile : splitTask.getDeleteFiles()) {
+        if (!deleteFiles.add(deleteFile.path().toString())) {
+          duplicatedSize += deleteFile.fileSizeInBytes();
+        }
+      }
+    }
+    return duplicatedSize;
+  }
+
+  /**
+   * Predict the time to optimize the partition by the history of tasks, as if all files are read by
+   * a single task.
+   *
+   * @param costModel the cost model of tasks of the table
+   * @return the predicted time in milliseconds, or {@link ArcticServiceConstants#INVALID_TIME} if
+   *     it could not be predicted
+   */
+  public long predictTime(TaskCostModel costModel) {
+    Map<String, Long> deleteFileSizes = Maps.newHashMap();
+    long dataSize = 0;
+    int dataFileCount = 0;
+    for (Map<DataFile, List<ContentFile<?>>> dataFiles : inputDataFiles()) {
+      for (Map.Entry<DataFile, List<ContentFile<?>>> entry : dataFiles.entrySet()) {
+        dataSize += entry.getKey().fileSizeInBytes();
+        dataFileCount++;
+        entry
+            .getValue()
+            .forEach(
+                deleteFile ->
+                    deleteFileSizes.put(
+                        deleteFile.path().toString(), deleteFile.fileSizeInBytes()));
+      }
+    }
+    long deleteSize = deleteFileSizes.values().stream().mapToLong(Long::longValue).sum();
+    return costModel.predict(
+        getOptimizingType(), dataSize, deleteSize, dataFileCount + deleteFileSizes.size());
+  }
+
+  /** Get the size of data files to read by the split tasks. */
+  public long getInputDataSize() {
+    return inputDataFiles().stream()
+        .flatMap(dataFiles -> dataFiles.keySet().stream())
+        .mapToLong(DataFile::fileSizeInBytes)
+        .sum();
+  }
+
+  /**
+   * Limit the size of data files of each split task, for example to make tasks finish in a target
+   * time. Tasks are not limited below the fragment file size, to avoid producing fragment files.
+   * Clustering tasks are limited by the clustering max task size instead, as files written by
+   * smaller tasks overlap more. Neither are keyed mixed format tables, whose tasks are split by
+   * tree nodes of files and could not be made smaller than a node.
+   */
+  public void limitTaskSize(long taskSizeLimit) {
+    this.taskSizeLimit = taskSizeLimit;
+  }
+
+  private List<Map<DataFile, List<ContentFile<?>>>> inputDataFiles() {
+    if (getOptimizingType() == OptimizingType.CLUSTERING) {
+      return Lists.newArrayList(rewriteDataFiles, rewritePosDataFiles, clusteringDataFiles);
+    }
+    return Lists.newArrayList(rewriteDataFiles, rewritePosDataFiles);
+  }
+
+  /** Rewrite all data files of the partition, then no delete file is reserved. */
+  private void rewriteAllDataFiles() {
+    rewriteDataFiles.putAll(rewritePosDataFiles);
+    rewriteDataFiles.putAll(clusteringDataFiles);
+    rewritePosDataFiles.clear();
+    clusteringDataFiles.clear();
+    reservedDeleteFiles.clear();
+  }
+
   protected void beforeSplit() {}
 
   protected abstract TaskSplitter buildTaskSplitter();
@@ -272,46 +383,219 @@ public abstract class AbstractPartitionPlan implements PartitionEvaluator {
     }
   }
 
+  private List<FileTask> allFileTasks() {
+    List<FileTask> allDataFiles = Lists.newArrayList();
+    rewriteDataFiles.forEach(
+        (dataFile, deleteFiles) -> allDataFiles.add(new FileTask(dataFile, deleteFiles, true)));
+    rewritePosDataFiles.forEach(
+        (dataFile, deleteFiles) -> allDataFiles.add(new FileTask(dataFile, deleteFiles, false)));
+    return allDataFiles;
+  }
+
+  private long taskSize() {
+    long taskSize = Math.max(config.getTargetSize(), config.getMaxTaskSize());
+    long fragmentSize = config.getTargetSize() / config.getFragmentRatio();
+    return Math.max(Math.min(taskSize, taskSizeLimit), fragmentSize);
+  }
+
+  private SplitTask buildSplitTask(Collection<FileTask> fileTasks) {
+    Set<DataFile> rewriteDataFiles = Sets.newHashSet();
+    Set<DataFile> rewritePosDataFiles = Sets.newHashSet();
+    Set<ContentFile<?>> deleteFiles = Sets.newHashSet();
+
+    fileTasks.stream()
+        .filter(FileTask::isRewriteDataFile)
+        .forEach(
+            f -> {
+              rewriteDataFiles.add(f.getFile());
+              deleteFiles.addAll(f.getDeleteFiles());
+            });
+    fileTasks.stream()
+        .filter(FileTask::isRewritePosDataFile)
+        .forEach(
+            f -> {
+              rewritePosDataFiles.add(f.getFile());
+              deleteFiles.addAll(f.getDeleteFiles());
+            });
+    return new SplitTask(rewriteDataFiles, rewritePosDataFiles, deleteFiles);
+  }
+
+  /**
+   * Split clustering into tasks of at most the clustering max task size. Rows are only sorted
+   * within a task, so data files are ordered by the lower bounds of the first clustering column and
+   * cut into consecutive ranges, then files written by different tasks overlap only around the cuts
+   * instead of over the whole key space.
+   */
+  private List<SplitTask> splitClusteringTasks() {
+    List<FileTask> fileTasks = allFileTasks();
+    long maxTaskSize = config.getClusteringMaxTaskSize();
+    if (dataFileSize(fileTasks) <= maxTaskSize) {
+      return Collections.singletonList(buildSplitTask(fileTasks));
+    }
+    Comparator<FileTask> comparator = firstClusteringColumnComparator();
+    if (comparator != null) {
+      fileTasks.sort(comparator);
+    }
+    List<SplitTask> results = Lists.newArrayList();
+    List<FileTask> current = Lists.newArrayList();
+    long currentSize = 0;
+    for (FileTask fileTask : fileTasks) {
+      long fileSize = fileTask.getFile().fileSizeInBytes();
+      if (!current.isEmpty() && currentSize + fileSize > maxTaskSize) {
+        results.add(buildSplitTask(current));
+        current = Lists.newArrayList();
+        currentSize = 0;
+      }
+      current.add(fileTask);
+      currentSize += fileSize;
+    }
+    results.add(buildSplitTask(current));
+    return results;
+  }
+
+  /**
+   * Order data files by the lower bounds of the first clustering column, files without the bound
+   * last.
+   *
+   * @return null if the first clustering column is not a top-level primitive column
+   */
+  @SuppressWarnings("unchecked")
+  private Comparator<FileTask> firstClusteringColumnComparator() {
+    String columnName =
+        Splitter.on(',')
+            .trimResults()
+            .omitEmptyStrings()
+            .splitToList(config.getClusteringColumns())
+            .stream()
+            .findFirst()
+            .orElse(null);
+    Types.NestedField column =
+        columnName == null ? null : tableObject.schema().asStruct().field(columnName);
+    if (column == null || !column.type().isPrimitiveType()) {
+      return null;
+    }
+    Comparator<Object> valueComparator =
+        (Comparator<Object>) Comparators.forType(column.type().asPrimitiveType());
+    return Comparator.comparing(
+        fileTask -> {
+          Map<Integer, ByteBuffer> lowerBounds = fileTask.getFile().lowerBounds();
+          ByteBuffer lowerBound = lowerBounds == null ? null : lowerBounds.get(column.fieldId());
+          return lowerBound == null ? null : Conversions.fromByteBuffer(column.type(), lowerBound);
+        },
+        Comparator.nullsLast(valueComparator));
+  }
+
+  private static long dataFileSize(Collection<FileTask> fileTasks) {
+    return fileTasks.stream().mapToLong(f -> f.getFile().fileSizeInBytes()).sum();
+  }
+
   protected class BinPackingTaskSplitter implements TaskSplitter {
 
     @Override
     public List<SplitTask> splitTasks(int targetTaskCount) {
       // bin-packing
-      List<FileTask> allDataFiles = Lists.newArrayList();
-      rewriteDataFiles.forEach(
-          (dataFile, deleteFiles) -> allDataFiles.add(new FileTask(dataFile, deleteFiles, true)));
-      rewritePosDataFiles.forEach(
-          (dataFile, deleteFiles) -> allDataFiles.add(new FileTask(dataFile, deleteFiles, false)));
-
       List<List<FileTask>> packed =
-          new BinPacking.ListPacker<FileTask>(
-                  Math.max(config.getTargetSize(), config.getMaxTaskSize()),
-                  Integer.MAX_VALUE,
-                  false)
-              .pack(allDataFiles, f -> f.getFile().fileSizeInBytes());
+          new BinPacking.ListPacker<FileTask>(taskSize(), Integer.MAX_VALUE, false)
+              .pack(allFileTasks(), f -> f.getFile().fileSizeInBytes());
 
       // collect
       List<SplitTask> results = Lists.newArrayListWithCapacity(packed.size());
       for (List<FileTask> fileTasks : packed) {
-        Set<DataFile> rewriteDataFiles = Sets.newHashSet();
-        Set<DataFile> rewritePosDataFiles = Sets.newHashSet();
-        Set<ContentFile<?>> deleteFiles = Sets.newHashSet();
+        results.add(buildSplitTask(fileTasks));
+      }
+      return results;
+    }
+  }
 
-        fileTasks.stream()
-            .filter(FileTask::isRewriteDataFile)
-            .forEach(
-                f -> {
-                  rewriteDataFiles.add(f.getFile());
-                  deleteFiles.addAll(f.getDeleteFiles());
-                });
-        fileTasks.stream()
-            .filter(FileTask::isRewritePosDataFile)
-            .forEach(
-                f -> {
-                  rewritePosDataFiles.add(f.getFile());
-                  deleteFiles.addAll(f.getDeleteFiles());
-                });
-        results.add(new SplitTask(rewriteDataFiles, rewritePosDataFiles, deleteFiles));
+  /**
+   * Split tasks with bin-packing like {@link BinPackingTaskSplitter}, but data files sharing delete
+   * files are packed as a whole, so a delete file is read and indexed by as few tasks as possible.
+   * Data files sharing delete files beyond the task size are ordered by their delete files and cut
+   * into task size, so that data files with the same delete files still stay together.
+   */
+  protected class DeleteAffinityTaskSplitter implements TaskSplitter {
+
+    @Override
+    public List<SplitTask> splitTasks(int targetTaskCount) {
+      long taskSize = taskSize();
+      List<List<FileTask>> groups = Lists.newArrayList();
+      for (List<FileTask> group : groupBySharedDeleteFiles(allFileTasks())) {
+        if (dataFileSize(group) <= taskSize) {
+          groups.add(group);
+        } else {
+          groups.addAll(cutByDeleteFiles(group, taskSize));
+        }
+      }
+
+      List<List<List<FileTask>>> packed =
+          new BinPacking.ListPacker<List<FileTask>>(taskSize, Integer.MAX_VALUE, false)
+              .pack(groups, AbstractPartitionPlan::dataFileSize);
+
+      List<SplitTask> results = Lists.newArrayListWithCapacity(packed.size());
+      for (List<List<FileTask>> packedGroups : packed) {
+        List<FileTask> fileTasks = Lists.newArrayList();
+        packedGroups.forEach(fileTasks::addAll);
+        results.add(buildSplitTask(fileTasks));
+      }
+      return results;
+    }
+
+    /** Group data files connected by shared delete files, with union-find. */
+    private Collection<List<FileTask>> groupBySharedDeleteFiles(List<FileTask> fileTasks) {
+      int[] parents = new int[fileTasks.size()];
+      Map<String, Integer> deleteFileOwners = Maps.newHashMap();
+      for (int i = 0; i < fileTasks.size(); i++) {
+        parents[i] = i;
+        for (ContentFile<?> deleteFile : fileTasks.get(i).getDeleteFiles()) {
+          Integer owner = deleteFileOwners.putIfAbsent(deleteFile.path().toString(), i);
+          if (owner != null) {
+            parents[root(parents, owner)] = root(parents, i);
+          }
+        }
+      }
+      Map<Integer, List<FileTask>> groups = Maps.newLinkedHashMap();
+      for (int i = 0; i < fileTasks.size(); i++) {
+        groups.computeIfAbsent(root(parents, i), r -> Lists.newArrayList()).add(fileTasks.get(i));
+      }
+      return groups.values();
+    }
+
+    private int root(int[] parents, int i) {
+      while (parents[i] != i) {
+        parents[i] = parents[parents[i]];
+        i = parents[i];
+      }
+      return i;
+    }
+
+    private List<List<FileTask>> cutByDeleteFiles(List<FileTask> group, long taskSize) {
+      Map<FileTask, String> deleteFilePaths = Maps.newHashMap();
+      for (FileTask fileTask : group) {
+        deleteFilePaths.put(
+            fileTask,
+            fileTask.getDeleteFiles().stream()
+                .map(deleteFile -> deleteFile.path().toString())
+                .sorted()
+                .collect(Collectors.joining(",")));
+      }
+      List<FileTask> sorted = Lists.newArrayList(group);
+      sorted.sort(Comparator.comparing(deleteFilePaths::get));
+
+      List<List<FileTask>> results = Lists.newArrayList();
+      List<FileTask> current = Lists.newArrayList();
+      long currentSize = 0;
+      for (FileTask fileTask : sorted) {
+        long fileSize = fileTask.getFile().fileSizeInBytes();
+        if (!current.isEmpty() && currentSize + fileSize > taskSize) {
+          results.add(current);
+          current = Lists.newArrayList();
+          currentSize = 0;
+        }
+        current.add(fileTask);
+        currentSize += fileSize;
+      }
+      if (!current.isEmpty()) {
+        results.add(current);
       }
       return results;
     }
@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.plan;
+
+import com.netease.arctic.utils.BinaryStructLikeSerializer;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.types.Comparators;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Overlap of the value ranges of data files on some columns, measured by the lower and upper bounds
+ * in the metrics of the files.
+ *
+ * <p>The overlap ratio of a column is the fraction of file pairs whose value ranges of the column
+ * intersect, and the overlap ratio of all columns is the average of them. The ratio is close to 0
+ * if the files are well clustered by the columns, and is 1 if all files hold the whole range. Files
+ * without bounds of a column are not counted for the column.
+ *
+ * <p>Files written by the last clustering are laid out by the clustering curve rather than by each
+ * column, so pairs of them are counted as not overlapping, otherwise Z-order and Hilbert clustered
+ * files would trigger clustering again.
+ */
+public class ColumnBoundsOverlap {
+
+  private final List<Types.NestedField> columns;
+  private final List<Comparator<Object>> comparators = Lists.newArrayList();
+  private final List<List<Object>> lowerBounds = Lists.newArrayList();
+  private final List<List<Object>> upperBounds = Lists.newArrayList();
+  private final List<List<Object>> clusteredLowerBounds = Lists.newArrayList();
+  private final List<List<Object>> clusteredUpperBounds = Lists.newArrayList();
+  private int fileCount = 0;
+  private Double overlapRatio = null;
+
+  @SuppressWarnings("unchecked")
+  private ColumnBoundsOverlap(List<Types.NestedField> columns) {
+    this.columns = columns;
+    for (Types.NestedField column : columns) {
+      comparators.add((Comparator<Object>) Comparators.forType(column.type().asPrimitiveType()));
+      lowerBounds.add(Lists.newArrayList());
+      upperBounds.add(Lists.newArrayList());
+      clusteredLowerBounds.add(Lists.newArrayList());
+      clusteredUpperBounds.add(Lists.newArrayList());
+    }
+  }
+
+  /**
+   * Create an overlap of the columns.
+   *
+   * @param schema the table schema
+   * @param columnNames names of top-level columns
+   * @return null if any column is not a top-level primitive column of the schema, or the rows of
+   *     the schema can not be sorted by the optimizer, which skips clustering them
+   */
+  public static ColumnBoundsOverlap of(Schema schema, List<String> columnNames) {
+    if (!BinaryStructLikeSerializer.supports(schema.asStruct())) {
+      return null;
+    }
+    List<Types.NestedField> columns = Lists.newArrayList();
+    for (String columnName : columnNames) {
+      Types.NestedField column = schema.asStruct().field(columnName);
+      if (column == null || !column.type().isPrimitiveType()) {
+        return null;
+      }
+      columns.add(column);
+    }
+    return columns.isEmpty() ? null : new ColumnBoundsOverlap(columns);
+  }
+
+  public void add(DataFile dataFile) {
+    add(dataFile, false);
+  }
+
+  /**
+   * Add a data file.
+   *
+   * @param dataFile the data file
+   * @param clustered whether the file is written by the last clustering
+   */
+  public void add(DataFile dataFile, boolean clustered) {
+    fileCount++;
+    overlapRatio = null;
+    Map<Integer, ByteBuffer> lowers = dataFile.lowerBounds();
+    Map<Integer, ByteBuffer> uppers = dataFile.upperBounds();
+    if (lowers == null || uppers == null) {
+      return;
+    }
+    for (int i = 0; i < columns.size(); i++) {
+      Types.NestedField column = columns.get(i);
+      ByteBuffer lower = lowers.get(column.fieldId());
+      ByteBuffer upper = uppers.get(column.fieldId());
+      if (lower != null && upper != null) {
+        Object lowerValue = Conversions.fromByteBuffer(column.type(), lower);
+        Object upperValue = Conversions.fromByteBuffer(column.type(), upper);
+        lowerBounds.get(i).add(lowerValue);
+        upperBounds.get(i).add(upperValue);
+        if (clustered) {
+          clusteredLowerBounds.get(i).add(lowerValue);
+          clusteredUpperBounds.get(i).add(upperValue);
+        }
+      }
+    }
+  }
+
+  public int getFileCount() {
+    return fileCount;
+  }
+
+  public double getOverlapRatio() {
+    if (overlapRatio == null) {
+      double sum = 0;
+      for (int i = 0; i < columns.size(); i++) {
+        int count = lowerBounds.get(i).size();
+        if (count < 2) {
+          continue;
+        }
+        long overlappedPairs =
+            overlappedPairs(lowerBounds.get(i), upperBounds.get(i), comparators.get(i))
+                - overlappedPairs(
+                    clusteredLowerBounds.get(i), clusteredUpperBounds.get(i), comparators.get(i));
+        sum += overlappedPairs / (count * (count - 1L) / 2.0);
+      }
+      overlapRatio = sum / columns.size();
+    }
+    return overlapRatio;
+  }
+
+  /**
+   * Ranges are sorted by lower bounds, a range overlaps with the ranges after it whose lower bounds
+   * are not greater than its upper bound.
+   */
+  private static long overlappedPairs(
+      List<Object> lowers, List<Object> uppers, Comparator<Object> comparator) {
+    int count = lowers.size();
+    if (count < 2) {
+      return 0;
+    }
+    Integer[] order = new Integer[count];
+    for (int i = 0; i < count; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (left, right) -> comparator.compare(lowers.get(left), lowers.get(right)));
+    long overlappedPairs = 0;
+    for (int i = 0; i < count; i++) {
+      Object upper = uppers.get(order[i]);
+      // the first range after i whose lower bound is greater than the upper bound
+      int low = i + 1;
+      int high = count;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (comparator.compare(lowers.get(order[mid]), upper) <= 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      overlappedPairs += low - i - 1;
+    }
+    return overlappedPairs;
+  }
+}
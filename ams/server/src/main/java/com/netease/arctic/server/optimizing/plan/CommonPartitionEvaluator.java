@@ -18,17 +18,23 @@
 
 package com.netease.arctic.server.optimizing.plan;
 
+import com.netease.arctic.optimizing.ClusteringStrategy;
+import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.optimizing.OptimizingConfig;
 import com.netease.arctic.server.optimizing.OptimizingType;
 import com.netease.arctic.server.table.TableRuntime;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.FileContent;
+import org.apache.iceberg.Schema;
 import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
+import org.apache.iceberg.relocated.com.google.common.base.Splitter;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+
 import java.util.List;
 import java.util.Set;
 
@@ -63,21 +69,73 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
   protected int posDeleteFileCount = 0;
   protected long posDeleteFileSize = 0L;
 
+  // all data files and their delete files, only counted if clustering
+  private final ColumnBoundsOverlap clusteringOverlap;
+  private final long clusteredSequenceNumber;
+  private final Set<String> clusteringDeleteFileSet = Sets.newHashSet();
+  protected int clusteringFileCount = 0;
+  protected long clusteringDataFileSize = 0L;
+  protected long clusteringDeleteFileSize = 0L;
+
   private long cost = -1;
   private Boolean necessary = null;
   private OptimizingType optimizingType = null;
   private String name;
 
   public CommonPartitionEvaluator(TableRuntime tableRuntime, String partition, long planTime) {
+    this(tableRuntime, partition, null, ArcticServiceConstants.INVALID_SEQUENCE_NUMBER, planTime);
+  }
+
+  /**
+   * @param schema the table schema to evaluate clustering with, clustering is not evaluated if it
+   *     is null
+   * @param clusteredSequenceNumber data files with data sequence numbers not greater than it are
+   *     written by the last clustering, see {@link OptimizingEvaluator#clusteredSequenceNumber}
+   */
+  public CommonPartitionEvaluator(
+      TableRuntime tableRuntime,
+      String partition,
+      @Nullable Schema schema,
+      long clusteredSequenceNumber,
+      long planTime) {
     this.partition = partition;
     this.tableRuntime = tableRuntime;
     this.config = tableRuntime.getOptimizingConfig();
     this.fragmentSize = config.getTargetSize() / config.getFragmentRatio();
     this.planTime = planTime;
+    // clustering rewrites all files as full optimizing does
     this.reachFullInterval =
         config.getFullTriggerInterval() >= 0
-            && planTime - tableRuntime.getLastFullOptimizingTime()
+            && planTime
+                    - Math.max(
+                        tableRuntime.getLastFullOptimizingTime(),
+                        tableRuntime.getLastClusteringTime())
                 > config.getFullTriggerInterval();
+    this.clusteringOverlap = buildClusteringOverlap(schema);
+    this.clusteredSequenceNumber = clusteredSequenceNumber;
+  }
+
+  /**
+   * Files clustered linearly are ordered by the first column mostly, so only the first column is
+   * measured for linear clustering.
+   */
+  private ColumnBoundsOverlap buildClusteringOverlap(Schema schema) {
+    if (schema == null || !config.clusteringEnabled()) {
+      return null;
+    }
+    List<String> columns =
+        Splitter.on(',')
+            .trimResults()
+            .omitEmptyStrings()
+            .splitToList(config.getClusteringColumns());
+    if (config.getClusteringStrategy() == ClusteringStrategy.LINEAR) {
+      columns = columns.subList(0, 1);
+    }
+    ColumnBoundsOverlap overlap = ColumnBoundsOverlap.of(schema, columns);
+    if (overlap == null) {
+      LOG.debug("{} skip clustering by unsupported columns {} or rows", name(), columns);
+    }
+    return overlap;
   }
 
   @Override
@@ -94,6 +152,13 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
     if (!config.isEnabled()) {
       return false;
     }
+    // files may be added after evaluating when the evaluator is updated incrementally
+    necessary = null;
+    cost = -1;
+    optimizingType = null;
+    if (clusteringOverlap != null) {
+      addClusteringFile(dataFile, deletes);
+    }
     if (isFragmentFile(dataFile)) {
       return addFragmentFile(dataFile, deletes);
     } else {
@@ -141,6 +206,21 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
     return true;
   }
 
+  private void addClusteringFile(DataFile dataFile, List<ContentFile<?>> deletes) {
+    clusteringOverlap.add(
+        dataFile,
+        dataFile.dataSequenceNumber() != null
+            && dataFile.dataSequenceNumber() <= clusteredSequenceNumber);
+    clusteringFileCount += 1;
+    clusteringDataFileSize += dataFile.fileSizeInBytes();
+    for (ContentFile<?> delete : deletes) {
+      if (clusteringDeleteFileSet.add(delete.path().toString())) {
+        clusteringFileCount += 1;
+        clusteringDeleteFileSize += delete.fileSizeInBytes();
+      }
+    }
+  }
+
   protected boolean fileShouldFullOptimizing(DataFile dataFile, List<ContentFile<?>> deleteFiles) {
     if (config.isFullRewriteAllFiles()) {
       return true;
@@ -214,7 +294,9 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
   @Override
   public boolean isNecessary() {
     if (necessary == null) {
-      if (isFullOptimizing()) {
+      if (isClusteringNecessary()) {
+        necessary = true;
+      } else if (isFullOptimizing()) {
         necessary = isFullNecessary();
       } else {
         necessary = isMajorNecessary() || isMinorNecessary();
@@ -226,6 +308,13 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
 
   @Override
   public long getCost() {
+    if (cost < 0 && isClusteringNecessary()) {
+      // Clustering rewrites all data files
+      cost =
+          clusteringDataFileSize * 4
+              + clusteringDeleteFileSize
+              + clusteringFileCount * config.getOpenFileCost();
+    }
     if (cost < 0) {
       // We estimate that the cost of writing is 3 times that of reading.
       // When rewriting the Position delete file, only the primary key field of the segment file
@@ -254,10 +343,13 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
   @Override
   public OptimizingType getOptimizingType() {
     if (optimizingType == null) {
-      optimizingType =
-          isFullNecessary()
-              ? OptimizingType.FULL
-              : isMajorNecessary() ? OptimizingType.MAJOR : OptimizingType.MINOR;
+      if (isClusteringNecessary()) {
+        optimizingType = OptimizingType.CLUSTERING;
+      } else if (isFullNecessary()) {
+        optimizingType = OptimizingType.FULL;
+      } else {
+        optimizingType = isMajorNecessary() ? OptimizingType.MAJOR : OptimizingType.MINOR;
+      }
       LOG.debug("{} optimizingType = {} ", name(), optimizingType);
     }
     return optimizingType;
@@ -289,6 +381,23 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
     return anyDeleteExist() || fragmentFileCount >= 2;
   }
 
+  /** Whether clustering is evaluated, all data files are rewritten if clustering is necessary. */
+  public boolean isClusteringEnabled() {
+    return clusteringOverlap != null;
+  }
+
+  /**
+   * Clustering is necessary if the value ranges of the clustering columns overlap between data
+   * files more than the trigger ratio, and the minimum interval has passed since the last
+   * clustering.
+   */
+  public boolean isClusteringNecessary() {
+    return clusteringOverlap != null
+        && planTime - tableRuntime.getLastClusteringTime() >= config.getClusteringMinInterval()
+        && clusteringOverlap.getFileCount() >= 2
+        && clusteringOverlap.getOverlapRatio() >= config.getClusteringOverlapRatio();
+  }
+
   protected String name() {
     if (name == null) {
       name =
@@ -382,6 +491,7 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
         .add("lastMinorOptimizeTime", tableRuntime.getLastMinorOptimizingTime())
         .add("lastFullOptimizeTime", tableRuntime.getLastFullOptimizingTime())
         .add("lastFullOptimizeTime", tableRuntime.getLastFullOptimizingTime())
+        .add("lastClusteringTime", tableRuntime.getLastClusteringTime())
         .add("fragmentFileCount", fragmentFileCount)
         .add("fragmentFileSize", fragmentFileSize)
         .add("segmentFileCount", segmentFileCount)
@@ -394,6 +504,9 @@ public class CommonPartitionEvaluator implements PartitionEvaluator {
         .add("equalityDeleteFileSize", equalityDeleteFileSize)
         .add("posDeleteFileCount", posDeleteFileCount)
         .add("posDeleteFileSize", posDeleteFileSize)
+        .add("clusteringFileCount", clusteringFileCount)
+        .add("clusteringDataFileSize", clusteringDataFileSize)
+        .add("clusteringDeleteFileSize", clusteringDeleteFileSize)
         .toString();
   }
 }
@@ -20,25 +20,48 @@ package com.netease.arctic.server.optimizing.plan;
 
 import com.netease.arctic.optimizing.IcebergRewriteExecutorFactory;
 import com.netease.arctic.optimizing.OptimizingInputProperties;
+import com.netease.arctic.server.ArcticServiceConstants;
+import com.netease.arctic.server.optimizing.OptimizingType;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.table.ArcticTable;
 
 public class IcebergPartitionPlan extends AbstractPartitionPlan {
 
+  private final long clusteredSequenceNumber;
+
   protected IcebergPartitionPlan(
       TableRuntime tableRuntime, ArcticTable table, String partition, long planTime) {
+    this(tableRuntime, table, partition, ArcticServiceConstants.INVALID_SEQUENCE_NUMBER, planTime);
+  }
+
+  protected IcebergPartitionPlan(
+      TableRuntime tableRuntime,
+      ArcticTable table,
+      String partition,
+      long clusteredSequenceNumber,
+      long planTime) {
     super(tableRuntime, table, partition, planTime);
+    this.clusteredSequenceNumber = clusteredSequenceNumber;
+  }
+
+  @Override
+  protected CommonPartitionEvaluator buildEvaluator() {
+    return new CommonPartitionEvaluator(
+        tableRuntime, partition, tableObject.schema(), clusteredSequenceNumber, planTime);
   }
 
   @Override
   protected TaskSplitter buildTaskSplitter() {
-    return new BinPackingTaskSplitter();
+    return new DeleteAffinityTaskSplitter();
   }
 
   @Override
   protected OptimizingInputProperties buildTaskProperties() {
     OptimizingInputProperties properties = new OptimizingInputProperties();
     properties.setExecutorFactoryImpl(IcebergRewriteExecutorFactory.class.getName());
+    if (getOptimizingType() == OptimizingType.CLUSTERING) {
+      properties.setClustering(config.getClusteringStrategy(), config.getClusteringColumns());
+    }
     return properties;
   }
 }
@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.plan;
+
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.server.optimizing.OptimizingConfig;
+import com.netease.arctic.server.optimizing.scan.PartitionSetFilter;
+import com.netease.arctic.server.table.TableRuntime;
+import com.netease.arctic.table.ArcticTable;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataOperations;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Optimizing evaluator which updates the evaluation of the last snapshot with the changes of the
+ * new snapshots, instead of scanning all files of the table again.
+ *
+ * <p>Data files appended by the new snapshots are added to the evaluators of their partitions
+ * directly, since no delete file applies to them. Partitions with removed files or new delete files
+ * are scanned again. All files are scanned if the last evaluation can not be reused, which is when
+ * the last snapshot is not an ancestor of the current one, the table has more than one partition
+ * spec, the optimizing configuration or an optimizing interval state changed, or the last full scan
+ * is older than the full evaluation interval. Only Iceberg format tables are evaluated
+ * incrementally.
+ */
+public class IncrementalOptimizingEvaluator extends OptimizingEvaluator {
+
+  private static final Logger LOG = LoggerFactory.getLogger(IncrementalOptimizingEvaluator.class);
+
+  private final EvaluationState lastState;
+  private final long fullEvaluationInterval;
+  private EvaluationState state;
+
+  /**
+   * @param lastState state of the last evaluation of this table, could be null, its evaluators are
+   *     updated in place
+   * @param fullEvaluationInterval max interval in milliseconds between two full scans
+   */
+  public IncrementalOptimizingEvaluator(
+      TableRuntime tableRuntime,
+      ArcticTable table,
+      EvaluationState lastState,
+      long fullEvaluationInterval) {
+    super(tableRuntime, table);
+    this.lastState = lastState;
+    this.fullEvaluationInterval = fullEvaluationInterval;
+  }
+
+  @Override
+  protected void initEvaluator() {
+    long startTime = System.currentTimeMillis();
+    EvaluationState newState = newState(startTime);
+    Map<String, PartitionEvaluator> evaluators = null;
+    boolean incremental = canEvaluateIncrementally(newState);
+    if (incremental) {
+      evaluators = evaluateIncrementally();
+      incremental = evaluators != null;
+    }
+    if (!incremental) {
+      evaluators = Maps.newHashMap();
+      scanFiles(buildTableFileScanHelper(), evaluators);
+      newState.fullEvaluatedTime = startTime;
+    } else {
+      newState.fullEvaluatedTime = lastState.fullEvaluatedTime;
+    }
+    newState.evaluators = evaluators;
+    if (newState.reusable) {
+      this.state = newState;
+    }
+
+    partitionPlanMap = Maps.newHashMap();
+    evaluators.forEach(
+        (partition, evaluator) -> {
+          if (evaluator.isNecessary()) {
+            partitionPlanMap.put(partition, evaluator);
+          }
+        });
+    isInitialized = true;
+    LOG.info(
+        "{} finished {} evaluating, found {} partitions that need optimizing in {} ms",
+        arcticTable.id(),
+        incremental ? "incremental" : "full",
+        partitionPlanMap.size(),
+        System.currentTimeMillis() - startTime);
+  }
+
+  /**
+   * State of this evaluation to evaluate following snapshots incrementally, null if the table can
+   * not be evaluated incrementally.
+   */
+  public EvaluationState getEvaluationState() {
+    if (!isInitialized) {
+      initEvaluator();
+    }
+    return state;
+  }
+
+  private EvaluationState newState(long evaluateTime) {
+    EvaluationState newState = new EvaluationState();
+    OptimizingConfig config = tableRuntime.getOptimizingConfig();
+    newState.snapshotId = currentSnapshot.snapshotId();
+    newState.config = config;
+    newState.lastMinorOptimizingTime = tableRuntime.getLastMinorOptimizingTime();
+    newState.lastMajorOptimizingTime = tableRuntime.getLastMajorOptimizingTime();
+    newState.lastFullOptimizingTime = tableRuntime.getLastFullOptimizingTime();
+    newState.lastClusteringTime = tableRuntime.getLastClusteringTime();
+    newState.reachMinorInterval =
+        config.getMinorLeastInterval() >= 0
+            && evaluateTime - newState.lastMinorOptimizingTime > config.getMinorLeastInterval();
+    newState.reachFullInterval =
+        config.getFullTriggerInterval() >= 0
+            && evaluateTime - Math.max(newState.lastFullOptimizingTime, newState.lastClusteringTime)
+                > config.getFullTriggerInterval();
+    newState.reachClusteringInterval =
+        evaluateTime - newState.lastClusteringTime >= config.getClusteringMinInterval();
+    // equality deletes of an unpartitioned spec apply to files of all partitions
+    newState.reusable =
+        TableFormat.ICEBERG == arcticTable.format()
+            && arcticTable.asUnkeyedTable().specs().size() == 1;
+    if (newState.reusable) {
+      newState.specId = arcticTable.asUnkeyedTable().spec().specId();
+    }
+    return newState;
+  }
+
+  private boolean canEvaluateIncrementally(EvaluationState newState) {
+    return lastState != null
+        && newState.reusable
+        && lastState.specId == newState.specId
+        && Objects.equals(lastState.config, newState.config)
+        && lastState.lastMinorOptimizingTime == newState.lastMinorOptimizingTime
+        && lastState.lastMajorOptimizingTime == newState.lastMajorOptimizingTime
+        && lastState.lastFullOptimizingTime == newState.lastFullOptimizingTime
+        && lastState.lastClusteringTime == newState.lastClusteringTime
+        && lastState.reachMinorInterval == newState.reachMinorInterval
+        && lastState.reachFullInterval == newState.reachFullInterval
+        && lastState.reachClusteringInterval == newState.reachClusteringInterval
+        && System.currentTimeMillis() - lastState.fullEvaluatedTime < fullEvaluationInterval;
+  }
+
+  /**
+   * Update evaluators of the last evaluation with the new snapshots.
+   *
+   * @return evaluators of all partitions, or null if the last snapshot is not an ancestor of the
+   *     current snapshot
+   */
+  private Map<String, PartitionEvaluator> evaluateIncrementally() {
+    Table table = arcticTable.asUnkeyedTable();
+    List<Snapshot> newSnapshots = Lists.newArrayList();
+    Snapshot snapshot = table.snapshot(currentSnapshot.snapshotId());
+    while (snapshot != null && snapshot.snapshotId() != lastState.snapshotId) {
+      newSnapshots.add(snapshot);
+      snapshot = snapshot.parentId() == null ? null : table.snapshot(snapshot.parentId());
+    }
+    if (snapshot == null) {
+      LOG.info(
+          "{} last evaluated snapshot {} is not an ancestor of snapshot {}",
+          arcticTable.id(),
+          lastState.snapshotId,
+          currentSnapshot.snapshotId());
+      return null;
+    }
+    Collections.reverse(newSnapshots);
+
+    Map<String, PartitionEvaluator> evaluators = Maps.newHashMap(lastState.evaluators);
+    Set<String> changedPartitions = Sets.newHashSet();
+    FileIO io = table.io();
+    int appendedFileCount = 0;
+    for (Snapshot newSnapshot : newSnapshots) {
+      if (DataOperations.APPEND.equals(newSnapshot.operation())) {
+        for (DataFile dataFile : newSnapshot.addedDataFiles(io)) {
+          evaluators
+              .computeIfAbsent(partitionPath(dataFile), this::buildEvaluator)
+              .addFile(dataFile, Collections.emptyList());
+          appendedFileCount++;
+        }
+      } else {
+        addPartitions(changedPartitions, newSnapshot.addedDataFiles(io));
+        addPartitions(changedPartitions, newSnapshot.removedDataFiles(io));
+        addPartitions(changedPartitions, newSnapshot.addedDeleteFiles(io));
+        addPartitions(changedPartitions, newSnapshot.removedDeleteFiles(io));
+      }
+    }
+    if (!changedPartitions.isEmpty()) {
+      changedPartitions.forEach(evaluators::remove);
+      scanFiles(
+          buildTableFileScanHelper().withPartitionFilter(new PartitionSetFilter(changedPartitions)),
+          evaluators);
+    }
+    LOG.debug(
+        "{} evaluated {} new snapshots incrementally, appended {} files and scanned {} partitions",
+        arcticTable.id(),
+        newSnapshots.size(),
+        appendedFileCount,
+        changedPartitions.size());
+    return evaluators;
+  }
+
+  private void addPartitions(Set<String> partitions, Iterable<? extends ContentFile<?>> files) {
+    for (ContentFile<?> file : files) {
+      partitions.add(partitionPath(file));
+    }
+  }
+
+  /** Evaluated partitions of a table and the conditions under which they were evaluated. */
+  public static class EvaluationState {
+    private long snapshotId;
+    private int specId;
+    private OptimizingConfig config;
+    private long lastMinorOptimizingTime;
+    private long lastMajorOptimizingTime;
+    private long lastFullOptimizingTime;
+    private long lastClusteringTime;
+    private boolean reachMinorInterval;
+    private boolean reachFullInterval;
+    private boolean reachClusteringInterval;
+    private long fullEvaluatedTime;
+    private boolean reusable;
+    private Map<String, PartitionEvaluator> evaluators;
+
+    public long getSnapshotId() {
+      return snapshotId;
+    }
+
+    public long getFullEvaluatedTime() {
+      return fullEvaluatedTime;
+    }
+  }
+}
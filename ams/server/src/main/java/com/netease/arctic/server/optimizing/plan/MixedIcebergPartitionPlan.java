@@ -88,7 +88,7 @@ public class MixedIcebergPartitionPlan extends AbstractPartitionPlan {
     if (isKeyedTable()) {
       return new TreeNodeTaskSplitter();
     } else {
-      return new BinPackingTaskSplitter();
+      return new DeleteAffinityTaskSplitter();
     }
   }
 
@@ -231,6 +231,10 @@ public class MixedIcebergPartitionPlan extends AbstractPartitionPlan {
   }
 
   /** split task with {@link DataTreeNode} */
+  /**
+   * Split tasks by tree nodes, files of a node and its sub nodes are always in one task, so the
+   * task size limit is not applied.
+   */
   private class TreeNodeTaskSplitter implements TaskSplitter {
     @Override
     public List<SplitTask> splitTasks(int targetTaskCount) {
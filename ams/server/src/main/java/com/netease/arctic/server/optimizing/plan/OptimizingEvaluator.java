@@ -20,46 +20,104 @@ package com.netease.arctic.server.optimizing.plan;
 
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.hive.table.SupportHive;
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.optimizing.scan.IcebergTableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.KeyedTableFileScanHelper;
+import com.netease.arctic.server.optimizing.scan.PartitionPathCache;
 import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.UnkeyedTableFileScanHelper;
 import com.netease.arctic.server.table.KeyedTableSnapshot;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.TableSnapshot;
+import com.netease.arctic.server.utils.Configurations;
 import com.netease.arctic.server.utils.IcebergTableUtil;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.utils.TablePropertyUtil;
+import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.PartitionSpec;
-import org.apache.iceberg.StructLike;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
+import org.apache.iceberg.relocated.com.google.common.base.Throwables;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.util.Pair;
+import org.apache.iceberg.util.ThreadPools;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 public class OptimizingEvaluator {
 
   private static final Logger LOG = LoggerFactory.getLogger(OptimizingEvaluator.class);
 
+  /** Number of scanned files handed to the evaluating pool at a time. */
+  private static final int EVALUATING_BATCH_SIZE = 1000;
+
+  /** Pool adding scanned files to evaluators, shared by all tables. */
+  private static volatile EvaluatingPool evaluatingPool = new EvaluatingPool(new Configurations());
+
+  /**
+   * Size the pool evaluating scanned files of all tables by {@link
+   * ArcticManagementConf#OPTIMIZING_EVALUATING_THREAD_COUNT}.
+   */
+  public static void initialize(Configurations config) {
+    EvaluatingPool previousPool = evaluatingPool;
+    evaluatingPool = new EvaluatingPool(config);
+    previousPool.executor.shutdown();
+  }
+
   protected final ArcticTable arcticTable;
   protected final TableRuntime tableRuntime;
   protected final TableSnapshot currentSnapshot;
+  protected final long clusteredSequenceNumber;
   protected boolean isInitialized = false;
 
   protected Map<String, PartitionEvaluator> partitionPlanMap = Maps.newHashMap();
+  private final PartitionPathCache partitionPaths = new PartitionPathCache();
 
   public OptimizingEvaluator(TableRuntime tableRuntime, ArcticTable table) {
     this.tableRuntime = tableRuntime;
     this.arcticTable = table;
     this.currentSnapshot = IcebergTableUtil.getSnapshot(table, tableRuntime);
+    this.clusteredSequenceNumber = clusteredSequenceNumber();
+  }
+
+  /**
+   * Get the data sequence number of files written by the last clustering. Rewritten files are
+   * committed with the sequence number of the snapshot the process planned on, which is the last
+   * snapshot before the plan time.
+   *
+   * @return the sequence number, or {@link ArcticServiceConstants#INVALID_SEQUENCE_NUMBER} if the
+   *     table is not clustered or the snapshot is expired
+   */
+  private long clusteredSequenceNumber() {
+    long lastClusteringTime = tableRuntime.getLastClusteringTime();
+    if (TableFormat.ICEBERG != arcticTable.format()
+        || !tableRuntime.getOptimizingConfig().clusteringEnabled()
+        || lastClusteringTime == ArcticServiceConstants.INVALID_TIME) {
+      return ArcticServiceConstants.INVALID_SEQUENCE_NUMBER;
+    }
+    Table table = arcticTable.asUnkeyedTable();
+    Snapshot snapshot = table.snapshot(currentSnapshot.snapshotId());
+    while (snapshot != null && snapshot.timestampMillis() > lastClusteringTime) {
+      snapshot = snapshot.parentId() == null ? null : table.snapshot(snapshot.parentId());
+    }
+    return snapshot == null
+        ? ArcticServiceConstants.INVALID_SEQUENCE_NUMBER
+        : snapshot.sequenceNumber();
   }
 
   public ArcticTable getArcticTable() {
@@ -72,22 +130,7 @@ public class OptimizingEvaluator {
 
   protected void initEvaluator() {
     long startTime = System.currentTimeMillis();
-    TableFileScanHelper tableFileScanHelper;
-    if (TableFormat.ICEBERG == arcticTable.format()) {
-      tableFileScanHelper =
-          new IcebergTableFileScanHelper(
-              arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
-    } else {
-      if (arcticTable.isUnkeyedTable()) {
-        tableFileScanHelper =
-            new UnkeyedTableFileScanHelper(
-                arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
-      } else {
-        tableFileScanHelper =
-            new KeyedTableFileScanHelper(
-                arcticTable.asKeyedTable(), ((KeyedTableSnapshot) currentSnapshot));
-      }
-    }
+    TableFileScanHelper tableFileScanHelper = buildTableFileScanHelper();
     tableFileScanHelper.withPartitionFilter(getPartitionFilter());
     initPartitionPlans(tableFileScanHelper);
     isInitialized = true;
@@ -98,39 +141,73 @@ public class OptimizingEvaluator {
         System.currentTimeMillis() - startTime);
   }
 
+  protected TableFileScanHelper buildTableFileScanHelper() {
+    if (TableFormat.ICEBERG == arcticTable.format()) {
+      IcebergTableFileScanHelper scanHelper =
+          new IcebergTableFileScanHelper(
+              arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
+      if (tableRuntime.getOptimizingConfig().clusteringEnabled()) {
+        // column bounds are evaluated for clustering
+        scanHelper.includeColumnStats();
+      }
+      return scanHelper;
+    } else {
+      if (arcticTable.isUnkeyedTable()) {
+        return new UnkeyedTableFileScanHelper(
+            arcticTable.asUnkeyedTable(), currentSnapshot.snapshotId());
+      } else {
+        return new KeyedTableFileScanHelper(
+            arcticTable.asKeyedTable(), ((KeyedTableSnapshot) currentSnapshot));
+      }
+    }
+  }
+
   protected TableFileScanHelper.PartitionFilter getPartitionFilter() {
     return null;
   }
 
   private void initPartitionPlans(TableFileScanHelper tableFileScanHelper) {
+    scanFiles(tableFileScanHelper, partitionPlanMap);
+    partitionPlanMap.values().removeIf(plan -> !plan.isNecessary());
+  }
+
+  /**
+   * Add the scanned files to the evaluators of their partitions, evaluators are built if absent.
+   * Files are added in parallel by {@link ShardedEvaluating}.
+   */
+  protected void scanFiles(
+      TableFileScanHelper tableFileScanHelper, Map<String, PartitionEvaluator> evaluators) {
     long startTime = System.currentTimeMillis();
     long count = 0;
+    ShardedEvaluating evaluating = new ShardedEvaluating(evaluators);
     try (CloseableIterable<TableFileScanHelper.FileScanResult> results =
         tableFileScanHelper.scan()) {
       for (TableFileScanHelper.FileScanResult fileScanResult : results) {
-        PartitionSpec partitionSpec;
-        if (arcticTable.format() == TableFormat.ICEBERG) {
-          partitionSpec = arcticTable.asUnkeyedTable().specs().get(fileScanResult.file().specId());
-        } else {
-          partitionSpec = arcticTable.spec();
-        }
-
-        StructLike partition = fileScanResult.file().partition();
-        String partitionPath = partitionSpec.partitionToPath(partition);
-        PartitionEvaluator evaluator =
-            partitionPlanMap.computeIfAbsent(partitionPath, this::buildEvaluator);
-        evaluator.addFile(fileScanResult.file(), fileScanResult.deleteFiles());
+        evaluating.add(partitionPath(fileScanResult.file()), fileScanResult);
         count++;
       }
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
+    evaluating.finish();
+    TableFileScanHelper.ManifestMetrics manifestMetrics = tableFileScanHelper.manifestMetrics();
     LOG.info(
-        "{} finished file scanning, scanning {} files in {} ms",
+        "{} finished file scanning, scanning {} files in {} ms, skipped {} of {} data manifests",
         arcticTable.id(),
         count,
-        System.currentTimeMillis() - startTime);
-    partitionPlanMap.values().removeIf(plan -> !plan.isNecessary());
+        System.currentTimeMillis() - startTime,
+        manifestMetrics.skippedManifests(),
+        manifestMetrics.totalManifests());
+  }
+
+  protected String partitionPath(ContentFile<?> file) {
+    PartitionSpec partitionSpec;
+    if (arcticTable.format() == TableFormat.ICEBERG) {
+      partitionSpec = arcticTable.asUnkeyedTable().specs().get(file.specId());
+    } else {
+      partitionSpec = arcticTable.spec();
+    }
+    return partitionPaths.path(partitionSpec, file.partition());
   }
 
   private Map<String, String> partitionProperties(String partitionPath) {
@@ -139,7 +216,12 @@ public class OptimizingEvaluator {
 
   protected PartitionEvaluator buildEvaluator(String partitionPath) {
     if (TableFormat.ICEBERG == arcticTable.format()) {
-      return new CommonPartitionEvaluator(tableRuntime, partitionPath, System.currentTimeMillis());
+      return new CommonPartitionEvaluator(
+          tableRuntime,
+          partitionPath,
+          arcticTable.schema(),
+          clusteredSequenceNumber,
+          System.currentTimeMillis());
     } else {
       Map<String, String> partitionProperties = partitionProperties(partitionPath);
       if (com.netease.arctic.hive.utils.TableTypeUtil.isHive(arcticTable)) {
@@ -242,4 +324,88 @@ public class OptimizingEvaluator {
           .toString();
     }
   }
+  /**
+   * Adds scanned files to the evaluators of their partitions in parallel. Partitions are sharded by
+   * their paths, files of a shard are handed to the evaluating pool in batches and the batches
+   * of a shard are chained, so an evaluator is only accessed by one thread at a time. The given
+   * evaluators are only read while adding, evaluators built for new partitions are put into them
+   * after all files are added.
+   */
+  private class ShardedEvaluating {
+    private final Map<String, PartitionEvaluator> evaluators;
+    private final List<Map<String, PartitionEvaluator>> newEvaluators;
+    private final List<List<Pair<String, TableFileScanHelper.FileScanResult>>> batches;
+    private final List<CompletableFuture<Void>> shards;
+    private final EvaluatingPool pool = evaluatingPool;
+
+    private ShardedEvaluating(Map<String, PartitionEvaluator> evaluators) {
+      this.evaluators = evaluators;
+      this.newEvaluators = Lists.newArrayListWithCapacity(pool.parallelism);
+      this.batches = Lists.newArrayListWithCapacity(pool.parallelism);
+      this.shards = Lists.newArrayListWithCapacity(pool.parallelism);
+      for (int i = 0; i < pool.parallelism; i++) {
+        newEvaluators.add(Maps.newHashMap());
+        batches.add(Lists.newArrayList());
+        shards.add(CompletableFuture.completedFuture(null));
+      }
+    }
+
+    private void add(String partition, TableFileScanHelper.FileScanResult fileScanResult) {
+      int shard = Math.floorMod(partition.hashCode(), shards.size());
+      List<Pair<String, TableFileScanHelper.FileScanResult>> batch = batches.get(shard);
+      batch.add(Pair.of(partition, fileScanResult));
+      if (batch.size() >= EVALUATING_BATCH_SIZE) {
+        submit(shard);
+      }
+    }
+
+    private void submit(int shard) {
+      List<Pair<String, TableFileScanHelper.FileScanResult>> batch = batches.get(shard);
+      batches.set(shard, Lists.newArrayList());
+      Map<String, PartitionEvaluator> shardEvaluators = newEvaluators.get(shard);
+      shards.set(
+          shard,
+          shards.get(shard).thenRunAsync(() -> addFiles(batch, shardEvaluators), pool.executor));
+    }
+
+    private void addFiles(
+        List<Pair<String, TableFileScanHelper.FileScanResult>> batch,
+        Map<String, PartitionEvaluator> shardEvaluators) {
+      for (Pair<String, TableFileScanHelper.FileScanResult> file : batch) {
+        PartitionEvaluator evaluator = evaluators.get(file.first());
+        if (evaluator == null) {
+          evaluator =
+              shardEvaluators.computeIfAbsent(
+                  file.first(), OptimizingEvaluator.this::buildEvaluator);
+        }
+        evaluator.addFile(file.second().file(), file.second().deleteFiles());
+      }
+    }
+
+    private void finish() {
+      for (int i = 0; i < batches.size(); i++) {
+        if (!batches.get(i).isEmpty()) {
+          submit(i);
+        }
+      }
+      try {
+        CompletableFuture.allOf(shards.toArray(new CompletableFuture[0])).join();
+      } catch (CompletionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new RuntimeException(e.getCause());
+      }
+      newEvaluators.forEach(evaluators::putAll);
+    }
+  }
+
+  /** Executor of the evaluating pool and the number of shards handed to it. */
+  private static class EvaluatingPool {
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    private EvaluatingPool(Configurations config) {
+      this.parallelism = config.getInteger(ArcticManagementConf.OPTIMIZING_EVALUATING_THREAD_COUNT);
+      this.executor = ThreadPools.newWorkerPool("optimizing-evaluating", parallelism);
+    }
+  }
 }
@@ -22,11 +22,14 @@ import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.hive.table.SupportHive;
 import com.netease.arctic.server.ArcticServiceConstants;
 import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.optimizing.TaskCostModel;
+import com.netease.arctic.server.optimizing.scan.PartitionSetFilter;
 import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
 import com.netease.arctic.server.table.KeyedTableSnapshot;
 import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.table.ArcticTable;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -51,6 +54,7 @@ public class OptimizingPlanner extends OptimizingEvaluator {
 
   private List<AbstractPartitionPlan> actualPartitionPlans;
   private final long maxInputSizePerThread;
+  private long duplicatedDeleteFileSize;
 
   public OptimizingPlanner(
       TableRuntime tableRuntime,
@@ -61,11 +65,12 @@ public class OptimizingPlanner extends OptimizingEvaluator {
     this.partitionFilter =
         tableRuntime.getPendingInput() == null
             ? null
-            : tableRuntime.getPendingInput().getPartitions()::contains;
+            : new PartitionSetFilter(tableRuntime.getPendingInput().getPartitions());
     this.availableCore = availableCore;
     this.planTime = System.currentTimeMillis();
     this.processId = Math.max(tableRuntime.getNewestProcessId() + 1, planTime);
-    this.partitionPlannerFactory = new PartitionPlannerFactory(arcticTable, tableRuntime, planTime);
+    this.partitionPlannerFactory =
+        new PartitionPlannerFactory(arcticTable, tableRuntime, clusteredSequenceNumber, planTime);
     this.maxInputSizePerThread = maxInputSizePerThread;
   }
 
@@ -132,24 +137,48 @@ public class OptimizingPlanner extends OptimizingEvaluator {
     // prioritize partitions with high cost to avoid starvation
     evaluators.sort(Comparator.comparing(PartitionEvaluator::getWeight, Comparator.reverseOrder()));
 
+    TaskCostModel costModel = tableRuntime.getTaskCostModel();
     double maxInputSize = maxInputSizePerThread * availableCore;
     actualPartitionPlans = Lists.newArrayList();
+    Map<AbstractPartitionPlan, Long> predictedTimes = Maps.newHashMap();
     long actualInputSize = 0;
+    long predictedTime = 0;
     for (PartitionEvaluator evaluator : evaluators) {
-      actualPartitionPlans.add((AbstractPartitionPlan) evaluator);
-      actualInputSize += evaluator.getCost();
+      AbstractPartitionPlan partitionPlan = (AbstractPartitionPlan) evaluator;
+      actualPartitionPlans.add(partitionPlan);
+      long partitionTime =
+          costModel == null
+              ? ArcticServiceConstants.INVALID_TIME
+              : partitionPlan.predictTime(costModel);
+      if (partitionTime != ArcticServiceConstants.INVALID_TIME) {
+        predictedTimes.put(partitionPlan, partitionTime);
+        predictedTime += partitionTime;
+      }
+      actualInputSize += plannedInputSize(partitionPlan, partitionTime, costModel);
       if (actualInputSize > maxInputSize) {
         break;
       }
     }
 
     double avgThreadCost = actualInputSize / availableCore;
+    long targetTaskDuration = tableRuntime.getOptimizingConfig().getTargetTaskDuration();
     List<TaskDescriptor> tasks = Lists.newArrayList();
     for (AbstractPartitionPlan partitionPlan : actualPartitionPlans) {
+      Long partitionTime = predictedTimes.get(partitionPlan);
+      if (partitionTime != null && targetTaskDuration > 0 && partitionTime > targetTaskDuration) {
+        // split tasks to finish in the target time, so that no task delays the commit
+        partitionPlan.limitTaskSize(
+            (long)
+                (partitionPlan.getInputDataSize() * ((double) targetTaskDuration / partitionTime)));
+      }
       tasks.addAll(partitionPlan.splitTasks((int) (actualInputSize / avgThreadCost)));
+      duplicatedDeleteFileSize += partitionPlan.getDuplicatedDeleteFileSize();
     }
     if (!tasks.isEmpty()) {
       if (evaluators.stream()
+          .anyMatch(evaluator -> evaluator.getOptimizingType() == OptimizingType.CLUSTERING)) {
+        optimizingType = OptimizingType.CLUSTERING;
+      } else if (evaluators.stream()
           .anyMatch(evaluator -> evaluator.getOptimizingType() == OptimizingType.FULL)) {
         optimizingType = OptimizingType.FULL;
       } else if (evaluators.stream()
@@ -161,17 +190,40 @@ public class OptimizingPlanner extends OptimizingEvaluator {
     }
     long endTime = System.nanoTime();
     LOG.info(
-        "{} finish plan, type = {}, get {} tasks, cost {} ns, {} ms maxInputSize {} actualInputSize {}",
+        "{} finish plan, type = {}, get {} tasks, cost {} ns, {} ms maxInputSize {} actualInputSize {}"
+            + " duplicatedDeleteFileSize {} predictedTime {} ms",
         tableRuntime.getTableIdentifier(),
         getOptimizingType(),
         tasks.size(),
         endTime - startTime,
         (endTime - startTime) / 1_000_000,
         maxInputSize,
-        actualInputSize);
+        actualInputSize,
+        duplicatedDeleteFileSize,
+        predictedTime);
     return cacheAndReturnTasks(tasks);
   }
 
+  /**
+   * Get the input size of a partition counted in the max input size of the plan. If the time to
+   * optimize the partition is predicted, the input size is the size of data files that could be
+   * read in the same time, so partitions with more delete files or small files take more of the
+   * budget than their file sizes.
+   */
+  private long plannedInputSize(
+      AbstractPartitionPlan partitionPlan, long partitionTime, TaskCostModel costModel) {
+    if (partitionTime != ArcticServiceConstants.INVALID_TIME) {
+      long targetSize = tableRuntime.getOptimizingConfig().getTargetSize();
+      int fileCount = (int) Math.max(1, maxInputSizePerThread / Math.max(1, targetSize));
+      long threadTime =
+          costModel.predict(partitionPlan.getOptimizingType(), maxInputSizePerThread, 0, fileCount);
+      if (threadTime > 0) {
+        return (long) ((double) partitionTime / threadTime * maxInputSizePerThread);
+      }
+    }
+    return partitionPlan.getCost();
+  }
+
   private List<TaskDescriptor> cacheAndReturnTasks(List<TaskDescriptor> tasks) {
     this.tasks = tasks;
     return this.tasks;
@@ -185,6 +237,14 @@ public class OptimizingPlanner extends OptimizingEvaluator {
     return optimizingType;
   }
 
+  /**
+   * Get the estimated size of delete files read repeatedly by the planned tasks, it is available
+   * after tasks are planned.
+   */
+  public long getDuplicatedDeleteFileSize() {
+    return duplicatedDeleteFileSize;
+  }
+
   public long getProcessId() {
     return processId;
   }
@@ -193,12 +253,17 @@ public class OptimizingPlanner extends OptimizingEvaluator {
     private final ArcticTable arcticTable;
     private final TableRuntime tableRuntime;
     private final String hiveLocation;
+    private final long clusteredSequenceNumber;
     private final long planTime;
 
     public PartitionPlannerFactory(
-        ArcticTable arcticTable, TableRuntime tableRuntime, long planTime) {
+        ArcticTable arcticTable,
+        TableRuntime tableRuntime,
+        long clusteredSequenceNumber,
+        long planTime) {
       this.arcticTable = arcticTable;
       this.tableRuntime = tableRuntime;
+      this.clusteredSequenceNumber = clusteredSequenceNumber;
       this.planTime = planTime;
       if (com.netease.arctic.hive.utils.TableTypeUtil.isHive(arcticTable)) {
         this.hiveLocation = (((SupportHive) arcticTable).hiveLocation());
@@ -209,7 +274,8 @@ public class OptimizingPlanner extends OptimizingEvaluator {
 
     public PartitionEvaluator buildPartitionPlanner(String partitionPath) {
       if (TableFormat.ICEBERG == arcticTable.format()) {
-        return new IcebergPartitionPlan(tableRuntime, arcticTable, partitionPath, planTime);
+        return new IcebergPartitionPlan(
+            tableRuntime, arcticTable, partitionPath, clusteredSequenceNumber, planTime);
       } else {
         if (com.netease.arctic.hive.utils.TableTypeUtil.isHive(arcticTable)) {
           return new MixedHivePartitionPlan(
@@ -20,9 +20,11 @@ package com.netease.arctic.server.optimizing.scan;
 
 import com.netease.arctic.server.ArcticServiceConstants;
 import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.ManifestPruningTableScan;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.Table;
+import org.apache.iceberg.TableScan;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 
@@ -32,6 +34,9 @@ public class IcebergTableFileScanHelper implements TableFileScanHelper {
   private final Table table;
   private PartitionFilter partitionFilter;
   private final long snapshotId;
+  private final PartitionPathCache partitionPaths = new PartitionPathCache();
+  private final ManifestMetrics manifestMetrics = new ManifestMetrics();
+  private boolean includeColumnStats = false;
 
   public IcebergTableFileScanHelper(Table table, long snapshotId) {
     this.table = table;
@@ -44,14 +49,24 @@ public class IcebergTableFileScanHelper implements TableFileScanHelper {
       return CloseableIterable.empty();
     }
     Map<Integer, PartitionSpec> specs = table.specs();
+    ManifestPruningTableScan manifestPruningScan = new ManifestPruningTableScan(table);
+    if (partitionFilter != null) {
+      manifestPruningScan =
+          manifestPruningScan.filterManifests(
+              manifest -> partitionFilter.test(manifest, specs.get(manifest.partitionSpecId())));
+    }
+    TableScan scan = manifestPruningScan.useSnapshot(snapshotId).metricsReporter(manifestMetrics);
+    if (includeColumnStats) {
+      scan = scan.includeColumnStats();
+    }
     return CloseableIterable.transform(
         CloseableIterable.filter(
-            table.newScan().useSnapshot(snapshotId).planFiles(),
+            scan.planFiles(),
             fileScanTask -> {
               if (partitionFilter != null) {
                 StructLike partition = fileScanTask.file().partition();
                 String partitionPath =
-                    specs.get(fileScanTask.file().specId()).partitionToPath(partition);
+                    partitionPaths.path(specs.get(fileScanTask.file().specId()), partition);
                 return partitionFilter.test(partitionPath);
               }
               return true;
@@ -68,4 +83,15 @@ public class IcebergTableFileScanHelper implements TableFileScanHelper {
     this.partitionFilter = partitionFilter;
     return this;
   }
+
+  /** Keep the column stats, like lower and upper bounds, of the scanned files. */
+  public IcebergTableFileScanHelper includeColumnStats() {
+    this.includeColumnStats = true;
+    return this;
+  }
+
+  @Override
+  public ManifestMetrics manifestMetrics() {
+    return manifestMetrics;
+  }
 }
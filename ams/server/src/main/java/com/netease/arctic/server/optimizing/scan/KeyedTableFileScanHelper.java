@@ -34,10 +34,14 @@ import com.netease.arctic.utils.CompatiblePropertyUtil;
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.ManifestPruningTableScan;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.Snapshot;
 import org.apache.iceberg.SnapshotSummary;
 import org.apache.iceberg.StructLike;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableScan;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
@@ -66,6 +70,8 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
   private final long changeSnapshotId;
   private final long baseSnapshotId;
   private PartitionFilter partitionFilter;
+  private final PartitionPathCache partitionPaths = new PartitionPathCache();
+  private final ManifestMetrics manifestMetrics = new ManifestMetrics();
 
   public KeyedTableFileScanHelper(KeyedTable arcticTable, KeyedTableSnapshot snapshot) {
     this.arcticTable = arcticTable;
@@ -158,7 +164,7 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
   @Override
   public CloseableIterable<FileScanResult> scan() {
     CloseableIterable<FileScanResult> changeScanResult = CloseableIterable.empty();
-    ChangeFiles changeFiles = new ChangeFiles(arcticTable);
+    ChangeFiles changeFiles = new ChangeFiles(arcticTable, partitionPaths);
     UnkeyedTable baseTable = arcticTable.baseTable();
     ChangeTable changeTable = arcticTable.changeTable();
     if (changeSnapshotId != ArcticServiceConstants.INVALID_SNAPSHOT_ID) {
@@ -174,8 +180,13 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
                 .fromSequence(optimizedSequence)
                 .toSequence(maxSequence)
                 .useSnapshot(changeSnapshotId);
-        try (CloseableIterable<FileScanTask> fileScanTasks =
-            changeTableIncrementalScan.planFiles()) {
+        if (partitionFilter != null) {
+          changeTableIncrementalScan =
+              changeTableIncrementalScan.filterManifests(
+                  manifest -> shouldReadManifest(changeTable, manifest));
+        }
+        TableScan changeScan = changeTableIncrementalScan.metricsReporter(manifestMetrics);
+        try (CloseableIterable<FileScanTask> fileScanTasks = changeScan.planFiles()) {
           for (FileScanTask fileScanTask : fileScanTasks) {
             changeFiles.addFile(wrapChangeFile(fileScanTask.file()));
           }
@@ -201,10 +212,18 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
     CloseableIterable<FileScanResult> baseScanResult = CloseableIterable.empty();
     if (baseSnapshotId != ArcticServiceConstants.INVALID_SNAPSHOT_ID) {
       PartitionSpec partitionSpec = baseTable.spec();
+      ManifestPruningTableScan manifestPruningScan = new ManifestPruningTableScan(baseTable);
+      if (partitionFilter != null) {
+        manifestPruningScan =
+            manifestPruningScan.filterManifests(
+                manifest -> shouldReadManifest(baseTable, manifest));
+      }
+      TableScan baseScan =
+          manifestPruningScan.useSnapshot(baseSnapshotId).metricsReporter(manifestMetrics);
       baseScanResult =
           CloseableIterable.transform(
               CloseableIterable.filter(
-                  baseTable.newScan().useSnapshot(baseSnapshotId).planFiles(),
+                  baseScan.planFiles(),
                   fileScanTask -> filterFilePartition(partitionSpec, fileScanTask.file())),
               fileScanTask -> {
                 DataFile dataFile = wrapBaseFile(fileScanTask.file());
@@ -225,6 +244,11 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
     return this;
   }
 
+  @Override
+  public ManifestMetrics manifestMetrics() {
+    return manifestMetrics;
+  }
+
   private DataFile wrapChangeFile(DataFile dataFile) {
     return DefaultKeyedFile.parseChange(dataFile);
   }
@@ -233,10 +257,14 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
     return DefaultKeyedFile.parseBase(dataFile);
   }
 
+  private boolean shouldReadManifest(Table table, ManifestFile manifest) {
+    return partitionFilter.test(manifest, table.specs().get(manifest.partitionSpecId()));
+  }
+
   private boolean filterFilePartition(PartitionSpec partitionSpec, ContentFile<?> file) {
     if (partitionFilter != null) {
       StructLike partition = file.partition();
-      String partitionPath = partitionSpec.partitionToPath(partition);
+      String partitionPath = partitionPaths.path(partitionSpec, partition);
       return partitionFilter.test(partitionPath);
     } else {
       return true;
@@ -313,6 +341,7 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
 
   private static class ChangeFiles {
     private final KeyedTable arcticTable;
+    private final PartitionPathCache partitionPaths;
     private final Map<String, Map<DataTreeNode, List<ContentFile<?>>>> cachedRelatedDeleteFiles =
         Maps.newHashMap();
 
@@ -320,12 +349,13 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
         Maps.newHashMap();
     private final Map<String, Map<DataTreeNode, Set<DataFile>>> insertFiles = Maps.newHashMap();
 
-    public ChangeFiles(KeyedTable arcticTable) {
+    public ChangeFiles(KeyedTable arcticTable, PartitionPathCache partitionPaths) {
       this.arcticTable = arcticTable;
+      this.partitionPaths = partitionPaths;
     }
 
     public void addFile(DataFile file) {
-      String partition = arcticTable.spec().partitionToPath(file.partition());
+      String partition = partitionPaths.path(arcticTable.spec(), file.partition());
       DataTreeNode node = FileNameRules.parseFileNodeFromFileName(file.path().toString());
       DataFileType type = FileNameRules.parseFileTypeForChange(file.path().toString());
       switch (type) {
@@ -353,7 +383,7 @@ public class KeyedTableFileScanHelper implements TableFileScanHelper {
     }
 
     public List<ContentFile<?>> getRelatedDeleteFiles(DataFile file) {
-      String partition = arcticTable.spec().partitionToPath(file.partition());
+      String partition = partitionPaths.path(arcticTable.spec(), file.partition());
       if (!equalityDeleteFiles.containsKey(partition)) {
         return Collections.emptyList();
       }
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.scan;
+
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.util.StructLikeWrapper;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Paths of partitions, each partition is converted to its path only once and the same path instance
+ * is returned for all files of the partition. It is safe to be used by multiple threads.
+ *
+ * <p>Partitions are cached by reference, so the partitions passed in must not be reused and changed
+ * later, which holds for the partitions of files read from manifests.
+ */
+public class PartitionPathCache {
+
+  private final Map<Integer, SpecPaths> specPaths = new ConcurrentHashMap<>();
+
+  /**
+   * Get the path of a partition.
+   *
+   * @param spec the spec of the partition
+   * @param partition the partition
+   * @return the path of the partition, the same as {@link PartitionSpec#partitionToPath}
+   */
+  public String path(PartitionSpec spec, StructLike partition) {
+    if (spec.isUnpartitioned()) {
+      return "";
+    }
+    return specPaths.computeIfAbsent(spec.specId(), id -> new SpecPaths(spec)).path(partition);
+  }
+
+  private static class SpecPaths {
+    private final PartitionSpec spec;
+    private final StructLikeWrapper wrapper;
+    private final Map<StructLikeWrapper, String> paths = new ConcurrentHashMap<>();
+
+    private SpecPaths(PartitionSpec spec) {
+      this.spec = spec;
+      this.wrapper = StructLikeWrapper.forType(spec.partitionType());
+    }
+
+    private String path(StructLike partition) {
+      return paths.computeIfAbsent(
+          wrapper.copyFor(partition), key -> spec.partitionToPath(partition));
+    }
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.scan;
+
+import com.netease.arctic.utils.ArcticDataFiles;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.PartitionField;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.types.Comparators;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partition filter keeping the partitions in a set. Manifests are skipped if the partition ranges
+ * in their summaries contain none of the partitions.
+ */
+public class PartitionSetFilter implements TableFileScanHelper.PartitionFilter {
+  private static final Logger LOG = LoggerFactory.getLogger(PartitionSetFilter.class);
+
+  private final Set<String> partitions;
+  private final Map<Integer, SpecPartitions> specPartitions = new ConcurrentHashMap<>();
+
+  public PartitionSetFilter(Set<String> partitions) {
+    this.partitions = partitions;
+  }
+
+  @Override
+  public boolean test(String partition) {
+    return partitions.contains(partition);
+  }
+
+  @Override
+  public boolean test(ManifestFile manifest, PartitionSpec spec) {
+    if (spec == null) {
+      return true;
+    }
+    if (spec.isUnpartitioned()) {
+      return partitions.contains("");
+    }
+    SpecPartitions specPartitions =
+        this.specPartitions.computeIfAbsent(spec.specId(), id -> new SpecPartitions(spec));
+    return specPartitions.mayContain(manifest);
+  }
+
+  /** Partitions of a spec, parsed from the paths of the same spec. */
+  private class SpecPartitions {
+    private final PartitionSpec spec;
+    private final List<Comparator<Object>> comparators = new ArrayList<>();
+    private final List<StructLike> values = new ArrayList<>();
+    private boolean prunable = true;
+
+    @SuppressWarnings("unchecked")
+    private SpecPartitions(PartitionSpec spec) {
+      this.spec = spec;
+      for (PartitionField field : spec.fields()) {
+        Type type = spec.partitionType().fieldType(field.name());
+        comparators.add(
+            type.isPrimitiveType()
+                ? (Comparator<Object>) Comparators.forType(type.asPrimitiveType())
+                : null);
+      }
+      for (String partition : partitions) {
+        if (!prunable) {
+          break;
+        }
+        if (!sameFields(partition)) {
+          // the partition belongs to another spec
+          continue;
+        }
+        try {
+          StructLike value = ArcticDataFiles.data(spec, partition);
+          if (partition.equals(spec.partitionToPath(value))) {
+            values.add(value);
+            continue;
+          }
+        } catch (RuntimeException e) {
+          LOG.debug("Failed to parse partition {} of spec {}", partition, spec.specId(), e);
+        }
+        // the partition could not be parsed exactly, keep all manifests of the spec
+        prunable = false;
+      }
+    }
+
+    private boolean sameFields(String partition) {
+      String[] fields = partition.split("/", -1);
+      if (fields.length != spec.fields().size()) {
+        return false;
+      }
+      for (int i = 0; i < fields.length; i++) {
+        if (!fields[i].startsWith(spec.fields().get(i).name() + "=")) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean mayContain(ManifestFile manifest) {
+      List<ManifestFile.PartitionFieldSummary> summaries = manifest.partitions();
+      if (!prunable || summaries == null || summaries.size() != comparators.size()) {
+        return true;
+      }
+      try {
+        for (StructLike value : values) {
+          if (mayContain(summaries, value)) {
+            return true;
+          }
+        }
+        return false;
+      } catch (RuntimeException e) {
+        LOG.debug("Failed to evaluate partitions of manifest {}", manifest.path(), e);
+        return true;
+      }
+    }
+
+    private boolean mayContain(
+        List<ManifestFile.PartitionFieldSummary> summaries, StructLike partition) {
+      for (int i = 0; i < summaries.size(); i++) {
+        ManifestFile.PartitionFieldSummary summary = summaries.get(i);
+        Object value = partition.get(i, Object.class);
+        if (value == null) {
+          if (Boolean.FALSE.equals(summary.containsNull())) {
+            return false;
+          }
+          continue;
+        }
+        Comparator<Object> comparator = comparators.get(i);
+        if (comparator == null || value instanceof byte[] || isNaN(value)) {
+          continue;
+        }
+        if (summary.lowerBound() == null || summary.upperBound() == null) {
+          // no bounds means all values of the field are null or NaN in the manifest
+          return false;
+        }
+        Type type = spec.partitionType().fields().get(i).type();
+        if (comparator.compare(value, Conversions.fromByteBuffer(type, summary.lowerBound())) < 0
+            || comparator.compare(value, Conversions.fromByteBuffer(type, summary.upperBound()))
+                > 0) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static boolean isNaN(Object value) {
+    return (value instanceof Float && ((Float) value).isNaN())
+        || (value instanceof Double && ((Double) value).isNaN());
+  }
+}
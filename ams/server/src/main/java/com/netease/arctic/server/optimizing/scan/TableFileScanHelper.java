@@ -20,9 +20,17 @@ package com.netease.arctic.server.optimizing.scan;
 
 import org.apache.iceberg.ContentFile;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.metrics.CounterResult;
+import org.apache.iceberg.metrics.MetricsReport;
+import org.apache.iceberg.metrics.MetricsReporter;
+import org.apache.iceberg.metrics.ScanMetricsResult;
+import org.apache.iceberg.metrics.ScanReport;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 public interface TableFileScanHelper {
   class FileScanResult {
@@ -51,9 +59,63 @@ public interface TableFileScanHelper {
      * @return true for keep this partition
      */
     boolean test(String partition);
+
+    /**
+     * If we should read or skip this manifest, it is tested with the partition summaries in the
+     * manifest list before the manifest is read
+     *
+     * @param manifest - data manifest
+     * @param spec - partition spec of the manifest
+     * @return true for read this manifest, false if it contains no file of kept partitions
+     */
+    default boolean test(ManifestFile manifest, PartitionSpec spec) {
+      return true;
+    }
+  }
+
+  /** Metrics of data manifests, collected from the reports of finished table scans. */
+  class ManifestMetrics implements MetricsReporter {
+    private final AtomicLong totalManifests = new AtomicLong();
+    private final AtomicLong scannedManifests = new AtomicLong();
+    private final AtomicLong skippedManifests = new AtomicLong();
+
+    @Override
+    public void report(MetricsReport report) {
+      if (report instanceof ScanReport) {
+        ScanMetricsResult metrics = ((ScanReport) report).scanMetrics();
+        add(totalManifests, metrics.totalDataManifests());
+        add(scannedManifests, metrics.scannedDataManifests());
+        add(skippedManifests, metrics.skippedDataManifests());
+      }
+    }
+
+    private static void add(AtomicLong value, CounterResult counter) {
+      if (counter != null) {
+        value.addAndGet(counter.value());
+      }
+    }
+
+    public long totalManifests() {
+      return totalManifests.get();
+    }
+
+    public long scannedManifests() {
+      return scannedManifests.get();
+    }
+
+    public long skippedManifests() {
+      return skippedManifests.get();
+    }
   }
 
   CloseableIterable<FileScanResult> scan();
 
   TableFileScanHelper withPartitionFilter(PartitionFilter partitionFilter);
+
+  /**
+   * Get metrics of manifests read by this helper, they are updated once the scan is closed.
+   *
+   * @return manifest metrics
+   */
+  ManifestMetrics manifestMetrics();
 }
@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -62,6 +63,20 @@ public abstract class StatedPersistentBase extends PersistentBase {
     }
   }
 
+  /**
+   * Persist the state of this object by the write-behind persistence, the state lock is held from
+   * applying the update until it is committed. The update is written immediately if write-behind is
+   * not started.
+   */
+  protected final <T> void persistLater(Class<T> mapperClz, Consumer<T> updater) {
+    boolean deferred =
+        WriteBehindPersistence.getInstance()
+            .markDirty(this, stateLock, session -> updater.accept(session.getMapper(mapperClz)));
+    if (!deferred) {
+      doAs(mapperClz, updater);
+    }
+  }
+
   Map<Field, Object> retainStates() {
     return Arrays.stream(consistentFields)
         .collect(Collectors.toMap(field -> field, this::getValue));
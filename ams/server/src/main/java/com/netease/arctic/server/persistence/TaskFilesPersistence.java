@@ -1,11 +1,11 @@
 package com.netease.arctic.server.persistence;
 
+import com.netease.arctic.optimizing.RewriteFilesCodec;
 import com.netease.arctic.optimizing.RewriteFilesInput;
 import com.netease.arctic.optimizing.RewriteFilesOutput;
 import com.netease.arctic.server.optimizing.TaskRuntime;
 import com.netease.arctic.server.persistence.mapper.OptimizingMapper;
 import com.netease.arctic.server.utils.CompressUtil;
-import com.netease.arctic.utils.SerializationUtil;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -31,12 +31,12 @@ public class TaskFilesPersistence {
     if (bytes == null) {
       return Collections.emptyMap();
     } else {
-      return SerializationUtil.simpleDeserialize(CompressUtil.unGzip(bytes.get(0)));
+      return RewriteFilesCodec.deserializeInputs(CompressUtil.unGzip(bytes.get(0)));
     }
   }
 
   public static RewriteFilesOutput loadTaskOutput(byte[] content) {
-    return SerializationUtil.simpleDeserialize(content);
+    return RewriteFilesCodec.deserializeOutput(content);
   }
 
   private static class DatabasePersistence extends PersistentBase {
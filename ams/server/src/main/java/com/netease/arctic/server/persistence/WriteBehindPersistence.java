@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.persistence;
+
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.exception.ArcticRuntimeException;
+import com.netease.arctic.server.exception.PersistenceException;
+import com.netease.arctic.server.utils.Configurations;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces updates of runtime states and writes them to the database in JDBC batches.
+ *
+ * <p>Only the latest update of each persistent object is kept, and it is applied to a batch session
+ * on a fixed interval. Updates read the state of the object when they are flushed, so a flush
+ * always writes the latest state of an object no matter how many transitions happened since the
+ * last one. The state lock of an object is held from applying its update until the batch is
+ * committed, so a state written synchronously under the lock in the meantime is never overwritten
+ * by an older one. Objects whose state lock is busy are not held back by the batch, they are
+ * written one by one after it.
+ *
+ * <p>When a batch fails, its updates are written one by one, so a failing update does not hold back
+ * the others. A failing update stays pending and is retried on the next flushes until it is
+ * written, it is logged as an error after {@link #ERROR_FLUSH_ATTEMPTS} attempts. States which are
+ * required to recover after a restart must not be persisted through this class.
+ *
+ * <p>Updates are written synchronously when write-behind is not started.
+ */
+public class WriteBehindPersistence {
+
+  private static final Logger LOG = LoggerFactory.getLogger(WriteBehindPersistence.class);
+
+  @VisibleForTesting static final int ERROR_FLUSH_ATTEMPTS = 3;
+
+  private static final WriteBehindPersistence INSTANCE =
+      new WriteBehindPersistence(() -> SqlSessionFactoryProvider.getInstance().get());
+
+  public static WriteBehindPersistence getInstance() {
+    return INSTANCE;
+  }
+
+  private final Supplier<SqlSessionFactory> sessionFactorySupplier;
+  private final Object lock = new Object();
+  private Map<Object, PendingUpdate> dirtyStates = new IdentityHashMap<>();
+  private ScheduledExecutorService flushExecutor;
+
+  @VisibleForTesting
+  WriteBehindPersistence(Supplier<SqlSessionFactory> sessionFactorySupplier) {
+    this.sessionFactorySupplier = sessionFactorySupplier;
+  }
+
+  public void start(Configurations config) {
+    long flushInterval = config.getLong(ArcticManagementConf.DB_STATE_FLUSH_INTERVAL);
+    if (flushInterval <= 0) {
+      LOG.info("Write-behind persistence of runtime states is disabled");
+      return;
+    }
+    synchronized (lock) {
+      if (flushExecutor != null) {
+        return;
+      }
+      flushExecutor =
+          Executors.newSingleThreadScheduledExecutor(
+              new ThreadFactoryBuilder()
+                  .setDaemon(true)
+                  .setNameFormat("runtime-state-flusher-%d")
+                  .build());
+      flushExecutor.scheduleWithFixedDelay(
+          this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+    LOG.info(
+        "Write-behind persistence of runtime states started with interval {} ms", flushInterval);
+  }
+
+  /** Stop flushing on interval and write all pending updates. */
+  public void stop() {
+    ScheduledExecutorService executor;
+    synchronized (lock) {
+      executor = flushExecutor;
+      flushExecutor = null;
+    }
+    if (executor != null) {
+      executor.shutdown();
+      try {
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      flushQuietly();
+    }
+  }
+
+  /**
+   * Mark the state of an object dirty, the update replaces any pending update of the same object.
+   *
+   * @param owner the persistent object whose state is updated
+   * @param stateLock the lock guarding the state of the owner, held while the update is flushed
+   * @param update the update applied to the batch session when flushing
+   * @return false if write-behind is not started and the update must be written by the caller
+   */
+  boolean markDirty(Object owner, Lock stateLock, Consumer<SqlSession> update) {
+    synchronized (lock) {
+      if (flushExecutor == null) {
+        return false;
+      }
+      dirtyStates.put(owner, new PendingUpdate(stateLock, update));
+      return true;
+    }
+  }
+
+  /**
+   * Write all pending updates in one batch transaction, or one by one if the batch fails.
+   *
+   * @throws PersistenceException if any update failed, failed updates are retried on next flush
+   */
+  public void flush() {
+    Map<Object, PendingUpdate> states;
+    synchronized (lock) {
+      if (dirtyStates.isEmpty()) {
+        return;
+      }
+      states = dirtyStates;
+      dirtyStates = new IdentityHashMap<>();
+    }
+    // updates of the same statement are batched only when they are added one after another
+    List<Map.Entry<Object, PendingUpdate>> entries =
+        states.entrySet().stream()
+            .sorted(Comparator.comparing(entry -> entry.getKey().getClass().getName()))
+            .collect(Collectors.toList());
+    List<Map.Entry<Object, PendingUpdate>> remainingEntries;
+    try {
+      remainingEntries = writeBatch(entries);
+      LOG.debug("Flushed {} runtime states", entries.size() - remainingEntries.size());
+    } catch (Throwable t) {
+      if (entries.size() == 1) {
+        onFailure(entries.get(0), t);
+        throw ArcticRuntimeException.wrap(t, PersistenceException::new);
+      }
+      LOG.warn(
+          "Failed to flush {} runtime states in batch, write them one by one", entries.size(), t);
+      remainingEntries = entries;
+    }
+    Throwable failure = null;
+    for (Map.Entry<Object, PendingUpdate> entry : remainingEntries) {
+      Lock stateLock = entry.getValue().stateLock;
+      stateLock.lock();
+      try {
+        write(Collections.singletonList(entry));
+      } catch (Throwable t) {
+        onFailure(entry, t);
+        failure = t;
+      } finally {
+        stateLock.unlock();
+      }
+    }
+    if (failure != null) {
+      throw ArcticRuntimeException.wrap(failure, PersistenceException::new);
+    }
+  }
+
+  /**
+   * Write the updates whose state locks are free in one batch, with the locks held until it is
+   * committed. Locks are only tried, so the flush never waits for a lock while holding others.
+   *
+   * @return the entries not written as their state locks are busy
+   */
+  private List<Map.Entry<Object, PendingUpdate>> writeBatch(
+      List<Map.Entry<Object, PendingUpdate>> entries) {
+    List<Map.Entry<Object, PendingUpdate>> lockedEntries = new ArrayList<>();
+    List<Map.Entry<Object, PendingUpdate>> busyEntries = new ArrayList<>();
+    try {
+      for (Map.Entry<Object, PendingUpdate> entry : entries) {
+        if (entry.getValue().stateLock.tryLock()) {
+          lockedEntries.add(entry);
+        } else {
+          busyEntries.add(entry);
+        }
+      }
+      if (!lockedEntries.isEmpty()) {
+        write(lockedEntries);
+      }
+    } finally {
+      lockedEntries.forEach(entry -> entry.getValue().stateLock.unlock());
+    }
+    return busyEntries;
+  }
+
+  private void write(List<Map.Entry<Object, PendingUpdate>> entries) {
+    try (SqlSession session =
+        sessionFactorySupplier
+            .get()
+            .openSession(ExecutorType.BATCH, TransactionIsolationLevel.READ_COMMITTED)) {
+      try {
+        entries.forEach(entry -> entry.getValue().update.accept(session));
+        session.flushStatements();
+        session.commit(true);
+      } catch (Throwable t) {
+        session.rollback(true);
+        throw t;
+      }
+    }
+  }
+
+  private void onFailure(Map.Entry<Object, PendingUpdate> entry, Throwable cause) {
+    PendingUpdate pendingUpdate = entry.getValue();
+    if (++pendingUpdate.failedAttempts >= ERROR_FLUSH_ATTEMPTS) {
+      LOG.error(
+          "Failed to write runtime state {} after {} attempts, keep retrying",
+          entry.getKey(),
+          pendingUpdate.failedAttempts,
+          cause);
+    }
+    synchronized (lock) {
+      // a newer update of the same object replaces the failed one
+      dirtyStates.putIfAbsent(entry.getKey(), pendingUpdate);
+    }
+  }
+
+  @VisibleForTesting
+  int pendingCount() {
+    synchronized (lock) {
+      return dirtyStates.size();
+    }
+  }
+
+  private void flushQuietly() {
+    try {
+      flush();
+    } catch (Throwable t) {
+      LOG.warn("Failed to flush runtime states, will retry on next interval", t);
+    }
+  }
+
+  private static class PendingUpdate {
+    private final Lock stateLock;
+    private final Consumer<SqlSession> update;
+    private int failedAttempts;
+
+    PendingUpdate(Lock stateLock, Consumer<SqlSession> update) {
+      this.stateLock = stateLock;
+      this.update = update;
+    }
+  }
+}
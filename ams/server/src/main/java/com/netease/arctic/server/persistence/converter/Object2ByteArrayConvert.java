@@ -28,10 +28,7 @@ public class Object2ByteArrayConvert<T> implements TypeHandler<T> {
       return;
     }
 
-    ps.setBinaryStream(
-        i,
-        new ByteArrayInputStream(
-            CompressUtil.gzip(SerializationUtil.simpleSerialize(parameter).array())));
+    ps.setBinaryStream(i, new ByteArrayInputStream(CompressUtil.gzip(serialize(parameter))));
   }
 
   @Override
@@ -40,7 +37,7 @@ public class Object2ByteArrayConvert<T> implements TypeHandler<T> {
     if (bytes == null) {
       return null;
     }
-    return SerializationUtil.simpleDeserialize(CompressUtil.unGzip(bytes));
+    return deserialize(CompressUtil.unGzip(bytes));
   }
 
   @Override
@@ -49,7 +46,7 @@ public class Object2ByteArrayConvert<T> implements TypeHandler<T> {
     if (bytes == null) {
       return null;
     }
-    return SerializationUtil.simpleDeserialize(CompressUtil.unGzip(bytes));
+    return deserialize(CompressUtil.unGzip(bytes));
   }
 
   @Override
@@ -58,6 +55,14 @@ public class Object2ByteArrayConvert<T> implements TypeHandler<T> {
     if (bytes == null) {
       return null;
     }
-    return SerializationUtil.simpleDeserialize(CompressUtil.unGzip(bytes));
+    return deserialize(CompressUtil.unGzip(bytes));
+  }
+
+  protected byte[] serialize(T parameter) {
+    return SerializationUtil.simpleSerialize(parameter).array();
+  }
+
+  protected T deserialize(byte[] bytes) {
+    return SerializationUtil.simpleDeserialize(bytes);
   }
 }
@@ -0,0 +1,21 @@
+package com.netease.arctic.server.persistence.converter;
+
+import com.netease.arctic.optimizing.RewriteFilesCodec;
+import com.netease.arctic.optimizing.RewriteFilesInput;
+
+import java.util.Map;
+
+/** Convert inputs of all tasks of a process with {@link RewriteFilesCodec}. */
+public class TaskInputs2ByteArrayConvert
+    extends Object2ByteArrayConvert<Map<Integer, RewriteFilesInput>> {
+
+  @Override
+  protected byte[] serialize(Map<Integer, RewriteFilesInput> inputs) {
+    return RewriteFilesCodec.serializeInputs(inputs);
+  }
+
+  @Override
+  protected Map<Integer, RewriteFilesInput> deserialize(byte[] bytes) {
+    return RewriteFilesCodec.deserializeInputs(bytes);
+  }
+}
@@ -0,0 +1,19 @@
+package com.netease.arctic.server.persistence.converter;
+
+import com.netease.arctic.optimizing.RewriteFilesCodec;
+import com.netease.arctic.optimizing.RewriteFilesOutput;
+import org.apache.iceberg.util.ByteBuffers;
+
+/** Convert the output of a task with {@link RewriteFilesCodec}. */
+public class TaskOutput2ByteArrayConvert extends Object2ByteArrayConvert<RewriteFilesOutput> {
+
+  @Override
+  protected byte[] serialize(RewriteFilesOutput output) {
+    return ByteBuffers.toByteArray(RewriteFilesCodec.serializeOutput(output));
+  }
+
+  @Override
+  protected RewriteFilesOutput deserialize(byte[] bytes) {
+    return RewriteFilesCodec.deserializeOutput(bytes);
+  }
+}
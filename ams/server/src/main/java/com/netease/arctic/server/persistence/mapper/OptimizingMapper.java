@@ -6,12 +6,13 @@ import com.netease.arctic.server.optimizing.OptimizingProcess;
 import com.netease.arctic.server.optimizing.OptimizingProcessMeta;
 import com.netease.arctic.server.optimizing.OptimizingTaskMeta;
 import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.optimizing.TaskCostModel;
 import com.netease.arctic.server.optimizing.TaskRuntime;
 import com.netease.arctic.server.persistence.converter.JsonObjectConverter;
 import com.netease.arctic.server.persistence.converter.Long2TsConverter;
 import com.netease.arctic.server.persistence.converter.Map2StringConverter;
 import com.netease.arctic.server.persistence.converter.MapLong2StringConverter;
-import com.netease.arctic.server.persistence.converter.Object2ByteArrayConvert;
+import com.netease.arctic.server.persistence.converter.TaskOutput2ByteArrayConvert;
 import com.netease.arctic.server.table.ServerTableIdentifier;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Insert;
@@ -119,7 +120,7 @@ public interface OptimizingMapper {
         + "#{taskRuntime.status}, #{taskRuntime.failReason, jdbcType=VARCHAR},"
         + " #{taskRuntime.token, jdbcType=VARCHAR}, #{taskRuntime.threadId, "
         + "jdbcType=INTEGER}, #{taskRuntime.output, jdbcType=BLOB, "
-        + " typeHandler=com.netease.arctic.server.persistence.converter.Object2ByteArrayConvert},"
+        + " typeHandler=com.netease.arctic.server.persistence.converter.TaskOutput2ByteArrayConvert},"
         + " #{taskRuntime.summary, typeHandler=com.netease.arctic.server.persistence.converter.JsonObjectConverter},"
         + "#{taskRuntime.properties, typeHandler=com.netease.arctic.server.persistence.converter.Map2StringConverter})",
     "</foreach>",
@@ -146,7 +147,7 @@ public interface OptimizingMapper {
     @Result(
         property = "output",
         column = "rewrite_output",
-        typeHandler = Object2ByteArrayConvert.class),
+        typeHandler = TaskOutput2ByteArrayConvert.class),
     @Result(
         property = "summary",
         column = "metrics_summary",
@@ -198,7 +199,7 @@ public interface OptimizingMapper {
           + " optimizer_token = #{taskRuntime.token, jdbcType=VARCHAR},"
           + " thread_id = #{taskRuntime.threadId, jdbcType=INTEGER},"
           + " rewrite_output = #{taskRuntime.output, jdbcType=BLOB,"
-          + " typeHandler=com.netease.arctic.server.persistence.converter.Object2ByteArrayConvert},"
+          + " typeHandler=com.netease.arctic.server.persistence.converter.TaskOutput2ByteArrayConvert},"
           + " metrics_summary = #{taskRuntime.summary,"
           + " typeHandler=com.netease.arctic.server.persistence.converter.JsonObjectConverter},"
           + " properties = #{taskRuntime.properties,"
@@ -210,10 +211,25 @@ public interface OptimizingMapper {
   @Delete("DELETE FROM task_runtime WHERE table_id = #{tableId} AND process_id < #{time}")
   void deleteTaskRuntimesBefore(@Param("tableId") long tableId, @Param("time") long time);
 
+  @Select(
+      "SELECT b.optimizing_type, a.metrics_summary FROM task_runtime a"
+          + " INNER JOIN table_optimizing_process b ON a.process_id = b.process_id"
+          + " WHERE a.table_id = #{tableId} AND a.process_id >= #{startTime} AND a.status = 'SUCCESS'"
+          + " ORDER BY a.end_time")
+  @Results({
+    @Result(property = "optimizingType", column = "optimizing_type"),
+    @Result(
+        property = "summary",
+        column = "metrics_summary",
+        typeHandler = JsonObjectConverter.class)
+  })
+  List<TaskCostModel.TaskCost> selectTaskCostsByTime(
+      @Param("tableId") long tableId, @Param("startTime") long startTime);
+
   /** Optimizing rewrite input and output operations below */
   @Update(
       "UPDATE table_optimizing_process SET rewrite_input = #{input, jdbcType=BLOB,"
-          + " typeHandler=com.netease.arctic.server.persistence.converter.Object2ByteArrayConvert}"
+          + " typeHandler=com.netease.arctic.server.persistence.converter.TaskInputs2ByteArrayConvert}"
           + " WHERE process_id = #{processId}")
   void updateProcessInputFiles(
       @Param("processId") long processId, @Param("input") Map<Integer, RewriteFilesInput> input);
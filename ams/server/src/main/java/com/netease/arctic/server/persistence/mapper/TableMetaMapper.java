@@ -1,5 +1,6 @@
 package com.netease.arctic.server.persistence.mapper;
 
+import com.netease.arctic.server.optimizing.maintainer.OrphanFilesCleaningCheckpoint;
 import com.netease.arctic.server.persistence.converter.JsonObjectConverter;
 import com.netease.arctic.server.persistence.converter.Long2TsConverter;
 import com.netease.arctic.server.persistence.converter.Map2StringConverter;
@@ -303,6 +304,8 @@ public interface TableMetaMapper {
           + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter},"
           + " last_full_optimizing_time = #{runtime.lastFullOptimizingTime,"
           + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter},"
+          + " last_clustering_time = #{runtime.lastClusteringTime,"
+          + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter},"
           + " optimizing_status = #{runtime.optimizingStatus},"
           + " optimizing_status_start_time = #{runtime.currentStatusStartTime,"
           + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter},"
@@ -315,6 +318,14 @@ public interface TableMetaMapper {
           + " WHERE table_id = #{runtime.tableIdentifier.id}")
   void updateTableRuntime(@Param("runtime") TableRuntime runtime);
 
+  @Update(
+      "UPDATE table_runtime SET orphan_clean_checkpoint = #{checkpoint, jdbcType=VARCHAR,"
+          + " typeHandler=com.netease.arctic.server.persistence.converter.JsonObjectConverter}"
+          + " WHERE table_id = #{tableId}")
+  void updateOrphanCleanCheckpoint(
+      @Param("tableId") long tableId,
+      @Param("checkpoint") OrphanFilesCleaningCheckpoint checkpoint);
+
   @Delete("DELETE FROM table_runtime WHERE table_id = #{tableId}")
   void deleteOptimizingRuntime(@Param("tableId") long tableId);
 
@@ -322,7 +333,8 @@ public interface TableMetaMapper {
       "INSERT INTO table_runtime (table_id, catalog_name, db_name, table_name, current_snapshot_id,"
           + " current_change_snapshotId, last_optimized_snapshotId, last_optimized_change_snapshotId,"
           + " last_major_optimizing_time, last_minor_optimizing_time,"
-          + " last_full_optimizing_time, optimizing_status, optimizing_status_start_time, optimizing_process_id,"
+          + " last_full_optimizing_time, last_clustering_time, optimizing_status,"
+          + " optimizing_status_start_time, optimizing_process_id,"
           + " optimizer_group, table_config, pending_input) VALUES"
           + " (#{runtime.tableIdentifier.id}, #{runtime.tableIdentifier.catalog},"
           + " #{runtime.tableIdentifier.database}, #{runtime.tableIdentifier.tableName}, #{runtime"
@@ -334,6 +346,8 @@ public interface TableMetaMapper {
           + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter},"
           + " #{runtime.lastFullOptimizingTime,"
           + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter},"
+          + " #{runtime.lastClusteringTime,"
+          + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter},"
           + " #{runtime.optimizingStatus},"
           + " #{runtime.currentStatusStartTime, "
           + " typeHandler=com.netease.arctic.server.persistence.converter.Long2TsConverter},"
@@ -347,9 +361,11 @@ public interface TableMetaMapper {
   @Select(
       "SELECT a.table_id, a.catalog_name, a.db_name, a.table_name, i.format, a.current_snapshot_id, a"
           + ".current_change_snapshotId, a.last_optimized_snapshotId, a.last_optimized_change_snapshotId,"
-          + " a.last_major_optimizing_time, a.last_minor_optimizing_time, a.last_full_optimizing_time, a.optimizing_status,"
+          + " a.last_major_optimizing_time, a.last_minor_optimizing_time, a.last_full_optimizing_time,"
+          + " a.last_clustering_time, a.optimizing_status,"
           + " a.optimizing_status_start_time, a.optimizing_process_id,"
-          + " a.optimizer_group, a.table_config, a.pending_input, b.optimizing_type, b.target_snapshot_id,"
+          + " a.optimizer_group, a.table_config, a.pending_input, a.orphan_clean_checkpoint,"
+          + " b.optimizing_type, b.target_snapshot_id,"
           + " b.target_change_snapshot_id, b.plan_time, b.from_sequence, b.to_sequence FROM table_runtime a"
           + " INNER JOIN table_identifier i ON a.table_id = i.table_id "
           + " LEFT JOIN table_optimizing_process b ON a.optimizing_process_id = b.process_id")
@@ -377,6 +393,10 @@ public interface TableMetaMapper {
         property = "lastFullOptimizingTime",
         column = "last_full_optimizing_time",
         typeHandler = Long2TsConverter.class),
+    @Result(
+        property = "lastClusteringTime",
+        column = "last_clustering_time",
+        typeHandler = Long2TsConverter.class),
     @Result(property = "tableStatus", column = "optimizing_status"),
     @Result(
         property = "currentStatusStartTime",
@@ -392,6 +412,10 @@ public interface TableMetaMapper {
         property = "pendingInput",
         column = "pending_input",
         typeHandler = JsonObjectConverter.class),
+    @Result(
+        property = "orphanCleanCheckpoint",
+        column = "orphan_clean_checkpoint",
+        typeHandler = JsonObjectConverter.class),
     @Result(property = "optimizingType", column = "optimizing_type"),
     @Result(property = "targetSnapshotId", column = "target_snapshot_id"),
     @Result(property = "targetChangeSnapshotId", column = "target_change_napshot_id"),
@@ -0,0 +1,320 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.resource;
+
+import com.netease.arctic.ams.api.OptimizerProperties;
+import com.netease.arctic.ams.api.resource.Resource;
+import com.netease.arctic.ams.api.resource.ResourceContainer;
+import com.netease.arctic.ams.api.resource.ResourceGroup;
+import com.netease.arctic.ams.api.resource.ResourceType;
+import com.netease.arctic.server.optimizing.OptimizingQueue;
+import com.netease.arctic.utils.CompatiblePropertyUtil;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Scales the optimizers of the resource groups with autoscale enabled by the backlog of their
+ * optimizing queues.
+ *
+ * <p>A group is scaled out when its parallelism is below the min parallelism, when tasks have been
+ * waiting longer than the scale-out wait time, or when tables are pending but no optimizer is there
+ * to plan them. A group is scaled in by releasing one optimizer after it has been idle for the
+ * scale-in idle time. The parallelism is kept within the min and max parallelism of the group.
+ *
+ * <p>A resource without a registered optimizer is counted while its optimizer is starting. It is
+ * released and no longer counted once it has been unregistered for the register timeout, which
+ * covers the optimizers failed to start and the expired ones.
+ */
+public class OptimizerAutoScaler {
+  private static final Logger LOG = LoggerFactory.getLogger(OptimizerAutoScaler.class);
+
+  private final long interval;
+  private final OptimizerManager optimizerManager;
+  private final Function<String, Optional<OptimizingQueue>> queues;
+  private final Function<String, ResourceContainer> containers;
+  /** The time since when the groups are idle, only accessed by the scaling thread. */
+  private final Map<String, Long> idleSince = new HashMap<>();
+  /**
+   * The time since when the resources of the groups have no registered optimizer, only accessed by
+   * the scaling thread.
+   */
+  private final Map<String, Map<String, Long>> unregisteredSince = new HashMap<>();
+
+  private ScheduledExecutorService executor;
+
+  public OptimizerAutoScaler(
+      long interval,
+      OptimizerManager optimizerManager,
+      Function<String, Optional<OptimizingQueue>> queues) {
+    this(interval, optimizerManager, queues, ResourceContainers::get);
+  }
+
+  @VisibleForTesting
+  OptimizerAutoScaler(
+      long interval,
+      OptimizerManager optimizerManager,
+      Function<String, Optional<OptimizingQueue>> queues,
+      Function<String, ResourceContainer> containers) {
+    this.interval = interval;
+    this.optimizerManager = optimizerManager;
+    this.queues = queues;
+    this.containers = containers;
+  }
+
+  public void start() {
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("optimizer-autoscaler-thread-%d")
+                .setDaemon(true)
+                .build());
+    executor.scheduleWithFixedDelay(this::scaleAll, interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  public void dispose() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  @VisibleForTesting
+  void scaleAll() {
+    long currentTime = System.currentTimeMillis();
+    for (ResourceGroup group : optimizerManager.listResourceGroups()) {
+      try {
+        if (!autoscaleEnabled(group)) {
+          idleSince.remove(group.getName());
+          unregisteredSince.remove(group.getName());
+          continue;
+        }
+        Optional<OptimizingQueue> queue = queues.apply(group.getName());
+        if (queue.isPresent()) {
+          scale(group, queue.get().getBacklog(), currentTime);
+        }
+      } catch (Throwable t) {
+        LOG.error("Failed to scale the optimizers of group {}", group.getName(), t);
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void scale(ResourceGroup group, OptimizingQueue.Backlog backlog, long currentTime) {
+    Map<String, String> properties = group.getProperties();
+    int minParallelism =
+        CompatiblePropertyUtil.propertyAsInt(
+            properties,
+            OptimizerProperties.AUTOSCALE_MIN_PARALLELISM,
+            OptimizerProperties.AUTOSCALE_MIN_PARALLELISM_DEFAULT);
+    int maxParallelism =
+        Math.max(
+            minParallelism,
+            CompatiblePropertyUtil.propertyAsInt(
+                properties,
+                OptimizerProperties.AUTOSCALE_MAX_PARALLELISM,
+                OptimizerProperties.AUTOSCALE_MAX_PARALLELISM_DEFAULT));
+    int optimizerParallelism =
+        CompatiblePropertyUtil.propertyAsInt(
+            properties,
+            OptimizerProperties.AUTOSCALE_OPTIMIZER_PARALLELISM,
+            OptimizerProperties.AUTOSCALE_OPTIMIZER_PARALLELISM_DEFAULT);
+    long scaleOutWaitTime =
+        CompatiblePropertyUtil.propertyAsLong(
+            properties,
+            OptimizerProperties.AUTOSCALE_SCALE_OUT_WAIT_TIME,
+            OptimizerProperties.AUTOSCALE_SCALE_OUT_WAIT_TIME_DEFAULT);
+    long scaleInIdleTime =
+        CompatiblePropertyUtil.propertyAsLong(
+            properties,
+            OptimizerProperties.AUTOSCALE_SCALE_IN_IDLE_TIME,
+            OptimizerProperties.AUTOSCALE_SCALE_IN_IDLE_TIME_DEFAULT);
+    long registerTimeout =
+        CompatiblePropertyUtil.propertyAsLong(
+            properties,
+            OptimizerProperties.AUTOSCALE_REGISTER_TIMEOUT,
+            OptimizerProperties.AUTOSCALE_REGISTER_TIMEOUT_DEFAULT);
+
+    List<OptimizerInstance> optimizers = optimizerManager.listOptimizers(group.getName());
+    List<Resource> resources =
+        expireUnregisteredResources(
+            group.getName(),
+            optimizerManager.listResourcesByGroup(group.getName()),
+            optimizers,
+            registerTimeout,
+            currentTime);
+    int parallelism = parallelism(resources, optimizers);
+    if (backlog.isIdle()) {
+      idleSince.putIfAbsent(group.getName(), currentTime);
+    } else {
+      idleSince.remove(group.getName());
+    }
+
+    boolean waitingTooLong =
+        backlog.getWaitingTasks() > 0
+            && currentTime - backlog.getWaitingSince() >= scaleOutWaitTime;
+    boolean noOptimizer = parallelism == 0 && backlog.getPendingInputSize() > 0;
+    if (parallelism < minParallelism
+        || (parallelism < maxParallelism && (waitingTooLong || noOptimizer))) {
+      int threadCount =
+          Math.min(
+              Math.max(optimizerParallelism, minParallelism - parallelism),
+              maxParallelism - parallelism);
+      LOG.info(
+          "Scale out group {} by {} threads from parallelism {}, backlog {}",
+          group.getName(),
+          threadCount,
+          parallelism,
+          backlog);
+      requestOptimizer(group, threadCount);
+    } else if (parallelism > minParallelism
+        && backlog.isIdle()
+        && currentTime - idleSince.get(group.getName()) >= scaleInIdleTime) {
+      releaseOptimizer(resources, optimizers, parallelism - minParallelism)
+          .ifPresent(
+              resource -> {
+                LOG.info(
+                    "Scale in group {} by releasing {} from parallelism {}",
+                    group.getName(),
+                    resource.getResourceId(),
+                    parallelism);
+                // wait for another idle period before the next releasing
+                idleSince.put(group.getName(), currentTime);
+              });
+    }
+  }
+
+  private boolean autoscaleEnabled(ResourceGroup group) {
+    return CompatiblePropertyUtil.propertyAsBoolean(
+        group.getProperties(),
+        OptimizerProperties.AUTOSCALE_ENABLED,
+        OptimizerProperties.AUTOSCALE_ENABLED_DEFAULT);
+  }
+
+  /**
+   * Release the resources which have no registered optimizer for the register timeout.
+   *
+   * @return the resources not expired
+   */
+  private List<Resource> expireUnregisteredResources(
+      String groupName,
+      List<Resource> resources,
+      List<OptimizerInstance> optimizers,
+      long registerTimeout,
+      long currentTime) {
+    Set<String> registeredIds =
+        optimizers.stream().map(OptimizerInstance::getResourceId).collect(Collectors.toSet());
+    Map<String, Long> lastUnregistered =
+        unregisteredSince.getOrDefault(groupName, Collections.emptyMap());
+    Map<String, Long> unregistered = new HashMap<>();
+    List<Resource> liveResources = new ArrayList<>();
+    for (Resource resource : resources) {
+      String resourceId = resource.getResourceId();
+      if (registeredIds.contains(resourceId)) {
+        liveResources.add(resource);
+        continue;
+      }
+      long since = lastUnregistered.getOrDefault(resourceId, currentTime);
+      if (currentTime - since < registerTimeout) {
+        unregistered.put(resourceId, since);
+        liveResources.add(resource);
+        continue;
+      }
+      LOG.warn(
+          "Release resource {} of group {} which has no registered optimizer for {} ms",
+          resourceId,
+          groupName,
+          currentTime - since);
+      try {
+        containers.apply(resource.getContainerName()).releaseOptimizer(resource);
+      } catch (Throwable t) {
+        LOG.warn("Failed to release the optimizer of resource {}", resourceId, t);
+      }
+      optimizerManager.deleteResource(resourceId);
+    }
+    unregisteredSince.put(groupName, unregistered);
+    return liveResources;
+  }
+
+  /**
+   * The parallelism of the group, including the requested resources which are not registered yet,
+   * and the optimizers not started by a resource container.
+   */
+  private int parallelism(List<Resource> resources, List<OptimizerInstance> optimizers) {
+    Set<String> resourceIds =
+        resources.stream().map(Resource::getResourceId).collect(Collectors.toSet());
+    return resources.stream().mapToInt(Resource::getThreadCount).sum()
+        + optimizers.stream()
+            .filter(optimizer -> !resourceIds.contains(optimizer.getResourceId()))
+            .mapToInt(OptimizerInstance::getThreadCount)
+            .sum();
+  }
+
+  private void requestOptimizer(ResourceGroup group, int threadCount) {
+    Resource resource =
+        new Resource.Builder(group.getContainer(), group.getName(), ResourceType.OPTIMIZER)
+            .setProperties(new HashMap<>(group.getProperties()))
+            .setThreadCount(threadCount)
+            .build();
+    // persist the resource first, so a started optimizer never misses its resource
+    optimizerManager.createResource(resource);
+    try {
+      containers.apply(resource.getContainerName()).requestResource(resource);
+    } catch (Throwable t) {
+      optimizerManager.deleteResource(resource.getResourceId());
+      throw t;
+    }
+  }
+
+  /** Release the latest registered resource with at most maxThreadCount threads. */
+  private Optional<Resource> releaseOptimizer(
+      List<Resource> resources, List<OptimizerInstance> optimizers, int maxThreadCount) {
+    for (int i = resources.size() - 1; i >= 0; i--) {
+      Resource resource = resources.get(i);
+      if (resource.getThreadCount() > maxThreadCount) {
+        continue;
+      }
+      Optional<OptimizerInstance> optimizer =
+          optimizers.stream()
+              .filter(instance -> resource.getResourceId().equals(instance.getResourceId()))
+              .findFirst();
+      if (optimizer.isPresent()) {
+        resource.getProperties().putAll(optimizer.get().getProperties());
+        containers.apply(resource.getContainerName()).releaseOptimizer(resource);
+        optimizerManager.deleteResource(resource.getResourceId());
+        optimizerManager.deleteOptimizer(resource.getGroupName(), resource.getResourceId());
+        return Optional.of(resource);
+      }
+    }
+    return Optional.empty();
+  }
+}
@@ -18,8 +18,10 @@
 
 package com.netease.arctic.server.resource;
 
+import com.netease.arctic.ams.api.OptimizerProperties;
 import com.netease.arctic.ams.api.OptimizerRegisterInfo;
 import com.netease.arctic.ams.api.resource.Resource;
+import com.netease.arctic.optimizing.RewriteFilesCodec;
 import org.apache.iceberg.relocated.com.google.common.base.MoreObjects;
 
 import java.util.UUID;
@@ -56,6 +58,18 @@ public class OptimizerInstance extends Resource {
     return startTime;
   }
 
+  /**
+   * Whether the optimizer reads task inputs written by {@link RewriteFilesCodec}, optimizers of
+   * earlier versions do not register the codec version and read Java-serialized inputs only.
+   */
+  public boolean supportsRewriteFilesCodec() {
+    String version =
+        getProperties() == null
+            ? null
+            : getProperties().get(OptimizerProperties.REWRITE_FILES_CODEC_VERSION);
+    return version != null && Integer.parseInt(version) >= RewriteFilesCodec.VERSION;
+  }
+
   public OptimizerThread getThread(int threadId) {
     return new OptimizerThread(threadId, this);
   }
@@ -39,6 +39,10 @@ public class OptimizerThread {
     return threadId;
   }
 
+  public OptimizerInstance getOptimizer() {
+    return optimizer;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -75,12 +75,14 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
 
   private final CompletableFuture<Boolean> initialized = new CompletableFuture<>();
   private final Configurations serverConfiguration;
+  private final TableCache tableCache;
 
   public DefaultTableService(Configurations configuration) {
     this.externalCatalogRefreshingInterval =
         configuration.getLong(ArcticManagementConf.REFRESH_EXTERNAL_CATALOGS_INTERVAL);
     this.blockerTimeout = configuration.getLong(ArcticManagementConf.BLOCKER_TIMEOUT);
     this.serverConfiguration = configuration;
+    this.tableCache = new TableCache(configuration);
   }
 
   @Override
@@ -178,6 +180,7 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     ServerTableIdentifier serverTableIdentifier =
         getInternalCatalog(tableIdentifier.getCatalog())
             .dropTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
+    tableCache.invalidate(serverTableIdentifier);
     Optional.ofNullable(tableRuntimeMap.remove(serverTableIdentifier))
         .ifPresent(
             tableRuntime -> {
@@ -239,6 +242,21 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
   @Override
   public AmoroTable<?> loadTable(ServerTableIdentifier tableIdentifier) {
     checkStarted();
+    return tableCache.get(tableIdentifier, this::loadTableFromCatalog);
+  }
+
+  @Override
+  public AmoroTable<?> reloadTable(ServerTableIdentifier tableIdentifier) {
+    checkStarted();
+    return tableCache.reload(tableIdentifier, this::loadTableFromCatalog);
+  }
+
+  @Override
+  public void invalidateTable(ServerTableIdentifier tableIdentifier) {
+    tableCache.invalidate(tableIdentifier);
+  }
+
+  private AmoroTable<?> loadTableFromCatalog(ServerTableIdentifier tableIdentifier) {
     return getServerCatalog(tableIdentifier.getCatalog())
         .loadTable(tableIdentifier.getDatabase(), tableIdentifier.getTableName());
   }
@@ -327,6 +345,13 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
     }
   }
 
+  @Override
+  public void handleSnapshotChanged(TableRuntime tableRuntime) {
+    if (headHandler != null) {
+      headHandler.fireSnapshotChanged(tableRuntime);
+    }
+  }
+
   @Override
   public void initialize() {
     checkNotStarted();
@@ -647,6 +672,7 @@ public class DefaultTableService extends StatedPersistentBase implements TableSe
                 tableIdentifier.getCatalog(),
                 tableIdentifier.getDatabase(),
                 tableIdentifier.getTableName()));
+    tableCache.invalidate(tableIdentifier);
     Optional.ofNullable(tableRuntimeMap.remove(tableIdentifier))
         .ifPresent(
             tableRuntime -> {
@@ -71,6 +71,19 @@ public abstract class RuntimeHandlerChain {
     }
   }
 
+  public final void fireSnapshotChanged(TableRuntime tableRuntime) {
+    if (!initialized) {
+      return;
+    }
+
+    if (formatSupported(tableRuntime.getFormat())) {
+      doSilently(() -> handleSnapshotChanged(tableRuntime));
+    }
+    if (next != null) {
+      next.fireSnapshotChanged(tableRuntime);
+    }
+  }
+
   public final void fireTableAdded(AmoroTable<?> table, TableRuntime tableRuntime) {
     if (!initialized) {
       return;
@@ -124,6 +137,9 @@ public abstract class RuntimeHandlerChain {
   protected abstract void handleConfigChanged(
       TableRuntime tableRuntime, TableConfiguration originalConfig);
 
+  /** Handle refreshed snapshots of the table, ignored by default. */
+  protected void handleSnapshotChanged(TableRuntime tableRuntime) {}
+
   protected abstract void handleTableAdded(AmoroTable<?> table, TableRuntime tableRuntime);
 
   protected abstract void handleTableRemoved(TableRuntime tableRuntime);
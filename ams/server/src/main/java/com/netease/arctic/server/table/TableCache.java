@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.netease.arctic.AmoroTable;
+import com.netease.arctic.TableSnapshot;
+import com.netease.arctic.op.ArcticTableOperations;
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.table.internal.IcebergInternalTableOperations;
+import com.netease.arctic.server.utils.Configurations;
+import com.netease.arctic.table.ArcticTable;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.TableOperations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Cache of the tables loaded by {@link TableManager}.
+ *
+ * <p>Loading a table reads its metadata file from the file system. For tables of internal
+ * catalogs, the cache keeps the metadata read from the metadata files, which never change once
+ * written. Every load still reads the current metadata location from the database, builds a new
+ * table for the caller and reuses the cached metadata if the location is not changed, so callers
+ * never share a table and always see commits of other writers. Tables of other catalogs are cached
+ * as loaded and shared by {@link #get}, while {@link #reload} always loads them from the catalog
+ * and drops the cached table once it is found to be changed. An entry is invalidated when the table
+ * is committed through AMS or removed, and it expires after {@link
+ * ArcticManagementConf#TABLE_CACHE_TTL} in any case.
+ */
+public class TableCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TableCache.class);
+
+  private final Cache<ServerTableIdentifier, CachedTable> tables;
+
+  public TableCache(Configurations config) {
+    long capacity = config.getLong(ArcticManagementConf.TABLE_CACHE_CAPACITY);
+    if (capacity > 0) {
+      this.tables =
+          Caffeine.newBuilder()
+              .maximumSize(capacity)
+              .expireAfterWrite(
+                  config.getLong(ArcticManagementConf.TABLE_CACHE_TTL), TimeUnit.MILLISECONDS)
+              .recordStats()
+              .build();
+    } else {
+      this.tables = null;
+    }
+  }
+
+  /**
+   * Get a table from the cache, load it if absent. A table of an internal catalog is built for the
+   * caller from the cached metadata.
+   *
+   * @param identifier the identifier of the table
+   * @param loader the function to load the table
+   * @return the cached table, or the loaded table if not cached
+   */
+  public AmoroTable<?> get(
+      ServerTableIdentifier identifier, Function<ServerTableIdentifier, AmoroTable<?>> loader) {
+    if (tables == null) {
+      return loader.apply(identifier);
+    }
+    CachedTable cached = tables.getIfPresent(identifier);
+    if (cached != null && cached.table != null) {
+      return cached.table;
+    }
+    return refresh(identifier, loader.apply(identifier));
+  }
+
+  /**
+   * Reload a table from the catalog, the returned table is not shared with other callers. A table
+   * of an internal catalog reuses the cached metadata if its metadata location is not changed.
+   *
+   * @param identifier the identifier of the table
+   * @param loader the function to load the table
+   * @return the table with the latest metadata
+   */
+  public AmoroTable<?> reload(
+      ServerTableIdentifier identifier, Function<ServerTableIdentifier, AmoroTable<?>> loader) {
+    AmoroTable<?> table = loader.apply(identifier);
+    if (tables == null || table == null || !internalOperations(table).isEmpty()) {
+      return refresh(identifier, table);
+    }
+    CachedTable cached = tables.asMap().get(identifier);
+    if (cached != null && !Objects.equals(cached.metadataLocation, metadataLocation(table))) {
+      LOG.debug("Table {} changed from {}", identifier, cached.metadataLocation);
+      invalidate(identifier);
+    }
+    return table;
+  }
+
+  /**
+   * Put a newly loaded table into the cache. A table of an internal catalog takes the cached
+   * metadata of its current metadata location and is returned, only its metadata is cached. For
+   * other tables, the cached table is kept if it is loaded from the same metadata location, so
+   * tables already handed out stay shared.
+   *
+   * @param identifier the identifier of the table
+   * @param table the newly loaded table
+   * @return the cached table if it is still current, otherwise the newly loaded table
+   */
+  public AmoroTable<?> refresh(ServerTableIdentifier identifier, AmoroTable<?> table) {
+    if (tables == null || table == null) {
+      invalidate(identifier);
+      return table;
+    }
+    List<IcebergInternalTableOperations> operations = internalOperations(table);
+    if (!operations.isEmpty()) {
+      CachedTable cached = tables.asMap().get(identifier);
+      Map<String, TableMetadata> metadata = new HashMap<>();
+      for (IcebergInternalTableOperations ops : operations) {
+        TableMetadata current =
+            cached == null ? null : cached.metadata.get(ops.currentMetadataLocation());
+        if (current != null) {
+          ops.initialize(current);
+        } else {
+          current = ops.current();
+        }
+        if (current != null) {
+          metadata.put(current.metadataFileLocation(), current);
+        }
+      }
+      tables.put(identifier, new CachedTable(null, metadataLocation(table), metadata));
+      return table;
+    }
+    CachedTable loaded = new CachedTable(table, metadataLocation(table), Collections.emptyMap());
+    CachedTable current =
+        tables
+            .asMap()
+            .compute(
+                identifier,
+                (key, cached) -> {
+                  if (cached != null
+                      && cached.table != null
+                      && loaded.metadataLocation != null
+                      && loaded.metadataLocation.equals(cached.metadataLocation)) {
+                    return cached;
+                  }
+                  if (cached != null) {
+                    LOG.debug(
+                        "Table {} changed from {} to {}",
+                        key,
+                        cached.metadataLocation,
+                        loaded.metadataLocation);
+                  }
+                  return loaded;
+                });
+    return current.table;
+  }
+
+  /**
+   * Invalidate the cached table.
+   *
+   * @param identifier the identifier of the table
+   */
+  public void invalidate(ServerTableIdentifier identifier) {
+    if (tables != null) {
+      tables.invalidate(identifier);
+    }
+  }
+
+  public CacheStats stats() {
+    return tables == null ? CacheStats.empty() : tables.stats();
+  }
+
+  /**
+   * Get the location that identifies the current metadata of a table. For Iceberg and mixed tables,
+   * it is the location of the metadata file, both the base and change store are included for keyed
+   * tables. For other formats, it is the id of the current snapshot.
+   */
+  static String metadataLocation(AmoroTable<?> table) {
+    Object originalTable = table.originalTable();
+    if (originalTable instanceof ArcticTable) {
+      ArcticTable arcticTable = (ArcticTable) originalTable;
+      if (arcticTable.isKeyedTable()) {
+        String base = metadataLocation(arcticTable.asKeyedTable().baseTable());
+        String change = metadataLocation(arcticTable.asKeyedTable().changeTable());
+        return base == null || change == null ? null : base + "," + change;
+      } else {
+        return metadataLocation(arcticTable.asUnkeyedTable());
+      }
+    }
+    TableSnapshot snapshot = table.currentSnapshot();
+    return snapshot == null ? null : snapshot.id();
+  }
+
+  private static String metadataLocation(Table table) {
+    if (table instanceof HasTableOperations) {
+      TableMetadata metadata = ((HasTableOperations) table).operations().current();
+      return metadata == null ? null : metadata.metadataFileLocation();
+    }
+    return null;
+  }
+
+  /**
+   * Get the operations of all stores of a table of an internal catalog.
+   *
+   * @return the operations of the table stores, empty if the table is not of an internal catalog
+   */
+  private static List<IcebergInternalTableOperations> internalOperations(AmoroTable<?> table) {
+    if (!(table.originalTable() instanceof ArcticTable)) {
+      return Collections.emptyList();
+    }
+    ArcticTable arcticTable = (ArcticTable) table.originalTable();
+    List<Table> stores =
+        arcticTable.isKeyedTable()
+            ? Arrays.asList(
+                arcticTable.asKeyedTable().baseTable(), arcticTable.asKeyedTable().changeTable())
+            : Collections.singletonList(arcticTable.asUnkeyedTable());
+    List<IcebergInternalTableOperations> operations = new ArrayList<>();
+    for (Table store : stores) {
+      TableOperations ops =
+          store instanceof HasTableOperations ? ((HasTableOperations) store).operations() : null;
+      if (ops instanceof ArcticTableOperations) {
+        ops = ((ArcticTableOperations) ops).originalOperations();
+      }
+      if (!(ops instanceof IcebergInternalTableOperations)) {
+        return Collections.emptyList();
+      }
+      operations.add((IcebergInternalTableOperations) ops);
+    }
+    return operations;
+  }
+
+  private static class CachedTable {
+    // the table shared by callers, null for tables of internal catalogs
+    private final AmoroTable<?> table;
+    private final String metadataLocation;
+    // the metadata of the table stores keyed by the metadata file location
+    private final Map<String, TableMetadata> metadata;
+
+    private CachedTable(
+        AmoroTable<?> table, String metadataLocation, Map<String, TableMetadata> metadata) {
+      this.table = table;
+      this.metadataLocation = metadataLocation;
+      this.metadata = metadata;
+    }
+  }
+}
@@ -30,6 +30,21 @@ public interface TableManager extends TableRuntimeHandler {
    */
   AmoroTable<?> loadTable(ServerTableIdentifier tableIdentifier);
 
+  /**
+   * load the latest metadata of a managed table, the cached table is refreshed if possible.
+   *
+   * @param tableIdentifier managed table identifier
+   * @return managed table.
+   */
+  AmoroTable<?> reloadTable(ServerTableIdentifier tableIdentifier);
+
+  /**
+   * invalidate the cached table after it is changed.
+   *
+   * @param tableIdentifier managed table identifier
+   */
+  void invalidateTable(ServerTableIdentifier tableIdentifier);
+
   TableRuntime getRuntime(ServerTableIdentifier tableIdentifier);
 
   default boolean contains(ServerTableIdentifier tableIdentifier) {
@@ -28,7 +28,10 @@ import com.netease.arctic.server.optimizing.OptimizingConfig;
 import com.netease.arctic.server.optimizing.OptimizingProcess;
 import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.optimizing.TaskCostModel;
 import com.netease.arctic.server.optimizing.TaskRuntime;
+import com.netease.arctic.server.optimizing.maintainer.OrphanFilesCleaningCheckpoint;
+import com.netease.arctic.server.optimizing.plan.IncrementalOptimizingEvaluator;
 import com.netease.arctic.server.optimizing.plan.OptimizingEvaluator;
 import com.netease.arctic.server.persistence.StatedPersistentBase;
 import com.netease.arctic.server.persistence.mapper.OptimizingMapper;
@@ -84,12 +87,16 @@ public class TableRuntime extends StatedPersistentBase {
   @StateField private volatile long lastMajorOptimizingTime;
   @StateField private volatile long lastFullOptimizingTime;
   @StateField private volatile long lastMinorOptimizingTime;
+  @StateField private volatile long lastClusteringTime;
   @StateField private volatile String optimizerGroup;
   @StateField private volatile OptimizingProcess optimizingProcess;
   @StateField private volatile TableConfiguration tableConfiguration;
   @StateField private volatile long processId;
   @StateField private volatile OptimizingEvaluator.PendingInput pendingInput;
   private volatile long lastPlanTime;
+  private volatile IncrementalOptimizingEvaluator.EvaluationState evaluationState;
+  private volatile TaskCostModel taskCostModel;
+  private volatile OrphanFilesCleaningCheckpoint orphanCleanCheckpoint;
 
   private final ReentrantLock blockerLock = new ReentrantLock();
 
@@ -123,6 +130,7 @@ public class TableRuntime extends StatedPersistentBase {
     this.lastMinorOptimizingTime = tableRuntimeMeta.getLastMinorOptimizingTime();
     this.lastMajorOptimizingTime = tableRuntimeMeta.getLastMajorOptimizingTime();
     this.lastFullOptimizingTime = tableRuntimeMeta.getLastFullOptimizingTime();
+    this.lastClusteringTime = tableRuntimeMeta.getLastClusteringTime();
     this.optimizerGroup = tableRuntimeMeta.getOptimizerGroup();
     this.tableConfiguration = tableRuntimeMeta.getTableConfig();
     this.processId = tableRuntimeMeta.getOptimizingProcessId();
@@ -131,6 +139,7 @@ public class TableRuntime extends StatedPersistentBase {
             ? OptimizingStatus.PENDING
             : tableRuntimeMeta.getTableStatus();
     this.pendingInput = tableRuntimeMeta.getPendingInput();
+    this.orphanCleanCheckpoint = tableRuntimeMeta.getOrphanCleanCheckpoint();
   }
 
   public void recover(OptimizingProcess optimizingProcess) {
@@ -158,7 +167,7 @@ public class TableRuntime extends StatedPersistentBase {
         () -> {
           OptimizingStatus originalStatus = optimizingStatus;
           updateOptimizingStatus(OptimizingStatus.PLANNING);
-          persistUpdatingRuntime();
+          persistUpdatingRuntimeLater();
           tableHandler.handleTableChanged(this, originalStatus);
         });
   }
@@ -202,7 +211,7 @@ public class TableRuntime extends StatedPersistentBase {
           this.pendingInput = pendingInput;
           if (optimizingStatus == OptimizingStatus.IDLE) {
             updateOptimizingStatus(OptimizingStatus.PENDING);
-            persistUpdatingRuntime();
+            persistUpdatingRuntimeLater();
             LOG.info(
                 "{} status changed from idle to pending with pendingInput {}",
                 tableIdentifier,
@@ -217,12 +226,16 @@ public class TableRuntime extends StatedPersistentBase {
         () -> {
           TableConfiguration configuration = tableConfiguration;
           boolean configChanged = updateConfigInternal(table.properties());
-          if (refreshSnapshots(table) || configChanged) {
-            persistUpdatingRuntime();
+          boolean snapshotsChanged = refreshSnapshots(table);
+          if (snapshotsChanged || configChanged) {
+            persistUpdatingRuntimeLater();
           }
           if (configChanged) {
             tableHandler.handleTableChanged(this, configuration);
           }
+          if (snapshotsChanged) {
+            tableHandler.handleSnapshotChanged(this);
+          }
           return this;
         });
   }
@@ -270,6 +283,8 @@ public class TableRuntime extends StatedPersistentBase {
               lastMajorOptimizingTime = optimizingProcess.getPlanTime();
             } else if (optimizingProcess.getOptimizingType() == OptimizingType.FULL) {
               lastFullOptimizingTime = optimizingProcess.getPlanTime();
+            } else if (optimizingProcess.getOptimizingType() == OptimizingType.CLUSTERING) {
+              lastClusteringTime = optimizingProcess.getPlanTime();
             }
           }
           updateOptimizingStatus(OptimizingStatus.IDLE);
@@ -317,6 +332,62 @@ public class TableRuntime extends StatedPersistentBase {
     return pendingInput;
   }
 
+  public IncrementalOptimizingEvaluator.EvaluationState getEvaluationState() {
+    return evaluationState;
+  }
+
+  public void setEvaluationState(IncrementalOptimizingEvaluator.EvaluationState evaluationState) {
+    this.evaluationState = evaluationState;
+  }
+
+  /**
+   * Get the cost model of optimizing tasks, it is loaded from the finished tasks of the table on
+   * the first call.
+   */
+  public TaskCostModel getTaskCostModel() {
+    if (taskCostModel == null) {
+      synchronized (this) {
+        if (taskCostModel == null) {
+          taskCostModel = loadTaskCostModel();
+        }
+      }
+    }
+    return taskCostModel;
+  }
+
+  private TaskCostModel loadTaskCostModel() {
+    TaskCostModel costModel = new TaskCostModel();
+    long startTime = System.currentTimeMillis() - TaskCostModel.LOOK_BACK_TIME;
+    try {
+      getAs(
+              OptimizingMapper.class,
+              mapper -> mapper.selectTaskCostsByTime(tableIdentifier.getId(), startTime))
+          .forEach(costModel::addTask);
+    } catch (Throwable throwable) {
+      LOG.warn("{} failed to load the history of optimizing tasks", tableIdentifier, throwable);
+    }
+    return costModel;
+  }
+
+  public OrphanFilesCleaningCheckpoint getOrphanCleanCheckpoint() {
+    return orphanCleanCheckpoint;
+  }
+
+  /**
+   * Save the progress of the running orphan files cleaning.
+   *
+   * @param checkpoint progress of the cleaning, null if the cleaning is finished
+   */
+  public void updateOrphanCleanCheckpoint(OrphanFilesCleaningCheckpoint checkpoint) {
+    invokeInStateLock(
+        () -> {
+          doAs(
+              TableMetaMapper.class,
+              mapper -> mapper.updateOrphanCleanCheckpoint(tableIdentifier.getId(), checkpoint));
+          this.orphanCleanCheckpoint = checkpoint;
+        });
+  }
+
   private boolean updateConfigInternal(Map<String, String> properties) {
     TableConfiguration newTableConfig = TableConfiguration.parseConfig(properties);
     if (tableConfiguration.equals(newTableConfig)) {
@@ -348,6 +419,14 @@ public class TableRuntime extends StatedPersistentBase {
     doAs(TableMetaMapper.class, mapper -> mapper.updateTableRuntime(this));
   }
 
+  /**
+   * Snapshots, pending input and the planning status are evaluated again after a restart, so they
+   * are persisted by the write-behind persistence, other transitions are persisted immediately.
+   */
+  private void persistUpdatingRuntimeLater() {
+    persistLater(TableMetaMapper.class, mapper -> mapper.updateTableRuntime(this));
+  }
+
   public OptimizingProcess getOptimizingProcess() {
     return optimizingProcess;
   }
@@ -400,6 +479,10 @@ public class TableRuntime extends StatedPersistentBase {
     return lastMinorOptimizingTime;
   }
 
+  public long getLastClusteringTime() {
+    return lastClusteringTime;
+  }
+
   public TableConfiguration getTableConfiguration() {
     return tableConfiguration;
   }
@@ -452,6 +535,7 @@ public class TableRuntime extends StatedPersistentBase {
         .add("lastMajorOptimizingTime", lastMajorOptimizingTime)
         .add("lastFullOptimizingTime", lastFullOptimizingTime)
         .add("lastMinorOptimizingTime", lastMinorOptimizingTime)
+        .add("lastClusteringTime", lastClusteringTime)
         .add("tableConfiguration", tableConfiguration)
         .toString();
   }
@@ -588,6 +672,30 @@ public class TableRuntime extends StatedPersistentBase {
     }
   }
 
+  /**
+   * Get the time until which the operation is blocked by the current blockers, renewing or
+   * releasing the blockers may change it.
+   *
+   * @param operation - operation to check
+   * @return the latest expiration time of the blockers of the operation, 0 if it is not blocked
+   */
+  public long getBlockingExpirationTime(BlockableOperation operation) {
+    blockerLock.lock();
+    try {
+      List<TableBlocker> tableBlockers =
+          getAs(
+              TableBlockerMapper.class,
+              mapper -> mapper.selectBlockers(tableIdentifier, System.currentTimeMillis()));
+      return tableBlockers.stream()
+          .filter(blocker -> blocker.getOperations().contains(operation.name()))
+          .mapToLong(TableBlocker::getExpirationTime)
+          .max()
+          .orElse(0);
+    } finally {
+      blockerLock.unlock();
+    }
+  }
+
   private boolean conflict(
       List<BlockableOperation> blockableOperations, List<TableBlocker> blockers) {
     return blockableOperations.stream().anyMatch(operation -> conflict(operation, blockers));
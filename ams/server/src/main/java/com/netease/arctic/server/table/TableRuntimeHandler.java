@@ -9,4 +9,6 @@ public interface TableRuntimeHandler {
   void handleTableChanged(TableRuntime tableRuntime, OptimizingStatus originalStatus);
 
   void handleTableChanged(TableRuntime tableRuntime, TableConfiguration originalConfig);
+
+  void handleSnapshotChanged(TableRuntime tableRuntime);
 }
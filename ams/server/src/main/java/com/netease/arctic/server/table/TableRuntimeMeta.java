@@ -4,6 +4,7 @@ import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.server.optimizing.OptimizingProcess;
 import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.optimizing.maintainer.OrphanFilesCleaningCheckpoint;
 import com.netease.arctic.server.optimizing.plan.OptimizingEvaluator;
 
 import java.util.Map;
@@ -21,11 +22,13 @@ public class TableRuntimeMeta {
   private long lastMajorOptimizingTime;
   private long lastMinorOptimizingTime;
   private long lastFullOptimizingTime;
+  private long lastClusteringTime;
   private OptimizingStatus tableStatus;
   private long currentStatusStartTime;
   private String optimizerGroup;
   private TableConfiguration tableConfig;
   private OptimizingEvaluator.PendingInput pendingInput;
+  private OrphanFilesCleaningCheckpoint orphanCleanCheckpoint;
   private long optimizingProcessId = 0;
   private OptimizingProcess.Status processStatus;
   private OptimizingType optimizingType;
@@ -116,6 +119,10 @@ public class TableRuntimeMeta {
     return lastFullOptimizingTime;
   }
 
+  public long getLastClusteringTime() {
+    return lastClusteringTime;
+  }
+
   public OptimizingStatus getTableStatus() {
     return tableStatus;
   }
@@ -208,6 +215,10 @@ public class TableRuntimeMeta {
     this.lastFullOptimizingTime = lastFullOptimizingTime;
   }
 
+  public void setLastClusteringTime(long lastClusteringTime) {
+    this.lastClusteringTime = lastClusteringTime;
+  }
+
   public Map<String, Long> getFromSequence() {
     return fromSequence;
   }
@@ -279,4 +290,12 @@ public class TableRuntimeMeta {
   public void setPendingInput(OptimizingEvaluator.PendingInput pendingInput) {
     this.pendingInput = pendingInput;
   }
+
+  public OrphanFilesCleaningCheckpoint getOrphanCleanCheckpoint() {
+    return orphanCleanCheckpoint;
+  }
+
+  public void setOrphanCleanCheckpoint(OrphanFilesCleaningCheckpoint orphanCleanCheckpoint) {
+    this.orphanCleanCheckpoint = orphanCleanCheckpoint;
+  }
 }
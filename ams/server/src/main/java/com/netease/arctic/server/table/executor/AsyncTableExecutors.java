@@ -53,7 +53,8 @@ public class AsyncTableExecutors {
         new TableRuntimeRefreshExecutor(
             tableManager,
             conf.getInteger(ArcticManagementConf.REFRESH_TABLES_THREAD_COUNT),
-            conf.getLong(ArcticManagementConf.REFRESH_TABLES_INTERVAL));
+            conf.getLong(ArcticManagementConf.REFRESH_TABLES_INTERVAL),
+            conf.getLong(ArcticManagementConf.REFRESH_TABLES_FULL_EVALUATION_INTERVAL));
     if (conf.getBoolean(ArcticManagementConf.AUTO_CREATE_TAGS_ENABLED)) {
       this.tagsAutoCreatingExecutor =
           new TagsAutoCreatingExecutor(
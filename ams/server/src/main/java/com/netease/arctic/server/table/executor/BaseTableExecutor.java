@@ -130,4 +130,8 @@ public abstract class BaseTableExecutor extends RuntimeHandlerChain {
   protected AmoroTable<?> loadTable(TableRuntime tableRuntime) {
     return tableManager.loadTable(tableRuntime.getTableIdentifier());
   }
+
+  protected AmoroTable<?> reloadTable(TableRuntime tableRuntime) {
+    return tableManager.reloadTable(tableRuntime.getTableIdentifier());
+  }
 }
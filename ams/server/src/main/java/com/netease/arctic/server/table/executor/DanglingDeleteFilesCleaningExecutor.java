@@ -58,7 +58,7 @@ public class DanglingDeleteFilesCleaningExecutor extends BaseTableExecutor {
   protected void execute(TableRuntime tableRuntime) {
     try {
       LOG.info("{} start cleaning dangling delete files", tableRuntime.getTableIdentifier());
-      AmoroTable<?> amoroTable = loadTable(tableRuntime);
+      AmoroTable<?> amoroTable = reloadTable(tableRuntime);
       TableMaintainer tableMaintainer = ofTable(amoroTable);
       tableMaintainer.cleanDanglingDeleteFiles(tableRuntime);
     } catch (Throwable t) {
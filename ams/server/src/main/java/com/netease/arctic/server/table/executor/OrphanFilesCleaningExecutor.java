@@ -21,6 +21,7 @@ package com.netease.arctic.server.table.executor;
 import static com.netease.arctic.server.optimizing.maintainer.TableMaintainer.ofTable;
 
 import com.netease.arctic.AmoroTable;
+import com.netease.arctic.server.optimizing.maintainer.OrphanFilesCleaningCheckpoint;
 import com.netease.arctic.server.optimizing.maintainer.TableMaintainer;
 import com.netease.arctic.server.table.TableConfiguration;
 import com.netease.arctic.server.table.TableManager;
@@ -56,9 +57,21 @@ public class OrphanFilesCleaningExecutor extends BaseTableExecutor {
   public void execute(TableRuntime tableRuntime) {
     try {
       LOG.info("{} start cleaning orphan files", tableRuntime.getTableIdentifier());
-      AmoroTable<?> amoroTable = loadTable(tableRuntime);
+      AmoroTable<?> amoroTable = reloadTable(tableRuntime);
       TableMaintainer tableMaintainer = ofTable(amoroTable);
+      long now = System.currentTimeMillis();
+      OrphanFilesCleaningCheckpoint checkpoint = tableRuntime.getOrphanCleanCheckpoint();
+      // an interrupted cleaning is resumed by the next execution, which is one interval later
+      if (checkpoint != null && checkpoint.startedAfter(now - 2 * INTERVAL)) {
+        LOG.info(
+            "{} resume cleaning orphan files from checkpoint {}",
+            tableRuntime.getTableIdentifier(),
+            checkpoint);
+      } else {
+        tableRuntime.updateOrphanCleanCheckpoint(new OrphanFilesCleaningCheckpoint(now));
+      }
       tableMaintainer.cleanOrphanFiles(tableRuntime);
+      tableRuntime.updateOrphanCleanCheckpoint(null);
     } catch (Throwable t) {
       LOG.error("{} failed to clean orphan file", tableRuntime.getTableIdentifier(), t);
     }
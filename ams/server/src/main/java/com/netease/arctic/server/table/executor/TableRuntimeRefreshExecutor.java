@@ -20,6 +20,7 @@ package com.netease.arctic.server.table.executor;
 
 import com.netease.arctic.AmoroTable;
 import com.netease.arctic.server.optimizing.OptimizingProcess;
+import com.netease.arctic.server.optimizing.plan.IncrementalOptimizingEvaluator;
 import com.netease.arctic.server.optimizing.plan.OptimizingEvaluator;
 import com.netease.arctic.server.table.TableConfiguration;
 import com.netease.arctic.server.table.TableManager;
@@ -31,10 +32,13 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
 
   // 1 minutes
   private final long interval;
+  private final long fullEvaluationInterval;
 
-  public TableRuntimeRefreshExecutor(TableManager tableRuntimes, int poolSize, long interval) {
+  public TableRuntimeRefreshExecutor(
+      TableManager tableRuntimes, int poolSize, long interval, long fullEvaluationInterval) {
     super(tableRuntimes, poolSize);
     this.interval = interval;
+    this.fullEvaluationInterval = fullEvaluationInterval;
   }
 
   @Override
@@ -48,7 +52,11 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
 
   private void tryEvaluatingPendingInput(TableRuntime tableRuntime, ArcticTable table) {
     if (tableRuntime.isOptimizingEnabled() && !tableRuntime.getOptimizingStatus().isProcessing()) {
-      OptimizingEvaluator evaluator = new OptimizingEvaluator(tableRuntime, table);
+      IncrementalOptimizingEvaluator evaluator =
+          new IncrementalOptimizingEvaluator(
+              tableRuntime, table, tableRuntime.getEvaluationState(), fullEvaluationInterval);
+      // the last state is updated in place, drop it until this evaluation succeeds
+      tableRuntime.setEvaluationState(null);
       if (evaluator.isNecessary()) {
         OptimizingEvaluator.PendingInput pendingInput = evaluator.getPendingInput();
         logger.debug(
@@ -57,6 +65,7 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
             pendingInput);
         tableRuntime.setPendingInput(pendingInput);
       }
+      tableRuntime.setEvaluationState(evaluator.getEvaluationState());
     }
   }
 
@@ -78,7 +87,7 @@ public class TableRuntimeRefreshExecutor extends BaseTableExecutor {
     try {
       long lastOptimizedSnapshotId = tableRuntime.getLastOptimizedSnapshotId();
       long lastOptimizedChangeSnapshotId = tableRuntime.getLastOptimizedChangeSnapshotId();
-      AmoroTable<?> table = loadTable(tableRuntime);
+      AmoroTable<?> table = reloadTable(tableRuntime);
       tableRuntime.refresh(table);
       ArcticTable arcticTable = (ArcticTable) table.originalTable();
       if ((arcticTable.isKeyedTable()
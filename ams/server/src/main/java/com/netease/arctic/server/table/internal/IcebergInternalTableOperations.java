@@ -62,13 +62,50 @@ public class IcebergInternalTableOperations extends PersistentBase implements Ta
   @Override
   public TableMetadata current() {
     if (this.current == null) {
-      this.refresh();
+      this.readCurrent();
     }
     return this.current;
   }
 
   @Override
   public TableMetadata refresh() {
+    // read the metadata location kept by AMS again, the table may be committed by other writers
+    this.tableMetadata = null;
+    return readCurrent();
+  }
+
+  /**
+   * Use metadata already read from the current metadata file, so the file is not read again.
+   *
+   * @param metadata the metadata read from the current metadata file
+   */
+  public void initialize(TableMetadata metadata) {
+    Preconditions.checkArgument(
+        Objects.equals(metadata.metadataFileLocation(), currentMetadataLocation()),
+        "Metadata %s is not the current metadata of table %s",
+        metadata.metadataFileLocation(),
+        identifier);
+    this.current = metadata;
+  }
+
+  private TableMetadata readCurrent() {
+    String metadataFileLocation = currentMetadataLocation();
+    if (StringUtils.isBlank(metadataFileLocation)) {
+      return null;
+    }
+    if (this.current == null
+        || !metadataFileLocation.equals(this.current.metadataFileLocation())) {
+      this.current = TableMetadataParser.read(io, metadataFileLocation);
+    }
+    return this.current;
+  }
+
+  /**
+   * Get the location of the current metadata file kept by AMS, the metadata file is not read.
+   *
+   * @return the location of the current metadata file, null if the table does not exist
+   */
+  public String currentMetadataLocation() {
     if (this.tableMetadata == null) {
       this.tableMetadata =
           getAs(
@@ -77,12 +114,7 @@ public class IcebergInternalTableOperations extends PersistentBase implements Ta
     if (this.tableMetadata == null) {
       return null;
     }
-    String metadataFileLocation = tableMetadataLocation(this.tableMetadata);
-    if (StringUtils.isBlank(metadataFileLocation)) {
-      return null;
-    }
-    this.current = TableMetadataParser.read(io, metadataFileLocation);
-    return this.current;
+    return tableMetadataLocation(this.tableMetadata);
   }
 
   protected String tableMetadataLocation(com.netease.arctic.server.table.TableMetadata tableMeta) {
@@ -43,7 +43,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -88,23 +87,7 @@ public class IcebergTableUtil {
   }
 
   public static Set<String> getAllContentFilePath(Table internalTable) {
-    Set<String> validFilesPath = new HashSet<>();
-
-    TableEntriesScan entriesScan =
-        TableEntriesScan.builder(internalTable)
-            .includeFileContent(
-                FileContent.DATA, FileContent.POSITION_DELETES, FileContent.EQUALITY_DELETES)
-            .allEntries()
-            .build();
-    try (CloseableIterable<IcebergFileEntry> entries = entriesScan.entries()) {
-      for (IcebergFileEntry entry : entries) {
-        validFilesPath.add(TableFileUtil.getUriPath(entry.getFile().path().toString()));
-      }
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    }
-
-    return validFilesPath;
+    return ManifestContentCache.getInstance().reachableContentFiles(internalTable);
   }
 
   public static Set<String> getAllStatisticsFilePath(Table table) {
@@ -0,0 +1,285 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.utils.TableFileUtil;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.iceberg.IcebergManifestFiles;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.util.Tasks;
+import org.apache.iceberg.util.ThreadPools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache of the contents of manifests and manifest lists shared by all table maintainers.
+ *
+ * <p>Manifests and manifest lists are immutable once written, so their contents are cached by their
+ * locations and never need to be invalidated. Computing the reachable files of a table only reads
+ * the manifests added since the last computation, the others are served from the cache.
+ *
+ * <p>The cache is bounded by the number of cached file paths and evicts the least recently used
+ * entries. File paths of manifests can also be persisted to a local directory so they survive
+ * evictions and restarts, files in the directory which are not used for {@link #LOCAL_FILE_TTL} are
+ * removed.
+ */
+public class ManifestContentCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ManifestContentCache.class);
+
+  private static final long LOCAL_FILE_TTL = TimeUnit.DAYS.toMillis(7);
+  private static final String LOCAL_FILE_SUFFIX = ".files";
+
+  private static volatile ManifestContentCache instance =
+      new ManifestContentCache(new Configurations());
+
+  public static ManifestContentCache getInstance() {
+    return instance;
+  }
+
+  public static void initialize(Configurations config) {
+    instance = new ManifestContentCache(config);
+  }
+
+  private final Cache<String, List<String>> manifestContents;
+  private final Cache<String, List<ManifestFile>> manifestLists;
+  private final File localDir;
+  private volatile long lastPurgeTime = 0;
+
+  public ManifestContentCache(Configurations config) {
+    long capacity = config.getLong(ArcticManagementConf.TABLE_MANIFEST_CACHE_CAPACITY);
+    if (capacity > 0) {
+      this.manifestContents =
+          Caffeine.newBuilder()
+              .maximumWeight(capacity)
+              .weigher((String path, List<String> files) -> files.size() + 1)
+              .recordStats()
+              .build();
+      this.manifestLists =
+          Caffeine.newBuilder()
+              .maximumWeight(capacity)
+              .weigher((String path, List<ManifestFile> manifests) -> manifests.size() + 1)
+              .build();
+    } else {
+      this.manifestContents = null;
+      this.manifestLists = null;
+    }
+    String localDirPath = config.getString(ArcticManagementConf.TABLE_MANIFEST_CACHE_LOCAL_DIR);
+    if (StringUtils.isNotBlank(localDirPath)) {
+      this.localDir = new File(localDirPath);
+      if (!localDir.isDirectory() && !localDir.mkdirs()) {
+        throw new IllegalArgumentException(
+            "Failed to create the local directory of manifest cache " + localDirPath);
+      }
+      purgeLocalFiles();
+    } else {
+      this.localDir = null;
+    }
+  }
+
+  /**
+   * Get the manifests of a snapshot.
+   *
+   * @param snapshot the snapshot
+   * @param io the io of the table
+   * @return the data and delete manifests of the snapshot
+   */
+  public List<ManifestFile> manifests(Snapshot snapshot, FileIO io) {
+    String manifestList = snapshot.manifestListLocation();
+    if (manifestLists == null || manifestList == null) {
+      return snapshot.allManifests(io);
+    }
+    return manifestLists.get(manifestList, key -> ImmutableList.copyOf(snapshot.allManifests(io)));
+  }
+
+  /**
+   * Get the files of all entries of a manifest, including deleted ones, which are still referenced
+   * by the manifest until it is removed with the snapshots using it.
+   *
+   * @param manifest the data or delete manifest
+   * @param io the io of the table
+   * @return uri paths of the files, see {@link TableFileUtil#getUriPath(String)}
+   */
+  public List<String> files(ManifestFile manifest, FileIO io) {
+    if (manifestContents == null) {
+      return loadFiles(manifest, io);
+    }
+    return manifestContents.get(manifest.path(), key -> loadFiles(manifest, io));
+  }
+
+  /**
+   * Get all the content files referenced by any snapshot of a table.
+   *
+   * @param table the table
+   * @return uri paths of the data files and delete files
+   */
+  public Set<String> reachableContentFiles(Table table) {
+    Map<String, ManifestFile> manifests = Maps.newHashMap();
+    for (Snapshot snapshot : table.snapshots()) {
+      for (ManifestFile manifest : manifests(snapshot, table.io())) {
+        manifests.putIfAbsent(manifest.path(), manifest);
+      }
+    }
+    Set<String> files = Sets.newConcurrentHashSet();
+    Tasks.foreach(manifests.values())
+        .executeWith(ThreadPools.getWorkerPool())
+        .stopOnFailure()
+        .throwFailureWhenFinished()
+        .run(manifest -> files.addAll(files(manifest, table.io())));
+    return files;
+  }
+
+  public CacheStats stats() {
+    return manifestContents == null ? CacheStats.empty() : manifestContents.stats();
+  }
+
+  private List<String> loadFiles(ManifestFile manifest, FileIO io) {
+    List<String> files = localDir == null ? null : readLocalFile(manifest.path());
+    if (files == null) {
+      files = readManifest(manifest, io);
+      if (localDir != null) {
+        writeLocalFile(manifest.path(), files);
+      }
+    }
+    return files;
+  }
+
+  private static List<String> readManifest(ManifestFile manifest, FileIO io) {
+    ImmutableList.Builder<String> files = ImmutableList.builder();
+    try (CloseableIterable<String> paths = IcebergManifestFiles.readAllPaths(manifest, io)) {
+      for (String path : paths) {
+        files.add(TableFileUtil.getUriPath(path));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read manifest " + manifest.path(), e);
+    }
+    return files.build();
+  }
+
+  private File localFile(String manifestPath) {
+    String name = UUID.nameUUIDFromBytes(manifestPath.getBytes(StandardCharsets.UTF_8)).toString();
+    return new File(localDir, name + LOCAL_FILE_SUFFIX);
+  }
+
+  private List<String> readLocalFile(String manifestPath) {
+    File file = localFile(manifestPath);
+    if (!file.exists()) {
+      return null;
+    }
+    try (DataInputStream input =
+        new DataInputStream(
+            new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))))) {
+      if (!manifestPath.equals(input.readUTF())) {
+        return null;
+      }
+      int count = input.readInt();
+      ImmutableList.Builder<String> files = ImmutableList.builderWithExpectedSize(count);
+      for (int i = 0; i < count; i++) {
+        files.add(input.readUTF());
+      }
+      // mark the file as used so it is not purged
+      file.setLastModified(System.currentTimeMillis());
+      return files.build();
+    } catch (IOException e) {
+      LOG.warn("Failed to read cached manifest {} from {}, ignore it", manifestPath, file, e);
+      file.delete();
+      return null;
+    }
+  }
+
+  private void writeLocalFile(String manifestPath, List<String> files) {
+    File target = localFile(manifestPath);
+    File temp = null;
+    try {
+      temp = File.createTempFile(target.getName(), ".tmp", localDir);
+      try (DataOutputStream output =
+          new DataOutputStream(
+              new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(temp))))) {
+        output.writeUTF(manifestPath);
+        output.writeInt(files.size());
+        for (String file : files) {
+          output.writeUTF(file);
+        }
+      }
+      Files.move(
+          temp.toPath(),
+          target.toPath(),
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      LOG.warn("Failed to persist manifest {} to {}", manifestPath, target, e);
+      if (temp != null) {
+        temp.delete();
+      }
+    }
+    if (System.currentTimeMillis() - lastPurgeTime > TimeUnit.DAYS.toMillis(1)) {
+      purgeLocalFiles();
+    }
+  }
+
+  private synchronized void purgeLocalFiles() {
+    long now = System.currentTimeMillis();
+    if (now - lastPurgeTime <= TimeUnit.DAYS.toMillis(1)) {
+      return;
+    }
+    lastPurgeTime = now;
+    File[] files = localDir.listFiles();
+    if (files == null) {
+      return;
+    }
+    int purged = 0;
+    for (File file : files) {
+      if (now - file.lastModified() > LOCAL_FILE_TTL && file.delete()) {
+        purged++;
+      }
+    }
+    LOG.info("Purged {} unused manifest files from {}", purged, localDir);
+  }
+}
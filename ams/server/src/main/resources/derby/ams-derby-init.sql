@@ -96,6 +96,7 @@ CREATE TABLE table_runtime (
     last_major_optimizing_time  TIMESTAMP,
     last_minor_optimizing_time  TIMESTAMP,
     last_full_optimizing_time   TIMESTAMP,
+    last_clustering_time        TIMESTAMP,
     optimizing_status           VARCHAR(20) DEFAULT 'IDLE',
     optimizing_status_start_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     optimizing_process_id       BIGINT NOT NULL,
@@ -103,6 +104,7 @@ CREATE TABLE table_runtime (
     table_config                CLOB(64m),
     optimizing_config           CLOB(64m),
     pending_input               CLOB(64m),
+    orphan_clean_checkpoint     CLOB(64m),
     CONSTRAINT table_runtime_pk PRIMARY KEY (table_id),
     CONSTRAINT table_runtime_table_name_idx UNIQUE (catalog_name, db_name, table_name)
 );
@@ -107,6 +107,7 @@ CREATE TABLE `table_runtime`
     `last_major_optimizing_time`    timestamp NULL DEFAULT NULL COMMENT 'Latest Major Optimize time for all partitions',
     `last_minor_optimizing_time`    timestamp NULL DEFAULT NULL COMMENT 'Latest Minor Optimize time for all partitions',
     `last_full_optimizing_time`     timestamp NULL DEFAULT NULL COMMENT 'Latest Full Optimize time for all partitions',
+    `last_clustering_time`          timestamp NULL DEFAULT NULL COMMENT 'Latest Clustering time for all partitions',
     `optimizing_status`             varchar(20) DEFAULT 'IDLE' COMMENT 'Table optimize status: FULL_OPTIMIZING, MAJOR_OPTIMIZING, MINOR_OPTIMIZING, COMMITTING, PENDING, IDLE',
     `optimizing_status_start_time`  timestamp default CURRENT_TIMESTAMP COMMENT 'Table optimize status start time',
     `optimizing_process_id`         bigint(20) NOT NULL COMMENT 'optimizing_procedure UUID',
@@ -114,6 +115,7 @@ CREATE TABLE `table_runtime`
     `table_config`                  mediumtext,
     `optimizing_config`             mediumtext,
     `pending_input`                 mediumtext,
+    `orphan_clean_checkpoint`       mediumtext COMMENT 'Progress of the running orphan files cleaning',
     PRIMARY KEY (`table_id`),
     UNIQUE KEY `table_index` (`catalog_name`,`db_name`,`table_name`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT 'Optimize running information of each table';
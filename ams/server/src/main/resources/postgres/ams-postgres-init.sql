@@ -167,6 +167,7 @@ CREATE TABLE table_runtime
     last_major_optimizing_time TIMESTAMP,
     last_minor_optimizing_time TIMESTAMP,
     last_full_optimizing_time TIMESTAMP,
+    last_clustering_time TIMESTAMP,
     optimizing_status VARCHAR(20) DEFAULT 'IDLE',
     optimizing_status_start_time TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     optimizing_process_id BIGINT NOT NULL,
@@ -174,6 +175,7 @@ CREATE TABLE table_runtime
     table_config TEXT,
     optimizing_config TEXT,
     pending_input TEXT,
+    orphan_clean_checkpoint TEXT,
     PRIMARY KEY (table_id),
     UNIQUE (catalog_name, db_name, table_name)
 );
@@ -189,6 +191,7 @@ COMMENT ON COLUMN table_runtime.last_optimized_change_snapshotId IS 'Last optimi
 COMMENT ON COLUMN table_runtime.last_major_optimizing_time IS 'Latest Major Optimize time for all partitions';
 COMMENT ON COLUMN table_runtime.last_minor_optimizing_time IS 'Latest Minor Optimize time for all partitions';
 COMMENT ON COLUMN table_runtime.last_full_optimizing_time IS 'Latest Full Optimize time for all partitions';
+COMMENT ON COLUMN table_runtime.last_clustering_time IS 'Latest Clustering time for all partitions';
 COMMENT ON COLUMN table_runtime.optimizing_status IS 'Table optimize status: FULL_OPTIMIZING, MAJOR_OPTIMIZING, MINOR_OPTIMIZING, COMMITTING, PENDING, IDLE';
 COMMENT ON COLUMN table_runtime.optimizing_status_start_time IS 'Table optimize status start time';
 COMMENT ON COLUMN table_runtime.optimizing_process_id IS 'Optimizing procedure UUID';
@@ -196,6 +199,7 @@ COMMENT ON COLUMN table_runtime.optimizer_group IS 'Optimizer group';
 COMMENT ON COLUMN table_runtime.table_config IS 'Table-specific configuration';
 COMMENT ON COLUMN table_runtime.optimizing_config IS 'Optimizing configuration';
 COMMENT ON COLUMN table_runtime.pending_input IS 'Pending input data';
+COMMENT ON COLUMN table_runtime.orphan_clean_checkpoint IS 'Progress of the running orphan files cleaning';
 
 CREATE TABLE table_optimizing_process
 (
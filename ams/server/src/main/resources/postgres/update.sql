@@ -1,2 +1,7 @@
 -- If you have any changes to the AMS database, please record them in this file.
--- We will confirm the corresponding version of these upgrade scripts when releasing.
\ No newline at end of file
+-- We will confirm the corresponding version of these upgrade scripts when releasing.
+
+ALTER TABLE table_runtime ADD orphan_clean_checkpoint TEXT;
+COMMENT ON COLUMN table_runtime.orphan_clean_checkpoint IS 'Progress of the running orphan files cleaning';
+ALTER TABLE table_runtime ADD last_clustering_time TIMESTAMP;
+COMMENT ON COLUMN table_runtime.last_clustering_time IS 'Latest Clustering time for all partitions';
@@ -20,6 +20,7 @@ package com.netease.arctic.server;
 
 import com.netease.arctic.BasicTableTestHelper;
 import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.OptimizerProperties;
 import com.netease.arctic.ams.api.OptimizerRegisterInfo;
 import com.netease.arctic.ams.api.OptimizingTask;
 import com.netease.arctic.ams.api.OptimizingTaskId;
@@ -28,10 +29,12 @@ import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.io.MixedDataTestHelpers;
+import com.netease.arctic.optimizing.RewriteFilesCodec;
 import com.netease.arctic.optimizing.RewriteFilesOutput;
 import com.netease.arctic.optimizing.TableOptimizing;
 import com.netease.arctic.server.exception.IllegalTaskStateException;
 import com.netease.arctic.server.exception.PluginRetryAuthException;
+import com.netease.arctic.server.exception.TaskNotFoundException;
 import com.netease.arctic.server.optimizing.OptimizingProcess;
 import com.netease.arctic.server.optimizing.OptimizingStatus;
 import com.netease.arctic.server.optimizing.TaskRuntime;
@@ -45,6 +48,7 @@ import com.netease.arctic.utils.SerializationUtil;
 import org.apache.iceberg.AppendFiles;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.junit.After;
 import org.junit.Before;
@@ -54,7 +58,13 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @RunWith(Parameterized.class)
 public class TestDefaultOptimizingService extends AMSTableTestBase {
@@ -209,6 +219,126 @@ public class TestDefaultOptimizingService extends AMSTableTestBase {
     assertTaskCompleted(taskRuntime);
   }
 
+  @Test
+  public void testPollTasksInBatch() {
+    // tasks are assigned to the threads in turn and threads without tasks are absent
+    Map<Integer, List<OptimizingTask>> tasks =
+        optimizingService().pollTasks(token, ImmutableMap.of(THREAD_ID, 10, THREAD_ID + 1, 10));
+    Assertions.assertEquals(Collections.singleton(THREAD_ID), tasks.keySet());
+    Assertions.assertEquals(1, tasks.get(THREAD_ID).size());
+    assertTaskStatus(TaskRuntime.Status.SCHEDULED);
+    optimizingService()
+        .ackTasks(
+            token,
+            THREAD_ID,
+            tasks.get(THREAD_ID).stream()
+                .map(OptimizingTask::getTaskId)
+                .collect(Collectors.toList()));
+    assertTaskStatus(TaskRuntime.Status.ACKED);
+
+    TaskRuntime taskRuntime =
+        optimizingService().listTasks(defaultResourceGroup().getName()).get(0);
+    optimizingService()
+        .completeTasks(
+            token,
+            tasks.get(THREAD_ID).stream()
+                .map(task -> buildOptimizingTaskResult(task.getTaskId()))
+                .collect(Collectors.toList()));
+    assertTaskCompleted(taskRuntime);
+    Assertions.assertTrue(
+        optimizingService().pollTasks(token, Collections.singletonMap(THREAD_ID, 10)).isEmpty());
+  }
+
+  @Test
+  public void testCompleteTasksIndependently() {
+    OptimizingTask task = optimizingService().pollTask(token, THREAD_ID);
+    optimizingService().ackTask(token, THREAD_ID, task.getTaskId());
+    TaskRuntime taskRuntime =
+        optimizingService().listTasks(defaultResourceGroup().getName()).get(0);
+    // the unknown task does not stop the later result from being completed
+    OptimizingTaskId unknownTaskId = new OptimizingTaskId(-1L, 0);
+    Assertions.assertThrows(
+        TaskNotFoundException.class,
+        () ->
+            optimizingService()
+                .completeTasks(
+                    token,
+                    Arrays.asList(
+                        buildOptimizingTaskResult(unknownTaskId),
+                        buildOptimizingTaskResult(task.getTaskId()))));
+    assertTaskCompleted(taskRuntime);
+  }
+
+  @Test
+  public void testPollTasksOfInvalidThreads() {
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> optimizingService().pollTasks(token, Collections.emptyMap()));
+    Assertions.assertThrows(
+        IllegalArgumentException.class,
+        () -> optimizingService().pollTasks(token, Collections.singletonMap(THREAD_ID, 0)));
+  }
+
+  @Test
+  public void testTaskInputFormatOfOptimizerVersion() {
+    // optimizers registered without the codec version are of earlier versions
+    OptimizingTask task = optimizingService().pollTask(token, THREAD_ID);
+    Assertions.assertFalse(RewriteFilesCodec.isEncoded(task.getTaskInput()));
+    Assertions.assertNotNull(RewriteFilesCodec.deserializeInput(task.getTaskInput()));
+
+    OptimizerRegisterInfo registerInfo = buildRegisterInfo();
+    registerInfo.setProperties(
+        Collections.singletonMap(
+            OptimizerProperties.REWRITE_FILES_CODEC_VERSION,
+            String.valueOf(RewriteFilesCodec.VERSION)));
+    Assertions.assertTrue(new OptimizerInstance(registerInfo, "test").supportsRewriteFilesCodec());
+    TaskRuntime taskRuntime =
+        optimizingService().listTasks(defaultResourceGroup().getName()).get(0);
+    Assertions.assertTrue(
+        RewriteFilesCodec.isEncoded(taskRuntime.getOptimizingTask(true).getTaskInput()));
+  }
+
+  @Test
+  public void testAckTasksAllOrNothing() {
+    List<OptimizingTask> tasks =
+        optimizingService()
+            .pollTasks(token, Collections.singletonMap(THREAD_ID, 10))
+            .get(THREAD_ID);
+    Assertions.assertEquals(1, tasks.size());
+    OptimizingTaskId unknownTaskId = new OptimizingTaskId(-1L, 0);
+    Assertions.assertThrows(
+        TaskNotFoundException.class,
+        () ->
+            optimizingService()
+                .ackTasks(
+                    token, THREAD_ID, Arrays.asList(tasks.get(0).getTaskId(), unknownTaskId)));
+    // no task of the batch is acked
+    assertTaskStatus(TaskRuntime.Status.SCHEDULED);
+
+    optimizingService()
+        .ackTasks(token, THREAD_ID, Collections.singletonList(tasks.get(0).getTaskId()));
+    assertTaskStatus(TaskRuntime.Status.ACKED);
+  }
+
+  @Test
+  public void testPollTaskAsync() throws Exception {
+    OptimizingTask task = optimizingService().pollTaskAsync(token, THREAD_ID).get();
+    Assertions.assertNotNull(task);
+    assertTaskStatus(TaskRuntime.Status.SCHEDULED);
+    optimizingService().ackTask(token, THREAD_ID, task.getTaskId());
+
+    // the parked poll is completed by the failed task which is retried
+    CompletableFuture<Map<Integer, List<OptimizingTask>>> parkedPoll =
+        optimizingService().pollTasksAsync(token, Collections.singletonMap(THREAD_ID, 10));
+    Assertions.assertFalse(parkedPoll.isDone());
+    optimizingService()
+        .completeTask(token, buildOptimizingTaskFailResult(task.getTaskId(), "unknown error"));
+    Assertions.assertEquals(
+        Collections.singletonMap(THREAD_ID, Collections.singletonList(task)),
+        parkedPoll.get(10, TimeUnit.SECONDS));
+    assertTaskStatus(TaskRuntime.Status.SCHEDULED);
+  }
+
   @Test
   public void testTouch() throws InterruptedException {
     OptimizerInstance optimizer = optimizingService().listOptimizers().get(0);
@@ -402,7 +532,11 @@ public class TestDefaultOptimizingService extends AMSTableTestBase {
   private class TableRuntimeRefresher extends TableRuntimeRefreshExecutor {
 
     public TableRuntimeRefresher() {
-      super(tableService(), 1, Integer.MAX_VALUE);
+      super(
+          tableService(),
+          1,
+          Integer.MAX_VALUE,
+          ArcticManagementConf.REFRESH_TABLES_FULL_EVALUATION_INTERVAL.defaultValue());
     }
 
     void refreshPending() {
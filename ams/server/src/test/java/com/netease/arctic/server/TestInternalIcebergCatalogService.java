@@ -50,6 +50,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -169,6 +171,35 @@ public class TestInternalIcebergCatalogService extends RestCatalogServiceTestBas
       Assertions.assertEquals(files.length, tasks.size());
     }
 
+    @Test
+    public void testLoadTableWithETag() throws IOException {
+      Table tbl = nsCatalog.createTable(identifier, schema);
+      HttpURLConnection connection = openLoadTable(null);
+      Assertions.assertEquals(200, connection.getResponseCode());
+      String etag = connection.getHeaderField("ETag");
+      Assertions.assertNotNull(etag);
+
+      Assertions.assertEquals(304, openLoadTable(etag).getResponseCode());
+
+      tbl.updateProperties().set("k1", "v1").commit();
+      connection = openLoadTable(etag);
+      Assertions.assertEquals(200, connection.getResponseCode());
+      Assertions.assertNotEquals(etag, connection.getHeaderField("ETag"));
+    }
+
+    private HttpURLConnection openLoadTable(String etag) throws IOException {
+      URL url =
+          new URL(
+              String.format(
+                  "%s%s/v1/catalogs/%s/namespaces/%s/tables/%s",
+                  ams.getHttpUrl(), restCatalogUri, catalogName(), database, table));
+      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      if (etag != null) {
+        connection.setRequestProperty("If-None-Match", etag);
+      }
+      return connection;
+    }
+
     @Test
     public void testTableTransaction() throws IOException {
       Table tbl = nsCatalog.createTable(identifier, schema, spec);
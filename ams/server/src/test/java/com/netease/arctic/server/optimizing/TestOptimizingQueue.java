@@ -20,6 +20,7 @@ package com.netease.arctic.server.optimizing;
 
 import com.netease.arctic.BasicTableTestHelper;
 import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.OptimizerRegisterInfo;
 import com.netease.arctic.ams.api.OptimizingTaskId;
 import com.netease.arctic.ams.api.OptimizingTaskResult;
 import com.netease.arctic.ams.api.TableFormat;
@@ -29,6 +30,8 @@ import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.io.MixedDataTestHelpers;
 import com.netease.arctic.optimizing.RewriteFilesOutput;
 import com.netease.arctic.optimizing.TableOptimizing;
+import com.netease.arctic.server.exception.TaskNotFoundException;
+import com.netease.arctic.server.resource.OptimizerInstance;
 import com.netease.arctic.server.resource.OptimizerThread;
 import com.netease.arctic.server.resource.QuotaProvider;
 import com.netease.arctic.server.table.AMSTableTestBase;
@@ -49,15 +52,21 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @RunWith(Parameterized.class)
 public class TestOptimizingQueue extends AMSTableTestBase {
 
   private final Executor planExecutor = Executors.newSingleThreadExecutor();
+  private final ScheduledExecutorService pollScheduler =
+      Executors.newSingleThreadScheduledExecutor();
   private final QuotaProvider quotaProvider = resourceGroup -> 1;
   private final long MAX_POLLING_TIME = 5000;
 
@@ -87,6 +96,7 @@ public class TestOptimizingQueue extends AMSTableTestBase {
         defaultResourceGroup(),
         quotaProvider,
         planExecutor,
+        pollScheduler,
         Collections.singletonList(tableRuntimeMeta),
         1);
   }
@@ -97,6 +107,7 @@ public class TestOptimizingQueue extends AMSTableTestBase {
         defaultResourceGroup(),
         quotaProvider,
         planExecutor,
+        pollScheduler,
         Collections.emptyList(),
         1);
   }
@@ -140,6 +151,59 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     Assert.assertNull(queue.pollTask(0));
   }
 
+  @Test
+  public void testPollTasks() {
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+
+    List<TaskRuntime> tasks = queue.pollTasks(10, MAX_POLLING_TIME);
+
+    Assert.assertEquals(1, tasks.size());
+    Assert.assertEquals(TaskRuntime.Status.PLANNED, tasks.get(0).getStatus());
+    Assert.assertTrue(queue.pollTasks(10, 0).isEmpty());
+
+    queue.retryTask(tasks.get(0));
+    Assert.assertEquals(tasks, queue.pollTasks(10, 0));
+  }
+
+  @Test
+  public void testPollTasksAsync() throws Exception {
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+
+    // the poll is parked until planning completes
+    List<TaskRuntime> tasks =
+        queue.pollTasksAsync(10, MAX_POLLING_TIME).get(MAX_POLLING_TIME, TimeUnit.MILLISECONDS);
+    Assert.assertEquals(1, tasks.size());
+    Assert.assertEquals(TaskRuntime.Status.PLANNED, tasks.get(0).getStatus());
+    Assert.assertTrue(queue.pollTasksAsync(10, 0).get().isEmpty());
+    Assert.assertTrue(
+        queue.pollTasksAsync(10, 10).get(MAX_POLLING_TIME, TimeUnit.MILLISECONDS).isEmpty());
+
+    // the poll is woken up by the retried task
+    CompletableFuture<List<TaskRuntime>> parkedPoll = queue.pollTasksAsync(10, MAX_POLLING_TIME);
+    Assert.assertFalse(parkedPoll.isDone());
+    queue.retryTask(tasks.get(0));
+    Assert.assertEquals(tasks, parkedPoll.get(MAX_POLLING_TIME, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void testBacklog() {
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+    Assert.assertEquals(0, queue.getBacklog().getWaitingTasks());
+
+    TaskRuntime task = queue.pollTask(MAX_POLLING_TIME);
+    Assert.assertNotNull(task);
+    Assert.assertEquals(0, queue.getBacklog().getWaitingTasks());
+
+    queue.retryTask(task);
+    OptimizingQueue.Backlog backlog = queue.getBacklog();
+    Assert.assertEquals(1, backlog.getWaitingTasks());
+    Assert.assertTrue(backlog.getWaitingSince() > 0);
+    Assert.assertFalse(backlog.isIdle());
+  }
+
   @Test
   public void testRetryTask() {
     TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
@@ -172,6 +236,27 @@ public class TestOptimizingQueue extends AMSTableTestBase {
     Assert.assertEquals(TaskRuntime.Status.FAILED, task.getStatus());
   }
 
+  @Test
+  public void testCompleteTasks() {
+    TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
+    OptimizingQueue queue = buildOptimizingGroupService(tableRuntimeMeta);
+    OptimizerInstance optimizer = new OptimizerInstance(new OptimizerRegisterInfo(), "test");
+
+    TaskRuntime task = queue.pollTask(MAX_POLLING_TIME);
+    task.schedule(optimizer.getThread(1));
+    task.ack(optimizer.getThread(1));
+    // the unknown task fails the call after the other results are completed
+    Assert.assertThrows(
+        TaskNotFoundException.class,
+        () ->
+            queue.completeTasks(
+                optimizer,
+                Arrays.asList(
+                    buildOptimizingTaskResult(new OptimizingTaskId(-1L, 0), 1),
+                    buildOptimizingTaskResult(task.getTaskId(), 1))));
+    Assert.assertEquals(TaskRuntime.Status.SUCCESS, task.getStatus());
+  }
+
   @Test
   public void testCommitTask() {
     TableRuntimeMeta tableRuntimeMeta = initTableWithFiles();
@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing;
+
+import com.netease.arctic.ams.api.BlockableOperation;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.ams.api.resource.ResourceGroup;
+import com.netease.arctic.server.table.ServerTableIdentifier;
+import com.netease.arctic.server.table.TableRuntime;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Set;
+
+public class TestSchedulingPolicy {
+
+  @Test
+  public void testScheduleByQuotaOccupy() {
+    SchedulingPolicy policy = new SchedulingPolicy(resourceGroup("quota"));
+    TableRuntime table1 = mockTable(1, OptimizingStatus.PENDING);
+    TableRuntime table2 = mockTable(2, OptimizingStatus.PENDING);
+    TableRuntime table3 = mockTable(3, OptimizingStatus.PENDING);
+    Mockito.when(table1.calculateQuotaOccupy()).thenReturn(0.5);
+    Mockito.when(table2.calculateQuotaOccupy()).thenReturn(0.1);
+    Mockito.when(table3.calculateQuotaOccupy()).thenReturn(0.3);
+    policy.addTable(table1);
+    policy.addTable(table2);
+    policy.addTable(table3);
+    Assert.assertSame(table2, policy.scheduleTable(Sets.newHashSet()));
+
+    // re-keyed when the table is refreshed
+    Mockito.when(table2.calculateQuotaOccupy()).thenReturn(0.9);
+    policy.addTable(table2);
+    Assert.assertSame(table3, policy.scheduleTable(Sets.newHashSet()));
+
+    Set<ServerTableIdentifier> skipSet = Sets.newHashSet(table3.getTableIdentifier());
+    Assert.assertSame(table1, policy.scheduleTable(skipSet));
+
+    policy.removeTable(table3);
+    Assert.assertSame(table1, policy.scheduleTable(Sets.newHashSet()));
+  }
+
+  @Test
+  public void testRekeyOnQuotaDecay() throws InterruptedException {
+    SchedulingPolicy policy = new SchedulingPolicy(resourceGroup("quota"), 100);
+    TableRuntime table1 = mockTable(1, OptimizingStatus.PENDING);
+    TableRuntime table2 = mockTable(2, OptimizingStatus.PENDING);
+    Mockito.when(table1.calculateQuotaOccupy()).thenReturn(0.5);
+    Mockito.when(table2.calculateQuotaOccupy()).thenReturn(0.3);
+    policy.addTable(table1);
+    policy.addTable(table2);
+    Assert.assertSame(table2, policy.scheduleTable(Sets.newHashSet()));
+
+    // the quota occupation of table1 decays without any change of the table
+    Mockito.when(table1.calculateQuotaOccupy()).thenReturn(0.1);
+    Assert.assertSame(table2, policy.scheduleTable(Sets.newHashSet()));
+
+    // all the tables are re-keyed once the re-key interval passed
+    Thread.sleep(150);
+    Assert.assertSame(table1, policy.scheduleTable(Sets.newHashSet()));
+  }
+
+  @Test
+  public void testScheduleBalanced() {
+    SchedulingPolicy policy = new SchedulingPolicy(resourceGroup("balanced"));
+    TableRuntime table1 = mockTable(1, OptimizingStatus.PENDING);
+    TableRuntime table2 = mockTable(2, OptimizingStatus.PENDING);
+    Mockito.when(table1.getLastMinorOptimizingTime()).thenReturn(200L);
+    Mockito.when(table2.getLastFullOptimizingTime()).thenReturn(100L);
+    policy.addTable(table1);
+    policy.addTable(table2);
+    Assert.assertSame(table2, policy.scheduleTable(Sets.newHashSet()));
+  }
+
+  @Test
+  public void testSkipTablesNotSchedulable() {
+    SchedulingPolicy policy = new SchedulingPolicy(resourceGroup("quota"));
+    TableRuntime idle = mockTable(1, OptimizingStatus.IDLE);
+    TableRuntime blocked = mockTable(2, OptimizingStatus.PENDING);
+    TableRuntime optimized = mockTable(3, OptimizingStatus.PENDING);
+    TableRuntime pending = mockTable(4, OptimizingStatus.PENDING);
+    Mockito.when(pending.calculateQuotaOccupy()).thenReturn(1.0);
+    Mockito.when(blocked.getBlockingExpirationTime(BlockableOperation.OPTIMIZE))
+        .thenReturn(Long.MAX_VALUE);
+    Mockito.when(optimized.getLastOptimizedSnapshotId()).thenReturn(1L);
+    policy.addTable(idle);
+    policy.addTable(blocked);
+    policy.addTable(optimized);
+    policy.addTable(pending);
+    Assert.assertEquals(4, policy.getTableRuntimeMap().size());
+
+    Set<ServerTableIdentifier> skipSet = Sets.newHashSet();
+    Assert.assertSame(pending, policy.scheduleTable(skipSet));
+    Assert.assertTrue(skipSet.isEmpty());
+    Assert.assertEquals(
+        Sets.newHashSet(blocked.getTableIdentifier(), optimized.getTableIdentifier()),
+        policy.getParkedTables());
+
+    // tables changed to pending are added back by the status change event
+    Mockito.when(pending.getOptimizingStatus()).thenReturn(OptimizingStatus.PLANNING);
+    Assert.assertNull(policy.scheduleTable(Sets.newHashSet()));
+    Mockito.when(idle.getOptimizingStatus()).thenReturn(OptimizingStatus.PENDING);
+    policy.addTable(idle);
+    Assert.assertSame(idle, policy.scheduleTable(Sets.newHashSet()));
+  }
+
+  @Test
+  public void testUnparkTables() throws InterruptedException {
+    SchedulingPolicy policy = new SchedulingPolicy(resourceGroup("quota"));
+    TableRuntime optimized = mockTable(1, OptimizingStatus.PENDING);
+    TableRuntime planned = mockTable(2, OptimizingStatus.PENDING);
+    Mockito.when(optimized.getLastOptimizedSnapshotId()).thenReturn(1L);
+    Mockito.when(planned.getLastPlanTime()).thenReturn(System.currentTimeMillis());
+    Mockito.when(planned.getOptimizingConfig().getMinPlanInterval()).thenReturn(100L);
+    policy.addTable(optimized);
+    policy.addTable(planned);
+    Assert.assertNull(policy.scheduleTable(Sets.newHashSet()));
+    Assert.assertEquals(2, policy.getParkedTables().size());
+
+    // parked until the end of the minimal plan interval
+    Thread.sleep(150);
+    Assert.assertSame(planned, policy.scheduleTable(Sets.newHashSet()));
+
+    // parked until the snapshot changes
+    Mockito.when(optimized.getCurrentSnapshotId()).thenReturn(2L);
+    Assert.assertSame(planned, policy.scheduleTable(Sets.newHashSet()));
+    policy.rekeyTable(optimized);
+    Assert.assertTrue(policy.getParkedTables().isEmpty());
+    Mockito.when(optimized.calculateQuotaOccupy()).thenReturn(-1.0);
+    policy.rekeyTable(optimized);
+    Assert.assertSame(optimized, policy.scheduleTable(Sets.newHashSet()));
+  }
+
+  private static ResourceGroup resourceGroup(String policy) {
+    return new ResourceGroup.Builder("default", "local")
+        .addProperty("scheduling-policy", policy)
+        .build();
+  }
+
+  private static TableRuntime mockTable(long id, OptimizingStatus status) {
+    ServerTableIdentifier identifier =
+        ServerTableIdentifier.of(id, "catalog", "db", "table" + id, TableFormat.ICEBERG);
+    OptimizingConfig config = Mockito.mock(OptimizingConfig.class);
+    TableRuntime tableRuntime = Mockito.mock(TableRuntime.class);
+    Mockito.when(tableRuntime.getTableIdentifier()).thenReturn(identifier);
+    Mockito.when(tableRuntime.getOptimizingStatus()).thenReturn(status);
+    Mockito.when(tableRuntime.getOptimizingConfig()).thenReturn(config);
+    Mockito.when(tableRuntime.getCurrentSnapshotId()).thenReturn(1L);
+    return tableRuntime;
+  }
+}
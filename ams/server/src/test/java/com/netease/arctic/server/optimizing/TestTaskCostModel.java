@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing;
+
+import com.netease.arctic.server.ArcticServiceConstants;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestTaskCostModel {
+
+  private static final long MB = 1024 * 1024;
+
+  @Test
+  public void testNotEnoughTasks() {
+    TaskCostModel costModel = new TaskCostModel();
+    for (int i = 0; i < 4; i++) {
+      costModel.addTask(OptimizingType.MINOR, 128 * MB, 0, 10, 10000);
+    }
+    Assert.assertEquals(
+        ArcticServiceConstants.INVALID_TIME,
+        costModel.predict(OptimizingType.MINOR, 128 * MB, 0, 10));
+
+    costModel.addTask(OptimizingType.MINOR, 128 * MB, 0, 10, 10000);
+    Assert.assertEquals(10000, costModel.predict(OptimizingType.MINOR, 128 * MB, 0, 10));
+    // optimizing types are learned separately
+    Assert.assertEquals(
+        ArcticServiceConstants.INVALID_TIME,
+        costModel.predict(OptimizingType.MAJOR, 128 * MB, 0, 10));
+  }
+
+  @Test
+  public void testFitRates() {
+    TaskCostModel costModel = new TaskCostModel();
+    for (int i = 0; i < 20; i++) {
+      long dataSize = (i % 4 + 1) * 64 * MB;
+      long deleteSize = (i % 3) * 16 * MB;
+      int fileCount = i % 5 * 20 + 1;
+      costModel.addTask(
+          OptimizingType.MAJOR,
+          dataSize,
+          deleteSize,
+          fileCount,
+          time(dataSize, deleteSize, fileCount));
+    }
+
+    long expected = time(256 * MB, 64 * MB, 50);
+    long predicted = costModel.predict(OptimizingType.MAJOR, 256 * MB, 64 * MB, 50);
+    Assert.assertEquals(expected, predicted, expected * 0.01);
+  }
+
+  @Test
+  public void testDeleteFilesNeverRead() {
+    TaskCostModel costModel = new TaskCostModel();
+    for (int i = 0; i < 10; i++) {
+      costModel.addTask(OptimizingType.MINOR, (i + 1) * 16 * MB, 0, 1, (i + 1) * 1000);
+    }
+    // delete files are taken as data files
+    Assert.assertEquals(2000, costModel.predict(OptimizingType.MINOR, 16 * MB, 16 * MB, 1), 10);
+  }
+
+  @Test
+  public void testFollowRecentTasks() {
+    TaskCostModel costModel = new TaskCostModel();
+    for (int i = 0; i < 10; i++) {
+      costModel.addTask(OptimizingType.FULL, 128 * MB, 0, 1, 10000);
+    }
+    for (int i = 0; i < 100; i++) {
+      costModel.addTask(OptimizingType.FULL, 128 * MB, 0, 1, 20000);
+    }
+    Assert.assertEquals(20000, costModel.predict(OptimizingType.FULL, 128 * MB, 0, 1), 200);
+  }
+
+  @Test
+  public void testIgnoreInvalidTasks() {
+    TaskCostModel costModel = new TaskCostModel();
+    for (int i = 0; i < 10; i++) {
+      costModel.addTask(OptimizingType.MINOR, 128 * MB, 0, 1, 0);
+      costModel.addTask(OptimizingType.MINOR, 0, 0, 1, 10000);
+    }
+    Assert.assertEquals(
+        ArcticServiceConstants.INVALID_TIME,
+        costModel.predict(OptimizingType.MINOR, 128 * MB, 0, 1));
+  }
+
+  private static long time(long dataSize, long deleteSize, int fileCount) {
+    // 100MB/s for data files, 20MB/s for delete files and 50ms to open a file
+    return dataSize * 10 / MB + deleteSize * 50 / MB + fileCount * 50L;
+  }
+}
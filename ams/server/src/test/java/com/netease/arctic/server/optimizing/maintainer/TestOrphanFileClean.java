@@ -27,6 +27,10 @@ import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.data.ChangeAction;
+import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.io.PathInfo;
+import com.netease.arctic.io.SupportsFileSystemOperations;
+import com.netease.arctic.server.table.TableRuntime;
 import com.netease.arctic.server.table.executor.ExecutorTestBase;
 import com.netease.arctic.table.KeyedTable;
 import com.netease.arctic.table.TableProperties;
@@ -47,6 +51,7 @@ import org.junit.Assume;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.mockito.Mockito;
 
 import java.io.File;
 import java.io.IOException;
@@ -54,6 +59,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RunWith(Parameterized.class)
 public class TestOrphanFileClean extends ExecutorTestBase {
@@ -206,6 +212,93 @@ public class TestOrphanFileClean extends ExecutorTestBase {
     ExecutorTestBase.assertMetadataExists(getArcticTable());
   }
 
+  @Test
+  public void resumeOrphanDataFileCleanFromCheckpoint() throws IOException {
+    UnkeyedTable baseTable =
+        isKeyedTable()
+            ? getArcticTable().asKeyedTable().baseTable()
+            : getArcticTable().asUnkeyedTable();
+    String dataLocation = baseTable.location() + File.separator + DATA_FOLDER_NAME;
+    String cleanedFilePath =
+        dataLocation + File.separator + "a" + File.separator + "orphan.parquet";
+    String orphanFilePath = dataLocation + File.separator + "b" + File.separator + "orphan.parquet";
+    getArcticTable().io().newOutputFile(cleanedFilePath).createOrOverwrite().close();
+    getArcticTable().io().newOutputFile(orphanFilePath).createOrOverwrite().close();
+
+    String cleanedFolder = null;
+    for (PathInfo pathInfo : getArcticTable().io().asFileSystemIO().listDirectory(dataLocation)) {
+      if (pathInfo.location().endsWith(File.separator + "a")) {
+        cleanedFolder = pathInfo.location();
+      }
+    }
+    OrphanFilesCleaningCheckpoint checkpoint =
+        new OrphanFilesCleaningCheckpoint(System.currentTimeMillis());
+    checkpoint.folderCleaned(dataLocation, cleanedFolder);
+    TableRuntime tableRuntime = Mockito.mock(TableRuntime.class);
+    Mockito.when(tableRuntime.getOrphanCleanCheckpoint()).thenReturn(checkpoint);
+
+    MixedTableMaintainer maintainer = new MixedTableMaintainer(getArcticTable());
+    maintainer.getBaseMaintainer().cleanContentFiles(System.currentTimeMillis(), tableRuntime);
+    Assert.assertTrue(getArcticTable().io().exists(cleanedFilePath));
+    Assert.assertFalse(getArcticTable().io().exists(orphanFilePath));
+    Assert.assertTrue(checkpoint.isFinished(dataLocation));
+    Mockito.verify(tableRuntime, Mockito.atLeastOnce()).updateOrphanCleanCheckpoint(checkpoint);
+
+    // finished data location is not cleaned again
+    getArcticTable().io().newOutputFile(orphanFilePath).createOrOverwrite().close();
+    maintainer.getBaseMaintainer().cleanContentFiles(System.currentTimeMillis(), tableRuntime);
+    Assert.assertTrue(getArcticTable().io().exists(orphanFilePath));
+  }
+
+  @Test
+  public void checkpointNotPassFailedFolder() throws IOException {
+    UnkeyedTable baseTable =
+        isKeyedTable()
+            ? getArcticTable().asKeyedTable().baseTable()
+            : getArcticTable().asUnkeyedTable();
+    String dataLocation = baseTable.location() + File.separator + DATA_FOLDER_NAME;
+    List<String> orphanFilePaths =
+        Stream.of("a", "b", "c")
+            .map(
+                folder ->
+                    dataLocation + File.separator + folder + File.separator + "orphan.parquet")
+            .collect(Collectors.toList());
+    for (String orphanFilePath : orphanFilePaths) {
+      getArcticTable().io().newOutputFile(orphanFilePath).createOrOverwrite().close();
+    }
+
+    ArcticFileIO io = Mockito.spy(baseTable.io());
+    String cleanedFolder = null;
+    for (PathInfo pathInfo : io.asFileSystemIO().listDirectory(dataLocation)) {
+      if (pathInfo.location().endsWith(File.separator + "a")) {
+        cleanedFolder = pathInfo.location();
+      } else if (pathInfo.location().endsWith(File.separator + "b")) {
+        Mockito.doThrow(new RuntimeException("list error"))
+            .when((SupportsFileSystemOperations) io)
+            .listDirectory(pathInfo.location());
+      }
+    }
+    OrphanFilesCleaningCheckpoint checkpoint =
+        new OrphanFilesCleaningCheckpoint(System.currentTimeMillis());
+    TableRuntime tableRuntime = Mockito.mock(TableRuntime.class);
+    Mockito.when(tableRuntime.getOrphanCleanCheckpoint()).thenReturn(checkpoint);
+
+    IcebergTableMaintainer maintainer =
+        new IcebergTableMaintainer(baseTable) {
+          @Override
+          protected ArcticFileIO arcticFileIO() {
+            return io;
+          }
+        };
+    maintainer.cleanContentFiles(System.currentTimeMillis(), tableRuntime);
+    Assert.assertFalse(getArcticTable().io().exists(orphanFilePaths.get(0)));
+    Assert.assertTrue(getArcticTable().io().exists(orphanFilePaths.get(1)));
+    Assert.assertFalse(getArcticTable().io().exists(orphanFilePaths.get(2)));
+    // the cleaning is resumed from the failed folder
+    Assert.assertEquals(cleanedFolder, checkpoint.lastCleanedFolder(dataLocation));
+    Assert.assertFalse(checkpoint.isFinished(dataLocation));
+  }
+
   @Test
   public void orphanChangeDataFileInBaseClean() {
     Assume.assumeTrue(isKeyedTable());
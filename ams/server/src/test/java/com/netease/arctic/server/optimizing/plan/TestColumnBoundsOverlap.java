@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.plan;
+
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.optimizing.ClusteringStrategy;
+import com.netease.arctic.server.ArcticServiceConstants;
+import com.netease.arctic.server.optimizing.OptimizingConfig;
+import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.table.ServerTableIdentifier;
+import com.netease.arctic.server.table.TableRuntime;
+import com.netease.arctic.table.TableProperties;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TestColumnBoundsOverlap {
+
+  private static final Schema SCHEMA =
+      new Schema(
+          Types.NestedField.required(1, "id", Types.IntegerType.get()),
+          Types.NestedField.optional(2, "ts", Types.LongType.get()),
+          Types.NestedField.optional(
+              3,
+              "location",
+              Types.StructType.of(Types.NestedField.optional(4, "city", Types.StringType.get()))));
+
+  @Test
+  public void testOverlapRatio() {
+    ColumnBoundsOverlap overlap = ColumnBoundsOverlap.of(SCHEMA, Collections.singletonList("id"));
+    overlap.add(dataFile("data-1", 0, 10, 0L, 0L));
+    overlap.add(dataFile("data-2", 11, 20, 0L, 0L));
+    overlap.add(dataFile("data-3", 21, 30, 0L, 0L));
+    Assert.assertEquals(0, overlap.getOverlapRatio(), 0.0001);
+
+    // overlaps with data-2 and data-3, touching bounds overlap
+    overlap.add(dataFile("data-4", 20, 25, 0L, 0L));
+    Assert.assertEquals(4, overlap.getFileCount());
+    Assert.assertEquals(2 / 6.0, overlap.getOverlapRatio(), 0.0001);
+  }
+
+  @Test
+  public void testOverlapRatioOfColumns() {
+    ColumnBoundsOverlap overlap = ColumnBoundsOverlap.of(SCHEMA, Arrays.asList("id", "ts"));
+    overlap.add(dataFile("data-1", 0, 10, 0L, 100L));
+    overlap.add(dataFile("data-2", 11, 20, 0L, 100L));
+    // files without bounds are counted but not compared
+    overlap.add(
+        DataFiles.builder(PartitionSpec.unpartitioned())
+            .withPath("data-3")
+            .withFormat(FileFormat.PARQUET)
+            .withFileSizeInBytes(10)
+            .withRecordCount(1)
+            .build());
+
+    Assert.assertEquals(3, overlap.getFileCount());
+    Assert.assertEquals(0.5, overlap.getOverlapRatio(), 0.0001);
+  }
+
+  @Test
+  public void testOverlapRatioOfClusteredFiles() {
+    ColumnBoundsOverlap overlap = ColumnBoundsOverlap.of(SCHEMA, Collections.singletonList("id"));
+    // files clustered by a curve overlap on each column, but are not counted
+    overlap.add(dataFile("data-1", 0, 20, 0L, 0L), true);
+    overlap.add(dataFile("data-2", 0, 20, 0L, 0L), true);
+    overlap.add(dataFile("data-3", 0, 20, 0L, 0L), true);
+    Assert.assertEquals(0, overlap.getOverlapRatio(), 0.0001);
+
+    // a new file overlaps with all clustered files
+    overlap.add(dataFile("data-4", 5, 10, 0L, 0L));
+    Assert.assertEquals(3 / 6.0, overlap.getOverlapRatio(), 0.0001);
+  }
+
+  @Test
+  public void testUnsupportedColumns() {
+    Assert.assertNull(ColumnBoundsOverlap.of(SCHEMA, Collections.singletonList("name")));
+    Assert.assertNull(ColumnBoundsOverlap.of(SCHEMA, Collections.singletonList("location")));
+    Assert.assertNull(ColumnBoundsOverlap.of(SCHEMA, Collections.emptyList()));
+  }
+
+  @Test
+  public void testUnsupportedRows() {
+    // the optimizer can not sort rows with list columns, so clustering is never triggered
+    Schema schema =
+        new Schema(
+            Types.NestedField.required(1, "id", Types.IntegerType.get()),
+            Types.NestedField.optional(
+                2, "tags", Types.ListType.ofOptional(3, Types.StringType.get())));
+    Assert.assertNull(ColumnBoundsOverlap.of(schema, Collections.singletonList("id")));
+  }
+
+  @Test
+  public void testTriggerClustering() {
+    CommonPartitionEvaluator evaluator =
+        new CommonPartitionEvaluator(
+            mockTableRuntime(ClusteringStrategy.ZORDER),
+            "",
+            SCHEMA,
+            ArcticServiceConstants.INVALID_SEQUENCE_NUMBER,
+            System.currentTimeMillis());
+    // large files with sorted ids, no other optimizing is necessary
+    evaluator.addFile(dataFile("data-1", 0, 10, 0L, 100L), Lists.<ContentFile<?>>newArrayList());
+    evaluator.addFile(dataFile("data-2", 11, 20, 0L, 100L), Lists.<ContentFile<?>>newArrayList());
+    Assert.assertTrue(evaluator.isClusteringEnabled());
+    Assert.assertTrue(evaluator.isNecessary());
+    Assert.assertEquals(OptimizingType.CLUSTERING, evaluator.getOptimizingType());
+
+    // only the first column is measured for linear clustering
+    CommonPartitionEvaluator linearEvaluator =
+        new CommonPartitionEvaluator(
+            mockTableRuntime(ClusteringStrategy.LINEAR),
+            "",
+            SCHEMA,
+            ArcticServiceConstants.INVALID_SEQUENCE_NUMBER,
+            System.currentTimeMillis());
+    linearEvaluator.addFile(
+        dataFile("data-1", 0, 10, 0L, 100L), Lists.<ContentFile<?>>newArrayList());
+    linearEvaluator.addFile(
+        dataFile("data-2", 11, 20, 0L, 100L), Lists.<ContentFile<?>>newArrayList());
+    Assert.assertFalse(linearEvaluator.isClusteringNecessary());
+    Assert.assertFalse(linearEvaluator.isNecessary());
+  }
+
+  @Test
+  public void testClusteringMinInterval() {
+    TableRuntime tableRuntime = mockTableRuntime(ClusteringStrategy.ZORDER);
+    long planTime = System.currentTimeMillis();
+    Mockito.when(tableRuntime.getLastClusteringTime()).thenReturn(planTime - 1000);
+    CommonPartitionEvaluator evaluator =
+        new CommonPartitionEvaluator(
+            tableRuntime, "", SCHEMA, ArcticServiceConstants.INVALID_SEQUENCE_NUMBER, planTime);
+    evaluator.addFile(dataFile("data-1", 0, 10, 0L, 100L), Lists.<ContentFile<?>>newArrayList());
+    evaluator.addFile(dataFile("data-2", 11, 20, 0L, 100L), Lists.<ContentFile<?>>newArrayList());
+    Assert.assertFalse(evaluator.isClusteringNecessary());
+    Assert.assertFalse(evaluator.isNecessary());
+  }
+
+  @Test
+  public void testUnknownClusteringStrategy() {
+    OptimizingConfig config =
+        OptimizingConfig.parseOptimizingConfig(
+            ImmutableMap.of(
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_STRATEGY, "unknown",
+                TableProperties.SELF_OPTIMIZING_CLUSTERING_COLUMNS, "id"));
+    Assert.assertEquals(ClusteringStrategy.NONE, config.getClusteringStrategy());
+    Assert.assertFalse(config.clusteringEnabled());
+  }
+
+  @Test
+  public void testNoClusteringWithoutSchema() {
+    CommonPartitionEvaluator evaluator =
+        new CommonPartitionEvaluator(
+            mockTableRuntime(ClusteringStrategy.ZORDER), "", System.currentTimeMillis());
+    evaluator.addFile(dataFile("data-1", 0, 10, 0L, 100L), Lists.<ContentFile<?>>newArrayList());
+    evaluator.addFile(dataFile("data-2", 0, 10, 0L, 100L), Lists.<ContentFile<?>>newArrayList());
+    Assert.assertFalse(evaluator.isClusteringEnabled());
+    Assert.assertFalse(evaluator.isClusteringNecessary());
+  }
+
+  private static DataFile dataFile(
+      String path, int lowerId, int upperId, long lowerTs, long upperTs) {
+    Metrics metrics =
+        new Metrics(
+            10L,
+            null,
+            null,
+            null,
+            null,
+            ImmutableMap.of(
+                1, Conversions.toByteBuffer(Types.IntegerType.get(), lowerId),
+                2, Conversions.toByteBuffer(Types.LongType.get(), lowerTs)),
+            ImmutableMap.of(
+                1, Conversions.toByteBuffer(Types.IntegerType.get(), upperId),
+                2, Conversions.toByteBuffer(Types.LongType.get(), upperTs)));
+    return DataFiles.builder(PartitionSpec.unpartitioned())
+        .withPath(path)
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(1000)
+        .withMetrics(metrics)
+        .build();
+  }
+
+  private static TableRuntime mockTableRuntime(ClusteringStrategy strategy) {
+    TableRuntime tableRuntime = Mockito.mock(TableRuntime.class);
+    Mockito.when(tableRuntime.getOptimizingConfig())
+        .thenReturn(
+            new OptimizingConfig()
+                .setEnabled(true)
+                .setTargetSize(1000)
+                .setFragmentRatio(8)
+                .setMinorLeastFileCount(12)
+                .setMinorLeastInterval(-1)
+                .setMajorDuplicateRatio(0.1)
+                .setFullTriggerInterval(-1)
+                .setClusteringStrategy(strategy)
+                .setClusteringColumns("id,ts")
+                .setClusteringOverlapRatio(0.5)
+                .setClusteringMinInterval(60000));
+    Mockito.when(tableRuntime.getTableIdentifier())
+        .thenReturn(ServerTableIdentifier.of(1L, "catalog", "db", "table", TableFormat.ICEBERG));
+    return tableRuntime;
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.plan;
+
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.optimizing.OptimizingInputProperties;
+import com.netease.arctic.server.optimizing.OptimizingConfig;
+import com.netease.arctic.server.table.ServerTableIdentifier;
+import com.netease.arctic.server.table.TableRuntime;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileMetadata;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TestDeleteAffinityTaskSplitter {
+
+  @Test
+  public void testGroupBySharedDeleteFiles() {
+    TestPartitionPlan plan = new TestPartitionPlan();
+    DeleteFile delete1 = posDeleteFile("delete-1", 10);
+    DeleteFile delete2 = posDeleteFile("delete-2", 10);
+    for (int i = 0; i < 4; i++) {
+      plan.rewriteDataFiles.put(
+          dataFile("data-" + i, 40), Lists.newArrayList(i % 2 == 0 ? delete1 : delete2));
+    }
+
+    List<TaskDescriptor> tasks = plan.splitTasks(0);
+
+    Assert.assertEquals(2, tasks.size());
+    for (TaskDescriptor task : tasks) {
+      Assert.assertEquals(2, task.getInput().rewrittenDataFiles().length);
+      Assert.assertEquals(1, task.getInput().rewrittenDeleteFiles().length);
+    }
+    Assert.assertEquals(0, plan.getDuplicatedDeleteFileSize());
+  }
+
+  @Test
+  public void testCutLargeGroupByDeleteFiles() {
+    TestPartitionPlan plan = new TestPartitionPlan();
+    DeleteFile equalityDelete = equalityDeleteFile("eq-delete", 30);
+    DeleteFile posDelete1 = posDeleteFile("pos-delete-1", 10);
+    DeleteFile posDelete2 = posDeleteFile("pos-delete-2", 10);
+    for (int i = 0; i < 4; i++) {
+      plan.rewriteDataFiles.put(
+          dataFile("data-" + i, 40),
+          Lists.newArrayList(equalityDelete, i % 2 == 0 ? posDelete1 : posDelete2));
+    }
+
+    List<TaskDescriptor> tasks = plan.splitTasks(0);
+
+    Assert.assertEquals(2, tasks.size());
+    for (TaskDescriptor task : tasks) {
+      List<String> deleteFiles =
+          Arrays.stream(task.getInput().rewrittenDeleteFiles())
+              .map(file -> file.path().toString())
+              .sorted()
+              .collect(Collectors.toList());
+      Assert.assertEquals(2, deleteFiles.size());
+      Assert.assertEquals("eq-delete", deleteFiles.get(0));
+    }
+    // only the equality delete file is read by both tasks
+    Assert.assertEquals(30, plan.getDuplicatedDeleteFileSize());
+  }
+
+  @Test
+  public void testNoDeleteFiles() {
+    TestPartitionPlan plan = new TestPartitionPlan();
+    for (int i = 0; i < 5; i++) {
+      plan.rewriteDataFiles.put(dataFile("data-" + i, 40), Lists.<ContentFile<?>>newArrayList());
+    }
+
+    List<TaskDescriptor> tasks = plan.splitTasks(0);
+
+    Assert.assertEquals(3, tasks.size());
+    Assert.assertEquals(0, plan.getDuplicatedDeleteFileSize());
+  }
+
+  private static DataFile dataFile(String path, long size) {
+    return DataFiles.builder(PartitionSpec.unpartitioned())
+        .withPath(path)
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(size)
+        .withRecordCount(1)
+        .build();
+  }
+
+  private static DeleteFile posDeleteFile(String path, long size) {
+    return FileMetadata.deleteFileBuilder(PartitionSpec.unpartitioned())
+        .ofPositionDeletes()
+        .withPath(path)
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(size)
+        .withRecordCount(1)
+        .build();
+  }
+
+  private static DeleteFile equalityDeleteFile(String path, long size) {
+    return FileMetadata.deleteFileBuilder(PartitionSpec.unpartitioned())
+        .ofEqualityDeletes(1)
+        .withPath(path)
+        .withFormat(FileFormat.PARQUET)
+        .withFileSizeInBytes(size)
+        .withRecordCount(1)
+        .build();
+  }
+
+  private static TableRuntime mockTableRuntime() {
+    TableRuntime tableRuntime = Mockito.mock(TableRuntime.class);
+    Mockito.when(tableRuntime.getOptimizingConfig())
+        .thenReturn(new OptimizingConfig().setTargetSize(100).setMaxTaskSize(100));
+    Mockito.when(tableRuntime.getTableIdentifier())
+        .thenReturn(ServerTableIdentifier.of(1L, "catalog", "db", "table", TableFormat.ICEBERG));
+    return tableRuntime;
+  }
+
+  private static class TestPartitionPlan extends AbstractPartitionPlan {
+
+    private TestPartitionPlan() {
+      super(mockTableRuntime(), null, "", System.currentTimeMillis());
+    }
+
+    @Override
+    protected TaskSplitter buildTaskSplitter() {
+      return new DeleteAffinityTaskSplitter();
+    }
+
+    @Override
+    protected OptimizingInputProperties buildTaskProperties() {
+      return new OptimizingInputProperties();
+    }
+  }
+}
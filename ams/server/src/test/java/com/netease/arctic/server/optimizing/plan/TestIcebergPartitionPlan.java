@@ -8,13 +8,21 @@ import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
 import com.netease.arctic.optimizing.IcebergRewriteExecutorFactory;
 import com.netease.arctic.optimizing.OptimizingInputProperties;
+import com.netease.arctic.server.optimizing.OptimizingTestHelpers;
+import com.netease.arctic.server.optimizing.OptimizingType;
 import com.netease.arctic.server.optimizing.scan.IcebergTableFileScanHelper;
 import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
 import com.netease.arctic.server.utils.IcebergTableUtil;
+import com.netease.arctic.table.TableProperties;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
+import java.util.List;
 import java.util.Map;
 
 @RunWith(Parameterized.class)
@@ -52,6 +60,76 @@ public class TestIcebergPartitionPlan extends TestUnkeyedPartitionPlan {
     testOnlyOneFragmentFileBase();
   }
 
+  @Test
+  public void testClusteringInOneTask() {
+    closeFullOptimizingInterval();
+    // every segment file is large enough to be a task
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_TARGET_SIZE, "100");
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_MAX_TASK_SIZE, "100");
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_CLUSTERING_STRATEGY, "linear");
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_CLUSTERING_COLUMNS, "id");
+    List<DataFile> dataFiles = Lists.newArrayList();
+    for (int i = 0; i < 3; i++) {
+      // files with the same ids overlap with each other
+      List<Record> newRecords =
+          OptimizingTestHelpers.generateRecord(tableTestHelper(), 1, 40, "2022-01-01T12:00:00");
+      long transactionId = beginTransaction();
+      dataFiles.addAll(
+          OptimizingTestHelpers.appendBase(
+              getArcticTable(),
+              tableTestHelper()
+                  .writeBaseStore(getArcticTable(), transactionId, newRecords, false)));
+    }
+
+    AbstractPartitionPlan partitionPlan = buildPlanWithCurrentFiles();
+    Assert.assertTrue(partitionPlan.isNecessary());
+    Assert.assertEquals(OptimizingType.CLUSTERING, partitionPlan.getOptimizingType());
+    List<TaskDescriptor> taskDescriptors = partitionPlan.splitTasks(3);
+    Assert.assertEquals(1, taskDescriptors.size());
+    Assert.assertEquals(
+        dataFiles.size(), taskDescriptors.get(0).getInput().rewrittenDataFiles().length);
+  }
+
+  @Test
+  public void testClusteringSplitByRanges() {
+    closeFullOptimizingInterval();
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_TARGET_SIZE, "100");
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_MAX_TASK_SIZE, "100");
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_CLUSTERING_STRATEGY, "linear");
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_CLUSTERING_COLUMNS, "id");
+    // every file exceeds the clustering task size
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_CLUSTERING_MAX_TASK_SIZE, "1");
+    List<DataFile> dataFiles = Lists.newArrayList();
+    // 2 of the 3 file pairs overlap
+    int[][] idRanges = {{21, 60}, {1, 40}, {41, 80}};
+    for (int[] idRange : idRanges) {
+      List<Record> newRecords =
+          OptimizingTestHelpers.generateRecord(
+              tableTestHelper(), idRange[0], idRange[1], "2022-01-01T12:00:00");
+      long transactionId = beginTransaction();
+      dataFiles.addAll(
+          OptimizingTestHelpers.appendBase(
+              getArcticTable(),
+              tableTestHelper()
+                  .writeBaseStore(getArcticTable(), transactionId, newRecords, false)));
+    }
+    Assert.assertEquals(3, dataFiles.size());
+
+    AbstractPartitionPlan partitionPlan = buildPlanWithCurrentFiles();
+    Assert.assertTrue(partitionPlan.isNecessary());
+    Assert.assertEquals(OptimizingType.CLUSTERING, partitionPlan.getOptimizingType());
+    List<TaskDescriptor> taskDescriptors = partitionPlan.splitTasks(1);
+    // tasks are ordered by the lower bounds of ids
+    List<DataFile> expectedFiles =
+        Lists.newArrayList(dataFiles.get(1), dataFiles.get(0), dataFiles.get(2));
+    Assert.assertEquals(expectedFiles.size(), taskDescriptors.size());
+    for (int i = 0; i < expectedFiles.size(); i++) {
+      DataFile[] rewrittenDataFiles = taskDescriptors.get(i).getInput().rewrittenDataFiles();
+      Assert.assertEquals(1, rewrittenDataFiles.length);
+      Assert.assertEquals(expectedFiles.get(i).path(), rewrittenDataFiles[0].path());
+    }
+  }
+
   @Override
   protected AbstractPartitionPlan getPartitionPlan() {
     return new IcebergPartitionPlan(
@@ -61,7 +139,7 @@ public class TestIcebergPartitionPlan extends TestUnkeyedPartitionPlan {
   @Override
   protected TableFileScanHelper getTableFileScanHelper() {
     long baseSnapshotId = IcebergTableUtil.getSnapshotId(getArcticTable(), true);
-    return new IcebergTableFileScanHelper(getArcticTable(), baseSnapshotId);
+    return new IcebergTableFileScanHelper(getArcticTable(), baseSnapshotId).includeColumnStats();
   }
 
   protected Map<String, String> buildProperties() {
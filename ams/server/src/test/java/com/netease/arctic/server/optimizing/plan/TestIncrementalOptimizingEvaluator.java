@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.plan;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.io.MixedDataTestHelpers;
+import com.netease.arctic.server.optimizing.OptimizingTestHelpers;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.List;
+
+@RunWith(Parameterized.class)
+public class TestIncrementalOptimizingEvaluator extends TestOptimizingEvaluator {
+
+  private IncrementalOptimizingEvaluator.EvaluationState evaluationState;
+  private long fullEvaluationInterval;
+
+  public TestIncrementalOptimizingEvaluator(
+      CatalogTestHelper catalogTestHelper, TableTestHelper tableTestHelper) {
+    super(catalogTestHelper, tableTestHelper);
+  }
+
+  @Parameterized.Parameters(name = "{0}, {1}")
+  public static Object[][] parameters() {
+    return new Object[][] {
+      {new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, true)},
+      {new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, false)}
+    };
+  }
+
+  @Before
+  public void resetEvaluationState() {
+    evaluationState = null;
+    fullEvaluationInterval = Long.MAX_VALUE;
+  }
+
+  @Test
+  public void testEvaluateAppendedFiles() {
+    closeFullOptimizingInterval();
+    List<DataFile> dataFiles = Lists.newArrayList();
+    dataFiles.addAll(appendData(1, 4));
+    OptimizingEvaluator evaluator = buildOptimizingEvaluator();
+    Assert.assertFalse(evaluator.isNecessary());
+    long fullEvaluatedTime = evaluationState.getFullEvaluatedTime();
+
+    dataFiles.addAll(appendData(5, 8));
+    dataFiles.addAll(appendData(9, 12));
+    evaluator = buildOptimizingEvaluator();
+    Assert.assertTrue(evaluator.isNecessary());
+    Assert.assertEquals(fullEvaluatedTime, evaluationState.getFullEvaluatedTime());
+    assertSameInput(fullPendingInput(), evaluator.getPendingInput());
+    Assert.assertEquals(3, evaluator.getPendingInput().getDataFileCount());
+  }
+
+  @Test
+  public void testEvaluateDeleteFiles() {
+    closeFullOptimizingInterval();
+    List<DataFile> dataFiles = appendData(1, 4);
+    appendData(5, 8);
+    Assert.assertTrue(buildOptimizingEvaluator().isNecessary());
+    long fullEvaluatedTime = evaluationState.getFullEvaluatedTime();
+
+    appendPosDelete(dataFiles, 0);
+    appendData(9, 12);
+    OptimizingEvaluator evaluator = buildOptimizingEvaluator();
+    Assert.assertTrue(evaluator.isNecessary());
+    Assert.assertEquals(fullEvaluatedTime, evaluationState.getFullEvaluatedTime());
+    assertSameInput(fullPendingInput(), evaluator.getPendingInput());
+    Assert.assertEquals(3, evaluator.getPendingInput().getDataFileCount());
+    Assert.assertEquals(1, evaluator.getPendingInput().getPositionalDeleteFileCount());
+  }
+
+  @Test
+  public void testFullEvaluateAfterInterval() throws InterruptedException {
+    closeFullOptimizingInterval();
+    fullEvaluationInterval = 10;
+    appendData(1, 4);
+    buildOptimizingEvaluator().isNecessary();
+    long fullEvaluatedTime = evaluationState.getFullEvaluatedTime();
+
+    Thread.sleep(fullEvaluationInterval + 1);
+    appendData(5, 8);
+    OptimizingEvaluator evaluator = buildOptimizingEvaluator();
+    Assert.assertTrue(evaluator.isNecessary());
+    Assert.assertTrue(evaluationState.getFullEvaluatedTime() > fullEvaluatedTime);
+    assertSameInput(fullPendingInput(), evaluator.getPendingInput());
+  }
+
+  @Test
+  public void testFullEvaluateAfterConfigChanged() throws InterruptedException {
+    closeFullOptimizingInterval();
+    appendData(1, 4);
+    buildOptimizingEvaluator().isNecessary();
+    long fullEvaluatedTime = evaluationState.getFullEvaluatedTime();
+
+    Thread.sleep(10);
+    closeMinorOptimizingInterval();
+    appendData(5, 8);
+    OptimizingEvaluator evaluator = buildOptimizingEvaluator();
+    evaluator.isNecessary();
+    Assert.assertTrue(evaluationState.getFullEvaluatedTime() > fullEvaluatedTime);
+    Assert.assertEquals(
+        getArcticTable().asUnkeyedTable().currentSnapshot().snapshotId(),
+        evaluationState.getSnapshotId());
+    assertSameInput(fullPendingInput(), evaluator.getPendingInput());
+  }
+
+  @Override
+  protected OptimizingEvaluator buildOptimizingEvaluator() {
+    IncrementalOptimizingEvaluator evaluator =
+        new IncrementalOptimizingEvaluator(
+            getTableRuntime(), getArcticTable(), evaluationState, fullEvaluationInterval);
+    evaluationState = evaluator.getEvaluationState();
+    return evaluator;
+  }
+
+  private OptimizingEvaluator.PendingInput fullPendingInput() {
+    return new OptimizingEvaluator(getTableRuntime(), getArcticTable()).getPendingInput();
+  }
+
+  private List<DataFile> appendData(int from, int to) {
+    List<Record> newRecords =
+        OptimizingTestHelpers.generateRecord(tableTestHelper(), from, to, "2022-01-01T12:00:00");
+    return OptimizingTestHelpers.appendBase(
+        getArcticTable(),
+        tableTestHelper().writeBaseStore(getArcticTable(), 0L, newRecords, false));
+  }
+
+  private void appendPosDelete(List<DataFile> dataFiles, long pos) {
+    List<DeleteFile> posDeleteFiles = Lists.newArrayList();
+    for (DataFile dataFile : dataFiles) {
+      posDeleteFiles.addAll(
+          MixedDataTestHelpers.writeBaseStorePosDelete(
+              getArcticTable(), 0L, dataFile, Lists.newArrayList(pos)));
+    }
+    OptimizingTestHelpers.appendBasePosDelete(getArcticTable(), posDeleteFiles);
+  }
+
+  private void assertSameInput(
+      OptimizingEvaluator.PendingInput expected, OptimizingEvaluator.PendingInput actual) {
+    Assert.assertEquals(expected.getPartitions(), actual.getPartitions());
+    Assert.assertEquals(expected.getDataFileCount(), actual.getDataFileCount());
+    Assert.assertEquals(expected.getDataFileSize(), actual.getDataFileSize());
+    Assert.assertEquals(expected.getEqualityDeleteFileCount(), actual.getEqualityDeleteFileCount());
+    Assert.assertEquals(expected.getEqualityDeleteBytes(), actual.getEqualityDeleteBytes());
+    Assert.assertEquals(
+        expected.getPositionalDeleteFileCount(), actual.getPositionalDeleteFileCount());
+    Assert.assertEquals(expected.getPositionalDeleteBytes(), actual.getPositionalDeleteBytes());
+  }
+}
@@ -24,13 +24,19 @@ import com.netease.arctic.ams.api.OptimizerProperties;
 import com.netease.arctic.ams.api.TableFormat;
 import com.netease.arctic.catalog.BasicCatalogTestHelper;
 import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.server.optimizing.OptimizingTestHelpers;
 import com.netease.arctic.server.optimizing.OptimizingType;
+import com.netease.arctic.server.optimizing.TaskCostModel;
 import com.netease.arctic.server.optimizing.scan.TableFileScanHelper;
+import com.netease.arctic.table.TableProperties;
 import org.apache.iceberg.DataFile;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.mockito.Mockito;
 
 import java.util.Collections;
 import java.util.List;
@@ -93,6 +99,49 @@ public class TestOptimizingPlanner extends TestOptimizingEvaluator {
         Collections.emptyList());
   }
 
+  @Test
+  public void testTargetTaskDuration() {
+    closeFullOptimizingInterval();
+    updateBaseHashBucket(1);
+    List<DataFile> dataFiles = Lists.newArrayList();
+    for (int i = 0; i < 2; i++) {
+      List<Record> newRecords =
+          OptimizingTestHelpers.generateRecord(
+              tableTestHelper(), i * 4 + 1, i * 4 + 4, "2022-01-01T12:00:00");
+      long transactionId = beginTransaction();
+      dataFiles.addAll(
+          OptimizingTestHelpers.appendBase(
+              getArcticTable(),
+              tableTestHelper()
+                  .writeBaseStore(getArcticTable(), transactionId, newRecords, false)));
+    }
+    // tasks are not limited below the fragment file size, so make it the largest file size
+    long maxFileSize = dataFiles.stream().mapToLong(DataFile::fileSizeInBytes).max().getAsLong();
+    updateTableProperty(
+        TableProperties.SELF_OPTIMIZING_TARGET_SIZE,
+        String.valueOf(maxFileSize * TableProperties.SELF_OPTIMIZING_FRAGMENT_RATIO_DEFAULT));
+    updateTableProperty(TableProperties.SELF_OPTIMIZING_TARGET_TASK_DURATION, "1");
+
+    // no tasks are learned
+    Assert.assertEquals(1, buildOptimizingEvaluator().planTasks().size());
+
+    // every task is predicted to run far longer than the target task duration
+    TaskCostModel costModel = new TaskCostModel();
+    for (OptimizingType optimizingType : OptimizingType.values()) {
+      for (int i = 1; i <= 5; i++) {
+        costModel.addTask(optimizingType, i * maxFileSize, 0, 1, i * maxFileSize * 1000);
+      }
+    }
+    Mockito.when(getTableRuntime().getTaskCostModel()).thenReturn(costModel);
+    List<TaskDescriptor> taskDescriptors = buildOptimizingEvaluator().planTasks();
+    if (isKeyedTable()) {
+      // files of a tree node are not split by the task size limit
+      Assert.assertEquals(1, taskDescriptors.size());
+    } else {
+      Assert.assertEquals(dataFiles.size(), taskDescriptors.size());
+    }
+  }
+
   @Override
   protected OptimizingPlanner buildOptimizingEvaluator() {
     return new OptimizingPlanner(
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.optimizing.scan;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.utils.ArcticDataFiles;
+import com.netease.arctic.utils.TablePropertyUtil;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.StructLike;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TestPartitionPathCache {
+
+  @Test
+  public void testSamePathForSamePartition() {
+    PartitionSpec spec = BasicTableTestHelper.SPEC;
+    PartitionPathCache cache = new PartitionPathCache();
+    String path = "op_time_day=2022-01-01";
+    StructLike partition1 = ArcticDataFiles.data(spec, path);
+    StructLike partition2 = ArcticDataFiles.data(spec, path);
+
+    String path1 = cache.path(spec, partition1);
+    Assert.assertEquals(path, path1);
+    Assert.assertSame(path1, cache.path(spec, partition2));
+
+    StructLike other = ArcticDataFiles.data(spec, "op_time_day=2022-01-02");
+    Assert.assertEquals("op_time_day=2022-01-02", cache.path(spec, other));
+  }
+
+  @Test
+  public void testUnpartitioned() {
+    PartitionPathCache cache = new PartitionPathCache();
+    Assert.assertEquals(
+        "", cache.path(PartitionSpec.unpartitioned(), TablePropertyUtil.EMPTY_STRUCT));
+  }
+}
@@ -31,6 +31,7 @@ import org.apache.iceberg.DataFile;
 import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -106,6 +107,42 @@ public class TestUnkeyedTableFileScanHelper extends TableFileScanHelperTestBase
     assertScanResult(scan, 2, null, 0);
   }
 
+  @Test
+  public void testScanWithManifestPruning() {
+    OptimizingTestHelpers.appendBase(
+        getArcticTable(),
+        tableTestHelper()
+            .writeBaseStore(
+                getArcticTable(),
+                0L,
+                Lists.newArrayList(
+                    tableTestHelper().generateTestRecord(1, "111", 0, "2022-01-01T12:00:00")),
+                false));
+    OptimizingTestHelpers.appendBase(
+        getArcticTable(),
+        tableTestHelper()
+            .writeBaseStore(
+                getArcticTable(),
+                0L,
+                Lists.newArrayList(
+                    tableTestHelper().generateTestRecord(2, "222", 0, "2022-01-02T12:00:00")),
+                false));
+
+    TableFileScanHelper scanHelper =
+        buildFileScanHelper()
+            .withPartitionFilter(new PartitionSetFilter(Collections.singleton(getPartition())));
+    List<TableFileScanHelper.FileScanResult> scan = scanFiles(scanHelper);
+
+    Assert.assertEquals(2, scanHelper.manifestMetrics().totalManifests());
+    if (isPartitionedTable()) {
+      assertScanResult(scan, 1, null, 0);
+      Assert.assertEquals(1, scanHelper.manifestMetrics().skippedManifests());
+    } else {
+      assertScanResult(scan, 2, null, 0);
+      Assert.assertEquals(0, scanHelper.manifestMetrics().skippedManifests());
+    }
+  }
+
   @Test
   public void testScanWithPosDelete() {
     ArrayList<Record> newRecords =
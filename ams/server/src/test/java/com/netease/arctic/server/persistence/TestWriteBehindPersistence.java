@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.persistence;
+
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.exception.PersistenceException;
+import com.netease.arctic.server.utils.Configurations;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class TestWriteBehindPersistence {
+
+  private SqlSession session;
+  private WriteBehindPersistence persistence;
+
+  @Before
+  public void setup() {
+    session = Mockito.mock(SqlSession.class);
+    SqlSessionFactory factory = Mockito.mock(SqlSessionFactory.class);
+    Mockito.when(factory.openSession(ExecutorType.BATCH, TransactionIsolationLevel.READ_COMMITTED))
+        .thenReturn(session);
+    persistence = new WriteBehindPersistence(() -> factory);
+  }
+
+  @After
+  public void cleanup() {
+    persistence.stop();
+  }
+
+  @Test
+  public void testNotStarted() {
+    Assert.assertFalse(persistence.markDirty(new Object(), new ReentrantLock(), s -> {}));
+    Assert.assertEquals(0, persistence.pendingCount());
+  }
+
+  @Test
+  public void testCoalesceUpdates() {
+    startPersistence();
+    List<String> updates = new CopyOnWriteArrayList<>();
+    Object owner1 = new Object();
+    Object owner2 = new Object();
+    Assert.assertTrue(persistence.markDirty(owner1, new ReentrantLock(), s -> updates.add("owner1-1")));
+    Assert.assertTrue(persistence.markDirty(owner2, new ReentrantLock(), s -> updates.add("owner2-1")));
+    Assert.assertTrue(persistence.markDirty(owner1, new ReentrantLock(), s -> updates.add("owner1-2")));
+    Assert.assertEquals(2, persistence.pendingCount());
+
+    persistence.flush();
+    Assert.assertEquals(2, updates.size());
+    Assert.assertTrue(updates.contains("owner1-2"));
+    Assert.assertTrue(updates.contains("owner2-1"));
+    Assert.assertEquals(0, persistence.pendingCount());
+    Mockito.verify(session).flushStatements();
+    Mockito.verify(session).commit(true);
+    Mockito.verify(session).close();
+  }
+
+  @Test
+  public void testRetryFailedUpdates() {
+    startPersistence();
+    Object owner1 = new Object();
+    Object owner2 = new Object();
+    List<String> updates = new CopyOnWriteArrayList<>();
+    persistence.markDirty(owner1, new ReentrantLock(), s -> updates.add("owner1-1"));
+    persistence.markDirty(owner2, new ReentrantLock(), s -> updates.add("owner2-1"));
+    Mockito.when(session.flushStatements()).thenThrow(new RuntimeException("database error"));
+    Assert.assertThrows(PersistenceException.class, () -> persistence.flush());
+    // the failed batch is written again one update at a time
+    Mockito.verify(session, Mockito.times(3)).rollback(true);
+    Assert.assertEquals(2, persistence.pendingCount());
+
+    // a newer update is not replaced by the retried one
+    persistence.markDirty(owner1, new ReentrantLock(), s -> updates.add("owner1-2"));
+    Mockito.reset(session);
+    updates.clear();
+    persistence.flush();
+    Assert.assertEquals(2, updates.size());
+    Assert.assertTrue(updates.contains("owner1-2"));
+    Assert.assertTrue(updates.contains("owner2-1"));
+    Assert.assertEquals(0, persistence.pendingCount());
+  }
+
+  @Test
+  public void testHoldStateLocksUntilCommitted() throws InterruptedException {
+    startPersistence();
+    ReentrantLock freeLock = new ReentrantLock();
+    ReentrantLock busyLock = new ReentrantLock();
+    List<String> updates = new CopyOnWriteArrayList<>();
+    persistence.markDirty(new Object(), freeLock, s -> updates.add("free"));
+    persistence.markDirty(new Object(), busyLock, s -> updates.add("busy"));
+    Mockito.doAnswer(
+            invocation -> {
+              // the batch is committed with the lock of the free state held
+              Assert.assertEquals(updates.contains("busy"), busyLock.isHeldByCurrentThread());
+              Assert.assertEquals(!updates.contains("busy"), freeLock.isHeldByCurrentThread());
+              return null;
+            })
+        .when(session)
+        .commit(true);
+
+    CountDownLatch locked = new CountDownLatch(1);
+    Thread holder =
+        new Thread(
+            () -> {
+              busyLock.lock();
+              try {
+                locked.countDown();
+                TimeUnit.MILLISECONDS.sleep(200);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              } finally {
+                busyLock.unlock();
+              }
+            });
+    holder.start();
+    locked.await();
+    // the busy state is written after the batch, once its lock is released
+    persistence.flush();
+    holder.join();
+    Assert.assertEquals(Arrays.asList("free", "busy"), updates);
+    Mockito.verify(session, Mockito.times(2)).commit(true);
+    Assert.assertEquals(0, persistence.pendingCount());
+  }
+
+  @Test
+  public void testFlushWhenStopped() {
+    startPersistence();
+    List<String> updates = new CopyOnWriteArrayList<>();
+    persistence.markDirty(new Object(), new ReentrantLock(), s -> updates.add("update"));
+    persistence.stop();
+    Assert.assertEquals(1, updates.size());
+    Assert.assertFalse(persistence.markDirty(new Object(), new ReentrantLock(), s -> {}));
+  }
+
+  private void startPersistence() {
+    Configurations configurations = new Configurations();
+    configurations.set(ArcticManagementConf.DB_STATE_FLUSH_INTERVAL, 3600000L);
+    persistence.start(configurations);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.persistence;
+
+import com.netease.arctic.ams.api.resource.ResourceGroup;
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.exception.PersistenceException;
+import com.netease.arctic.server.persistence.mapper.ResourceMapper;
+import com.netease.arctic.server.table.DerbyPersistence;
+import com.netease.arctic.server.utils.Configurations;
+import org.apache.ibatis.session.SqlSession;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+public class TestWriteBehindPersistenceOnDatabase {
+
+  @Rule public DerbyPersistence derby = new DerbyPersistence();
+
+  private WriteBehindPersistence persistence;
+
+  @Before
+  public void setup() {
+    persistence = new WriteBehindPersistence(() -> SqlSessionFactoryProvider.getInstance().get());
+    Configurations configurations = new Configurations();
+    configurations.set(ArcticManagementConf.DB_STATE_FLUSH_INTERVAL, 3600000L);
+    persistence.start(configurations);
+    try (SqlSession session = SqlSessionFactoryProvider.getInstance().get().openSession(true)) {
+      session
+          .getMapper(ResourceMapper.class)
+          .insertResourceGroup(new ResourceGroup.Builder("group1", "container1").build());
+    }
+  }
+
+  @After
+  public void cleanup() {
+    persistence.stop();
+  }
+
+  @Test
+  public void testFlushToDatabase() {
+    ResourceGroup updatedGroup = new ResourceGroup.Builder("group1", "container2").build();
+    ResourceGroup newGroup = new ResourceGroup.Builder("group2", "container1").build();
+    persistence.markDirty(
+        new Object(),
+        new ReentrantLock(),
+        s -> s.getMapper(ResourceMapper.class).updateResourceGroup(updatedGroup));
+    persistence.markDirty(
+        new Object(),
+        new ReentrantLock(),
+        s -> s.getMapper(ResourceMapper.class).insertResourceGroup(newGroup));
+
+    persistence.flush();
+    Assert.assertEquals(0, persistence.pendingCount());
+    Assert.assertEquals("container2", selectResourceGroup("group1").getContainer());
+    Assert.assertEquals("container1", selectResourceGroup("group2").getContainer());
+  }
+
+  @Test
+  public void testIsolateFailedUpdates() {
+    ResourceGroup updatedGroup = new ResourceGroup.Builder("group1", "container2").build();
+    ResourceGroup duplicatedGroup = new ResourceGroup.Builder("group1", "container3").build();
+    persistence.markDirty(
+        new Object(),
+        new ReentrantLock(),
+        s -> s.getMapper(ResourceMapper.class).updateResourceGroup(updatedGroup));
+    persistence.markDirty(
+        new Object(),
+        new ReentrantLock(),
+        s -> s.getMapper(ResourceMapper.class).insertResourceGroup(duplicatedGroup));
+
+    // the failed insert does not roll back the update
+    Assert.assertThrows(PersistenceException.class, () -> persistence.flush());
+    Assert.assertEquals("container2", selectResourceGroup("group1").getContainer());
+    Assert.assertEquals(1, persistence.pendingCount());
+
+    // the failed insert is kept pending after the attempts logged as errors
+    for (int i = 0; i < WriteBehindPersistence.ERROR_FLUSH_ATTEMPTS; i++) {
+      Assert.assertThrows(PersistenceException.class, () -> persistence.flush());
+    }
+    Assert.assertEquals(1, persistence.pendingCount());
+    Assert.assertEquals("container2", selectResourceGroup("group1").getContainer());
+  }
+
+  private ResourceGroup selectResourceGroup(String groupName) {
+    try (SqlSession session = SqlSessionFactoryProvider.getInstance().get().openSession(true)) {
+      return session.getMapper(ResourceMapper.class).selectResourceGroup(groupName);
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.resource;
+
+import com.netease.arctic.ams.api.OptimizerProperties;
+import com.netease.arctic.ams.api.OptimizerRegisterInfo;
+import com.netease.arctic.ams.api.resource.Resource;
+import com.netease.arctic.ams.api.resource.ResourceContainer;
+import com.netease.arctic.ams.api.resource.ResourceGroup;
+import com.netease.arctic.ams.api.resource.ResourceType;
+import com.netease.arctic.server.ArcticServiceConstants;
+import com.netease.arctic.server.optimizing.OptimizingQueue;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+public class TestOptimizerAutoScaler {
+  private static final String CONTAINER = "test-container";
+  private static final long NOW = 10_000_000L;
+
+  private final List<Resource> resources = new ArrayList<>();
+  private final List<OptimizerInstance> optimizers = new ArrayList<>();
+  private OptimizerManager optimizerManager;
+  private ResourceContainer container;
+  private OptimizerAutoScaler autoScaler;
+  private ResourceGroup group;
+
+  @Before
+  public void setup() {
+    optimizerManager = Mockito.mock(OptimizerManager.class);
+    container = Mockito.mock(ResourceContainer.class);
+    Mockito.when(optimizerManager.listResourcesByGroup("test")).thenReturn(resources);
+    Mockito.when(optimizerManager.listOptimizers("test")).thenReturn(optimizers);
+    autoScaler =
+        new OptimizerAutoScaler(
+            1000, optimizerManager, name -> Optional.empty(), name -> container);
+    group =
+        new ResourceGroup.Builder("test", CONTAINER)
+            .addProperty(OptimizerProperties.AUTOSCALE_ENABLED, "true")
+            .addProperty(OptimizerProperties.AUTOSCALE_MIN_PARALLELISM, "1")
+            .addProperty(OptimizerProperties.AUTOSCALE_MAX_PARALLELISM, "4")
+            .addProperty(OptimizerProperties.AUTOSCALE_OPTIMIZER_PARALLELISM, "2")
+            .addProperty(OptimizerProperties.AUTOSCALE_SCALE_OUT_WAIT_TIME, "60000")
+            .addProperty(OptimizerProperties.AUTOSCALE_SCALE_IN_IDLE_TIME, "600000")
+            .build();
+  }
+
+  @Test
+  public void testScaleOutToMinParallelism() {
+    autoScaler.scale(group, idle(), NOW);
+    Assert.assertEquals(1, requestedResource().getThreadCount());
+  }
+
+  @Test
+  public void testScaleOutByWaitingTasks() {
+    addResource(1, true);
+    // tasks have not waited long enough
+    autoScaler.scale(group, new OptimizingQueue.Backlog(3, 1, NOW - 1000, 0), NOW);
+    Mockito.verify(container, Mockito.never()).requestResource(Mockito.any());
+
+    autoScaler.scale(group, new OptimizingQueue.Backlog(3, 1, NOW - 60000, 0), NOW);
+    Assert.assertEquals(2, requestedResource().getThreadCount());
+  }
+
+  @Test
+  public void testScaleOutWithinMaxParallelism() {
+    addResource(3, true);
+    autoScaler.scale(group, new OptimizingQueue.Backlog(3, 3, NOW - 60000, 0), NOW);
+    Assert.assertEquals(1, requestedResource().getThreadCount());
+
+    addResource(1, false);
+    Mockito.reset(container);
+    autoScaler.scale(group, new OptimizingQueue.Backlog(3, 3, NOW - 60000, 0), NOW);
+    Mockito.verify(container, Mockito.never()).requestResource(Mockito.any());
+  }
+
+  @Test
+  public void testScaleInAfterIdle() {
+    addResource(1, true);
+    Resource idleResource = addResource(2, true);
+    autoScaler.scale(group, idle(), NOW);
+    autoScaler.scale(group, idle(), NOW + 300000);
+    Mockito.verify(container, Mockito.never()).releaseOptimizer(Mockito.any());
+
+    autoScaler.scale(group, idle(), NOW + 600000);
+    Mockito.verify(container).releaseOptimizer(idleResource);
+    Mockito.verify(optimizerManager).deleteResource(idleResource.getResourceId());
+
+    // the min parallelism is kept
+    resources.remove(idleResource);
+    Mockito.reset(container);
+    autoScaler.scale(group, idle(), NOW + 1200000);
+    Mockito.verify(container, Mockito.never()).releaseOptimizer(Mockito.any());
+  }
+
+  @Test
+  public void testBusyGroupNotScaledIn() {
+    addResource(1, true);
+    addResource(2, true);
+    autoScaler.scale(group, idle(), NOW);
+    autoScaler.scale(group, new OptimizingQueue.Backlog(0, 1, 0, 0), NOW + 300000);
+    autoScaler.scale(group, idle(), NOW + 600000);
+    Mockito.verify(container, Mockito.never()).releaseOptimizer(Mockito.any());
+  }
+
+  @Test
+  public void testExpireUnregisteredResource() {
+    Resource unregistered = addResource(2, false);
+    autoScaler.scale(group, idle(), NOW);
+    Mockito.verify(container, Mockito.never()).requestResource(Mockito.any());
+
+    // the resource is released and no longer counted after the register timeout
+    autoScaler.scale(group, idle(), NOW + OptimizerProperties.AUTOSCALE_REGISTER_TIMEOUT_DEFAULT);
+    Mockito.verify(container).releaseOptimizer(unregistered);
+    Mockito.verify(optimizerManager).deleteResource(unregistered.getResourceId());
+    Assert.assertEquals(2, requestedResource().getThreadCount());
+  }
+
+  @Test
+  public void testRegisteredResourceNotExpired() {
+    addResource(1, true);
+    autoScaler.scale(group, idle(), NOW);
+    autoScaler.scale(group, idle(), NOW + OptimizerProperties.AUTOSCALE_REGISTER_TIMEOUT_DEFAULT);
+    Mockito.verify(container, Mockito.never()).releaseOptimizer(Mockito.any());
+    Mockito.verify(optimizerManager, Mockito.never()).deleteResource(Mockito.any());
+  }
+
+  @Test
+  public void testDeleteResourceOfFailedRequest() {
+    Mockito.doThrow(new IllegalStateException("request error"))
+        .when(container)
+        .requestResource(Mockito.any());
+    Assert.assertThrows(IllegalStateException.class, () -> autoScaler.scale(group, idle(), NOW));
+
+    Resource resource = requestedResource();
+    InOrder inOrder = Mockito.inOrder(optimizerManager, container);
+    inOrder.verify(optimizerManager).createResource(resource);
+    inOrder.verify(container).requestResource(resource);
+    inOrder.verify(optimizerManager).deleteResource(resource.getResourceId());
+  }
+
+  private OptimizingQueue.Backlog idle() {
+    return new OptimizingQueue.Backlog(0, 0, ArcticServiceConstants.INVALID_TIME, 0);
+  }
+
+  private Resource requestedResource() {
+    ArgumentCaptor<Resource> captor = ArgumentCaptor.forClass(Resource.class);
+    Mockito.verify(container).requestResource(captor.capture());
+    Mockito.verify(optimizerManager).createResource(captor.getValue());
+    return captor.getValue();
+  }
+
+  private Resource addResource(int threadCount, boolean registered) {
+    Resource resource =
+        new Resource.Builder(CONTAINER, "test", ResourceType.OPTIMIZER)
+            .setThreadCount(threadCount)
+            .build();
+    resources.add(resource);
+    if (registered) {
+      OptimizerRegisterInfo registerInfo = new OptimizerRegisterInfo();
+      registerInfo.setResourceId(resource.getResourceId());
+      registerInfo.setGroupName("test");
+      registerInfo.setThreadCount(threadCount);
+      registerInfo.setProperties(Collections.emptyMap());
+      optimizers.add(new OptimizerInstance(registerInfo, CONTAINER));
+    }
+    return resource;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.netease.arctic.AmoroTable;
+import com.netease.arctic.TableSnapshot;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.utils.Configurations;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestTableCache {
+
+  private static final ServerTableIdentifier IDENTIFIER =
+      ServerTableIdentifier.of(1L, "catalog", "db", "table", TableFormat.PAIMON);
+
+  @Test
+  public void testLoadOnce() {
+    TableCache cache = new TableCache(new Configurations());
+    AtomicInteger loads = new AtomicInteger();
+    AmoroTable<?> table = mockTable("1");
+    for (int i = 0; i < 3; i++) {
+      Assert.assertSame(
+          table,
+          cache.get(
+              IDENTIFIER,
+              id -> {
+                loads.incrementAndGet();
+                return table;
+              }));
+    }
+    Assert.assertEquals(1, loads.get());
+    Assert.assertEquals(2, cache.stats().hitCount());
+  }
+
+  @Test
+  public void testRefresh() {
+    TableCache cache = new TableCache(new Configurations());
+    AmoroTable<?> table = mockTable("1");
+    cache.get(IDENTIFIER, id -> table);
+
+    // the cached table is kept if the metadata is not changed
+    Assert.assertSame(table, cache.refresh(IDENTIFIER, mockTable("1")));
+    Assert.assertSame(table, cache.get(IDENTIFIER, id -> mockTable("1")));
+
+    AmoroTable<?> changed = mockTable("2");
+    Assert.assertSame(changed, cache.refresh(IDENTIFIER, changed));
+    Assert.assertSame(changed, cache.get(IDENTIFIER, id -> mockTable("2")));
+  }
+
+  @Test
+  public void testInvalidate() {
+    TableCache cache = new TableCache(new Configurations());
+    cache.get(IDENTIFIER, id -> mockTable("1"));
+    cache.invalidate(IDENTIFIER);
+    AmoroTable<?> table = mockTable("2");
+    Assert.assertSame(table, cache.get(IDENTIFIER, id -> table));
+  }
+
+  @Test
+  public void testDisableCache() {
+    Configurations config = new Configurations();
+    config.set(ArcticManagementConf.TABLE_CACHE_CAPACITY, 0L);
+    TableCache cache = new TableCache(config);
+    AtomicInteger loads = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      cache.get(
+          IDENTIFIER,
+          id -> {
+            loads.incrementAndGet();
+            return mockTable("1");
+          });
+    }
+    Assert.assertEquals(3, loads.get());
+    Assert.assertEquals(0, cache.stats().requestCount());
+  }
+
+  private static AmoroTable<?> mockTable(String snapshotId) {
+    TableSnapshot snapshot = Mockito.mock(TableSnapshot.class);
+    Mockito.when(snapshot.id()).thenReturn(snapshotId);
+    AmoroTable<?> table = Mockito.mock(AmoroTable.class);
+    Mockito.doReturn(new Object()).when(table).originalTable();
+    Mockito.doReturn(snapshot).when(table).currentSnapshot();
+    return table;
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.table;
+
+import com.netease.arctic.AmoroTable;
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.TestedCatalogs;
+import com.netease.arctic.UnifiedCatalog;
+import com.netease.arctic.ams.api.CatalogMeta;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.catalog.CatalogLoader;
+import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.server.catalog.InternalCatalog;
+import com.netease.arctic.server.table.internal.InternalTableCreator;
+import com.netease.arctic.server.utils.Configurations;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.utils.CatalogUtil;
+import org.apache.iceberg.HasTableOperations;
+import org.apache.iceberg.TableMetadata;
+import org.apache.iceberg.catalog.TableIdentifier;
+import org.apache.iceberg.rest.requests.CreateTableRequest;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+@RunWith(Parameterized.class)
+public class TestTableCacheReload extends TableServiceTestBase {
+
+  @Rule public TemporaryFolder temp = new TemporaryFolder();
+
+  @Parameterized.Parameters(name = "{0}, {1}")
+  public static Object[][] parameters() {
+    return new Object[][] {
+      {new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, true)},
+      {new BasicCatalogTestHelper(TableFormat.MIXED_ICEBERG), new BasicTableTestHelper(true, true)},
+      {new BasicCatalogTestHelper(TableFormat.MIXED_ICEBERG), new BasicTableTestHelper(false, true)},
+      {TestedCatalogs.internalCatalog(TableFormat.ICEBERG), new BasicTableTestHelper(false, true)}
+    };
+  }
+
+  private final CatalogTestHelper catalogTestHelper;
+  private final TableTestHelper tableTestHelper;
+  private CatalogMeta catalogMeta;
+  private ServerTableIdentifier identifier;
+
+  public TestTableCacheReload(
+      CatalogTestHelper catalogTestHelper, TableTestHelper tableTestHelper) {
+    this.catalogTestHelper = catalogTestHelper;
+    this.tableTestHelper = tableTestHelper;
+  }
+
+  @Before
+  public void createTable() throws Exception {
+    catalogMeta = catalogTestHelper.buildCatalogMeta(temp.newFolder().getPath());
+    tableService().createCatalog(catalogMeta);
+    String catalogName = catalogMeta.getCatalogName();
+    String database = TableTestHelper.TEST_DB_NAME;
+    String tableName = TableTestHelper.TEST_TABLE_NAME;
+    if (catalogTestHelper.isInternalCatalog()) {
+      tableService().createDatabase(catalogName, database);
+      InternalCatalog catalog = (InternalCatalog) tableService().getServerCatalog(catalogName);
+      CreateTableRequest request =
+          CreateTableRequest.builder()
+              .withName(tableName)
+              .withSchema(tableTestHelper.tableSchema())
+              .withPartitionSpec(tableTestHelper.partitionSpec())
+              .setProperties(tableTestHelper.tableProperties())
+              .build();
+      try (InternalTableCreator creator =
+          catalog.newTableCreator(database, tableName, catalogTestHelper.tableFormat(), request)) {
+        tableService().createTable(catalogName, creator.create());
+      }
+    } else {
+      unifiedCatalog().createDatabase(database);
+      if (catalogTestHelper.tableFormat() == TableFormat.ICEBERG) {
+        catalogTestHelper
+            .buildIcebergCatalog(catalogMeta)
+            .createTable(
+                TableIdentifier.of(database, tableName),
+                tableTestHelper.tableSchema(),
+                tableTestHelper.partitionSpec(),
+                tableTestHelper.tableProperties());
+      } else {
+        CatalogLoader.createCatalog(
+                catalogName,
+                catalogMeta.getCatalogType(),
+                catalogMeta.getCatalogProperties(),
+                CatalogUtil.buildMetaStore(catalogMeta))
+            .newTableBuilder(tableTestHelper.id(), tableTestHelper.tableSchema())
+            .withPartitionSpec(tableTestHelper.partitionSpec())
+            .withProperties(tableTestHelper.tableProperties())
+            .withPrimaryKeySpec(tableTestHelper.primaryKeySpec())
+            .create();
+      }
+    }
+    identifier =
+        ServerTableIdentifier.of(
+            1L, catalogName, database, tableName, catalogTestHelper.tableFormat());
+  }
+
+  @After
+  public void dropTable() {
+    String database = TableTestHelper.TEST_DB_NAME;
+    if (catalogTestHelper.isInternalCatalog()) {
+      tableService().dropTableMetadata(tableTestHelper.id().buildTableIdentifier(), true);
+      tableService().dropDatabase(catalogMeta.getCatalogName(), database);
+    } else {
+      unifiedCatalog().dropTable(database, TableTestHelper.TEST_TABLE_NAME, true);
+      unifiedCatalog().dropDatabase(database);
+    }
+    tableService().dropCatalog(catalogMeta.getCatalogName());
+  }
+
+  @Test
+  public void testReloadChangedTable() {
+    AtomicInteger loads = new AtomicInteger();
+    Function<ServerTableIdentifier, AmoroTable<?>> loader = countingLoader(loads);
+    TableCache cache = new TableCache(new Configurations());
+    AmoroTable<?> table = cache.get(identifier, loader);
+    String metadataLocation = TableCache.metadataLocation(table);
+
+    // the table is changed by another writer
+    ArcticTable writer = (ArcticTable) loadTable().originalTable();
+    writer.updateProperties().set("test.reload", "true").commit();
+    Assert.assertNull(table.properties().get("test.reload"));
+
+    // the reloaded table is a new table of the caller
+    AmoroTable<?> reloaded = cache.reload(identifier, loader);
+    Assert.assertNotSame(table, reloaded);
+    Assert.assertEquals("true", reloaded.properties().get("test.reload"));
+    Assert.assertNotEquals(metadataLocation, TableCache.metadataLocation(reloaded));
+    Assert.assertEquals(2, loads.get());
+
+    // the table handed out before is not changed by the reload
+    Assert.assertNull(table.properties().get("test.reload"));
+
+    // the changed table is not got from the cache anymore
+    AmoroTable<?> current = cache.get(identifier, loader);
+    Assert.assertEquals("true", current.properties().get("test.reload"));
+  }
+
+  @Test
+  public void testReuseCachedMetadata() {
+    Assume.assumeTrue(catalogTestHelper.isInternalCatalog());
+    TableCache cache = new TableCache(new Configurations());
+    AmoroTable<?> table = cache.get(identifier, this::loadTable);
+    TableMetadata metadata = currentMetadata(table);
+
+    // every caller gets its own table, built from the cached metadata
+    AmoroTable<?> reloaded = cache.reload(identifier, this::loadTable);
+    Assert.assertNotSame(table, reloaded);
+    Assert.assertSame(metadata, currentMetadata(reloaded));
+    Assert.assertSame(metadata, currentMetadata(cache.get(identifier, this::loadTable)));
+
+    // the metadata location in the database is checked before the cached metadata is used
+    ArcticTable writer = (ArcticTable) loadTable().originalTable();
+    writer.updateProperties().set("test.reload", "true").commit();
+    AmoroTable<?> current = cache.get(identifier, this::loadTable);
+    Assert.assertNotSame(metadata, currentMetadata(current));
+    Assert.assertEquals("true", current.properties().get("test.reload"));
+
+    // a table handed out before sees the commit once refreshed
+    ((ArcticTable) table.originalTable()).refresh();
+    Assert.assertEquals("true", table.properties().get("test.reload"));
+  }
+
+  private Function<ServerTableIdentifier, AmoroTable<?>> countingLoader(AtomicInteger loads) {
+    return id -> {
+      loads.incrementAndGet();
+      return loadTable(id);
+    };
+  }
+
+  private AmoroTable<?> loadTable() {
+    return loadTable(identifier);
+  }
+
+  private AmoroTable<?> loadTable(ServerTableIdentifier id) {
+    return tableService()
+        .getServerCatalog(id.getCatalog())
+        .loadTable(id.getDatabase(), id.getTableName());
+  }
+
+  private UnifiedCatalog unifiedCatalog() {
+    return catalogTestHelper.buildUnifiedCatalog(catalogMeta);
+  }
+
+  private static TableMetadata currentMetadata(AmoroTable<?> table) {
+    return ((HasTableOperations) table.originalTable()).operations().current();
+  }
+}
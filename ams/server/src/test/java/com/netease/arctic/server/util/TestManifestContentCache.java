@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.server.util;
+
+import com.netease.arctic.BasicTableTestHelper;
+import com.netease.arctic.TableTestHelper;
+import com.netease.arctic.ams.api.TableFormat;
+import com.netease.arctic.catalog.BasicCatalogTestHelper;
+import com.netease.arctic.catalog.CatalogTestHelper;
+import com.netease.arctic.server.ArcticManagementConf;
+import com.netease.arctic.server.table.executor.ExecutorTestBase;
+import com.netease.arctic.server.utils.Configurations;
+import com.netease.arctic.server.utils.ManifestContentCache;
+import com.netease.arctic.table.UnkeyedTable;
+import com.netease.arctic.utils.TableFileUtil;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.ManifestFile;
+import org.apache.iceberg.Snapshot;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RunWith(Parameterized.class)
+public class TestManifestContentCache extends ExecutorTestBase {
+
+  @Parameterized.Parameters(name = "{0}, {1}")
+  public static Object[][] parameters() {
+    return new Object[][] {
+      {new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, true)},
+      {new BasicCatalogTestHelper(TableFormat.ICEBERG), new BasicTableTestHelper(false, false)}
+    };
+  }
+
+  public TestManifestContentCache(
+      CatalogTestHelper catalogTestHelper, TableTestHelper tableTestHelper) {
+    super(catalogTestHelper, tableTestHelper);
+  }
+
+  @Test
+  public void testReadNewManifestsOnly() {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    ManifestContentCache cache = new ManifestContentCache(new Configurations());
+    List<DataFile> dataFiles = Lists.newArrayList(writeAndCommitBaseStore(table));
+    Assert.assertEquals(uriPaths(dataFiles), cache.reachableContentFiles(table));
+    long misses = cache.stats().missCount();
+
+    dataFiles.addAll(writeAndCommitBaseStore(table));
+    Assert.assertEquals(uriPaths(dataFiles), cache.reachableContentFiles(table));
+    Assert.assertEquals(misses + 1, cache.stats().missCount());
+    Assert.assertEquals(1, cache.stats().hitCount());
+  }
+
+  @Test
+  public void testIncludeDeletedEntries() {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    List<DataFile> dataFiles = writeAndCommitBaseStore(table);
+    long appendSnapshotId = table.currentSnapshot().snapshotId();
+    table.newDelete().deleteFile(dataFiles.get(0)).commit();
+    table.expireSnapshots().expireSnapshotId(appendSnapshotId).cleanExpiredFiles(false).commit();
+
+    // the deleted file is still referenced by the manifest of the delete snapshot
+    ManifestContentCache cache = new ManifestContentCache(new Configurations());
+    Assert.assertEquals(uriPaths(dataFiles), cache.reachableContentFiles(table));
+  }
+
+  @Test
+  public void testDisableCache() {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    Configurations config = new Configurations();
+    config.set(ArcticManagementConf.TABLE_MANIFEST_CACHE_CAPACITY, 0L);
+    ManifestContentCache cache = new ManifestContentCache(config);
+    List<DataFile> dataFiles = writeAndCommitBaseStore(table);
+    Assert.assertEquals(uriPaths(dataFiles), cache.reachableContentFiles(table));
+    Assert.assertEquals(0, cache.stats().requestCount());
+  }
+
+  @Test
+  public void testPersistToLocalDir() throws IOException {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    Configurations config = new Configurations();
+    config.set(
+        ArcticManagementConf.TABLE_MANIFEST_CACHE_LOCAL_DIR, temp.newFolder().getAbsolutePath());
+    List<DataFile> dataFiles = writeAndCommitBaseStore(table);
+    Assert.assertEquals(
+        uriPaths(dataFiles), new ManifestContentCache(config).reachableContentFiles(table));
+
+    // manifests are read from the local directory after a restart
+    Snapshot snapshot = table.currentSnapshot();
+    for (ManifestFile manifest : snapshot.allManifests(table.io())) {
+      table.io().deleteFile(manifest.path());
+    }
+    ManifestContentCache restarted = new ManifestContentCache(config);
+    for (ManifestFile manifest : restarted.manifests(snapshot, table.io())) {
+      Assert.assertFalse(restarted.files(manifest, table.io()).isEmpty());
+    }
+  }
+
+  private static Set<String> uriPaths(List<DataFile> dataFiles) {
+    return dataFiles.stream()
+        .map(file -> TableFileUtil.getUriPath(file.path().toString()))
+        .collect(Collectors.toSet());
+  }
+}
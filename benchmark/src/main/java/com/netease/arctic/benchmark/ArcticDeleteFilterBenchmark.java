@@ -0,0 +1,281 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.DefaultKeyedFile;
+import com.netease.arctic.io.reader.ArcticDeleteFilter;
+import com.netease.arctic.scan.ArcticFileScanTask;
+import com.netease.arctic.scan.BasicArcticFileScanTask;
+import com.netease.arctic.scan.KeyedTableScanTask;
+import com.netease.arctic.scan.NodeFileScanTask;
+import com.netease.arctic.table.MetadataColumns;
+import com.netease.arctic.table.PrimaryKeySpec;
+import com.netease.arctic.utils.map.StructLikeCollections;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DataFiles;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.Files;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.GenericAppenderFactory;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.deletes.PositionDelete;
+import org.apache.iceberg.deletes.PositionDeleteWriter;
+import org.apache.iceberg.encryption.EncryptedFiles;
+import org.apache.iceberg.encryption.EncryptionKeyMetadata;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileAppender;
+import org.apache.iceberg.io.InputFile;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures delete application of mixed format keyed tables by {@link ArcticDeleteFilter}.
+ *
+ * <p>Data rows of base files are generated in memory with their metadata columns, so only the
+ * equality delete file of the change store and the position delete file are read from local disk,
+ * and the benchmark covers building the equality delete map and filtering rows by it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ArcticDeleteFilterBenchmark {
+
+  private static final PrimaryKeySpec PRIMARY_KEY_SPEC =
+      PrimaryKeySpec.builderFor(BenchmarkTable.SCHEMA).addColumn("id").build();
+
+  private static final Schema EQ_DELETE_SCHEMA =
+      new Schema(BenchmarkTable.SCHEMA.findField("id"), MetadataColumns.FILE_OFFSET_FILED);
+
+  private static final int DATA_FILE_COUNT = 4;
+
+  @Param({"PARQUET", "ORC"})
+  public FileFormat fileFormat;
+
+  @Param({"100000", "1000000"})
+  public int dataRecords;
+
+  @Param({"0.01", "0.1"})
+  public double deleteRatio;
+
+  @Param({"false", "true"})
+  public boolean spillable;
+
+  private File baseDir;
+
+  private KeyedTableScanTask scanTask;
+
+  private List<Record> rows;
+
+  private StructLikeCollections structLikeCollections;
+
+  @Setup(Level.Trial)
+  public void setupFiles() throws IOException {
+    baseDir = java.nio.file.Files.createTempDirectory("amoro-benchmark-").toFile();
+    int step = Math.max(1, (int) Math.round(1 / deleteRatio));
+    int recordsPerFile = Math.max(1, dataRecords / DATA_FILE_COUNT);
+
+    List<String> dataPaths = Lists.newArrayList();
+    for (int i = 0; i < DATA_FILE_COUNT; i++) {
+      dataPaths.add(fileFormat.addExtension(new File(baseDir, "data-" + i).getAbsolutePath()));
+    }
+    DeleteFile posDeleteFile = writePositionDeletes(dataPaths, recordsPerFile, step);
+
+    List<ArcticFileScanTask> tasks = Lists.newArrayList();
+    for (String dataPath : dataPaths) {
+      DataFile dataFile = dataFile(dataPath, recordsPerFile, 0);
+      tasks.add(
+          new BasicArcticFileScanTask(
+              DefaultKeyedFile.of(
+                  dataFile,
+                  new DefaultKeyedFile.FileMeta(1, DataFileType.BASE_FILE, DataTreeNode.ROOT)),
+              Lists.newArrayList(posDeleteFile),
+              PartitionSpec.unpartitioned()));
+    }
+    tasks.add(
+        new BasicArcticFileScanTask(
+            DefaultKeyedFile.of(
+                writeEqualityDeletes((long) recordsPerFile * DATA_FILE_COUNT, step),
+                new DefaultKeyedFile.FileMeta(2, DataFileType.EQ_DELETE_FILE, DataTreeNode.ROOT)),
+            null,
+            PartitionSpec.unpartitioned()));
+    scanTask = new NodeFileScanTask(tasks);
+
+    Schema rowSchema = newFilter().requiredSchema();
+    GenericRecord template = GenericRecord.create(rowSchema);
+    rows = Lists.newArrayListWithCapacity(recordsPerFile * DATA_FILE_COUNT);
+    long id = 0;
+    for (String dataPath : dataPaths) {
+      for (long pos = 0; pos < recordsPerFile; pos++, id++) {
+        Record row = template.copy();
+        row.setField("id", id);
+        row.setField("name", "name-" + id);
+        row.setField("ts", System.currentTimeMillis());
+        row.setField("payload", "payload-" + (id % 1024));
+        row.setField(org.apache.iceberg.MetadataColumns.FILE_PATH.name(), dataPath);
+        row.setField(org.apache.iceberg.MetadataColumns.ROW_POSITION.name(), pos);
+        row.setField(MetadataColumns.TRANSACTION_ID_FILED_NAME, 1L);
+        row.setField(MetadataColumns.FILE_OFFSET_FILED_NAME, pos);
+        rows.add(row);
+      }
+    }
+
+    structLikeCollections =
+        spillable
+            ? new StructLikeCollections(true, 0L, baseDir.getAbsolutePath())
+            : StructLikeCollections.DEFAULT;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownFiles() {
+    try (Stream<Path> paths = java.nio.file.Files.walk(baseDir.toPath())) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Benchmark
+  public void filter(RecordCounter counter, Blackhole blackhole) throws IOException {
+    consume(newFilter(), false, counter, blackhole);
+  }
+
+  @Benchmark
+  public void filterNegate(RecordCounter counter, Blackhole blackhole) throws IOException {
+    consume(newFilter(), true, counter, blackhole);
+  }
+
+  private void consume(
+      RecordDeleteFilter deleteFilter, boolean negate, RecordCounter counter, Blackhole blackhole)
+      throws IOException {
+    CloseableIterable<Record> input = CloseableIterable.withNoopClose(rows);
+    try (CloseableIterable<Record> records =
+        negate ? deleteFilter.filterNegate(input) : deleteFilter.filter(input)) {
+      for (Record record : records) {
+        blackhole.consume(record);
+      }
+    }
+    counter.records += rows.size();
+  }
+
+  private RecordDeleteFilter newFilter() {
+    return new RecordDeleteFilter(scanTask, structLikeCollections);
+  }
+
+  private DataFile writeEqualityDeletes(long maxId, int step) throws IOException {
+    File file = new File(baseDir, fileFormat.addExtension("eq-delete"));
+    GenericRecord template = GenericRecord.create(EQ_DELETE_SCHEMA);
+    FileAppender<Record> appender =
+        new GenericAppenderFactory(EQ_DELETE_SCHEMA)
+            .newAppender(Files.localOutput(file), fileFormat);
+    long count = 0;
+    try (FileAppender<Record> closeable = appender) {
+      for (long id = 0; id < maxId; id += step, count++) {
+        closeable.add(template.copy("id", id, MetadataColumns.FILE_OFFSET_FILED_NAME, count));
+      }
+    }
+    return dataFile(file.getAbsolutePath(), count, appender.length());
+  }
+
+  private DeleteFile writePositionDeletes(List<String> dataPaths, int recordsPerFile, int step)
+      throws IOException {
+    File file = new File(baseDir, fileFormat.addExtension("pos-delete"));
+    PositionDeleteWriter<Record> writer =
+        new GenericAppenderFactory(BenchmarkTable.SCHEMA)
+            .newPosDeleteWriter(
+                EncryptedFiles.encryptedOutput(
+                    Files.localOutput(file), EncryptionKeyMetadata.EMPTY),
+                fileFormat,
+                null);
+    PositionDelete<Record> positionDelete = PositionDelete.create();
+    List<String> sortedPaths = Lists.newArrayList(dataPaths);
+    sortedPaths.sort(Comparator.naturalOrder());
+    try (PositionDeleteWriter<Record> closeable = writer) {
+      for (String dataPath : sortedPaths) {
+        for (long pos = step / 2; pos < recordsPerFile; pos += step) {
+          closeable.write(positionDelete.set(dataPath, pos, null));
+        }
+      }
+    }
+    return writer.toDeleteFile();
+  }
+
+  private DataFile dataFile(String path, long recordCount, long fileSize) {
+    return DataFiles.builder(PartitionSpec.unpartitioned())
+        .withPath(path)
+        .withFormat(fileFormat)
+        .withRecordCount(recordCount)
+        .withFileSizeInBytes(fileSize)
+        .build();
+  }
+
+  private static class RecordDeleteFilter extends ArcticDeleteFilter<Record> {
+
+    private RecordDeleteFilter(
+        KeyedTableScanTask scanTask, StructLikeCollections structLikeCollections) {
+      super(
+          scanTask,
+          BenchmarkTable.SCHEMA,
+          BenchmarkTable.SCHEMA,
+          PRIMARY_KEY_SPEC,
+          null,
+          structLikeCollections);
+    }
+
+    @Override
+    protected StructLike asStructLike(Record record) {
+      return record;
+    }
+
+    @Override
+    protected InputFile getInputFile(String location) {
+      return Files.localInput(location);
+    }
+  }
+}
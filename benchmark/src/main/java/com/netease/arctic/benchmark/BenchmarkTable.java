@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.formats.iceberg.IcebergTable;
+import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.table.TableIdentifier;
+import com.netease.arctic.table.TableMetaStore;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.iceberg.AppendFiles;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.RowDelta;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.Table;
+import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.data.GenericAppenderFactory;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.deletes.EqualityDeleteWriter;
+import org.apache.iceberg.deletes.PositionDelete;
+import org.apache.iceberg.deletes.PositionDeleteWriter;
+import org.apache.iceberg.hadoop.HadoopTables;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.DataWriter;
+import org.apache.iceberg.io.OutputFileFactory;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.apache.iceberg.types.TypeUtil;
+import org.apache.iceberg.types.Types;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A synthetic, unpartitioned iceberg table on local disk used by benchmarks.
+ *
+ * <p>The table is populated with {@code dataFileCount} data files holding {@code dataRecords} rows
+ * in total, followed by one equality delete file and one position delete file committed in a later
+ * snapshot, so all deletes apply to all data files. {@code deleteRatio} is the fraction of rows
+ * removed by each kind of delete.
+ */
+public class BenchmarkTable implements Closeable {
+
+  public static final Schema SCHEMA =
+      new Schema(
+          Types.NestedField.required(1, "id", Types.LongType.get()),
+          Types.NestedField.required(2, "name", Types.StringType.get()),
+          Types.NestedField.required(3, "ts", Types.LongType.get()),
+          Types.NestedField.optional(4, "payload", Types.StringType.get()));
+
+  public static final int[] EQUALITY_FIELD_IDS = new int[] {1};
+
+  public static final Schema EQ_DELETE_SCHEMA = TypeUtil.select(SCHEMA, Sets.newHashSet(1));
+
+  private final File baseDir;
+  private final ArcticTable table;
+  private final List<DataFile> dataFiles;
+  private final List<DeleteFile> deleteFiles;
+
+  private BenchmarkTable(
+      File baseDir, ArcticTable table, List<DataFile> dataFiles, List<DeleteFile> deleteFiles) {
+    this.baseDir = baseDir;
+    this.table = table;
+    this.dataFiles = dataFiles;
+    this.deleteFiles = deleteFiles;
+  }
+
+  public static BenchmarkTable create(
+      FileFormat format, int dataRecords, int dataFileCount, double deleteRatio)
+      throws IOException {
+    Preconditions.checkArgument(dataFileCount > 0, "dataFileCount must be positive");
+    Preconditions.checkArgument(
+        deleteRatio >= 0 && deleteRatio < 1, "deleteRatio must be in [0, 1)");
+    File baseDir = Files.createTempDirectory("amoro-benchmark-").toFile();
+
+    Map<String, String> properties = Maps.newHashMap();
+    properties.put(TableProperties.FORMAT_VERSION, "2");
+    properties.put(TableProperties.DEFAULT_FILE_FORMAT, format.name());
+    properties.put(TableProperties.DELETE_DEFAULT_FILE_FORMAT, format.name());
+    Table icebergTable =
+        new HadoopTables(new Configuration())
+            .create(
+                SCHEMA,
+                PartitionSpec.unpartitioned(),
+                properties,
+                new File(baseDir, "table").getAbsolutePath());
+
+    GenericAppenderFactory appenderFactory =
+        new GenericAppenderFactory(
+            SCHEMA, PartitionSpec.unpartitioned(), EQUALITY_FIELD_IDS, EQ_DELETE_SCHEMA, null);
+    appenderFactory.setAll(properties);
+    OutputFileFactory fileFactory =
+        OutputFileFactory.builderFor(icebergTable, 0, 0).format(format).build();
+
+    List<DataFile> writtenDataFiles = Lists.newArrayList();
+    int recordsPerFile = Math.max(1, dataRecords / dataFileCount);
+    GenericRecord template = GenericRecord.create(SCHEMA);
+    long id = 0;
+    for (int i = 0; i < dataFileCount; i++) {
+      DataWriter<Record> writer =
+          appenderFactory.newDataWriter(fileFactory.newOutputFile(), format, null);
+      try (DataWriter<Record> closeable = writer) {
+        for (int j = 0; j < recordsPerFile; j++, id++) {
+          closeable.write(record(template, id));
+        }
+      }
+      writtenDataFiles.add(writer.toDataFile());
+    }
+    AppendFiles append = icebergTable.newAppend();
+    writtenDataFiles.forEach(append::appendFile);
+    append.commit();
+
+    if (deleteRatio > 0) {
+      int step = Math.max(1, (int) Math.round(1 / deleteRatio));
+      RowDelta rowDelta = icebergTable.newRowDelta();
+      rowDelta.addDeletes(writeEqualityDeletes(appenderFactory, fileFactory, format, id, step));
+      rowDelta.addDeletes(
+          writePositionDeletes(
+              appenderFactory, fileFactory, format, writtenDataFiles, recordsPerFile, step));
+      rowDelta.commit();
+    }
+
+    // Re-read files from the table so that they carry the sequence numbers assigned on commit
+    List<DataFile> committedDataFiles = Lists.newArrayList();
+    Map<String, DeleteFile> committedDeleteFiles = Maps.newLinkedHashMap();
+    try (CloseableIterable<FileScanTask> tasks = icebergTable.newScan().planFiles()) {
+      for (FileScanTask task : tasks) {
+        committedDataFiles.add(task.file());
+        task.deletes().forEach(d -> committedDeleteFiles.putIfAbsent(d.path().toString(), d));
+      }
+    }
+
+    ArcticTable arcticTable =
+        IcebergTable.newIcebergTable(
+                TableIdentifier.of("benchmark", "db", "table"),
+                icebergTable,
+                TableMetaStore.EMPTY,
+                Maps.newHashMap())
+            .originalTable();
+    return new BenchmarkTable(
+        baseDir,
+        arcticTable,
+        committedDataFiles,
+        Lists.newArrayList(committedDeleteFiles.values()));
+  }
+
+  private static Record record(GenericRecord template, long id) {
+    Record record = template.copy();
+    record.setField("id", id);
+    record.setField("name", "name-" + id);
+    record.setField("ts", System.currentTimeMillis());
+    record.setField("payload", "payload-" + (id % 1024));
+    return record;
+  }
+
+  private static DeleteFile writeEqualityDeletes(
+      GenericAppenderFactory appenderFactory,
+      OutputFileFactory fileFactory,
+      FileFormat format,
+      long maxId,
+      int step)
+      throws IOException {
+    GenericRecord template = GenericRecord.create(EQ_DELETE_SCHEMA);
+    EqualityDeleteWriter<Record> writer =
+        appenderFactory.newEqDeleteWriter(fileFactory.newOutputFile(), format, null);
+    try (EqualityDeleteWriter<Record> closeable = writer) {
+      for (long id = 0; id < maxId; id += step) {
+        closeable.write(template.copy("id", id));
+      }
+    }
+    return writer.toDeleteFile();
+  }
+
+  private static DeleteFile writePositionDeletes(
+      GenericAppenderFactory appenderFactory,
+      OutputFileFactory fileFactory,
+      FileFormat format,
+      List<DataFile> dataFiles,
+      int recordsPerFile,
+      int step)
+      throws IOException {
+    // Position deletes must be sorted by file path, and never overlap the equality deletes
+    List<DataFile> sorted = Lists.newArrayList(dataFiles);
+    sorted.sort(Comparator.comparing(f -> f.path().toString()));
+    PositionDeleteWriter<Record> writer =
+        appenderFactory.newPosDeleteWriter(fileFactory.newOutputFile(), format, null);
+    PositionDelete<Record> positionDelete = PositionDelete.create();
+    try (PositionDeleteWriter<Record> closeable = writer) {
+      for (DataFile dataFile : sorted) {
+        for (long pos = step / 2; pos < recordsPerFile; pos += step) {
+          closeable.write(positionDelete.set(dataFile.path(), pos, null));
+        }
+      }
+    }
+    return writer.toDeleteFile();
+  }
+
+  public ArcticTable table() {
+    return table;
+  }
+
+  public List<DataFile> dataFiles() {
+    return dataFiles;
+  }
+
+  public List<DeleteFile> deleteFiles() {
+    return deleteFiles;
+  }
+
+  public String baseDir() {
+    return baseDir.getAbsolutePath();
+  }
+
+  /** Input of a task rewriting all data files and removing all delete files. */
+  public RewriteFilesInput rewriteInput() {
+    return new RewriteFilesInput(
+        dataFiles.toArray(new DataFile[0]),
+        new DataFile[0],
+        new DeleteFile[0],
+        deleteFiles.toArray(new DeleteFile[0]),
+        table);
+  }
+
+  /** Input of a task converting all deletes into position deletes of the data files. */
+  public RewriteFilesInput rePosDeleteInput() {
+    return new RewriteFilesInput(
+        new DataFile[0],
+        dataFiles.toArray(new DataFile[0]),
+        deleteFiles.toArray(new DeleteFile[0]),
+        new DeleteFile[0],
+        table);
+  }
+
+  @Override
+  public void close() {
+    try (Stream<Path> paths = Files.walk(baseDir.toPath())) {
+      paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
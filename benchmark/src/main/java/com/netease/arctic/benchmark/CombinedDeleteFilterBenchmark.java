@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.io.reader.GenericCombinedIcebergDataReader;
+import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.utils.map.StructLikeCollections;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.data.IdentityPartitionConverters;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.io.CloseableIterable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures merge-on-read delete application of {@link
+ * com.netease.arctic.io.reader.CombinedDeleteFilter} through {@link
+ * GenericCombinedIcebergDataReader}, both for rewriting data and for converting deletes to position
+ * deletes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class CombinedDeleteFilterBenchmark {
+
+  @Param({"PARQUET", "ORC"})
+  public FileFormat fileFormat;
+
+  @Param({"100000", "1000000"})
+  public int dataRecords;
+
+  @Param({"0.01", "0.1"})
+  public double deleteRatio;
+
+  @Param({"false", "true"})
+  public boolean spillable;
+
+  private BenchmarkTable table;
+
+  private StructLikeCollections structLikeCollections;
+
+  @Setup(Level.Trial)
+  public void setupTable() throws IOException {
+    table = BenchmarkTable.create(fileFormat, dataRecords, 4, deleteRatio);
+    structLikeCollections =
+        spillable
+            ? new StructLikeCollections(true, 0L, table.baseDir())
+            : StructLikeCollections.DEFAULT;
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownTable() {
+    table.close();
+  }
+
+  @Benchmark
+  public void readData(RecordCounter counter, Blackhole blackhole) throws IOException {
+    consume(table.rewriteInput(), false, counter, blackhole);
+  }
+
+  @Benchmark
+  public void readDeletedData(RecordCounter counter, Blackhole blackhole) throws IOException {
+    consume(table.rePosDeleteInput(), true, counter, blackhole);
+  }
+
+  private void consume(
+      RewriteFilesInput input, boolean deleted, RecordCounter counter, Blackhole blackhole)
+      throws IOException {
+    GenericCombinedIcebergDataReader reader =
+        new GenericCombinedIcebergDataReader(
+            table.table().io(),
+            table.table().schema(),
+            table.table().spec(),
+            null,
+            false,
+            IdentityPartitionConverters::convertConstant,
+            false,
+            structLikeCollections,
+            input);
+    try (CloseableIterable<Record> records =
+        deleted ? reader.readDeletedData() : reader.readData()) {
+      for (Record record : records) {
+        blackhole.consume(record);
+        counter.records++;
+      }
+    } finally {
+      reader.close();
+    }
+  }
+}
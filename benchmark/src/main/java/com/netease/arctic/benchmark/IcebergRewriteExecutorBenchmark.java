@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.optimizing.IcebergRewriteExecutor;
+import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.optimizing.RewriteFilesOutput;
+import com.netease.arctic.utils.map.StructLikeCollections;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.FileFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures a full {@link IcebergRewriteExecutor} task end to end: reading data, applying deletes
+ * and writing new data files (full rewrite) or new position delete files (re-position deletes).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class IcebergRewriteExecutorBenchmark {
+
+  @Param({"PARQUET", "ORC"})
+  public FileFormat fileFormat;
+
+  @Param({"100000", "1000000"})
+  public int dataRecords;
+
+  @Param({"0.01", "0.1"})
+  public double deleteRatio;
+
+  private BenchmarkTable table;
+
+  @Setup(Level.Trial)
+  public void setupTable() throws IOException {
+    table = BenchmarkTable.create(fileFormat, dataRecords, 4, deleteRatio);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownTable() {
+    table.close();
+  }
+
+  @Benchmark
+  public void rewriteDataFiles(RecordCounter counter) {
+    execute(table.rewriteInput(), counter);
+  }
+
+  @Benchmark
+  public void rePositionDeletes(RecordCounter counter) {
+    execute(table.rePosDeleteInput(), counter);
+  }
+
+  private void execute(RewriteFilesInput input, RecordCounter counter) {
+    RewriteFilesOutput output =
+        new IcebergRewriteExecutor(input, table.table(), StructLikeCollections.DEFAULT).execute();
+    counter.records += Arrays.stream(input.dataFiles()).mapToLong(ContentFile::recordCount).sum();
+    // Outputs are never committed, remove them to keep disk usage flat across invocations
+    Stream.concat(Arrays.stream(output.getDataFiles()), Arrays.stream(output.getDeleteFiles()))
+        .forEach(file -> table.table().io().deleteFile(file.path().toString()));
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.io.writer.CommonOutputFileFactory;
+import com.netease.arctic.io.writer.SortedPosDeleteWriter;
+import com.netease.arctic.table.UnkeyedTable;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.MetadataColumns;
+import org.apache.iceberg.MetricsModes;
+import org.apache.iceberg.TableProperties;
+import org.apache.iceberg.data.GenericAppenderFactory;
+import org.apache.iceberg.data.Record;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures buffering, sorting and writing of position deletes by {@link SortedPosDeleteWriter} when
+ * deletes arrive in random order over several data files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class SortedPosDeleteWriterBenchmark {
+
+  @Param({"PARQUET", "ORC"})
+  public FileFormat fileFormat;
+
+  @Param({"100000", "1000000"})
+  public int deleteRecords;
+
+  @Param({"16"})
+  public int dataFileCount;
+
+  private BenchmarkTable table;
+
+  private GenericAppenderFactory appenderFactory;
+
+  private String[] paths;
+
+  private long[] positions;
+
+  private long transactionId = 0;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    table = BenchmarkTable.create(fileFormat, dataFileCount, dataFileCount, 0);
+    UnkeyedTable unkeyedTable = table.table().asUnkeyedTable();
+    appenderFactory = new GenericAppenderFactory(unkeyedTable.schema(), unkeyedTable.spec());
+    appenderFactory.set(
+        TableProperties.METRICS_MODE_COLUMN_CONF_PREFIX + MetadataColumns.DELETE_FILE_PATH.name(),
+        MetricsModes.Full.get().toString());
+    appenderFactory.set(
+        TableProperties.METRICS_MODE_COLUMN_CONF_PREFIX + MetadataColumns.DELETE_FILE_POS.name(),
+        MetricsModes.Full.get().toString());
+
+    Random random = new Random(0);
+    paths = new String[deleteRecords];
+    positions = new long[deleteRecords];
+    for (int i = 0; i < deleteRecords; i++) {
+      paths[i] = table.dataFiles().get(random.nextInt(dataFileCount)).path().toString();
+      positions[i] = random.nextInt(deleteRecords);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    table.close();
+  }
+
+  @Benchmark
+  public void sortAndWrite(RecordCounter counter, Blackhole blackhole) throws IOException {
+    UnkeyedTable unkeyedTable = table.table().asUnkeyedTable();
+    SortedPosDeleteWriter<Record> writer =
+        new SortedPosDeleteWriter<>(
+            appenderFactory,
+            new CommonOutputFileFactory(
+                unkeyedTable.location(),
+                unkeyedTable.spec(),
+                fileFormat,
+                unkeyedTable.io(),
+                unkeyedTable.encryption(),
+                0,
+                0,
+                transactionId++),
+            unkeyedTable.io(),
+            fileFormat,
+            null);
+    for (int i = 0; i < deleteRecords; i++) {
+      writer.delete(paths[i], positions[i]);
+    }
+    List<DeleteFile> deleteFiles = writer.complete();
+    deleteFiles.forEach(file -> unkeyedTable.io().deleteFile(file.path().toString()));
+    blackhole.consume(deleteFiles);
+    counter.records += deleteRecords;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.benchmark;
+
+import com.netease.arctic.utils.map.StructLikeBaseMap;
+import com.netease.arctic.utils.map.StructLikeSpillableMap;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.types.Types;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures put/get throughput of {@link StructLikeSpillableMap} keyed by equality delete keys, with
+ * an in-memory limit small enough to spill to RocksDB or large enough to stay in memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class StructLikeSpillableMapBenchmark {
+
+  private static final Types.StructType KEY_TYPE = BenchmarkTable.EQ_DELETE_SCHEMA.asStruct();
+
+  @Param({"100000", "1000000"})
+  public int keyCount;
+
+  /** 0 spills every entry, 1GB keeps every entry in memory. */
+  @Param({"0", "1073741824"})
+  public long maxInMemorySizeInBytes;
+
+  private String backendBaseDir;
+
+  private StructLike[] keys;
+
+  private StructLikeBaseMap<Long> filledMap;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    backendBaseDir = Files.createTempDirectory("amoro-benchmark-rocksdb-").toString();
+    GenericRecord template = GenericRecord.create(KEY_TYPE);
+    keys = new StructLike[keyCount];
+    for (int i = 0; i < keyCount; i++) {
+      keys[i] = template.copy("id", (long) i);
+    }
+    filledMap = newMap();
+    for (int i = 0; i < keyCount; i++) {
+      filledMap.put(keys[i], (long) i);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    filledMap.close();
+  }
+
+  private StructLikeBaseMap<Long> newMap() {
+    return StructLikeSpillableMap.create(KEY_TYPE, maxInMemorySizeInBytes, backendBaseDir);
+  }
+
+  @Benchmark
+  public void put(RecordCounter counter) throws IOException {
+    try (StructLikeBaseMap<Long> map = newMap()) {
+      for (int i = 0; i < keyCount; i++) {
+        map.put(keys[i], (long) i);
+      }
+    }
+    counter.records += keyCount;
+  }
+
+  @Benchmark
+  public void get(RecordCounter counter, Blackhole blackhole) {
+    for (int i = 0; i < keyCount; i++) {
+      blackhole.consume(filledMap.get(keys[i]));
+    }
+    counter.records += keyCount;
+  }
+}
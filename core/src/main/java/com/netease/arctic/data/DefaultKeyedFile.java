@@ -54,6 +54,11 @@ public class DefaultKeyedFile implements PrimaryKeyedFile, Serializable {
     return new DefaultKeyedFile(dataFile, fileMeta);
   }
 
+  /** Wrap the data file with already parsed meta. */
+  public static DefaultKeyedFile of(DataFile dataFile, FileMeta fileMeta) {
+    return new DefaultKeyedFile(dataFile, fileMeta);
+  }
+
   @Override
   public Long transactionId() {
     return meta.transactionId();
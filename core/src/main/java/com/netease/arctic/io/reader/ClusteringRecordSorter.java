@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.io.reader;
+
+import com.netease.arctic.optimizing.ClusteringStrategy;
+import com.netease.arctic.utils.BinaryStructLikeSerializer;
+import com.netease.arctic.utils.ClusteringKeyEncoder;
+import com.netease.arctic.utils.map.StructLikeCollections;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.types.Types;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sort rows by their clustering keys of {@link ClusteringKeyEncoder} with an {@link
+ * ExternalMergeSorter}, rows are buffered in memory up to the max in-memory size and spilled to the
+ * local spill directory beyond it.
+ *
+ * <p>Rows are encoded by {@link BinaryStructLikeSerializer}. Rows that can not be encoded, or
+ * without all the clustering columns, are returned in their original order.
+ */
+public class ClusteringRecordSorter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ClusteringRecordSorter.class);
+
+  /** Max in-memory size if it is not configured. */
+  static final long DEFAULT_MAX_IN_MEMORY_SIZE_IN_BYTES = 128L * 1024 * 1024;
+
+  private final ClusteringStrategy strategy;
+  private final List<String> columns;
+  private final long maxInMemorySizeInBytes;
+  private final String spillDir;
+
+  public ClusteringRecordSorter(
+      ClusteringStrategy strategy,
+      List<String> columns,
+      StructLikeCollections structLikeCollections) {
+    this.strategy = strategy;
+    this.columns = columns;
+    Long maxInMemory = structLikeCollections.maxInMemorySizeInBytes();
+    this.maxInMemorySizeInBytes =
+        maxInMemory == null || maxInMemory <= 0 ? DEFAULT_MAX_IN_MEMORY_SIZE_IN_BYTES : maxInMemory;
+    this.spillDir = structLikeCollections.backendBaseDir();
+  }
+
+  /**
+   * Read all the rows and return them sorted, the rows are closed after being read.
+   *
+   * @param rows rows of the same struct type
+   * @return sorted rows, spilled runs are deleted when it is closed
+   */
+  public CloseableIterator<Record> sort(CloseableIterator<Record> rows) throws IOException {
+    if (!rows.hasNext()) {
+      return rows;
+    }
+    Record first = rows.next();
+    Types.StructType rowType = first.struct();
+    if (!BinaryStructLikeSerializer.supports(rowType)
+        || !ClusteringKeyEncoder.supports(rowType, columns)) {
+      LOG.warn("Skip clustering rows of {} by {} {}", rowType, strategy, columns);
+      return new FirstAndRest(first, rows);
+    }
+
+    ClusteringKeyEncoder encoder = new ClusteringKeyEncoder(rowType, strategy, columns);
+    ExternalMergeSorter sorter = new ExternalMergeSorter(maxInMemorySizeInBytes, spillDir);
+    long count = 0;
+    try (CloseableIterator<Record> rest = rows) {
+      Record row = first;
+      while (row != null) {
+        sorter.add(
+            encoder.encode(row), count++, BinaryStructLikeSerializer.serialize(rowType, row));
+        row = rest.hasNext() ? rest.next() : null;
+      }
+    } catch (IOException | RuntimeException e) {
+      sorter.close();
+      throw e;
+    }
+    LOG.info(
+        "Sorted {} rows by {} {} with {} spilled runs",
+        count,
+        strategy,
+        columns,
+        sorter.spilledRuns());
+
+    CloseableIterator<ExternalMergeSorter.Entry> sorted = sorter.sorted();
+    return new CloseableIterator<Record>() {
+      @Override
+      public boolean hasNext() {
+        return sorted.hasNext();
+      }
+
+      @Override
+      public Record next() {
+        return BinaryStructLikeSerializer.deserializeRecord(rowType, sorted.next().payload());
+      }
+
+      @Override
+      public void close() throws IOException {
+        try {
+          sorted.close();
+        } finally {
+          sorter.close();
+        }
+      }
+    };
+  }
+
+  /** Rows with the first one already read. */
+  private static class FirstAndRest implements CloseableIterator<Record> {
+    private final CloseableIterator<Record> rest;
+    private Record first;
+
+    private FirstAndRest(Record first, CloseableIterator<Record> rest) {
+      this.first = first;
+      this.rest = rest;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return first != null || rest.hasNext();
+    }
+
+    @Override
+    public Record next() {
+      if (first != null) {
+        Record next = first;
+        first = null;
+        return next;
+      }
+      return rest.next();
+    }
+
+    @Override
+    public void close() throws IOException {
+      rest.close();
+    }
+  }
+}
@@ -21,8 +21,8 @@ package com.netease.arctic.io.reader;
 import com.netease.arctic.io.ArcticFileIO;
 import com.netease.arctic.io.CloseablePredicate;
 import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.utils.BinaryStructLikeSerializer;
 import com.netease.arctic.utils.ContentFiles;
-import com.netease.arctic.utils.map.StructLikeBaseMap;
 import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.iceberg.Accessor;
 import org.apache.iceberg.ContentFile;
@@ -47,9 +47,9 @@ import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTest
 import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
 import org.apache.iceberg.relocated.com.google.common.collect.ImmutableSet;
-import org.apache.iceberg.relocated.com.google.common.collect.Iterables;
 import org.apache.iceberg.relocated.com.google.common.collect.Lists;
 import org.apache.iceberg.types.TypeUtil;
+import org.apache.iceberg.types.Types;
 import org.apache.iceberg.util.Filter;
 import org.apache.paimon.shade.guava30.com.google.common.hash.BloomFilter;
 import org.roaringbitmap.longlong.Roaring64Bitmap;
@@ -57,13 +57,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -74,6 +77,11 @@ import java.util.stream.Collectors;
  *   <li>Apply all delete file to all data file
  *   <li>EQUALITY_DELETES only be written by flink in current, so the schemas of all
  *       EQUALITY_DELETES is primary key
+ *   <li>If the estimated in-memory size of EQUALITY_DELETES exceeds the max in-memory size of
+ *       {@link StructLikeCollections}, they are applied by a sort-merge join of data and deletes
+ *       sorted by primary key in local spill files instead of an in-memory index, the order of rows
+ *       is not kept then. Half of the max in-memory size buffers the deletes and the other half is
+ *       shared by the concurrent reads buffering data
  * </ul>
  */
 public abstract class CombinedDeleteFilter<T extends StructLike> {
@@ -107,6 +115,11 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
 
   private final long dataRecordCnt;
   private final boolean filterEqDelete;
+  private boolean primitiveEqDeleteIndex;
+
+  private final boolean sortMergeEqDelete;
+  private ExternalMergeSorter eqDeleteSorter;
+  private volatile int concurrentReads = 1;
 
   protected CombinedDeleteFilter(
       RewriteFilesInput rewriteFilesInput,
@@ -152,11 +165,12 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
       this.structLikeCollections = structLikeCollections;
     }
     this.filterEqDelete = filterEqDelete();
+    this.sortMergeEqDelete = sortMergeEqDelete(tableSchema);
   }
 
   /**
    * Whether to use {@link BloomFilter} to filter eq delete and reduce the amount of data written to
-   * {@link StructLikeBaseMap} by eq delete
+   * {@link EqualityDeleteIndex} by eq delete
    */
   private boolean filterEqDelete() {
     long eqDeleteRecordCnt =
@@ -172,10 +186,48 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
     return filterEqDelete;
   }
 
+  /**
+   * Whether to apply eq deletes by sort-merge, used if the decoded size of eq deletes, estimated by
+   * the record count, exceeds the max in-memory size and all columns can be encoded by {@link
+   * BinaryStructLikeSerializer}. The size of eq delete files is not used, as they are compressed.
+   */
+  private boolean sortMergeEqDelete(Schema tableSchema) {
+    Long maxInMemorySizeInBytes = structLikeCollections.maxInMemorySizeInBytes();
+    if (eqDeletes.isEmpty() || maxInMemorySizeInBytes == null || maxInMemorySizeInBytes <= 0) {
+      return false;
+    }
+    long eqDeleteRecordCnt = eqDeletes.stream().mapToLong(ContentFile::recordCount).sum();
+    long estimatedEntrySize = ExternalMergeSorter.estimatedEntrySize(deleteSchema.asStruct());
+    return eqDeleteRecordCnt > maxInMemorySizeInBytes / estimatedEntrySize
+        && BinaryStructLikeSerializer.supports(tableSchema.asStruct());
+  }
+
+  @VisibleForTesting
+  public boolean isSortMergeEqDelete() {
+    return sortMergeEqDelete;
+  }
+
+  /** Whether equality deletes are indexed by a primitive off-heap index, valid after filtering. */
+  @VisibleForTesting
+  public boolean isPrimitiveEqDeleteIndex() {
+    return primitiveEqDeleteIndex;
+  }
+
+  /**
+   * Set the number of reads running concurrently on this filter, the in-memory size of the data
+   * sorted by each read is split evenly between them.
+   */
+  public void setConcurrentReads(int concurrentReads) {
+    this.concurrentReads = Math.max(1, concurrentReads);
+  }
+
   protected abstract InputFile getInputFile(String location);
 
   protected abstract ArcticFileIO getArcticFileIo();
 
+  /** Convert a row read back from the sort-merge spill files, which is a generic record. */
+  protected abstract T restoreSortedRow(Record row);
+
   public Set<Integer> deleteIds() {
     return deleteIds;
   }
@@ -194,15 +246,25 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
       LOG.error("", e);
     }
     eqPredicate = null;
+    if (eqDeleteSorter != null) {
+      eqDeleteSorter.close();
+      eqDeleteSorter = null;
+    }
   }
 
   public CloseableIterable<StructForDelete<T>> filter(
       CloseableIterable<StructForDelete<T>> records) {
+    if (sortMergeEqDelete) {
+      return sortMergeEqDeletes(applyPosDeletes(records), record -> false, false);
+    }
     return applyEqDeletes(applyPosDeletes(records));
   }
 
   public CloseableIterable<StructForDelete<T>> filterNegate(
       CloseableIterable<StructForDelete<T>> records) {
+    if (sortMergeEqDelete) {
+      return sortMergeEqDeletes(records, applyPosDeletes(), true);
+    }
     Predicate<StructForDelete<T>> inEq = applyEqDeletes();
     Predicate<StructForDelete<T>> inPos = applyPosDeletes();
     Predicate<StructForDelete<T>> or = inEq.or(inPos);
@@ -217,7 +279,7 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
     return remainingRowsFilter.filter(records);
   }
 
-  private Predicate<StructForDelete<T>> applyEqDeletes() {
+  private synchronized Predicate<StructForDelete<T>> applyEqDeletes() {
     if (eqPredicate != null) {
       return eqPredicate;
     }
@@ -226,6 +288,32 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
       return record -> false;
     }
 
+    long eqDeleteRecordCnt = eqDeletes.stream().mapToLong(ContentFile::recordCount).sum();
+    EqualityDeleteIndex deleteIndex =
+        EqualityDeleteIndex.create(
+            deleteSchema.asStruct(),
+            filterEqDelete ? Math.min(eqDeleteRecordCnt, dataRecordCnt) : eqDeleteRecordCnt,
+            structLikeCollections);
+
+    // init index
+    forEachEqDelete(deleteIndex::delete);
+    this.primitiveEqDeleteIndex = deleteIndex.isPrimitive();
+
+    Predicate<StructForDelete<T>> isInDeleteSet =
+        structForDelete ->
+            deleteIndex.isDeleted(structForDelete.reusedPk(), structForDelete.getLsn());
+
+    CloseablePredicate<StructForDelete<T>> closeablePredicate =
+        new CloseablePredicate<>(isInDeleteSet, deleteIndex);
+    this.eqPredicate = closeablePredicate;
+    return isInDeleteSet;
+  }
+
+  /**
+   * Call the consumer with each eq delete record and the data sequence number of its file, records
+   * are reused. Deletes that match no data are skipped by a {@link BloomFilter} if enabled.
+   */
+  private void forEachEqDelete(BiConsumer<Record, Long> consumer) {
     InternalRecordWrapper internalRecordWrapper =
         new InternalRecordWrapper(deleteSchema.asStruct());
 
@@ -243,66 +331,90 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
                       Arrays.stream(input.dataFiles()).collect(Collectors.toList())),
                   s -> openFile(s, deleteSchema)))) {
         for (Record record : deletes) {
-          StructLike identifier = internalRecordWrapper.copyFor(record);
-          bloomFilter.put(identifier);
+          bloomFilter.put(internalRecordWrapper.wrap(record));
         }
       } catch (IOException e) {
         throw new RuntimeException(e);
       }
     }
 
-    CloseableIterable<RecordWithLsn> deleteRecords =
-        CloseableIterable.transform(
-            CloseableIterable.concat(
-                Iterables.transform(
-                    eqDeletes,
-                    s ->
-                        CloseableIterable.transform(
-                            openFile(s, deleteSchema),
-                            r -> new RecordWithLsn(s.dataSequenceNumber(), r)))),
-            RecordWithLsn::recordCopy);
-
-    StructLikeBaseMap<Long> structLikeMap =
-        structLikeCollections.createStructLikeMap(deleteSchema.asStruct());
-
-    // init map
-    try (CloseableIterable<RecordWithLsn> deletes = deleteRecords) {
-      Iterator<RecordWithLsn> it =
-          getArcticFileIo() == null
-              ? deletes.iterator()
-              : getArcticFileIo().doAs(deletes::iterator);
-      while (it.hasNext()) {
-        RecordWithLsn recordWithLsn = it.next();
-        StructLike deletePK = internalRecordWrapper.copyFor(recordWithLsn.getRecord());
-        if (filterEqDelete && !bloomFilter.mightContain(deletePK)) {
-          continue;
-        }
-        Long lsn = recordWithLsn.getLsn();
-        Long old = structLikeMap.get(deletePK);
-        if (old == null || old.compareTo(lsn) <= 0) {
-          structLikeMap.put(deletePK, lsn);
+    for (DeleteFile eqDelete : eqDeletes) {
+      long sequenceNumber = eqDelete.dataSequenceNumber();
+      try (CloseableIterable<Record> deletes = openFile(eqDelete, deleteSchema)) {
+        Iterator<Record> it =
+            getArcticFileIo() == null
+                ? deletes.iterator()
+                : getArcticFileIo().doAs(deletes::iterator);
+        while (it.hasNext()) {
+          Record deleteRecord = it.next();
+          if (filterEqDelete
+              && !bloomFilter.mightContain(internalRecordWrapper.wrap(deleteRecord))) {
+            continue;
+          }
+          consumer.accept(deleteRecord, sequenceNumber);
         }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
       }
-    } catch (IOException e) {
-      throw new RuntimeException(e);
     }
+  }
 
-    Predicate<StructForDelete<T>> isInDeleteSet =
-        structForDelete -> {
-          StructLike dataPk = internalRecordWrapper.copyFor(structForDelete.getPk());
-          Long dataLSN = structForDelete.getLsn();
-          Long deleteLsn = structLikeMap.get(dataPk);
-          if (deleteLsn == null) {
-            return false;
-          }
+  /** Max in-memory size to sort eq deletes, half of the max in-memory size. */
+  private long eqDeleteSortSize() {
+    return structLikeCollections.maxInMemorySizeInBytes() / 2;
+  }
 
-          return deleteLsn.compareTo(dataLSN) > 0;
-        };
+  /** Max in-memory size to sort data of a read, the other half shared by the concurrent reads. */
+  private long dataSortSize() {
+    return (structLikeCollections.maxInMemorySizeInBytes() - eqDeleteSortSize()) / concurrentReads;
+  }
 
-    CloseablePredicate<StructForDelete<T>> closeablePredicate =
-        new CloseablePredicate<>(isInDeleteSet, structLikeMap);
-    this.eqPredicate = closeablePredicate;
-    return isInDeleteSet;
+  /** Eq deletes sorted by the encoded key, sorted once and shared by all reads. */
+  private synchronized ExternalMergeSorter eqDeleteSorter() {
+    if (eqDeleteSorter == null) {
+      Types.StructType deleteType = deleteSchema.asStruct();
+      ExternalMergeSorter sorter =
+          new ExternalMergeSorter(eqDeleteSortSize(), structLikeCollections.backendBaseDir());
+      try {
+        forEachEqDelete(
+            (deleteRecord, sequenceNumber) ->
+                sorter.add(
+                    BinaryStructLikeSerializer.serialize(deleteType, deleteRecord),
+                    sequenceNumber,
+                    null));
+      } catch (RuntimeException e) {
+        sorter.close();
+        throw e;
+      }
+      LOG.info("Sorted eq deletes for sort-merge with {} spilled runs", sorter.spilledRuns());
+      this.eqDeleteSorter = sorter;
+    }
+    return eqDeleteSorter;
+  }
+
+  /**
+   * Apply eq deletes by sort-merge.
+   *
+   * @param records rows to filter
+   * @param otherDeleted predicate of rows deleted by other deletes than eq deletes
+   * @param keepDeleted keep the deleted rows if true, else the remaining rows
+   */
+  private CloseableIterable<StructForDelete<T>> sortMergeEqDeletes(
+      CloseableIterable<StructForDelete<T>> records,
+      Predicate<StructForDelete<T>> otherDeleted,
+      boolean keepDeleted) {
+    ExternalMergeSorter deletes = eqDeleteSorter();
+    return new CloseableIterable<StructForDelete<T>>() {
+      @Override
+      public CloseableIterator<StructForDelete<T>> iterator() {
+        return new SortMergeIterator(records, deletes, otherDeleted, keepDeleted);
+      }
+
+      @Override
+      public void close() throws IOException {
+        records.close();
+      }
+    };
   }
 
   private CloseableIterable<StructForDelete<T>> applyEqDeletes(
@@ -334,7 +446,7 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
     return applyPosDeletesBase(records, applyPosDeletes().negate());
   }
 
-  private Predicate<StructForDelete<T>> applyPosDeletes() {
+  private synchronized Predicate<StructForDelete<T>> applyPosDeletes() {
 
     if (posDeletes.isEmpty()) {
       return record -> false;
@@ -382,6 +494,117 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
     return filter.filter(records);
   }
 
+  /**
+   * Sort the rows by primary key into local spill files, then merge them with the sorted eq
+   * deletes.
+   */
+  private class SortMergeIterator implements CloseableIterator<StructForDelete<T>> {
+    private final Types.StructType deleteType = deleteSchema.asStruct();
+    private final Predicate<StructForDelete<T>> otherDeleted;
+    private final boolean keepDeleted;
+    private final ExternalMergeSorter dataSorter;
+    private final CloseableIterator<ExternalMergeSorter.Entry> data;
+    private final CloseableIterator<ExternalMergeSorter.Entry> deletes;
+    private Types.StructType dataType;
+    private StructForDelete<T> structForDelete;
+    private ExternalMergeSorter.Entry pendingDelete;
+    private ExternalMergeSorter.Entry delete;
+    private StructForDelete<T> next;
+
+    SortMergeIterator(
+        CloseableIterable<StructForDelete<T>> records,
+        ExternalMergeSorter eqDeleteSorter,
+        Predicate<StructForDelete<T>> otherDeleted,
+        boolean keepDeleted) {
+      this.otherDeleted = otherDeleted;
+      this.keepDeleted = keepDeleted;
+      this.dataSorter =
+          new ExternalMergeSorter(dataSortSize(), structLikeCollections.backendBaseDir());
+      try (CloseableIterator<StructForDelete<T>> rows = records.iterator()) {
+        while (rows.hasNext()) {
+          StructForDelete<T> row = rows.next();
+          if (dataType == null) {
+            this.dataType = row.schema().asStruct();
+            this.structForDelete = new StructForDelete<>(row.schema(), deleteIds);
+          }
+          dataSorter.add(
+              BinaryStructLikeSerializer.serialize(deleteType, row.reusedPk()),
+              row.getLsn(),
+              BinaryStructLikeSerializer.serialize(dataType, row.recover()));
+        }
+      } catch (IOException e) {
+        dataSorter.close();
+        throw new UncheckedIOException(e);
+      } catch (RuntimeException e) {
+        dataSorter.close();
+        throw e;
+      }
+      this.data = dataSorter.sorted();
+      this.deletes = eqDeleteSorter.sorted();
+      this.pendingDelete = deletes.hasNext() ? deletes.next() : null;
+      this.delete = nextDistinctDelete();
+    }
+
+    /** The next delete of a distinct key, with the largest sequence number of the key. */
+    private ExternalMergeSorter.Entry nextDistinctDelete() {
+      ExternalMergeSorter.Entry current = pendingDelete;
+      if (current == null) {
+        return null;
+      }
+      pendingDelete = deletes.hasNext() ? deletes.next() : null;
+      while (pendingDelete != null
+          && ExternalMergeSorter.compareKeys(pendingDelete.key(), current.key()) == 0) {
+        current = pendingDelete;
+        pendingDelete = deletes.hasNext() ? deletes.next() : null;
+      }
+      return current;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (next == null && data.hasNext()) {
+        ExternalMergeSorter.Entry row = data.next();
+        while (delete != null && ExternalMergeSorter.compareKeys(delete.key(), row.key()) < 0) {
+          delete = nextDistinctDelete();
+        }
+        boolean eqDeleted =
+            delete != null
+                && ExternalMergeSorter.compareKeys(delete.key(), row.key()) == 0
+                && delete.sequence() > row.sequence();
+        if (eqDeleted && !keepDeleted) {
+          continue;
+        }
+        structForDelete.wrap(
+            restoreSortedRow(
+                BinaryStructLikeSerializer.deserializeRecord(dataType, row.payload())));
+        if ((eqDeleted || otherDeleted.test(structForDelete)) == keepDeleted) {
+          next = structForDelete;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public StructForDelete<T> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      StructForDelete<T> current = next;
+      next = null;
+      return current;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        data.close();
+        deletes.close();
+      } finally {
+        dataSorter.close();
+      }
+    }
+  }
+
   private CloseableIterable<Record> openPosDeletes(DeleteFile file) {
     return openFile(file, POS_DELETE_SCHEMA);
   }
@@ -418,27 +641,4 @@ public abstract class CombinedDeleteFilter<T extends StructLike> {
                 contentFile.format().name(), contentFile.path()));
     }
   }
-
-  static class RecordWithLsn {
-    private final Long lsn;
-    private Record record;
-
-    public RecordWithLsn(Long lsn, Record record) {
-      this.lsn = lsn;
-      this.record = record;
-    }
-
-    public Long getLsn() {
-      return lsn;
-    }
-
-    public Record getRecord() {
-      return record;
-    }
-
-    public RecordWithLsn recordCopy() {
-      record = record.copy();
-      return this;
-    }
-  }
 }
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.io.reader;
+
+import com.netease.arctic.utils.map.LongSequenceMap;
+import com.netease.arctic.utils.map.StringSequenceMap;
+import com.netease.arctic.utils.map.StructLikeBaseMap;
+import com.netease.arctic.utils.map.StructLikeCollections;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.InternalRecordWrapper;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Index from equality delete keys to the largest sequence number of the deletes of the key.
+ *
+ * <p>Single-column integer, long and string keys are indexed in off-heap primitive hash maps
+ * without allocating objects per key, other keys fall back to the {@link StructLikeBaseMap} created
+ * by {@link StructLikeCollections}.
+ */
+abstract class EqualityDeleteIndex implements Closeable {
+
+  static EqualityDeleteIndex create(
+      Types.StructType deleteType, long expectedSize, StructLikeCollections structLikeCollections) {
+    if (deleteType.fields().size() == 1) {
+      Type.TypeID typeId = deleteType.fields().get(0).type().typeId();
+      if (typeId == Type.TypeID.LONG || typeId == Type.TypeID.INTEGER) {
+        return new LongKeyIndex(expectedSize);
+      } else if (typeId == Type.TypeID.STRING) {
+        return new StringKeyIndex(expectedSize);
+      }
+    }
+    return new StructLikeIndex(deleteType, structLikeCollections);
+  }
+
+  /**
+   * Add a delete of the key. The record may be reused by the caller after this call.
+   *
+   * @param deleteRecord record with the equality delete columns only
+   * @param sequenceNumber data sequence number of the delete file
+   */
+  abstract void delete(Record deleteRecord, long sequenceNumber);
+
+  /** Whether the row with the key and the sequence number is deleted by a newer delete. */
+  abstract boolean isDeleted(StructLike key, long sequenceNumber);
+
+  /** Whether keys are kept in a primitive index. */
+  abstract boolean isPrimitive();
+
+  /** Keys of integer and long columns, both widened to long. */
+  private static class LongKeyIndex extends EqualityDeleteIndex {
+    private final LongSequenceMap map;
+    private long nullKeySequence = LongSequenceMap.NO_SEQUENCE;
+
+    LongKeyIndex(long expectedSize) {
+      this.map = new LongSequenceMap(expectedSize);
+    }
+
+    @Override
+    void delete(Record deleteRecord, long sequenceNumber) {
+      Number key = deleteRecord.get(0, Number.class);
+      if (key == null) {
+        nullKeySequence = Math.max(nullKeySequence, sequenceNumber);
+      } else {
+        map.putMax(key.longValue(), sequenceNumber);
+      }
+    }
+
+    @Override
+    boolean isDeleted(StructLike key, long sequenceNumber) {
+      Number value = key.get(0, Number.class);
+      long deleteSequence = value == null ? nullKeySequence : map.get(value.longValue());
+      return deleteSequence != LongSequenceMap.NO_SEQUENCE && deleteSequence > sequenceNumber;
+    }
+
+    @Override
+    boolean isPrimitive() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+      map.close();
+    }
+  }
+
+  private static class StringKeyIndex extends EqualityDeleteIndex {
+    private final StringSequenceMap map;
+    private long nullKeySequence = StringSequenceMap.NO_SEQUENCE;
+
+    StringKeyIndex(long expectedSize) {
+      this.map = new StringSequenceMap(expectedSize);
+    }
+
+    @Override
+    void delete(Record deleteRecord, long sequenceNumber) {
+      CharSequence key = deleteRecord.get(0, CharSequence.class);
+      if (key == null) {
+        nullKeySequence = Math.max(nullKeySequence, sequenceNumber);
+      } else {
+        map.putMax(key, sequenceNumber);
+      }
+    }
+
+    @Override
+    boolean isDeleted(StructLike key, long sequenceNumber) {
+      CharSequence value = key.get(0, CharSequence.class);
+      long deleteSequence = value == null ? nullKeySequence : map.get(value);
+      return deleteSequence != StringSequenceMap.NO_SEQUENCE && deleteSequence > sequenceNumber;
+    }
+
+    @Override
+    boolean isPrimitive() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+      map.close();
+    }
+  }
+
+  private static class StructLikeIndex extends EqualityDeleteIndex {
+    private final InternalRecordWrapper internalRecordWrapper;
+    private final StructLikeBaseMap<Long> map;
+
+    StructLikeIndex(Types.StructType deleteType, StructLikeCollections structLikeCollections) {
+      this.internalRecordWrapper = new InternalRecordWrapper(deleteType);
+      this.map = structLikeCollections.createStructLikeMap(deleteType);
+    }
+
+    @Override
+    void delete(Record deleteRecord, long sequenceNumber) {
+      StructLike deleteKey = internalRecordWrapper.copyFor(deleteRecord.copy());
+      Long old = map.get(deleteKey);
+      if (old == null || old.compareTo(sequenceNumber) <= 0) {
+        map.put(deleteKey, sequenceNumber);
+      }
+    }
+
+    @Override
+    boolean isDeleted(StructLike key, long sequenceNumber) {
+      Long deleteSequence = map.get(internalRecordWrapper.copyFor(key));
+      if (deleteSequence == null) {
+        return false;
+      }
+      return deleteSequence.compareTo(sequenceNumber) > 0;
+    }
+
+    @Override
+    boolean isPrimitive() {
+      return false;
+    }
+
+    @Override
+    public void close() throws IOException {
+      map.close();
+    }
+  }
+}
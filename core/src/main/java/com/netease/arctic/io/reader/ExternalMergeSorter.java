@@ -0,0 +1,362 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.io.reader;
+
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.primitives.UnsignedBytes;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * External sort of entries by binary key in unsigned lexicographic order, then by sequence number.
+ *
+ * <p>Entries are buffered in memory until the buffered size exceeds the limit, then the buffer is
+ * sorted and spilled to a run file in the local spill directory. {@link #sorted()} merges the runs
+ * and can be called repeatedly, run files are deleted on {@link #close()}.
+ *
+ * <p>At most a bounded number of runs are opened at once, each with an I/O buffer. If more runs
+ * are spilled, they are merged into larger runs in passes of that fan-in first.
+ */
+class ExternalMergeSorter implements Closeable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ExternalMergeSorter.class);
+
+  private static final int ENTRY_OVERHEAD_BYTES = 64;
+  private static final int IO_BUFFER_SIZE = 64 * 1024;
+  private static final int DEFAULT_MAX_MERGE_FAN_IN = 64;
+  private static final int ESTIMATED_VARIABLE_VALUE_SIZE = 32;
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+  static final Comparator<Entry> ENTRY_COMPARATOR =
+      Comparator.<Entry, byte[]>comparing(Entry::key, KEY_COMPARATOR)
+          .thenComparingLong(Entry::sequence);
+
+  private final long maxInMemorySizeInBytes;
+  private final File spillDir;
+  private final int maxMergeFanIn;
+  private final List<File> runs = Lists.newArrayList();
+  private List<Entry> buffer = Lists.newArrayList();
+  private long bufferedBytes = 0;
+  private boolean finished = false;
+
+  ExternalMergeSorter(long maxInMemorySizeInBytes, @Nullable String spillDir) {
+    this(maxInMemorySizeInBytes, spillDir, DEFAULT_MAX_MERGE_FAN_IN);
+  }
+
+  ExternalMergeSorter(long maxInMemorySizeInBytes, @Nullable String spillDir, int maxMergeFanIn) {
+    Preconditions.checkArgument(maxMergeFanIn >= 2, "Merge fan-in should be at least 2");
+    this.maxInMemorySizeInBytes = maxInMemorySizeInBytes;
+    this.spillDir = new File(spillDir == null ? System.getProperty("java.io.tmpdir") : spillDir);
+    this.maxMergeFanIn = maxMergeFanIn;
+  }
+
+  /** Estimated in-memory size of an entry with a key of the type and no payload. */
+  static long estimatedEntrySize(Types.StructType keyType) {
+    long size = ENTRY_OVERHEAD_BYTES;
+    for (Types.NestedField field : keyType.fields()) {
+      // a null flag, then the value
+      size += 1 + estimatedValueSize(field.type());
+    }
+    return size;
+  }
+
+  private static int estimatedValueSize(Type type) {
+    switch (type.typeId()) {
+      case BOOLEAN:
+        return 1;
+      case INTEGER:
+      case FLOAT:
+      case DATE:
+        return 4;
+      case LONG:
+      case DOUBLE:
+      case TIME:
+      case TIMESTAMP:
+        return 8;
+      case UUID:
+      case DECIMAL:
+        return 16;
+      case FIXED:
+        return ((Types.FixedType) type).length();
+      default:
+        // variable-length values, escaped and terminated
+        return ESTIMATED_VARIABLE_VALUE_SIZE;
+    }
+  }
+
+  static int compareKeys(byte[] left, byte[] right) {
+    return KEY_COMPARATOR.compare(left, right);
+  }
+
+  void add(byte[] key, long sequence, @Nullable byte[] payload) {
+    Preconditions.checkState(!finished, "Cannot add entries after sorting");
+    buffer.add(new Entry(key, sequence, payload));
+    bufferedBytes += key.length + (payload == null ? 0 : payload.length) + ENTRY_OVERHEAD_BYTES;
+    if (bufferedBytes > maxInMemorySizeInBytes) {
+      spill();
+    }
+  }
+
+  /** Number of sorted run files on disk, including the runs merged from spilled runs. */
+  int spilledRuns() {
+    return runs.size();
+  }
+
+  /**
+   * Iterate all added entries in order, no entries can be added afterwards. Iterators can be used
+   * concurrently.
+   */
+  synchronized CloseableIterator<Entry> sorted() {
+    if (!finished) {
+      finished = true;
+      if (runs.isEmpty()) {
+        buffer.sort(ENTRY_COMPARATOR);
+      } else if (!buffer.isEmpty()) {
+        spill();
+      }
+      mergeRuns();
+    }
+    if (runs.isEmpty()) {
+      return CloseableIterator.withClose(buffer.iterator());
+    }
+    return new MergeIterator(runs);
+  }
+
+  private void spill() {
+    buffer.sort(ENTRY_COMPARATOR);
+    File run;
+    try {
+      run = newRun();
+      try (DataOutputStream out = openRun(run)) {
+        for (Entry entry : buffer) {
+          writeEntry(out, entry);
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to spill sorted run", e);
+    }
+    LOG.debug("Spilled {} entries of {} bytes to {}", buffer.size(), bufferedBytes, run);
+    buffer = Lists.newArrayList();
+    bufferedBytes = 0;
+  }
+
+  /** Merge the oldest runs into a new run until the runs can be merged at once. */
+  private void mergeRuns() {
+    while (runs.size() > maxMergeFanIn) {
+      List<File> merging = Lists.newArrayList(runs.subList(0, maxMergeFanIn));
+      File merged;
+      try {
+        merged = newRun();
+        try (MergeIterator entries = new MergeIterator(merging);
+            DataOutputStream out = openRun(merged)) {
+          while (entries.hasNext()) {
+            writeEntry(out, entries.next());
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to merge sorted runs", e);
+      }
+      runs.subList(0, maxMergeFanIn).clear();
+      merging.forEach(ExternalMergeSorter::deleteRun);
+      LOG.debug("Merged {} sorted runs to {}", merging.size(), merged);
+    }
+  }
+
+  /** Create a run file, which is deleted on {@link #close()}. */
+  private File newRun() throws IOException {
+    if (!spillDir.exists() && !spillDir.mkdirs() && !spillDir.exists()) {
+      throw new IOException("Failed to create spill directory " + spillDir);
+    }
+    File run = File.createTempFile("sort-merge-", ".run", spillDir);
+    runs.add(run);
+    return run;
+  }
+
+  private static DataOutputStream openRun(File run) throws IOException {
+    return new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(run), IO_BUFFER_SIZE));
+  }
+
+  private static void writeEntry(DataOutputStream out, Entry entry) throws IOException {
+    out.writeInt(entry.key.length);
+    out.write(entry.key);
+    out.writeLong(entry.sequence);
+    if (entry.payload == null) {
+      out.writeInt(-1);
+    } else {
+      out.writeInt(entry.payload.length);
+      out.write(entry.payload);
+    }
+  }
+
+  private static void deleteRun(File run) {
+    if (!run.delete() && run.exists()) {
+      LOG.warn("Failed to delete sorted run {}", run);
+    }
+  }
+
+  @Override
+  public void close() {
+    buffer = Lists.newArrayList();
+    bufferedBytes = 0;
+    runs.forEach(ExternalMergeSorter::deleteRun);
+    runs.clear();
+  }
+
+  static class Entry {
+    private final byte[] key;
+    private final long sequence;
+    private final byte[] payload;
+
+    Entry(byte[] key, long sequence, byte[] payload) {
+      this.key = key;
+      this.sequence = sequence;
+      this.payload = payload;
+    }
+
+    byte[] key() {
+      return key;
+    }
+
+    long sequence() {
+      return sequence;
+    }
+
+    byte[] payload() {
+      return payload;
+    }
+  }
+
+  private static class RunReader implements Closeable {
+    private final DataInputStream in;
+    private Entry current;
+
+    RunReader(File run) throws IOException {
+      this.in =
+          new DataInputStream(new BufferedInputStream(new FileInputStream(run), IO_BUFFER_SIZE));
+      advance();
+    }
+
+    void advance() throws IOException {
+      int keyLength;
+      try {
+        keyLength = in.readInt();
+      } catch (EOFException e) {
+        current = null;
+        return;
+      }
+      byte[] key = new byte[keyLength];
+      in.readFully(key);
+      long sequence = in.readLong();
+      int payloadLength = in.readInt();
+      byte[] payload = null;
+      if (payloadLength >= 0) {
+        payload = new byte[payloadLength];
+        in.readFully(payload);
+      }
+      current = new Entry(key, sequence, payload);
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+  }
+
+  private static class MergeIterator implements CloseableIterator<Entry> {
+    private final List<RunReader> readers = Lists.newArrayList();
+    private final PriorityQueue<RunReader> queue =
+        new PriorityQueue<>(Comparator.comparing(reader -> reader.current, ENTRY_COMPARATOR));
+
+    MergeIterator(List<File> runs) {
+      try {
+        for (File run : runs) {
+          RunReader reader = new RunReader(run);
+          readers.add(reader);
+          if (reader.current != null) {
+            queue.add(reader);
+          }
+        }
+      } catch (IOException e) {
+        close();
+        throw new UncheckedIOException("Failed to open sorted runs", e);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !queue.isEmpty();
+    }
+
+    @Override
+    public Entry next() {
+      RunReader reader = queue.poll();
+      if (reader == null) {
+        throw new NoSuchElementException();
+      }
+      Entry entry = reader.current;
+      try {
+        reader.advance();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Failed to read sorted run", e);
+      }
+      if (reader.current != null) {
+        queue.add(reader);
+      }
+      return entry;
+    }
+
+    @Override
+    public void close() {
+      Iterator<RunReader> iterator = readers.iterator();
+      while (iterator.hasNext()) {
+        try {
+          iterator.next().close();
+        } catch (IOException e) {
+          LOG.warn("Failed to close sorted run", e);
+        }
+        iterator.remove();
+      }
+      queue.clear();
+    }
+  }
+}
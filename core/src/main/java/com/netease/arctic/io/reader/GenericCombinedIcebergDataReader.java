@@ -96,6 +96,14 @@ public class GenericCombinedIcebergDataReader implements OptimizingDataReader {
     if (input.rewrittenDataFiles() == null) {
       return CloseableIterable.empty();
     }
+    return readData(Arrays.asList(input.rewrittenDataFiles()));
+  }
+
+  /**
+   * Read a part of the rewritten data files, deletes are loaded once and shared by all parts, so
+   * parts can be read concurrently.
+   */
+  public CloseableIterable<Record> readData(List<DataFile> dataFiles) {
     Schema requireSchema =
         fileProjection(
             tableSchema, tableSchema, deleteFilter.hasPosition(), deleteFilter.deleteIds());
@@ -103,9 +111,7 @@ public class GenericCombinedIcebergDataReader implements OptimizingDataReader {
     CloseableIterable<Record> concat =
         CloseableIterable.concat(
             CloseableIterable.transform(
-                CloseableIterable.withNoopClose(
-                    Arrays.stream(input.rewrittenDataFiles()).collect(Collectors.toList())),
-                s -> openFile(s, spec, requireSchema)));
+                CloseableIterable.withNoopClose(dataFiles), s -> openFile(s, spec, requireSchema)));
 
     StructForDelete<Record> structForDelete =
         new StructForDelete<>(requireSchema, deleteFilter.deleteIds());
@@ -118,12 +124,21 @@ public class GenericCombinedIcebergDataReader implements OptimizingDataReader {
     return iterable;
   }
 
+  /** Set the number of parts read concurrently, see {@link #readData(List)}. */
+  public void setConcurrentReads(int concurrentReads) {
+    deleteFilter.setConcurrentReads(concurrentReads);
+  }
+
   @Override
   public CloseableIterable<Record> readDeletedData() {
     if (input.rePosDeletedDataFiles() == null) {
       return CloseableIterable.empty();
     }
+    return readDeletedData(Arrays.asList(input.rePosDeletedDataFiles()));
+  }
 
+  /** Read the deleted rows of a part of the re-position-deleted data files. */
+  public CloseableIterable<Record> readDeletedData(List<DataFile> dataFiles) {
     Schema schema =
         new Schema(
             MetadataColumns.FILE_PATH,
@@ -135,9 +150,7 @@ public class GenericCombinedIcebergDataReader implements OptimizingDataReader {
     CloseableIterable<Record> concat =
         CloseableIterable.concat(
             CloseableIterable.transform(
-                CloseableIterable.withNoopClose(
-                    Arrays.stream(input.rePosDeletedDataFiles()).collect(Collectors.toList())),
-                s -> openFile(s, spec, requireSchema)));
+                CloseableIterable.withNoopClose(dataFiles), s -> openFile(s, spec, requireSchema)));
 
     StructForDelete<Record> structForDelete =
         new StructForDelete<>(requireSchema, deleteFilter.deleteIds());
@@ -304,5 +317,10 @@ public class GenericCombinedIcebergDataReader implements OptimizingDataReader {
     protected ArcticFileIO getArcticFileIo() {
       return fileIO;
     }
+
+    @Override
+    protected Record restoreSortedRow(Record row) {
+      return row;
+    }
   }
 }
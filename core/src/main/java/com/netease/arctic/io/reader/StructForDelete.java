@@ -31,6 +31,8 @@ public class StructForDelete<T extends StructLike> {
 
   private T structLike;
 
+  private final Schema schema;
+
   private final StructProjection pkProjection;
 
   private final Accessor<StructLike> posAccessor;
@@ -38,6 +40,7 @@ public class StructForDelete<T extends StructLike> {
   private final Accessor<StructLike> dataTransactionIdAccessor;
 
   public StructForDelete(Schema schema, Set<Integer> deleteIds) {
+    this.schema = schema;
     this.pkProjection = StructProjection.create(schema, TypeUtil.select(schema, deleteIds));
     this.dataTransactionIdAccessor =
         schema.accessorForField(com.netease.arctic.table.MetadataColumns.TRANSACTION_ID_FILED_ID);
@@ -54,6 +57,19 @@ public class StructForDelete<T extends StructLike> {
     return pkProjection.copyFor(structLike);
   }
 
+  /**
+   * Get the primary key without copying, the returned struct is reused and only valid until the
+   * next {@link #wrap(StructLike)}.
+   */
+  StructLike reusedPk() {
+    return pkProjection.wrap(structLike);
+  }
+
+  /** Schema of the wrapped rows. */
+  Schema schema() {
+    return schema;
+  }
+
   public Long getLsn() {
     return (Long) dataTransactionIdAccessor.get(structLike);
   }
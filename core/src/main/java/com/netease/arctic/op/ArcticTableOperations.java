@@ -35,6 +35,11 @@ public class ArcticTableOperations implements TableOperations {
     this.arcticFileIO = arcticFileIO;
   }
 
+  /** @return the wrapped table operations */
+  public TableOperations originalOperations() {
+    return ops;
+  }
+
   @Override
   public TableMetadata current() {
     return arcticFileIO.doAs(ops::current);
@@ -24,6 +24,7 @@ import static org.apache.iceberg.TableProperties.DELETE_DEFAULT_FILE_FORMAT;
 
 import com.netease.arctic.data.DataTreeNode;
 import com.netease.arctic.io.ArcticFileIO;
+import com.netease.arctic.io.reader.ClusteringRecordSorter;
 import com.netease.arctic.io.writer.SetTreeNode;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.utils.map.StructLikeCollections;
@@ -41,6 +42,7 @@ import org.apache.iceberg.data.GenericAppenderFactory;
 import org.apache.iceberg.data.Record;
 import org.apache.iceberg.deletes.PositionDelete;
 import org.apache.iceberg.encryption.EncryptionManager;
+import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.io.CloseableIterator;
 import org.apache.iceberg.io.DeleteWriteResult;
 import org.apache.iceberg.io.FileAppenderFactory;
@@ -53,6 +55,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -75,6 +78,10 @@ public abstract class AbstractRewriteFilesExecutor
 
   protected StructLikeCollections structLikeCollections;
 
+  protected ClusteringStrategy clusteringStrategy = ClusteringStrategy.NONE;
+
+  protected List<String> clusteringColumns = Collections.emptyList();
+
   public AbstractRewriteFilesExecutor(
       RewriteFilesInput input, ArcticTable table, StructLikeCollections structLikeCollections) {
     this.input = input;
@@ -86,6 +93,20 @@ public abstract class AbstractRewriteFilesExecutor
 
   protected abstract OptimizingDataReader dataReader();
 
+  /**
+   * Cluster the rewritten rows by the columns, rows are sorted by an external sort before being
+   * written.
+   */
+  public AbstractRewriteFilesExecutor clusterBy(ClusteringStrategy strategy, List<String> columns) {
+    this.clusteringStrategy = strategy;
+    this.clusteringColumns = columns;
+    return this;
+  }
+
+  protected boolean isClustering() {
+    return clusteringStrategy != ClusteringStrategy.NONE && !clusteringColumns.isEmpty();
+  }
+
   protected abstract FileWriter<PositionDelete<Record>, DeleteWriteResult> posWriter();
 
   protected abstract TaskWriter<Record> dataWriter();
@@ -116,10 +137,16 @@ public abstract class AbstractRewriteFilesExecutor
         dataFiles.toArray(new DataFile[0]), deleteFiles.toArray(new DeleteFile[0]), summary);
   }
 
-  private List<DeleteFile> equalityToPosition() throws Exception {
+  protected List<DeleteFile> equalityToPosition() throws Exception {
+    return equalityToPosition(dataReader.readDeletedData());
+  }
+
+  /** Write position deletes of the deleted rows by a new position delete writer. */
+  protected List<DeleteFile> equalityToPosition(CloseableIterable<Record> deletedRecords)
+      throws Exception {
     FileWriter<PositionDelete<Record>, DeleteWriteResult> posDeleteWriter = posWriter();
 
-    try (CloseableIterator<Record> iterator = dataReader.readDeletedData().iterator()) {
+    try (CloseableIterator<Record> iterator = deletedRecords.iterator()) {
       PositionDelete<Record> positionDelete = PositionDelete.create();
       while (iterator.hasNext()) {
         Record record = iterator.next();
@@ -141,11 +168,21 @@ public abstract class AbstractRewriteFilesExecutor
     return posDeleteWriter.result().deleteFiles();
   }
 
-  private List<DataFile> rewriterDataFiles() throws Exception {
+  protected List<DataFile> rewriterDataFiles() throws Exception {
+    return rewriterDataFiles(dataReader.readData());
+  }
+
+  /** Write the rows to new data files by a new data writer, sorted first if clustering. */
+  protected List<DataFile> rewriterDataFiles(CloseableIterable<Record> data) throws Exception {
     List<DataFile> result = Lists.newArrayList();
     TaskWriter<Record> writer = dataWriter();
 
-    try (CloseableIterator<Record> records = dataReader.readData().iterator()) {
+    try (CloseableIterator<Record> records =
+        isClustering()
+            ? new ClusteringRecordSorter(
+                    clusteringStrategy, clusteringColumns, structLikeCollections)
+                .sort(data.iterator())
+            : data.iterator()) {
       while (records.hasNext()) {
         Record record = records.next();
         writer.write(record);
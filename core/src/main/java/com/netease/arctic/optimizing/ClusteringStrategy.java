@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizing;
+
+import org.apache.commons.lang3.StringUtils;
+
+/** Strategies to cluster rows by the clustering columns when rewriting data files. */
+public enum ClusteringStrategy {
+  /** Not clustering. */
+  NONE("none"),
+  /** Sort rows by the clustering columns in order. */
+  LINEAR("linear"),
+  /** Sort rows by the Z-order curve of the clustering columns. */
+  ZORDER("zorder"),
+  /** Sort rows by the Hilbert curve of the clustering columns. */
+  HILBERT("hilbert");
+
+  private final String desc;
+
+  ClusteringStrategy(String desc) {
+    this.desc = desc;
+  }
+
+  public String getDesc() {
+    return desc;
+  }
+
+  /**
+   * Get ClusteringStrategy from desc ignore case.
+   *
+   * @param desc - desc of ClusteringStrategy
+   * @return ClusteringStrategy
+   */
+  public static ClusteringStrategy valueOfDesc(String desc) {
+    for (ClusteringStrategy value : ClusteringStrategy.values()) {
+      if (StringUtils.equalsIgnoreCase(value.getDesc(), desc)) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("unknown ClusteringStrategy " + desc);
+  }
+}
@@ -23,6 +23,8 @@ import com.netease.arctic.io.writer.GenericIcebergPartitionedFanoutWriter;
 import com.netease.arctic.io.writer.IcebergFanoutPosDeleteWriter;
 import com.netease.arctic.table.ArcticTable;
 import com.netease.arctic.utils.map.StructLikeCollections;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.PartitionSpec;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.TableProperties;
@@ -35,15 +37,53 @@ import org.apache.iceberg.io.FileWriter;
 import org.apache.iceberg.io.OutputFileFactory;
 import org.apache.iceberg.io.TaskWriter;
 import org.apache.iceberg.io.UnpartitionedWriter;
+import org.apache.iceberg.relocated.com.google.common.annotations.VisibleForTesting;
+import org.apache.iceberg.relocated.com.google.common.base.Throwables;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Collectors;
 
-/** OptimizingExecutor for iceberg format. */
+/**
+ * OptimizingExecutor for iceberg format.
+ *
+ * <p>If the task parallel is greater than 1, data files of the task are split into ranges of
+ * similar size, which are read and written concurrently by a thread per range. All ranges share the
+ * deletes loaded by one {@link GenericCombinedIcebergDataReader} and split its in-memory budget for
+ * sorting, and the output files of all ranges are merged into one {@link RewriteFilesOutput}. Data
+ * files are not split if clustering, so that all rows of the task are sorted together.
+ */
 public class IcebergRewriteExecutor extends AbstractRewriteFilesExecutor {
 
+  private static final Logger LOG = LoggerFactory.getLogger(IcebergRewriteExecutor.class);
+
+  private final int taskParallel;
+
   public IcebergRewriteExecutor(
       RewriteFilesInput input, ArcticTable table, StructLikeCollections structLikeCollections) {
+    this(input, table, structLikeCollections, OptimizingInputProperties.TASK_PARALLEL_DEFAULT);
+  }
+
+  public IcebergRewriteExecutor(
+      RewriteFilesInput input,
+      ArcticTable table,
+      StructLikeCollections structLikeCollections,
+      int taskParallel) {
     super(input, table, structLikeCollections);
+    this.taskParallel = taskParallel;
   }
 
   // TODO We can remove this override method after upgrading Iceberg version to 1.5+.
@@ -107,6 +147,105 @@ public class IcebergRewriteExecutor extends AbstractRewriteFilesExecutor {
     }
   }
 
+  @Override
+  protected List<DeleteFile> equalityToPosition() throws Exception {
+    List<List<DataFile>> ranges = splitDataFiles(input.rePosDeletedDataFiles());
+    if (ranges.size() <= 1) {
+      return super.equalityToPosition();
+    }
+    return executeInParallel(
+        ranges, range -> equalityToPosition(combinedDataReader().readDeletedData(range)));
+  }
+
+  @Override
+  protected List<DataFile> rewriterDataFiles() throws Exception {
+    if (isClustering()) {
+      return super.rewriterDataFiles();
+    }
+    List<List<DataFile>> ranges = splitDataFiles(input.rewrittenDataFiles());
+    if (ranges.size() <= 1) {
+      return super.rewriterDataFiles();
+    }
+    return executeInParallel(
+        ranges, range -> rewriterDataFiles(combinedDataReader().readData(range)));
+  }
+
+  private GenericCombinedIcebergDataReader combinedDataReader() {
+    return (GenericCombinedIcebergDataReader) dataReader;
+  }
+
+  /** Split data files into at most task parallel ranges, balanced by file size. */
+  @VisibleForTesting
+  List<List<DataFile>> splitDataFiles(DataFile[] dataFiles) {
+    int rangeCount = Math.min(taskParallel, dataFiles.length);
+    if (rangeCount <= 1) {
+      return Collections.singletonList(Arrays.asList(dataFiles));
+    }
+    List<List<DataFile>> ranges = Lists.newArrayListWithCapacity(rangeCount);
+    long[] rangeSizes = new long[rangeCount];
+    PriorityQueue<Integer> smallestFirst =
+        new PriorityQueue<>(rangeCount, Comparator.comparingLong(range -> rangeSizes[range]));
+    for (int i = 0; i < rangeCount; i++) {
+      ranges.add(Lists.newArrayList());
+      smallestFirst.add(i);
+    }
+    DataFile[] largestFirst = dataFiles.clone();
+    Arrays.sort(largestFirst, Comparator.comparingLong(DataFile::fileSizeInBytes).reversed());
+    for (DataFile dataFile : largestFirst) {
+      int range = smallestFirst.poll();
+      ranges.get(range).add(dataFile);
+      rangeSizes[range] += dataFile.fileSizeInBytes();
+      smallestFirst.add(range);
+    }
+    return ranges;
+  }
+
+  private <T> List<T> executeInParallel(
+      List<List<DataFile>> ranges, RangeExecution<T> rangeExecution) throws Exception {
+    LOG.info("Execute {} ranges of task {} in parallel", ranges.size(), input);
+    // propagate the context class loader of the optimizer, which may load the table's file io and
+    // catalog classes, as pool threads do not inherit it
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    ThreadFactory threadFactory =
+        new ThreadFactoryBuilder()
+            .setDaemon(true)
+            .setNameFormat("rewrite-range-thread-%d")
+            .setThreadFactory(
+                runnable -> {
+                  Thread thread = Executors.defaultThreadFactory().newThread(runnable);
+                  thread.setContextClassLoader(contextClassLoader);
+                  return thread;
+                })
+            .build();
+    ExecutorService pool = Executors.newFixedThreadPool(ranges.size(), threadFactory);
+    combinedDataReader().setConcurrentReads(ranges.size());
+    try {
+      List<Future<List<T>>> tasks =
+          ranges.stream()
+              .map(range -> pool.submit(() -> io.doAs(() -> rangeExecution.execute(range))))
+              .collect(Collectors.toList());
+      List<T> results = Lists.newArrayList();
+      for (Future<List<T>> task : tasks) {
+        try {
+          results.addAll(task.get());
+        } catch (ExecutionException e) {
+          Throwables.throwIfInstanceOf(e.getCause(), Exception.class);
+          Throwables.throwIfUnchecked(e.getCause());
+          throw e;
+        }
+      }
+      return results;
+    } finally {
+      pool.shutdownNow();
+      combinedDataReader().setConcurrentReads(1);
+    }
+  }
+
+  @FunctionalInterface
+  private interface RangeExecution<T> {
+    List<T> execute(List<DataFile> range) throws Exception;
+  }
+
   private PartitionSpec fileSpec() {
     return table.asUnkeyedTable().specs().get(input.allFiles()[0].specId());
   }
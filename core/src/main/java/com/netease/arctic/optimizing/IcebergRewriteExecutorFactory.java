@@ -35,6 +35,11 @@ public class IcebergRewriteExecutorFactory implements OptimizingExecutorFactory<
   public OptimizingExecutor createExecutor(RewriteFilesInput input) {
     OptimizingInputProperties optimizingConfig = OptimizingInputProperties.parse(properties);
     return new IcebergRewriteExecutor(
-        input, input.getTable(), optimizingConfig.getStructLikeCollections());
+            input,
+            input.getTable(),
+            optimizingConfig.getStructLikeCollections(),
+            optimizingConfig.getTaskParallel())
+        .clusterBy(
+            optimizingConfig.getClusteringStrategy(), optimizingConfig.getClusteringColumns());
   }
 }
@@ -20,9 +20,12 @@ package com.netease.arctic.optimizing;
 
 import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.iceberg.relocated.com.google.common.base.Splitter;
 import org.apache.iceberg.relocated.com.google.common.collect.Maps;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class OptimizingInputProperties {
@@ -39,6 +42,14 @@ public class OptimizingInputProperties {
 
   public static final String TASK_EXECUTOR_FACTORY_IMPL = "task-executor-factory-impl";
 
+  public static final String TASK_PARALLEL = "task-parallel";
+
+  public static final int TASK_PARALLEL_DEFAULT = 1;
+
+  public static final String CLUSTERING_STRATEGY = "clustering-strategy";
+
+  public static final String CLUSTERING_COLUMNS = "clustering-columns";
+
   private final Map<String, String> properties;
 
   private OptimizingInputProperties(Map<String, String> properties) {
@@ -78,6 +89,17 @@ public class OptimizingInputProperties {
     return this;
   }
 
+  public OptimizingInputProperties setTaskParallel(int taskParallel) {
+    properties.put(TASK_PARALLEL, String.valueOf(taskParallel));
+    return this;
+  }
+
+  public OptimizingInputProperties setClustering(ClusteringStrategy strategy, String columns) {
+    properties.put(CLUSTERING_STRATEGY, strategy.getDesc());
+    properties.put(CLUSTERING_COLUMNS, columns);
+    return this;
+  }
+
   public OptimizingInputProperties needMoveFile2HiveLocation() {
     properties.put(MOVE_FILE_TO_HIVE_LOCATION, "true");
     return this;
@@ -103,6 +125,33 @@ public class OptimizingInputProperties {
     return properties.get(TASK_EXECUTOR_FACTORY_IMPL);
   }
 
+  /** Number of threads to execute a single task with, if the executor supports it. */
+  public int getTaskParallel() {
+    String s = properties.get(TASK_PARALLEL);
+    if (StringUtils.isBlank(s)) {
+      return TASK_PARALLEL_DEFAULT;
+    }
+    return Math.max(1, Integer.parseInt(s));
+  }
+
+  /** Strategy to cluster the rewritten rows with, {@link ClusteringStrategy#NONE} if not set. */
+  public ClusteringStrategy getClusteringStrategy() {
+    String s = properties.get(CLUSTERING_STRATEGY);
+    if (StringUtils.isBlank(s)) {
+      return ClusteringStrategy.NONE;
+    }
+    return ClusteringStrategy.valueOfDesc(s);
+  }
+
+  /** Columns to cluster the rewritten rows by. */
+  public List<String> getClusteringColumns() {
+    String s = properties.get(CLUSTERING_COLUMNS);
+    if (StringUtils.isBlank(s)) {
+      return Collections.emptyList();
+    }
+    return Splitter.on(',').trimResults().omitEmptyStrings().splitToList(s);
+  }
+
   public boolean getMoveFile2HiveLocation() {
     String s = properties.get(MOVE_FILE_TO_HIVE_LOCATION);
     if (StringUtils.isBlank(s)) {
@@ -0,0 +1,841 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizing;
+
+import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.DefaultKeyedFile;
+import com.netease.arctic.table.ArcticTable;
+import com.netease.arctic.utils.SerializationUtil;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileContent;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.IcebergContentFiles;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionData;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.ByteBuffers;
+import org.apache.iceberg.util.UUIDUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+/**
+ * Versioned binary codec of {@link RewriteFilesInput} and {@link RewriteFilesOutput}, used for task
+ * payloads sent to optimizers and task files persisted by AMS.
+ *
+ * <p>Metadata of data and delete files is written field by field in a fixed order. Directories of
+ * file paths, partition types, partition values, strings of options and summaries and tables are
+ * dictionary-encoded, the first occurrence is written inline and later ones refer to it by index.
+ * Payloads start with a magic header, other inputs and outputs are Java-serialized, and
+ * Java-serialized payloads written by earlier versions can still be read. For rolling upgrades,
+ * payloads can also be written Java-serialized for peers which do not read this format yet.
+ */
+@SuppressWarnings("unchecked")
+public class RewriteFilesCodec {
+
+  // never starts a Java serialization stream, which starts with 0xACED
+  private static final byte[] MAGIC = {'R', 'W', 'F', 'C'};
+  public static final int VERSION = 1;
+
+  private static final int KIND_INPUT = 1;
+  private static final int KIND_INPUTS = 2;
+  private static final int KIND_OUTPUT = 3;
+
+  private static final int ICEBERG_FILE = 0;
+  private static final int KEYED_FILE = 1;
+
+  private RewriteFilesCodec() {}
+
+  public static ByteBuffer serializeInput(TableOptimizing.OptimizingInput input) {
+    return serializeInput(input, false);
+  }
+
+  /**
+   * Serialize the input, Java-serialized if legacyFormat is set, for optimizers which can not read
+   * this format.
+   */
+  public static ByteBuffer serializeInput(
+      TableOptimizing.OptimizingInput input, boolean legacyFormat) {
+    if (input instanceof RewriteFilesInput && !legacyFormat) {
+      Writer writer = new Writer(KIND_INPUT);
+      writer.writeInput((RewriteFilesInput) input);
+      return ByteBuffer.wrap(writer.toByteArray());
+    }
+    return SerializationUtil.simpleSerialize(input);
+  }
+
+  public static <T extends TableOptimizing.OptimizingInput> T deserializeInput(byte[] bytes) {
+    if (!isEncoded(bytes)) {
+      return SerializationUtil.simpleDeserialize(bytes);
+    }
+    return (T) new Reader(bytes, KIND_INPUT).readInput();
+  }
+
+  /** Serialize inputs of all tasks of a process, with dictionaries shared by the inputs. */
+  public static byte[] serializeInputs(Map<Integer, RewriteFilesInput> inputs) {
+    Writer writer = new Writer(KIND_INPUTS);
+    writer.writeVarInt(inputs.size());
+    for (Map.Entry<Integer, RewriteFilesInput> entry : inputs.entrySet()) {
+      writer.writeVarInt(entry.getKey());
+      writer.writeInput(entry.getValue());
+    }
+    return writer.toByteArray();
+  }
+
+  public static Map<Integer, RewriteFilesInput> deserializeInputs(byte[] bytes) {
+    if (!isEncoded(bytes)) {
+      return SerializationUtil.simpleDeserialize(bytes);
+    }
+    Reader reader = new Reader(bytes, KIND_INPUTS);
+    int size = reader.readVarInt();
+    Map<Integer, RewriteFilesInput> inputs = Maps.newHashMapWithExpectedSize(size);
+    for (int i = 0; i < size; i++) {
+      int taskId = reader.readVarInt();
+      inputs.put(taskId, reader.readInput());
+    }
+    return inputs;
+  }
+
+  public static ByteBuffer serializeOutput(TableOptimizing.OptimizingOutput output) {
+    return serializeOutput(output, false);
+  }
+
+  /**
+   * Serialize the output, Java-serialized if legacyFormat is set, for AMS which can not read this
+   * format.
+   */
+  public static ByteBuffer serializeOutput(
+      TableOptimizing.OptimizingOutput output, boolean legacyFormat) {
+    if (output instanceof RewriteFilesOutput && !legacyFormat) {
+      Writer writer = new Writer(KIND_OUTPUT);
+      writer.writeOutput((RewriteFilesOutput) output);
+      return ByteBuffer.wrap(writer.toByteArray());
+    }
+    return SerializationUtil.simpleSerialize(output);
+  }
+
+  public static <T extends TableOptimizing.OptimizingOutput> T deserializeOutput(byte[] bytes) {
+    if (!isEncoded(bytes)) {
+      return SerializationUtil.simpleDeserialize(bytes);
+    }
+    return (T) new Reader(bytes, KIND_OUTPUT).readOutput();
+  }
+
+  /** Whether the payload is written in this format rather than Java-serialized. */
+  public static boolean isEncoded(byte[] bytes) {
+    if (bytes == null || bytes.length < MAGIC.length) {
+      return false;
+    }
+    for (int i = 0; i < MAGIC.length; i++) {
+      if (bytes[i] != MAGIC[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static class Writer {
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final Map<String, Integer> strings = Maps.newHashMap();
+    private final Map<Types.StructType, Integer> partitionTypes = Maps.newHashMap();
+    private final Map<StructLike, Integer> partitions = Maps.newHashMap();
+    private final Map<Object, Integer> tables = new IdentityHashMap<>();
+
+    Writer(int kind) {
+      try {
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(kind);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    byte[] toByteArray() {
+      return bytes.toByteArray();
+    }
+
+    void writeInput(RewriteFilesInput input) {
+      writeFiles(input.rewrittenDataFiles());
+      writeFiles(input.rePosDeletedDataFiles());
+      writeFiles(input.readOnlyDeleteFiles());
+      writeFiles(input.rewrittenDeleteFiles());
+      writeTable(input.getTable());
+      writeStringMap(input.getOptions());
+    }
+
+    void writeOutput(RewriteFilesOutput output) {
+      writeFiles(output.getDataFiles());
+      writeFiles(output.getDeleteFiles());
+      writeStringMap(output.summary());
+    }
+
+    private void writeFiles(ContentFile<?>[] files) {
+      if (files == null) {
+        writeVarInt(0);
+        return;
+      }
+      writeVarInt(files.length + 1);
+      for (ContentFile<?> file : files) {
+        writeFile(file);
+      }
+    }
+
+    private void writeFile(ContentFile<?> file) {
+      if (file instanceof DefaultKeyedFile) {
+        DefaultKeyedFile keyedFile = (DefaultKeyedFile) file;
+        writeVarInt(KEYED_FILE);
+        writeVarLong(keyedFile.transactionId());
+        writeVarInt(keyedFile.type().id());
+        writeVarLong(keyedFile.node().mask());
+        writeVarLong(keyedFile.node().index());
+      } else {
+        writeVarInt(ICEBERG_FILE);
+      }
+      writeVarInt(file.content().id());
+      writeVarInt(file.specId());
+      writePath(file.path().toString());
+      writeString(file.format().name());
+      writePartition(file.partition());
+      writeVarLong(file.recordCount());
+      writeVarLong(file.fileSizeInBytes());
+      writeCounts(file.columnSizes());
+      writeCounts(file.valueCounts());
+      writeCounts(file.nullValueCounts());
+      writeCounts(file.nanValueCounts());
+      writeBounds(file.lowerBounds());
+      writeBounds(file.upperBounds());
+      writeNullableBytes(file.keyMetadata());
+      writeLongs(file.splitOffsets());
+      writeInts(file.equalityFieldIds());
+      writeNullableLong(file.sortOrderId() == null ? null : file.sortOrderId().longValue());
+      writeNullableLong(file.dataSequenceNumber());
+      writeNullableLong(file.fileSequenceNumber());
+    }
+
+    private void writePath(String path) {
+      int index = path.lastIndexOf('/') + 1;
+      writeString(path.substring(0, index));
+      writeRawString(path.substring(index));
+    }
+
+    private void writePartition(StructLike partition) {
+      if (partition == null) {
+        writeVarInt(0);
+        return;
+      }
+      Preconditions.checkArgument(
+          partition instanceof PartitionData,
+          "Unsupported partition %s of class %s",
+          partition,
+          partition.getClass().getName());
+      Integer id = partitions.get(partition);
+      if (id != null) {
+        writeVarInt(id + 2);
+        return;
+      }
+      writeVarInt(1);
+      partitions.put(partition, partitions.size());
+      Types.StructType partitionType = ((PartitionData) partition).getPartitionType();
+      writePartitionType(partitionType);
+      List<Types.NestedField> fields = partitionType.fields();
+      for (int i = 0; i < fields.size(); i++) {
+        Object value = partition.get(i, Object.class);
+        writeVarInt(value == null ? 0 : 1);
+        if (value != null) {
+          writeValue(fields.get(i).type(), value);
+        }
+      }
+    }
+
+    private void writePartitionType(Types.StructType partitionType) {
+      Integer id = partitionTypes.get(partitionType);
+      if (id != null) {
+        writeVarInt(id + 1);
+        return;
+      }
+      writeVarInt(0);
+      partitionTypes.put(partitionType, partitionTypes.size());
+      writeVarInt(partitionType.fields().size());
+      for (Types.NestedField field : partitionType.fields()) {
+        writeVarInt(field.fieldId());
+        writeString(field.name());
+        writeString(field.type().toString());
+        writeVarInt(field.isOptional() ? 1 : 0);
+      }
+    }
+
+    private void writeValue(Type type, Object value) {
+      try {
+        switch (type.typeId()) {
+          case BOOLEAN:
+            out.writeBoolean((Boolean) value);
+            break;
+          case INTEGER:
+          case DATE:
+            writeVarLong(zigZag(((Number) value).longValue()));
+            break;
+          case LONG:
+          case TIME:
+          case TIMESTAMP:
+            writeVarLong(zigZag((Long) value));
+            break;
+          case FLOAT:
+            out.writeFloat((Float) value);
+            break;
+          case DOUBLE:
+            out.writeDouble((Double) value);
+            break;
+          case STRING:
+            writeRawString(value.toString());
+            break;
+          case UUID:
+            UUID uuid = value instanceof UUID ? (UUID) value : UUIDUtil.convert((ByteBuffer) value);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+            break;
+          case FIXED:
+          case BINARY:
+            writeBytes(
+                value instanceof ByteBuffer
+                    ? ByteBuffers.toByteArray((ByteBuffer) value)
+                    : (byte[]) value);
+            break;
+          case DECIMAL:
+            BigDecimal decimal = (BigDecimal) value;
+            writeVarInt(decimal.scale());
+            writeBytes(decimal.unscaledValue().toByteArray());
+            break;
+          default:
+            throw new IllegalArgumentException("Unsupported partition type " + type);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void writeTable(ArcticTable table) {
+      if (table == null) {
+        writeVarInt(0);
+        return;
+      }
+      Integer id = tables.get(table);
+      if (id != null) {
+        writeVarInt(id + 2);
+        return;
+      }
+      writeVarInt(1);
+      tables.put(table, tables.size());
+      writeBytes(ByteBuffers.toByteArray(SerializationUtil.simpleSerialize(table)));
+    }
+
+    private void writeStringMap(Map<String, String> map) {
+      if (map == null) {
+        writeVarInt(0);
+        return;
+      }
+      writeVarInt(map.size() + 1);
+      for (Map.Entry<String, String> entry : map.entrySet()) {
+        writeString(entry.getKey());
+        writeString(entry.getValue());
+      }
+    }
+
+    private void writeCounts(Map<Integer, Long> counts) {
+      if (counts == null) {
+        writeVarInt(0);
+        return;
+      }
+      writeVarInt(counts.size() + 1);
+      for (Map.Entry<Integer, Long> entry : counts.entrySet()) {
+        writeVarInt(entry.getKey());
+        writeVarLong(entry.getValue());
+      }
+    }
+
+    private void writeBounds(Map<Integer, ByteBuffer> bounds) {
+      if (bounds == null) {
+        writeVarInt(0);
+        return;
+      }
+      writeVarInt(bounds.size() + 1);
+      for (Map.Entry<Integer, ByteBuffer> entry : bounds.entrySet()) {
+        writeVarInt(entry.getKey());
+        writeBytes(ByteBuffers.toByteArray(entry.getValue()));
+      }
+    }
+
+    private void writeLongs(List<Long> values) {
+      if (values == null) {
+        writeVarInt(0);
+        return;
+      }
+      writeVarInt(values.size() + 1);
+      long previous = 0;
+      for (Long value : values) {
+        // split offsets are ascending, deltas are small
+        writeVarLong(zigZag(value - previous));
+        previous = value;
+      }
+    }
+
+    private void writeInts(List<Integer> values) {
+      if (values == null) {
+        writeVarInt(0);
+        return;
+      }
+      writeVarInt(values.size() + 1);
+      for (int value : values) {
+        writeVarInt(value);
+      }
+    }
+
+    private void writeNullableLong(Long value) {
+      if (value == null) {
+        writeVarInt(0);
+      } else {
+        writeVarInt(1);
+        writeVarLong(value);
+      }
+    }
+
+    private void writeNullableBytes(ByteBuffer value) {
+      if (value == null) {
+        writeVarInt(0);
+      } else {
+        writeVarInt(1);
+        writeBytes(ByteBuffers.toByteArray(value));
+      }
+    }
+
+    private void writeString(String value) {
+      if (value == null) {
+        writeVarInt(0);
+        return;
+      }
+      Integer id = strings.get(value);
+      if (id != null) {
+        writeVarInt(id + 2);
+        return;
+      }
+      writeVarInt(1);
+      strings.put(value, strings.size());
+      writeRawString(value);
+    }
+
+    private void writeRawString(String value) {
+      writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeBytes(byte[] value) {
+      writeVarInt(value.length);
+      try {
+        out.write(value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    void writeVarInt(int value) {
+      writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    private void writeVarLong(long value) {
+      try {
+        while ((value & ~0x7FL) != 0) {
+          out.writeByte((int) ((value & 0x7F) | 0x80));
+          value >>>= 7;
+        }
+        out.writeByte((int) value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private static long zigZag(long value) {
+      return (value << 1) ^ (value >> 63);
+    }
+  }
+
+  private static class Reader {
+    private final DataInputStream in;
+    private final List<String> strings = Lists.newArrayList();
+    private final List<Types.StructType> partitionTypes = Lists.newArrayList();
+    private final List<PartitionData> partitions = Lists.newArrayList();
+    private final List<ArcticTable> tables = Lists.newArrayList();
+
+    Reader(byte[] bytes, int kind) {
+      this.in =
+          new DataInputStream(
+              new ByteArrayInputStream(bytes, MAGIC.length, bytes.length - MAGIC.length));
+      try {
+        int version = in.readUnsignedByte();
+        Preconditions.checkArgument(
+            version <= VERSION, "Unsupported rewrite files payload version %s", version);
+        int payloadKind = in.readUnsignedByte();
+        Preconditions.checkArgument(
+            payloadKind == kind, "Expect payload kind %s, but was %s", kind, payloadKind);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    RewriteFilesInput readInput() {
+      DataFile[] rewrittenDataFiles = readFiles(DataFile[]::new);
+      DataFile[] rePosDeletedDataFiles = readFiles(DataFile[]::new);
+      ContentFile<?>[] readOnlyDeleteFiles = readFiles(ContentFile<?>[]::new);
+      ContentFile<?>[] rewrittenDeleteFiles = readFiles(ContentFile<?>[]::new);
+      ArcticTable table = readTable();
+      RewriteFilesInput input =
+          new RewriteFilesInput(
+              rewrittenDataFiles,
+              rePosDeletedDataFiles,
+              readOnlyDeleteFiles,
+              rewrittenDeleteFiles,
+              table);
+      Map<String, String> options = readStringMap();
+      if (options != null) {
+        input.options(options);
+      }
+      return input;
+    }
+
+    RewriteFilesOutput readOutput() {
+      DataFile[] dataFiles = readFiles(DataFile[]::new);
+      DeleteFile[] deleteFiles = readFiles(DeleteFile[]::new);
+      return new RewriteFilesOutput(dataFiles, deleteFiles, readStringMap());
+    }
+
+    private <F extends ContentFile<?>> F[] readFiles(IntFunction<F[]> arrayFactory) {
+      int size = readVarInt();
+      if (size == 0) {
+        return null;
+      }
+      F[] files = arrayFactory.apply(size - 1);
+      for (int i = 0; i < files.length; i++) {
+        files[i] = (F) readFile();
+      }
+      return files;
+    }
+
+    private ContentFile<?> readFile() {
+      DefaultKeyedFile.FileMeta keyedMeta = null;
+      if (readVarInt() == KEYED_FILE) {
+        long transactionId = readVarLong();
+        DataFileType type = DataFileType.ofId(readVarInt());
+        DataTreeNode node = DataTreeNode.of(readVarLong(), readVarLong());
+        keyedMeta = new DefaultKeyedFile.FileMeta(transactionId, type, node);
+      }
+      FileContent content = fileContent(readVarInt());
+      int specId = readVarInt();
+      String path = readString() + readRawString();
+      FileFormat format = FileFormat.valueOf(readString());
+      PartitionData partition = readPartition();
+      long recordCount = readVarLong();
+      long fileSizeInBytes = readVarLong();
+      Map<Integer, Long> columnSizes = readCounts();
+      Map<Integer, Long> valueCounts = readCounts();
+      Map<Integer, Long> nullValueCounts = readCounts();
+      Map<Integer, Long> nanValueCounts = readCounts();
+      Map<Integer, ByteBuffer> lowerBounds = readBounds();
+      Map<Integer, ByteBuffer> upperBounds = readBounds();
+      Metrics metrics =
+          new Metrics(
+              recordCount,
+              columnSizes,
+              valueCounts,
+              nullValueCounts,
+              nanValueCounts,
+              lowerBounds,
+              upperBounds);
+      ByteBuffer keyMetadata = readNullableBytes();
+      List<Long> splitOffsets = readLongs();
+      int[] equalityFieldIds = readInts();
+      Long sortOrderId = readNullableLong();
+      Long dataSequenceNumber = readNullableLong();
+      Long fileSequenceNumber = readNullableLong();
+      Integer sortOrder = sortOrderId == null ? null : sortOrderId.intValue();
+      if (content == FileContent.DATA) {
+        DataFile dataFile =
+            IcebergContentFiles.newDataFile(
+                specId,
+                path,
+                format,
+                partition,
+                fileSizeInBytes,
+                metrics,
+                keyMetadata,
+                splitOffsets,
+                sortOrder,
+                dataSequenceNumber,
+                fileSequenceNumber);
+        return keyedMeta == null ? dataFile : DefaultKeyedFile.of(dataFile, keyedMeta);
+      }
+      return IcebergContentFiles.newDeleteFile(
+          specId,
+          content,
+          path,
+          format,
+          partition,
+          fileSizeInBytes,
+          metrics,
+          equalityFieldIds,
+          sortOrder,
+          splitOffsets,
+          keyMetadata,
+          dataSequenceNumber,
+          fileSequenceNumber);
+    }
+
+    private static FileContent fileContent(int id) {
+      for (FileContent content : FileContent.values()) {
+        if (content.id() == id) {
+          return content;
+        }
+      }
+      throw new IllegalArgumentException("Unknown file content id " + id);
+    }
+
+    private PartitionData readPartition() {
+      int ref = readVarInt();
+      if (ref == 0) {
+        return null;
+      } else if (ref > 1) {
+        return partitions.get(ref - 2);
+      }
+      Types.StructType partitionType = readPartitionType();
+      PartitionData partition = new PartitionData(partitionType);
+      List<Types.NestedField> fields = partitionType.fields();
+      for (int i = 0; i < fields.size(); i++) {
+        if (readVarInt() != 0) {
+          partition.set(i, readValue(fields.get(i).type()));
+        }
+      }
+      partitions.add(partition);
+      return partition;
+    }
+
+    private Types.StructType readPartitionType() {
+      int ref = readVarInt();
+      if (ref > 0) {
+        return partitionTypes.get(ref - 1);
+      }
+      int size = readVarInt();
+      List<Types.NestedField> fields = Lists.newArrayListWithCapacity(size);
+      for (int i = 0; i < size; i++) {
+        int fieldId = readVarInt();
+        String name = readString();
+        Type type = Types.fromPrimitiveString(readString());
+        boolean optional = readVarInt() != 0;
+        fields.add(Types.NestedField.of(fieldId, optional, name, type));
+      }
+      Types.StructType partitionType = Types.StructType.of(fields);
+      partitionTypes.add(partitionType);
+      return partitionType;
+    }
+
+    private Object readValue(Type type) {
+      try {
+        switch (type.typeId()) {
+          case BOOLEAN:
+            return in.readBoolean();
+          case INTEGER:
+          case DATE:
+            return (int) unZigZag(readVarLong());
+          case LONG:
+          case TIME:
+          case TIMESTAMP:
+            return unZigZag(readVarLong());
+          case FLOAT:
+            return in.readFloat();
+          case DOUBLE:
+            return in.readDouble();
+          case STRING:
+            return readRawString();
+          case UUID:
+            return new UUID(in.readLong(), in.readLong());
+          case FIXED:
+          case BINARY:
+            return ByteBuffer.wrap(readBytes());
+          case DECIMAL:
+            int scale = readVarInt();
+            return new BigDecimal(new BigInteger(readBytes()), scale);
+          default:
+            throw new IllegalArgumentException("Unsupported partition type " + type);
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private ArcticTable readTable() {
+      int ref = readVarInt();
+      if (ref == 0) {
+        return null;
+      } else if (ref > 1) {
+        return tables.get(ref - 2);
+      }
+      ArcticTable table = SerializationUtil.simpleDeserialize(readBytes());
+      tables.add(table);
+      return table;
+    }
+
+    private Map<String, String> readStringMap() {
+      int size = readVarInt();
+      if (size == 0) {
+        return null;
+      }
+      Map<String, String> map = Maps.newHashMapWithExpectedSize(size - 1);
+      for (int i = 0; i < size - 1; i++) {
+        map.put(readString(), readString());
+      }
+      return map;
+    }
+
+    private Map<Integer, Long> readCounts() {
+      int size = readVarInt();
+      if (size == 0) {
+        return null;
+      }
+      Map<Integer, Long> counts = Maps.newHashMapWithExpectedSize(size - 1);
+      for (int i = 0; i < size - 1; i++) {
+        counts.put(readVarInt(), readVarLong());
+      }
+      return counts;
+    }
+
+    private Map<Integer, ByteBuffer> readBounds() {
+      int size = readVarInt();
+      if (size == 0) {
+        return null;
+      }
+      Map<Integer, ByteBuffer> bounds = Maps.newHashMapWithExpectedSize(size - 1);
+      for (int i = 0; i < size - 1; i++) {
+        bounds.put(readVarInt(), ByteBuffer.wrap(readBytes()));
+      }
+      return bounds;
+    }
+
+    private List<Long> readLongs() {
+      int size = readVarInt();
+      if (size == 0) {
+        return null;
+      }
+      List<Long> values = Lists.newArrayListWithCapacity(size - 1);
+      long previous = 0;
+      for (int i = 0; i < size - 1; i++) {
+        previous += unZigZag(readVarLong());
+        values.add(previous);
+      }
+      return values;
+    }
+
+    private int[] readInts() {
+      int size = readVarInt();
+      if (size == 0) {
+        return null;
+      }
+      int[] values = new int[size - 1];
+      for (int i = 0; i < values.length; i++) {
+        values[i] = readVarInt();
+      }
+      return values;
+    }
+
+    private Long readNullableLong() {
+      return readVarInt() == 0 ? null : readVarLong();
+    }
+
+    private ByteBuffer readNullableBytes() {
+      return readVarInt() == 0 ? null : ByteBuffer.wrap(readBytes());
+    }
+
+    private String readString() {
+      int ref = readVarInt();
+      if (ref == 0) {
+        return null;
+      } else if (ref > 1) {
+        return strings.get(ref - 2);
+      }
+      String value = readRawString();
+      strings.add(value);
+      return value;
+    }
+
+    private String readRawString() {
+      return new String(readBytes(), StandardCharsets.UTF_8);
+    }
+
+    private byte[] readBytes() {
+      byte[] value = new byte[readVarInt()];
+      try {
+        in.readFully(value);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      return value;
+    }
+
+    int readVarInt() {
+      return (int) readVarLong();
+    }
+
+    private long readVarLong() {
+      try {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+          b = in.readUnsignedByte();
+          value |= (long) (b & 0x7F) << shift;
+          shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private static long unZigZag(long value) {
+      return (value >>> 1) ^ -(value & 1);
+    }
+  }
+}
@@ -18,10 +18,13 @@
 
 package com.netease.arctic.scan;
 
+import org.apache.iceberg.ManifestFile;
 import org.apache.iceberg.TableScan;
 import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.util.StructLikeMap;
 
+import java.util.function.Predicate;
+
 public interface ChangeTableIncrementalScan extends TableScan {
 
   /**
@@ -48,6 +51,14 @@ public interface ChangeTableIncrementalScan extends TableScan {
    */
   ChangeTableIncrementalScan toSequence(long sequence);
 
+  /**
+   * Config this scan to only read the manifests accepted by the predicate.
+   *
+   * @param predicate - return false if the manifest contains no files to scan
+   * @return this for method chaining
+   */
+  ChangeTableIncrementalScan filterManifests(Predicate<ManifestFile> predicate);
+
   @Override
   ChangeTableIncrementalScan useSnapshot(long snapshotId);
 
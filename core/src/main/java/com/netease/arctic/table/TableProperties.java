@@ -92,6 +92,10 @@ public class TableProperties {
   public static final String SELF_OPTIMIZING_MAX_TASK_SIZE = "self-optimizing.max-task-size-bytes";
   public static final long SELF_OPTIMIZING_MAX_TASK_SIZE_DEFAULT = 134217728; // 128 MB
 
+  public static final String SELF_OPTIMIZING_TARGET_TASK_DURATION =
+      "self-optimizing.target-task-duration";
+  public static final long SELF_OPTIMIZING_TARGET_TASK_DURATION_DEFAULT = 600000; // 10 min
+
   public static final String SELF_OPTIMIZING_FRAGMENT_RATIO = "self-optimizing.fragment-ratio";
   public static final int SELF_OPTIMIZING_FRAGMENT_RATIO_DEFAULT = 8;
 
@@ -115,6 +119,27 @@ public class TableProperties {
       "self-optimizing.full.rewrite-all-files";
   public static final boolean SELF_OPTIMIZING_FULL_REWRITE_ALL_FILES_DEFAULT = true;
 
+  public static final String SELF_OPTIMIZING_CLUSTERING_STRATEGY =
+      "self-optimizing.clustering.strategy";
+  public static final String SELF_OPTIMIZING_CLUSTERING_STRATEGY_DEFAULT = "none";
+
+  public static final String SELF_OPTIMIZING_CLUSTERING_COLUMNS =
+      "self-optimizing.clustering.columns";
+  public static final String SELF_OPTIMIZING_CLUSTERING_COLUMNS_DEFAULT = "";
+
+  public static final String SELF_OPTIMIZING_CLUSTERING_TRIGGER_OVERLAP_RATIO =
+      "self-optimizing.clustering.trigger.overlap-ratio";
+  public static final double SELF_OPTIMIZING_CLUSTERING_TRIGGER_OVERLAP_RATIO_DEFAULT = 0.5;
+
+  public static final String SELF_OPTIMIZING_CLUSTERING_MIN_INTERVAL =
+      "self-optimizing.clustering.min-interval";
+  public static final long SELF_OPTIMIZING_CLUSTERING_MIN_INTERVAL_DEFAULT = 3600000; // 1 h
+
+  public static final String SELF_OPTIMIZING_CLUSTERING_MAX_TASK_SIZE =
+      "self-optimizing.clustering.max-task-size-bytes";
+  public static final long SELF_OPTIMIZING_CLUSTERING_MAX_TASK_SIZE_DEFAULT =
+      8589934592L; // 8 GB
+
   /** deprecated table optimize related properties */
   @Deprecated public static final String ENABLE_OPTIMIZE = "optimize.enable";
 
@@ -0,0 +1,372 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils;
+
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.data.Record;
+import org.apache.iceberg.types.Type;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.DateTimeUtil;
+import org.apache.iceberg.util.StructLikeWrapper;
+import org.apache.iceberg.util.UUIDUtil;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Schema-aware binary serializer of {@link StructLikeWrapper} keys.
+ *
+ * <p>Fields are encoded in order, each prefixed by a null marker. Values are encoded so that the
+ * unsigned lexicographic order of the bytes follows the order of the values: numbers in big-endian
+ * with the sign bit flipped, strings and binaries with 0x00 escaped and a 0x00 0x01 terminator.
+ * Keys that are equal for {@link StructLikeWrapper} always have identical bytes, e.g. a {@link
+ * String} and an avro {@code Utf8} with the same content.
+ *
+ * <p>Only primitive and struct types are supported, see {@link #supports(Types.StructType)}. Whole
+ * rows can be encoded by {@link #serialize(Types.StructType, StructLike)} and decoded back to
+ * generic records by {@link #deserializeRecord(Types.StructType, byte[])}.
+ */
+public class BinaryStructLikeSerializer
+    implements SerializationUtil.SimpleSerializer<StructLikeWrapper> {
+
+  private static final byte NULL = 0x00;
+  private static final byte NOT_NULL = 0x01;
+  private static final byte ESCAPE = 0x00;
+  private static final byte ESCAPED_ZERO = (byte) 0xFF;
+  private static final byte TERMINATOR = 0x01;
+  private static final int MAX_LONG_DECIMAL_PRECISION = 18;
+  private static final int WIDE_DECIMAL_BYTES = 16;
+
+  private static final ThreadLocal<Output> OUTPUT = ThreadLocal.withInitial(Output::new);
+
+  private final Types.StructType type;
+  private final StructLikeWrapper structLikeWrapper;
+
+  public BinaryStructLikeSerializer(Types.StructType type, StructLikeWrapper structLikeWrapper) {
+    if (!supports(type)) {
+      throw new IllegalArgumentException("Unsupported struct type for binary encoding: " + type);
+    }
+    this.type = type;
+    this.structLikeWrapper = structLikeWrapper;
+  }
+
+  /** Whether all fields of the struct are primitive or nested structs of primitives. */
+  public static boolean supports(Types.StructType type) {
+    for (Types.NestedField field : type.fields()) {
+      Type fieldType = field.type();
+      if (fieldType.isStructType()) {
+        if (!supports(fieldType.asStructType())) {
+          return false;
+        }
+      } else if (!fieldType.isPrimitiveType()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public byte[] serialize(StructLikeWrapper wrapper) {
+    return serialize(type, wrapper.get());
+  }
+
+  @Override
+  public StructLikeWrapper deserialize(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    return structLikeWrapper.copyFor(readStruct(ByteBuffer.wrap(bytes), type, false));
+  }
+
+  /** Encode the struct of the type, values may be in internal or generic java classes. */
+  public static byte[] serialize(Types.StructType type, StructLike struct) {
+    Output output = OUTPUT.get();
+    output.reset();
+    writeStruct(output, type, struct);
+    return output.toByteArray();
+  }
+
+  /**
+   * Decode to a generic record with values in the java classes used by iceberg generic readers,
+   * like {@link LocalDate} for dates and byte[] for fixed.
+   */
+  public static Record deserializeRecord(Types.StructType type, byte[] bytes) {
+    return readStruct(ByteBuffer.wrap(bytes), type, true);
+  }
+
+  private static void writeStruct(Output output, Types.StructType structType, StructLike struct) {
+    List<Types.NestedField> fields = structType.fields();
+    for (int i = 0; i < fields.size(); i++) {
+      Object value = struct.get(i, Object.class);
+      if (value == null) {
+        output.write(NULL);
+      } else {
+        output.write(NOT_NULL);
+        writeValue(output, fields.get(i).type(), value);
+      }
+    }
+  }
+
+  private static void writeValue(Output output, Type fieldType, Object value) {
+    switch (fieldType.typeId()) {
+      case BOOLEAN:
+        output.write((Boolean) value ? (byte) 1 : (byte) 0);
+        break;
+      case INTEGER:
+        output.writeInt(((Number) value).intValue() ^ Integer.MIN_VALUE);
+        break;
+      case DATE:
+        int days =
+            value instanceof LocalDate
+                ? DateTimeUtil.daysFromDate((LocalDate) value)
+                : ((Number) value).intValue();
+        output.writeInt(days ^ Integer.MIN_VALUE);
+        break;
+      case LONG:
+        output.writeLong(((Number) value).longValue() ^ Long.MIN_VALUE);
+        break;
+      case TIME:
+        long timeMicros =
+            value instanceof LocalTime
+                ? DateTimeUtil.microsFromTime((LocalTime) value)
+                : ((Number) value).longValue();
+        output.writeLong(timeMicros ^ Long.MIN_VALUE);
+        break;
+      case TIMESTAMP:
+        output.writeLong(timestampMicros(value) ^ Long.MIN_VALUE);
+        break;
+      case FLOAT:
+        int floatBits = Float.floatToIntBits((Float) value);
+        output.writeInt(floatBits < 0 ? ~floatBits : floatBits ^ Integer.MIN_VALUE);
+        break;
+      case DOUBLE:
+        long doubleBits = Double.doubleToLongBits((Double) value);
+        output.writeLong(doubleBits < 0 ? ~doubleBits : doubleBits ^ Long.MIN_VALUE);
+        break;
+      case DECIMAL:
+        writeDecimal(output, (Types.DecimalType) fieldType, (BigDecimal) value);
+        break;
+      case STRING:
+        output.writeEscaped(value.toString().getBytes(StandardCharsets.UTF_8));
+        break;
+      case UUID:
+        // uuids may also come as 16 bytes, always write them as two longs like readValue expects
+        UUID uuid =
+            value instanceof UUID
+                ? (UUID) value
+                : value instanceof byte[]
+                    ? UUIDUtil.convert((byte[]) value)
+                    : UUIDUtil.convert((ByteBuffer) value);
+        output.writeLong(uuid.getMostSignificantBits() ^ Long.MIN_VALUE);
+        output.writeLong(uuid.getLeastSignificantBits() ^ Long.MIN_VALUE);
+        break;
+      case FIXED:
+      case BINARY:
+        output.writeEscaped(bytes(value));
+        break;
+      case STRUCT:
+        writeStruct(output, fieldType.asStructType(), (StructLike) value);
+        break;
+      default:
+        throw new UnsupportedOperationException(
+            "Unsupported type for binary encoding: " + fieldType);
+    }
+  }
+
+  private static long timestampMicros(Object value) {
+    if (value instanceof LocalDateTime) {
+      return DateTimeUtil.microsFromTimestamp((LocalDateTime) value);
+    } else if (value instanceof OffsetDateTime) {
+      return DateTimeUtil.microsFromTimestamptz((OffsetDateTime) value);
+    } else {
+      return ((Number) value).longValue();
+    }
+  }
+
+  private static void writeDecimal(Output output, Types.DecimalType decimalType, BigDecimal value) {
+    BigInteger unscaled = value.setScale(decimalType.scale()).unscaledValue();
+    if (decimalType.precision() <= MAX_LONG_DECIMAL_PRECISION) {
+      output.writeLong(unscaled.longValue() ^ Long.MIN_VALUE);
+    } else {
+      // two's complement, sign extended to 16 bytes with the sign bit flipped
+      byte[] bytes = unscaled.toByteArray();
+      byte[] wide = new byte[WIDE_DECIMAL_BYTES];
+      Arrays.fill(wide, unscaled.signum() < 0 ? (byte) 0xFF : 0);
+      System.arraycopy(bytes, 0, wide, WIDE_DECIMAL_BYTES - bytes.length, bytes.length);
+      wide[0] ^= (byte) 0x80;
+      output.write(wide, 0, wide.length);
+    }
+  }
+
+  private static byte[] bytes(Object value) {
+    if (value instanceof byte[]) {
+      return (byte[]) value;
+    }
+    ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
+
+  private static GenericRecord readStruct(
+      ByteBuffer input, Types.StructType structType, boolean javaTypes) {
+    GenericRecord record = GenericRecord.create(structType);
+    List<Types.NestedField> fields = structType.fields();
+    for (int i = 0; i < fields.size(); i++) {
+      if (input.get() == NOT_NULL) {
+        record.set(i, readValue(input, fields.get(i).type(), javaTypes));
+      }
+    }
+    return record;
+  }
+
+  private static Object readValue(ByteBuffer input, Type fieldType, boolean javaTypes) {
+    switch (fieldType.typeId()) {
+      case BOOLEAN:
+        return input.get() != 0;
+      case INTEGER:
+        return input.getInt() ^ Integer.MIN_VALUE;
+      case DATE:
+        int days = input.getInt() ^ Integer.MIN_VALUE;
+        return javaTypes ? DateTimeUtil.dateFromDays(days) : days;
+      case LONG:
+        return input.getLong() ^ Long.MIN_VALUE;
+      case TIME:
+        long timeMicros = input.getLong() ^ Long.MIN_VALUE;
+        return javaTypes ? DateTimeUtil.timeFromMicros(timeMicros) : timeMicros;
+      case TIMESTAMP:
+        long micros = input.getLong() ^ Long.MIN_VALUE;
+        if (!javaTypes) {
+          return micros;
+        }
+        return ((Types.TimestampType) fieldType).shouldAdjustToUTC()
+            ? DateTimeUtil.timestamptzFromMicros(micros)
+            : DateTimeUtil.timestampFromMicros(micros);
+      case FLOAT:
+        int floatBits = input.getInt();
+        return Float.intBitsToFloat(floatBits < 0 ? floatBits ^ Integer.MIN_VALUE : ~floatBits);
+      case DOUBLE:
+        long doubleBits = input.getLong();
+        return Double.longBitsToDouble(doubleBits < 0 ? doubleBits ^ Long.MIN_VALUE : ~doubleBits);
+      case DECIMAL:
+        Types.DecimalType decimalType = (Types.DecimalType) fieldType;
+        if (decimalType.precision() <= MAX_LONG_DECIMAL_PRECISION) {
+          return BigDecimal.valueOf(input.getLong() ^ Long.MIN_VALUE, decimalType.scale());
+        }
+        byte[] wide = new byte[WIDE_DECIMAL_BYTES];
+        input.get(wide);
+        wide[0] ^= (byte) 0x80;
+        return new BigDecimal(new BigInteger(wide), decimalType.scale());
+      case STRING:
+        return new String(readEscaped(input), StandardCharsets.UTF_8);
+      case UUID:
+        return new UUID(input.getLong() ^ Long.MIN_VALUE, input.getLong() ^ Long.MIN_VALUE);
+      case FIXED:
+        byte[] fixed = readEscaped(input);
+        return javaTypes ? fixed : ByteBuffer.wrap(fixed);
+      case BINARY:
+        return ByteBuffer.wrap(readEscaped(input));
+      case STRUCT:
+        return readStruct(input, fieldType.asStructType(), javaTypes);
+      default:
+        throw new UnsupportedOperationException(
+            "Unsupported type for binary encoding: " + fieldType);
+    }
+  }
+
+  private static byte[] readEscaped(ByteBuffer input) {
+    Output output = new Output();
+    while (true) {
+      byte b = input.get();
+      if (b != ESCAPE) {
+        output.write(b);
+      } else if (input.get() == ESCAPED_ZERO) {
+        output.write(ESCAPE);
+      } else {
+        return output.toByteArray();
+      }
+    }
+  }
+
+  /** A growable byte buffer reused by the encoding thread. */
+  private static class Output {
+    private byte[] buffer = new byte[64];
+    private int position = 0;
+
+    void reset() {
+      position = 0;
+    }
+
+    void write(byte b) {
+      ensureCapacity(1);
+      buffer[position++] = b;
+    }
+
+    void write(byte[] bytes, int offset, int length) {
+      ensureCapacity(length);
+      System.arraycopy(bytes, offset, buffer, position, length);
+      position += length;
+    }
+
+    void writeInt(int value) {
+      ensureCapacity(Integer.BYTES);
+      for (int shift = 24; shift >= 0; shift -= 8) {
+        buffer[position++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeLong(long value) {
+      ensureCapacity(Long.BYTES);
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        buffer[position++] = (byte) (value >>> shift);
+      }
+    }
+
+    void writeEscaped(byte[] bytes) {
+      for (byte b : bytes) {
+        write(b);
+        if (b == ESCAPE) {
+          write(ESCAPED_ZERO);
+        }
+      }
+      write(ESCAPE);
+      write(TERMINATOR);
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int length) {
+      if (position + length > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, position + length));
+      }
+    }
+  }
+}
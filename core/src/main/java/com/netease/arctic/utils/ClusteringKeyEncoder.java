@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils;
+
+import com.netease.arctic.optimizing.ClusteringStrategy;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.relocated.com.google.common.base.Preconditions;
+import org.apache.iceberg.types.Types;
+
+import java.util.List;
+
+/**
+ * Encoder of the clustering keys of rows, rows sorted by the keys in unsigned lexicographic order
+ * are clustered by the clustering columns.
+ *
+ * <p>Linear keys are the {@link BinaryStructLikeSerializer} encoding of the clustering columns. For
+ * Z-order and Hilbert keys, each column is mapped to the first 8 bytes of its order-preserving
+ * encoding, nulls to 0, then the bits of all columns are interleaved, after being transformed to
+ * the Hilbert curve for Hilbert keys. Keys of a single column are always linear.
+ *
+ * <p>Only top-level primitive columns are supported, see {@link #supports(Types.StructType, List)}.
+ * The encoder is not thread-safe.
+ */
+public class ClusteringKeyEncoder {
+
+  private static final int VALUE_BYTES = 8;
+
+  private final ClusteringStrategy strategy;
+  private final int[] positions;
+  private final Types.StructType keyType;
+  private final GenericRecord key;
+  private final Types.StructType[] columnTypes;
+  private final GenericRecord[] columns;
+
+  public ClusteringKeyEncoder(
+      Types.StructType rowType, ClusteringStrategy strategy, List<String> columnNames) {
+    Preconditions.checkArgument(strategy != ClusteringStrategy.NONE, "No clustering strategy");
+    Preconditions.checkArgument(
+        supports(rowType, columnNames), "Unsupported clustering columns %s", columnNames);
+    this.strategy = columnNames.size() == 1 ? ClusteringStrategy.LINEAR : strategy;
+    this.positions = new int[columnNames.size()];
+    this.columnTypes = new Types.StructType[columnNames.size()];
+    this.columns = new GenericRecord[columnNames.size()];
+    Types.NestedField[] keyFields = new Types.NestedField[columnNames.size()];
+    for (int i = 0; i < columnNames.size(); i++) {
+      Types.NestedField field = rowType.field(columnNames.get(i));
+      positions[i] = rowType.fields().indexOf(field);
+      keyFields[i] = field;
+      columnTypes[i] = Types.StructType.of(field);
+      columns[i] = GenericRecord.create(columnTypes[i]);
+    }
+    this.keyType = Types.StructType.of(keyFields);
+    this.key = GenericRecord.create(keyType);
+  }
+
+  /** Whether all the columns are top-level primitive fields of the row type. */
+  public static boolean supports(Types.StructType rowType, List<String> columnNames) {
+    if (columnNames.isEmpty()) {
+      return false;
+    }
+    for (String columnName : columnNames) {
+      Types.NestedField field = rowType.field(columnName);
+      if (field == null || !field.type().isPrimitiveType()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Encode the clustering key of the row. */
+  public byte[] encode(StructLike row) {
+    if (strategy == ClusteringStrategy.LINEAR) {
+      for (int i = 0; i < positions.length; i++) {
+        key.set(i, row.get(positions[i], Object.class));
+      }
+      return BinaryStructLikeSerializer.serialize(keyType, key);
+    }
+    long[] values = new long[positions.length];
+    for (int i = 0; i < positions.length; i++) {
+      values[i] = columnValue(i, row.get(positions[i], Object.class));
+    }
+    return interleave(strategy == ClusteringStrategy.HILBERT ? hilbertTranspose(values) : values);
+  }
+
+  /** The first 8 bytes of the order-preserving encoding of the value as an unsigned long. */
+  private long columnValue(int column, Object value) {
+    if (value == null) {
+      return 0L;
+    }
+    columns[column].set(0, value);
+    byte[] bytes = BinaryStructLikeSerializer.serialize(columnTypes[column], columns[column]);
+    long result = 0L;
+    // skip the null marker
+    for (int i = 1; i <= VALUE_BYTES; i++) {
+      result = (result << 8) | (i < bytes.length ? bytes[i] & 0xFF : 0);
+    }
+    return result;
+  }
+
+  /** Interleave bits of the values, from the most significant bit, in the order of the values. */
+  static byte[] interleave(long[] values) {
+    byte[] result = new byte[values.length * VALUE_BYTES];
+    int bit = 0;
+    for (int shift = Long.SIZE - 1; shift >= 0; shift--) {
+      for (long value : values) {
+        if (((value >>> shift) & 1L) != 0) {
+          result[bit >>> 3] |= (byte) (0x80 >>> (bit & 7));
+        }
+        bit++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Transform unsigned coordinates to the transposed Hilbert index by the algorithm of John
+   * Skilling, "Programming the Hilbert curve", interleaving the transposed index gives the position
+   * on the Hilbert curve.
+   */
+  static long[] hilbertTranspose(long[] coordinates) {
+    long[] x = coordinates.clone();
+    int n = x.length;
+    long highest = 1L << (Long.SIZE - 1);
+    // inverse undo
+    for (long q = highest; q != 1; q >>>= 1) {
+      long p = q - 1;
+      for (int i = 0; i < n; i++) {
+        if ((x[i] & q) != 0) {
+          x[0] ^= p;
+        } else {
+          long t = (x[0] ^ x[i]) & p;
+          x[0] ^= t;
+          x[i] ^= t;
+        }
+      }
+    }
+    // gray encode
+    for (int i = 1; i < n; i++) {
+      x[i] ^= x[i - 1];
+    }
+    long t = 0;
+    for (long q = highest; q != 1; q >>>= 1) {
+      if ((x[n - 1] & q) != 0) {
+        t ^= q - 1;
+      }
+    }
+    for (int i = 0; i < n; i++) {
+      x[i] ^= t;
+    }
+    return x;
+  }
+}
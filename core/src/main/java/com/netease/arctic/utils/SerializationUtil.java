@@ -24,6 +24,7 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.netease.arctic.data.ChangedLsn;
 import org.apache.avro.util.Utf8;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.types.Types;
@@ -38,6 +39,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class SerializationUtil {
@@ -96,6 +98,23 @@ public class SerializationUtil {
     return new StructLikeWrapperSerializer(structLikeWrapper);
   }
 
+  /**
+   * Create a binary serializer of struct keys for the type, falls back to kryo if the type contains
+   * nested list or map fields.
+   */
+  public static SimpleSerializer<StructLikeWrapper> createStructLikeWrapperSerializer(
+      Types.StructType type, StructLikeWrapper structLikeWrapper) {
+    if (BinaryStructLikeSerializer.supports(type)) {
+      return new BinaryStructLikeSerializer(type, structLikeWrapper);
+    }
+    return new StructLikeWrapperSerializer(structLikeWrapper);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> SimpleSerializer<T> createCompactValueSerializer() {
+    return (SimpleSerializer<T>) CompactValueSerializer.INSTANCE;
+  }
+
   private static class KryoSerializerInstance implements Serializable {
     public static final int KRYO_SERIALIZER_INITIAL_BUFFER_SIZE = 1048576;
     private final Kryo kryo;
@@ -225,6 +244,61 @@ public class SerializationUtil {
     }
   }
 
+  /**
+   * Serializer of map values with a one byte tag, {@link Long}, {@link Integer} and {@link
+   * ChangedLsn} are written in fixed-length binary and other values with kryo.
+   */
+  public static class CompactValueSerializer<T> implements SimpleSerializer<T> {
+
+    public static final CompactValueSerializer<Object> INSTANCE = new CompactValueSerializer<>();
+
+    private static final byte KRYO = 0;
+    private static final byte LONG = 1;
+    private static final byte INTEGER = 2;
+    private static final byte CHANGED_LSN = 3;
+
+    @Override
+    public byte[] serialize(T t) {
+      checkNotNull(t);
+      if (t instanceof Long) {
+        return ByteBuffer.allocate(1 + Long.BYTES).put(LONG).putLong((Long) t).array();
+      } else if (t instanceof Integer) {
+        return ByteBuffer.allocate(1 + Integer.BYTES).put(INTEGER).putInt((Integer) t).array();
+      } else if (t instanceof ChangedLsn) {
+        ChangedLsn lsn = (ChangedLsn) t;
+        return ByteBuffer.allocate(1 + 2 * Long.BYTES)
+            .put(CHANGED_LSN)
+            .putLong(lsn.transactionId())
+            .putLong(lsn.fileOffset())
+            .array();
+      }
+      try {
+        byte[] bytes = SerializationUtil.kryoSerialize(t);
+        return ByteBuffer.allocate(1 + bytes.length).put(KRYO).put(bytes).array();
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) {
+      if (bytes == null) {
+        return null;
+      }
+      ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+      switch (bytes[0]) {
+        case LONG:
+          return (T) Long.valueOf(buffer.getLong());
+        case INTEGER:
+          return (T) Integer.valueOf(buffer.getInt());
+        case CHANGED_LSN:
+          return (T) ChangedLsn.of(buffer.getLong(), buffer.getLong());
+        default:
+          return SerializationUtil.kryoDeserialize(Arrays.copyOfRange(bytes, 1, bytes.length));
+      }
+    }
+  }
+
   public static class StructLikeCopy implements StructLike {
 
     public static StructLike copy(StructLike struct) {
@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * A growable array of longs allocated off-heap in fixed size segments, so it is not limited by the
+ * 2GB capacity of a single direct buffer and does not put pressure on the java heap. An array
+ * within one segment is held by a single buffer of its capacity, so small arrays do not take a
+ * whole segment.
+ */
+class DirectLongArray {
+
+  private static final Logger LOG = LoggerFactory.getLogger(DirectLongArray.class);
+  private static final int SEGMENT_SHIFT = 17;
+  private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+  private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+  private static final BufferCleaner CLEANER = BufferCleaner.load();
+
+  private final long initialValue;
+  private ByteBuffer[] buffers = new ByteBuffer[0];
+  private LongBuffer[] segments = new LongBuffer[0];
+  private long capacity = 0;
+
+  DirectLongArray(long capacity, long initialValue) {
+    this.initialValue = initialValue;
+    ensureCapacity(capacity);
+  }
+
+  long get(long index) {
+    return segments[(int) (index >>> SEGMENT_SHIFT)].get((int) (index & SEGMENT_MASK));
+  }
+
+  void set(long index, long value) {
+    segments[(int) (index >>> SEGMENT_SHIFT)].put((int) (index & SEGMENT_MASK), value);
+  }
+
+  long capacity() {
+    return capacity;
+  }
+
+  /**
+   * Grow the array until it holds at least {@code minCapacity} longs. The first segment is sized to
+   * the capacity and at least doubled when it grows, until it is a whole segment, then the array
+   * grows by whole segments.
+   */
+  void ensureCapacity(long minCapacity) {
+    if (minCapacity <= capacity) {
+      return;
+    }
+    if (capacity < SEGMENT_SIZE) {
+      resizeFirstSegment((int) Math.min(Math.max(minCapacity, capacity * 2), SEGMENT_SIZE));
+      if (minCapacity <= capacity) {
+        return;
+      }
+    }
+    int segmentCount = (int) ((minCapacity + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+    ByteBuffer[] newBuffers = Arrays.copyOf(buffers, segmentCount);
+    LongBuffer[] newSegments = Arrays.copyOf(segments, segmentCount);
+    for (int i = segments.length; i < segmentCount; i++) {
+      newBuffers[i] = allocate(SEGMENT_SIZE);
+      newSegments[i] = newBuffers[i].asLongBuffer();
+    }
+    buffers = newBuffers;
+    segments = newSegments;
+    capacity = (long) segmentCount << SEGMENT_SHIFT;
+  }
+
+  /** Replace the first and only segment by one of the size, keeping the values. */
+  private void resizeFirstSegment(int size) {
+    ByteBuffer buffer = allocate(size);
+    LongBuffer segment = buffer.asLongBuffer();
+    if (segments.length > 0) {
+      LongBuffer values = segments[0].duplicate();
+      values.clear();
+      segment.duplicate().put(values);
+      free(buffers[0]);
+    }
+    buffers = new ByteBuffer[] {buffer};
+    segments = new LongBuffer[] {segment};
+    capacity = size;
+  }
+
+  /** Allocate a buffer of the number of longs, filled with the initial value. */
+  private ByteBuffer allocate(int size) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(size * Long.BYTES).order(ByteOrder.nativeOrder());
+    if (initialValue != 0) {
+      LongBuffer segment = buffer.asLongBuffer();
+      for (int j = 0; j < size; j++) {
+        segment.put(j, initialValue);
+      }
+    }
+    return buffer;
+  }
+
+  /** Off-heap memory held by this array in bytes. */
+  long sizeInBytes() {
+    return capacity * Long.BYTES;
+  }
+
+  /**
+   * Free the off-heap memory of all segments right away instead of waiting for the garbage
+   * collector, the array must not be accessed after it is released.
+   */
+  void release() {
+    ByteBuffer[] released = buffers;
+    buffers = new ByteBuffer[0];
+    segments = new LongBuffer[0];
+    capacity = 0;
+    for (int i = 0; i < released.length; i++) {
+      free(released[i]);
+      released[i] = null;
+    }
+  }
+
+  private static void free(ByteBuffer buffer) {
+    try {
+      CLEANER.free(buffer);
+    } catch (Exception e) {
+      LOG.warn("Failed to free direct buffer, leave it to the garbage collector", e);
+    }
+  }
+
+  @FunctionalInterface
+  private interface BufferCleaner {
+
+    void free(ByteBuffer buffer) throws Exception;
+
+    /**
+     * Free direct buffers through {@code Unsafe.invokeCleaner} on java 9+ or the buffer cleaner on
+     * java 8, falling back to the garbage collector if neither is accessible.
+     */
+    static BufferCleaner load() {
+      try {
+        Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+        Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        Object unsafe = theUnsafe.get(null);
+        return buffer -> invokeCleaner.invoke(unsafe, buffer);
+      } catch (Exception e) {
+        // not java 9+, try the cleaner of java 8 direct buffers
+      }
+      try {
+        Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+        Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+        return buffer -> {
+          Object bufferCleaner = cleaner.invoke(buffer);
+          if (bufferCleaner != null) {
+            clean.invoke(bufferCleaner);
+          }
+        };
+      } catch (Exception e) {
+        LOG.warn(
+            "Unable to free direct buffers explicitly, leave them to the garbage collector", e);
+        return buffer -> {};
+      }
+    }
+  }
+}
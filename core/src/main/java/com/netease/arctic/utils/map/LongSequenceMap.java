@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import java.io.Closeable;
+
+/**
+ * Off-heap open-addressing hash map from a primitive long key to the max sequence number put for
+ * it. Keys and sequence numbers are stored inline in the table, so neither puts nor gets allocate
+ * objects on heap.
+ */
+public class LongSequenceMap implements Closeable {
+
+  /** Returned by {@link #get(long)} if the key is absent, sequence numbers are never negative. */
+  public static final long NO_SEQUENCE = Long.MIN_VALUE;
+
+  private static final int SLOT_WIDTH = 2;
+  private static final double LOAD_FACTOR = 0.6;
+
+  private DirectLongArray table;
+  private long slotMask;
+  private long size = 0;
+  private long threshold;
+
+  public LongSequenceMap(long expectedSize) {
+    allocate(SequenceMaps.tableSize(expectedSize, LOAD_FACTOR));
+  }
+
+  private void allocate(long slots) {
+    this.table = new DirectLongArray(slots * SLOT_WIDTH, NO_SEQUENCE);
+    this.slotMask = slots - 1;
+    this.threshold = (long) (slots * LOAD_FACTOR);
+  }
+
+  /** Put the key with the sequence number, if the key exists keep the larger sequence number. */
+  public void putMax(long key, long sequence) {
+    long slot = SequenceMaps.mix(key) & slotMask;
+    while (true) {
+      long offset = slot * SLOT_WIDTH;
+      long existing = table.get(offset + 1);
+      if (existing == NO_SEQUENCE) {
+        table.set(offset, key);
+        table.set(offset + 1, sequence);
+        if (++size > threshold) {
+          resize();
+        }
+        return;
+      } else if (table.get(offset) == key) {
+        if (existing < sequence) {
+          table.set(offset + 1, sequence);
+        }
+        return;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+  }
+
+  /** Get the sequence number of the key, or {@link #NO_SEQUENCE} if absent. */
+  public long get(long key) {
+    long slot = SequenceMaps.mix(key) & slotMask;
+    while (true) {
+      long offset = slot * SLOT_WIDTH;
+      long sequence = table.get(offset + 1);
+      if (sequence == NO_SEQUENCE || table.get(offset) == key) {
+        return sequence;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+  }
+
+  public long size() {
+    return size;
+  }
+
+  /** Off-heap memory held by this map in bytes. */
+  public long sizeInBytes() {
+    return table.sizeInBytes();
+  }
+
+  private void resize() {
+    DirectLongArray old = table;
+    long oldSlots = slotMask + 1;
+    allocate(oldSlots << 1);
+    size = 0;
+    for (long slot = 0; slot < oldSlots; slot++) {
+      long sequence = old.get(slot * SLOT_WIDTH + 1);
+      if (sequence != NO_SEQUENCE) {
+        putMax(old.get(slot * SLOT_WIDTH), sequence);
+      }
+    }
+    old.release();
+  }
+
+  @Override
+  public void close() {
+    table.release();
+    size = 0;
+  }
+}
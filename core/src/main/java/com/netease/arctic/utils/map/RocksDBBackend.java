@@ -45,6 +45,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -329,6 +330,23 @@ public class RocksDBBackend {
     }
   }
 
+  /**
+   * Retrieve values for a batch of keys in a column family with one call.
+   *
+   * @param columnFamilyHandle Column Family Handle
+   * @param keys Keys to be retrieved
+   * @return values in the order of the keys, null for the keys not found
+   */
+  public List<byte[]> multiGet(ColumnFamilyHandle columnFamilyHandle, List<byte[]> keys) {
+    Preconditions.checkArgument(!closed);
+    try {
+      Preconditions.checkNotNull(columnFamilyHandle, "Column Family Handle couldn't be null!");
+      return rocksDB.multiGetAsList(Collections.nCopies(keys.size(), columnFamilyHandle), keys);
+    } catch (Exception e) {
+      throw new ArcticIOException(e);
+    }
+  }
+
   public RocksDB getDB() {
     return rocksDB;
   }
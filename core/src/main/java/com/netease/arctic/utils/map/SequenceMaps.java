@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+/** Hashing and sizing helpers shared by {@link LongSequenceMap} and {@link StringSequenceMap}. */
+class SequenceMaps {
+
+  private static final long MIN_TABLE_SIZE = 16;
+
+  private SequenceMaps() {}
+
+  /** Power of two number of slots holding {@code expectedSize} keys under the load factor. */
+  static long tableSize(long expectedSize, double loadFactor) {
+    long required = Math.max(MIN_TABLE_SIZE, (long) Math.ceil(expectedSize / loadFactor));
+    return Long.highestOneBit(required - 1) << 1;
+  }
+
+  /** Finalization mix of murmur3, spreads the bits of keys with common patterns like sequences. */
+  static long mix(long key) {
+    key ^= key >>> 33;
+    key *= 0xff51afd7ed558ccdL;
+    key ^= key >>> 33;
+    key *= 0xc4ceb9fe1a85ec53L;
+    key ^= key >>> 33;
+    return key;
+  }
+
+  static long hash(CharSequence key) {
+    long hash = key.length();
+    for (int i = 0; i < key.length(); i++) {
+      hash = hash * 31 + key.charAt(i);
+    }
+    return mix(hash);
+  }
+}
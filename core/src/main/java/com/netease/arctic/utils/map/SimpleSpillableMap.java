@@ -98,8 +98,11 @@ public class SimpleSpillableMap<K, T> implements SimpleMap<K, T> {
   }
 
   public T get(K key) {
-    return Optional.ofNullable(memoryMap.get(key))
-        .orElse(diskBasedMap.map(diskMap -> diskMap.get(key)).orElse(null));
+    T value = memoryMap.get(key);
+    if (value == null && diskBasedMap.isPresent()) {
+      return diskBasedMap.get().get(key);
+    }
+    return value;
   }
 
   public void put(K key, T value) {
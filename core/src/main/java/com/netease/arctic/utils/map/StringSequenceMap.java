@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import java.io.Closeable;
+
+/**
+ * Off-heap open-addressing hash map from a string key to the max sequence number put for it.
+ *
+ * <p>Each slot of the table holds the 64-bit hash of the key, the offset of the key in an
+ * append-only off-heap key arena and the sequence number. Keys are stored in the arena as their
+ * length followed by their chars packed four to a long, so lookups compare chars of any {@link
+ * CharSequence} in place without allocating.
+ */
+public class StringSequenceMap implements Closeable {
+
+  /** Returned by {@link #get(CharSequence)} if the key is absent. */
+  public static final long NO_SEQUENCE = LongSequenceMap.NO_SEQUENCE;
+
+  private static final int SLOT_WIDTH = 3;
+  private static final double LOAD_FACTOR = 0.6;
+  private static final int CHARS_PER_LONG = 4;
+
+  private DirectLongArray table;
+  private final DirectLongArray keys;
+  private long keysLength = 0;
+  private long slotMask;
+  private long size = 0;
+  private long threshold;
+
+  public StringSequenceMap(long expectedSize) {
+    allocate(SequenceMaps.tableSize(expectedSize, LOAD_FACTOR));
+    this.keys = new DirectLongArray(expectedSize * 4, 0);
+  }
+
+  private void allocate(long slots) {
+    this.table = new DirectLongArray(slots * SLOT_WIDTH, NO_SEQUENCE);
+    this.slotMask = slots - 1;
+    this.threshold = (long) (slots * LOAD_FACTOR);
+  }
+
+  /** Put the key with the sequence number, if the key exists keep the larger sequence number. */
+  public void putMax(CharSequence key, long sequence) {
+    long hash = SequenceMaps.hash(key);
+    long slot = hash & slotMask;
+    while (true) {
+      long offset = slot * SLOT_WIDTH;
+      long existing = table.get(offset + 2);
+      if (existing == NO_SEQUENCE) {
+        table.set(offset, hash);
+        table.set(offset + 1, appendKey(key));
+        table.set(offset + 2, sequence);
+        if (++size > threshold) {
+          resize();
+        }
+        return;
+      } else if (table.get(offset) == hash && keyEquals(table.get(offset + 1), key)) {
+        if (existing < sequence) {
+          table.set(offset + 2, sequence);
+        }
+        return;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+  }
+
+  /** Get the sequence number of the key, or {@link #NO_SEQUENCE} if absent. */
+  public long get(CharSequence key) {
+    long hash = SequenceMaps.hash(key);
+    long slot = hash & slotMask;
+    while (true) {
+      long offset = slot * SLOT_WIDTH;
+      long sequence = table.get(offset + 2);
+      if (sequence == NO_SEQUENCE
+          || (table.get(offset) == hash && keyEquals(table.get(offset + 1), key))) {
+        return sequence;
+      }
+      slot = (slot + 1) & slotMask;
+    }
+  }
+
+  public long size() {
+    return size;
+  }
+
+  /** Off-heap memory held by this map in bytes. */
+  public long sizeInBytes() {
+    return table.sizeInBytes() + keys.sizeInBytes();
+  }
+
+  private long appendKey(CharSequence key) {
+    int length = key.length();
+    long keyOffset = keysLength;
+    keys.ensureCapacity(keyOffset + 1 + (length + CHARS_PER_LONG - 1) / CHARS_PER_LONG);
+    keys.set(keysLength++, length);
+    for (int i = 0; i < length; i += CHARS_PER_LONG) {
+      long packed = 0;
+      for (int j = 0; j < CHARS_PER_LONG && i + j < length; j++) {
+        packed |= ((long) key.charAt(i + j)) << (j * Character.SIZE);
+      }
+      keys.set(keysLength++, packed);
+    }
+    return keyOffset;
+  }
+
+  private boolean keyEquals(long keyOffset, CharSequence key) {
+    int length = key.length();
+    if (keys.get(keyOffset) != length) {
+      return false;
+    }
+    long position = keyOffset + 1;
+    for (int i = 0; i < length; i += CHARS_PER_LONG) {
+      long packed = keys.get(position++);
+      for (int j = 0; j < CHARS_PER_LONG && i + j < length; j++) {
+        if ((char) (packed >>> (j * Character.SIZE)) != key.charAt(i + j)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private void resize() {
+    DirectLongArray old = table;
+    long oldSlots = slotMask + 1;
+    allocate(oldSlots << 1);
+    for (long slot = 0; slot < oldSlots; slot++) {
+      long oldOffset = slot * SLOT_WIDTH;
+      long sequence = old.get(oldOffset + 2);
+      if (sequence == NO_SEQUENCE) {
+        continue;
+      }
+      long hash = old.get(oldOffset);
+      long newSlot = hash & slotMask;
+      while (table.get(newSlot * SLOT_WIDTH + 2) != NO_SEQUENCE) {
+        newSlot = (newSlot + 1) & slotMask;
+      }
+      long newOffset = newSlot * SLOT_WIDTH;
+      table.set(newOffset, hash);
+      table.set(newOffset + 1, old.get(oldOffset + 1));
+      table.set(newOffset + 2, sequence);
+    }
+    old.release();
+  }
+
+  @Override
+  public void close() {
+    table.release();
+    keys.release();
+    keysLength = 0;
+    size = 0;
+  }
+}
@@ -49,6 +49,15 @@ public class StructLikeCollections implements Serializable {
     this.backendBaseDir = backendBaseDir;
   }
 
+  /** The configured max in-memory size in bytes, may be null if not configured. */
+  public Long maxInMemorySizeInBytes() {
+    return maxInMemorySizeInBytes;
+  }
+
+  public String backendBaseDir() {
+    return backendBaseDir;
+  }
+
   public <T> StructLikeBaseMap<T> createStructLikeMap(Types.StructType type) {
     if (!enableSpillableMap) {
       return StructLikeMemoryMap.create(type);
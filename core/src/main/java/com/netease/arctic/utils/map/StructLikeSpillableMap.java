@@ -44,8 +44,8 @@ public class StructLikeSpillableMap<T> extends StructLikeBaseMap<T> {
         new SimpleSpillableMap<>(
             maxInMemorySizeInBytes,
             backendBaseDir,
-            SerializationUtil.createStructLikeWrapperSerializer(structLikeWrapper),
-            SerializationUtil.createJavaSimpleSerializer(),
+            SerializationUtil.createStructLikeWrapperSerializer(type, structLikeWrapper),
+            SerializationUtil.createCompactValueSerializer(),
             new StructLikeWrapperSizeEstimator(),
             new DefaultSizeEstimator<>());
   }
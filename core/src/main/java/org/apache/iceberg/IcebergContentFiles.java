@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iceberg;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Create Iceberg data and delete files with all their metadata. Unlike {@link DataFiles} and {@link
+ * FileMetadata} builders, sequence numbers are kept, which are required to apply deletes.
+ */
+public class IcebergContentFiles {
+
+  private IcebergContentFiles() {}
+
+  public static DataFile newDataFile(
+      int specId,
+      String path,
+      FileFormat format,
+      PartitionData partition,
+      long fileSizeInBytes,
+      Metrics metrics,
+      ByteBuffer keyMetadata,
+      List<Long> splitOffsets,
+      Integer sortOrderId,
+      Long dataSequenceNumber,
+      Long fileSequenceNumber) {
+    GenericDataFile file =
+        new GenericDataFile(
+            specId,
+            path,
+            format,
+            partition,
+            fileSizeInBytes,
+            metrics,
+            keyMetadata,
+            splitOffsets,
+            sortOrderId);
+    file.setDataSequenceNumber(dataSequenceNumber);
+    file.setFileSequenceNumber(fileSequenceNumber);
+    return file;
+  }
+
+  public static DeleteFile newDeleteFile(
+      int specId,
+      FileContent content,
+      String path,
+      FileFormat format,
+      PartitionData partition,
+      long fileSizeInBytes,
+      Metrics metrics,
+      int[] equalityFieldIds,
+      Integer sortOrderId,
+      List<Long> splitOffsets,
+      ByteBuffer keyMetadata,
+      Long dataSequenceNumber,
+      Long fileSequenceNumber) {
+    GenericDeleteFile file =
+        new GenericDeleteFile(
+            specId,
+            content,
+            path,
+            format,
+            partition,
+            fileSizeInBytes,
+            metrics,
+            equalityFieldIds,
+            sortOrderId,
+            splitOffsets,
+            keyMetadata);
+    file.setDataSequenceNumber(dataSequenceNumber);
+    file.setFileSequenceNumber(fileSequenceNumber);
+    return file;
+  }
+}
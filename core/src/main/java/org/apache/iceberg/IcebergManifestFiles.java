@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iceberg;
+
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableList;
+
+/**
+ * Read entries of Iceberg manifests. Unlike {@link ManifestFiles#readPaths(ManifestFile, FileIO)},
+ * both data and delete manifests are supported, and deleted entries are kept.
+ */
+public class IcebergManifestFiles {
+
+  private IcebergManifestFiles() {}
+
+  /**
+   * Read the file paths of all entries of a manifest, including the entries of deleted files.
+   *
+   * @param manifest the data or delete manifest
+   * @param io the io of the table
+   * @return paths of the files
+   */
+  public static CloseableIterable<String> readAllPaths(ManifestFile manifest, FileIO io) {
+    return readAllPaths(ManifestFiles.open(manifest, io));
+  }
+
+  private static <F extends ContentFile<F>> CloseableIterable<String> readAllPaths(
+      ManifestReader<F> reader) {
+    return CloseableIterable.transform(
+        reader.select(ImmutableList.of("file_path")).entries(),
+        entry -> entry.file().path().toString());
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iceberg;
+
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.FileIO;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Table scan that could skip data manifests before reading them, by the summaries kept in the
+ * manifest list, such as partition ranges, sequence numbers and file counts.
+ *
+ * <p>Skipped manifests are counted in {@link
+ * org.apache.iceberg.metrics.ScanMetrics#skippedDataManifests()} of the scan report.
+ */
+public class ManifestPruningTableScan extends DataTableScan {
+  Predicate<ManifestFile> manifestFilter;
+
+  public ManifestPruningTableScan(Table table) {
+    this(table, table.schema(), ImmutableTableScanContext.builder().build());
+  }
+
+  protected ManifestPruningTableScan(Table table, Schema schema, TableScanContext context) {
+    super(table, schema, context);
+  }
+
+  /**
+   * Create a new scan that only reads the data manifests accepted by the predicate.
+   *
+   * @param predicate a predicate of manifests, return false if the manifest contains no files to
+   *     scan
+   * @return a new scan based on this with the manifest filter
+   */
+  public ManifestPruningTableScan filterManifests(Predicate<ManifestFile> predicate) {
+    ManifestPruningTableScan scan = newRefinedScan(table(), schema(), context());
+    scan.manifestFilter =
+        scan.manifestFilter == null ? predicate : scan.manifestFilter.and(predicate);
+    return scan;
+  }
+
+  @Override
+  protected ManifestPruningTableScan newRefinedScan(
+      Table table, Schema schema, TableScanContext context) {
+    ManifestPruningTableScan scan = new ManifestPruningTableScan(table, schema, context);
+    scan.manifestFilter = this.manifestFilter;
+    return scan;
+  }
+
+  /**
+   * Whether the data manifest should be read.
+   *
+   * @param manifest a data manifest of the scanning snapshot
+   * @return false if the manifest could be skipped
+   */
+  protected boolean shouldReadManifest(ManifestFile manifest) {
+    return manifestFilter == null || manifestFilter.test(manifest);
+  }
+
+  @Override
+  public CloseableIterable<FileScanTask> doPlanFiles() {
+    Snapshot snapshot = snapshot();
+
+    FileIO io = table().io();
+    List<ManifestFile> dataManifests = snapshot.dataManifests(io);
+    List<ManifestFile> deleteManifests = snapshot.deleteManifests(io);
+    scanMetrics().totalDataManifests().increment((long) dataManifests.size());
+    scanMetrics().totalDeleteManifests().increment((long) deleteManifests.size());
+    ManifestGroup manifestGroup =
+        new ManifestGroup(io, dataManifests, deleteManifests)
+            .caseSensitive(isCaseSensitive())
+            .select(scanColumns())
+            .filterData(filter())
+            .filterManifests(this::shouldReadManifest)
+            .specsById(table().specs())
+            .scanMetrics(scanMetrics())
+            .ignoreDeleted();
+
+    if (shouldIgnoreResiduals()) {
+      manifestGroup = manifestGroup.ignoreResiduals();
+    }
+
+    if (dataManifests.size() > 1 && shouldPlanWithExecutor()) {
+      manifestGroup = manifestGroup.planWith(planExecutor());
+    }
+
+    return manifestGroup.planFiles();
+  }
+}
@@ -26,11 +26,15 @@ import org.apache.iceberg.expressions.Expression;
 import org.apache.iceberg.io.CloseableIterable;
 import org.apache.iceberg.util.StructLikeMap;
 
+import java.util.function.Predicate;
+
 /**
  * Table scan for {@link com.netease.arctic.table.ChangeTable}, support filter files with data
- * sequence number and return {@link BasicArcticFileScanTask}.
+ * sequence number and return {@link BasicArcticFileScanTask}. Manifests whose files are all out of
+ * the sequence range are skipped without being read.
  */
-public class MixedChangeTableScan extends DataTableScan implements ChangeTableIncrementalScan {
+public class MixedChangeTableScan extends ManifestPruningTableScan
+    implements ChangeTableIncrementalScan {
   private StructLikeMap<Long> fromPartitionSequence;
   private Long toSequence;
   private Long fromSequence;
@@ -59,11 +63,18 @@ public class MixedChangeTableScan extends DataTableScan implements ChangeTableIn
   protected MixedChangeTableScan newRefinedScan(
       Table table, Schema schema, TableScanContext context) {
     MixedChangeTableScan scan = new MixedChangeTableScan(table, schema, context);
+    scan.manifestFilter = this.manifestFilter;
     scan.fromPartitionSequence = this.fromPartitionSequence;
+    scan.fromSequence = this.fromSequence;
     scan.toSequence = this.toSequence;
     return scan;
   }
 
+  @Override
+  public MixedChangeTableScan filterManifests(Predicate<ManifestFile> predicate) {
+    return (MixedChangeTableScan) super.filterManifests(predicate);
+  }
+
   @Override
   public ChangeTableIncrementalScan fromSequence(StructLikeMap<Long> partitionSequence) {
     MixedChangeTableScan scan = newRefinedScan(table(), schema(), context());
@@ -107,6 +118,44 @@ public class MixedChangeTableScan extends DataTableScan implements ChangeTableIn
                 DefaultKeyedFile.parseChange(fileScanTask.file()), null, table().spec(), null));
   }
 
+  @Override
+  protected boolean shouldReadManifest(ManifestFile manifest) {
+    if (!super.shouldReadManifest(manifest)) {
+      return false;
+    }
+    if (manifest.sequenceNumber() < 0) {
+      return true;
+    }
+    // files in a manifest are never newer than the manifest itself
+    if (manifest.minSequenceNumber() >= 0 && biggerThanToSequence(manifest.minSequenceNumber())) {
+      return false;
+    }
+    Long fromSequence = minFromSequence();
+    return fromSequence == null || manifest.sequenceNumber() > fromSequence;
+  }
+
+  /**
+   * The smallest sequence to scan from of all partitions, null if files of some partitions should
+   * be read from the beginning.
+   */
+  private Long minFromSequence() {
+    if (fromPartitionSequence == null || fromPartitionSequence.isEmpty()) {
+      return fromSequence;
+    }
+    if (table().spec().isUnpartitioned()) {
+      return scanFromSequence(TablePropertyUtil.EMPTY_STRUCT);
+    }
+    if (fromSequence == null) {
+      // partitions not in fromPartitionSequence are read from the beginning
+      return null;
+    }
+    long min = fromSequence;
+    for (Long sequence : fromPartitionSequence.values()) {
+      min = Math.min(min, sequence);
+    }
+    return min;
+  }
+
   private boolean shouldKeepFile(StructLike partition, long sequence) {
     if (biggerThanToSequence(sequence)) {
       return false;
@@ -25,6 +25,7 @@ import com.netease.arctic.catalog.TableTestBase;
 import com.netease.arctic.io.reader.CombinedDeleteFilter;
 import com.netease.arctic.io.reader.GenericCombinedIcebergDataReader;
 import com.netease.arctic.optimizing.RewriteFilesInput;
+import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.FileFormat;
@@ -202,6 +203,7 @@ public class TestIcebergCombinedReader extends TableTestBase {
       Record record = Iterables.getFirst(records, null);
       Assert.assertEquals(record.get(0), 3);
     }
+    Assert.assertTrue(dataReader.getDeleteFilter().isPrimitiveEqDeleteIndex());
     dataReader.close();
   }
 
@@ -292,4 +294,65 @@ public class TestIcebergCombinedReader extends TableTestBase {
     }
     dataReader.close();
   }
+
+  @Test
+  public void readAllDataSortMerge() throws IOException {
+    // a max in-memory size smaller than the deletes switches to sort-merge and spills every row
+    StructLikeCollections structLikeCollections =
+        new StructLikeCollections(false, 1L, temp.newFolder().getPath());
+    GenericCombinedIcebergDataReader dataReader =
+        new GenericCombinedIcebergDataReader(
+            getArcticTable().io(),
+            getArcticTable().schema(),
+            getArcticTable().spec(),
+            null,
+            false,
+            IdentityPartitionConverters::convertConstant,
+            false,
+            structLikeCollections,
+            scanTask);
+    Assert.assertTrue(dataReader.getDeleteFilter().isSortMergeEqDelete());
+
+    try (CloseableIterable<Record> records = dataReader.readData()) {
+      Assert.assertEquals(1, Iterables.size(records));
+      Record record = Iterables.getFirst(records, null);
+      Assert.assertEquals(record.get(0), 3);
+    }
+
+    try (CloseableIterable<Record> records = dataReader.readDeletedData()) {
+      Assert.assertEquals(2, Iterables.size(records));
+      Record first = Iterables.getFirst(records, null);
+      Assert.assertEquals(first.get(1), 0L);
+      Record last = Iterables.getLast(records);
+      Assert.assertEquals(last.get(1), 1L);
+    }
+    dataReader.close();
+  }
+
+  @Test
+  public void readDataSortMergeNewerDeletes() throws IOException {
+    StructLikeCollections structLikeCollections =
+        new StructLikeCollections(false, 1L, temp.newFolder().getPath());
+    GenericCombinedIcebergDataReader dataReader =
+        new GenericCombinedIcebergDataReader(
+            getArcticTable().io(),
+            getArcticTable().schema(),
+            getArcticTable().spec(),
+            null,
+            false,
+            IdentityPartitionConverters::convertConstant,
+            false,
+            structLikeCollections,
+            filterEqDeleteScanTask);
+    Assert.assertTrue(dataReader.getDeleteFilter().isSortMergeEqDelete());
+
+    try (CloseableIterable<Record> records = dataReader.readData()) {
+      Assert.assertEquals(1, Iterables.size(records));
+    }
+
+    try (CloseableIterable<Record> records = dataReader.readDeletedData()) {
+      Assert.assertEquals(2, Iterables.size(records));
+    }
+    dataReader.close();
+  }
 }
@@ -29,6 +29,7 @@ import com.netease.arctic.io.writer.RecordWithAction;
 import com.netease.arctic.optimizing.RewriteFilesInput;
 import com.netease.arctic.table.PrimaryKeySpec;
 import com.netease.arctic.table.UnkeyedTable;
+import com.netease.arctic.utils.map.StructLikeCollections;
 import org.apache.iceberg.DataFile;
 import org.apache.iceberg.DeleteFile;
 import org.apache.iceberg.FileFormat;
@@ -150,6 +151,57 @@ public class TestIcebergCombinedReaderVariousTypes extends TableTestBase {
     Assert.assertEquals(Iterables.size(readData), 1);
   }
 
+  @Test
+  public void validSortMerge() throws IOException {
+    UnkeyedTable table = getArcticTable().asUnkeyedTable();
+    Record record = RandomGenericData.generate(table.schema(), 1, 1).get(0);
+
+    List<RecordWithAction> list = new ArrayList<>();
+    list.add(new RecordWithAction(record, ChangeAction.DELETE));
+    list.add(new RecordWithAction(record, ChangeAction.INSERT));
+    write(table, list);
+    write(table, list);
+
+    List<DataFile> dataFileList = new ArrayList<>();
+    List<DeleteFile> deleteFileList = new ArrayList<>();
+    try (CloseableIterable<FileScanTask> tasks = table.newScan().planFiles()) {
+      for (FileScanTask task : tasks) {
+        dataFileList.add(task.file());
+        deleteFileList.addAll(task.deletes());
+      }
+    }
+
+    RewriteFilesInput input =
+        new RewriteFilesInput(
+            dataFileList.toArray(new DataFile[0]),
+            new DataFile[] {},
+            new DeleteFile[] {},
+            deleteFileList.toArray(new DeleteFile[0]),
+            table);
+
+    GenericCombinedIcebergDataReader reader =
+        new GenericCombinedIcebergDataReader(
+            table.io(),
+            table.schema(),
+            table.spec(),
+            null,
+            false,
+            IdentityPartitionConverters::convertConstant,
+            false,
+            new StructLikeCollections(false, 1L, temp.newFolder().getPath()),
+            input);
+    Assert.assertTrue(reader.getDeleteFilter().isSortMergeEqDelete());
+
+    try (CloseableIterable<Record> readData = reader.readData()) {
+      Assert.assertEquals(1, Iterables.size(readData));
+      Record read = Iterables.getOnlyElement(readData);
+      for (int i = 0; i < record.size(); i++) {
+        Assert.assertEquals(record.get(i), read.get(i));
+      }
+    }
+    reader.close();
+  }
+
   @Test
   public void readDataEnableFilterEqDelete() throws IOException {
     UnkeyedTable table = getArcticTable().asUnkeyedTable();
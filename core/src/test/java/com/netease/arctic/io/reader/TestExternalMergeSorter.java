@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.io.reader;
+
+import org.apache.iceberg.io.CloseableIterator;
+import org.apache.iceberg.relocated.com.google.common.primitives.Longs;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+
+public class TestExternalMergeSorter {
+
+  @Rule public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void testMergeInMultiplePasses() throws IOException {
+    File spillDir = temp.newFolder();
+    // spill every entry to a run, merge at most 3 runs at once
+    try (ExternalMergeSorter sorter = new ExternalMergeSorter(0, spillDir.getPath(), 3)) {
+      int count = 20;
+      for (int i = 0; i < count; i++) {
+        // add keys in the reverse order
+        sorter.add(Longs.toByteArray(count - 1 - i), i, null);
+      }
+      Assert.assertEquals(count, sorter.spilledRuns());
+
+      for (int round = 0; round < 2; round++) {
+        try (CloseableIterator<ExternalMergeSorter.Entry> entries = sorter.sorted()) {
+          for (int i = 0; i < count; i++) {
+            Assert.assertTrue(entries.hasNext());
+            ExternalMergeSorter.Entry entry = entries.next();
+            Assert.assertEquals(i, Longs.fromByteArray(entry.key()));
+            Assert.assertEquals(count - 1 - i, entry.sequence());
+          }
+          Assert.assertFalse(entries.hasNext());
+        }
+      }
+      Assert.assertTrue(sorter.spilledRuns() <= 3);
+      Assert.assertEquals(
+          sorter.spilledRuns(), Objects.requireNonNull(spillDir.listFiles()).length);
+    }
+    Assert.assertEquals(0, Objects.requireNonNull(spillDir.listFiles()).length);
+  }
+}
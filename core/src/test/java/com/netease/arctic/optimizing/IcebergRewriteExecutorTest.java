@@ -197,6 +197,82 @@ public class IcebergRewriteExecutorTest extends TableTestBase {
     }
   }
 
+  /**
+   * Input of the data file of {@link #scanTask} and another data file of 2 rows, with the delete
+   * files of {@link #scanTask}.
+   *
+   * @param rewritePosDataFiles whether the data files are also rewritten with position deletes
+   */
+  private RewriteFilesInput twoDataFileInput(boolean rewritePosDataFiles) throws IOException {
+    StructLike partitionData = getPartitionData();
+    OutputFileFactory outputFileFactory =
+        OutputFileFactory.builderFor(getArcticTable().asUnkeyedTable(), 0, 2)
+            .format(fileFormat)
+            .build();
+    DataFile otherDataFile =
+        FileHelpers.writeDataFile(
+            getArcticTable().asUnkeyedTable(),
+            outputFileFactory.newOutputFile(partitionData).encryptingOutputFile(),
+            partitionData,
+            Arrays.asList(
+                MixedDataTestHelpers.createRecord(4, "tom", 3, "1970-01-01T08:00:00"),
+                MixedDataTestHelpers.createRecord(5, "ann", 4, "1970-01-01T08:00:00")));
+    DataFile[] dataFiles =
+        new DataFile[] {
+          scanTask.rewrittenDataFiles()[0],
+          MixedDataTestHelpers.wrapIcebergDataFile(otherDataFile, 1L)
+        };
+    return new RewriteFilesInput(
+        dataFiles,
+        rewritePosDataFiles ? dataFiles : new DataFile[] {},
+        scanTask.readOnlyDeleteFiles(),
+        new DeleteFile[] {},
+        getArcticTable());
+  }
+
+  @Test
+  public void readAllDataInParallel() throws IOException {
+    RewriteFilesInput input = twoDataFileInput(true);
+    DataFile[] dataFiles = input.rewrittenDataFiles();
+
+    IcebergRewriteExecutor executor =
+        new IcebergRewriteExecutor(input, getArcticTable(), StructLikeCollections.DEFAULT, 4);
+    Assert.assertEquals(2, executor.splitDataFiles(dataFiles).size());
+
+    RewriteFilesOutput output = executor.execute();
+
+    Assert.assertEquals(2, output.getDataFiles().length);
+    Assert.assertEquals(
+        3, Arrays.stream(output.getDataFiles()).mapToLong(DataFile::recordCount).sum());
+    Assert.assertEquals(
+        2, Arrays.stream(output.getDeleteFiles()).mapToLong(DeleteFile::recordCount).sum());
+  }
+
+  @Test
+  public void readAllDataWithClustering() throws IOException {
+    RewriteFilesInput input = twoDataFileInput(false);
+
+    // spill every row to sort externally
+    IcebergRewriteExecutor executor =
+        new IcebergRewriteExecutor(
+            input, getArcticTable(), new StructLikeCollections(false, 1L, null), 4);
+    executor.clusterBy(ClusteringStrategy.LINEAR, Collections.singletonList("name"));
+
+    RewriteFilesOutput output = executor.execute();
+
+    Assert.assertEquals(1, output.getDataFiles().length);
+    try (CloseableIterable<Record> records =
+        openFile(
+            output.getDataFiles()[0].path().toString(),
+            output.getDataFiles()[0].format(),
+            getArcticTable().schema(),
+            new HashMap<>())) {
+      List<Object> names = Lists.newArrayList();
+      records.forEach(record -> names.add(record.getField("name")));
+      Assert.assertEquals(Arrays.asList("ann", "sam", "tom"), names);
+    }
+  }
+
   @Test
   public void readAllDataWithPartitionEvolution() throws IOException {
     Assume.assumeTrue(getArcticTable().spec().isPartitioned());
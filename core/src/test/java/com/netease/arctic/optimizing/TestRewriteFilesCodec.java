@@ -0,0 +1,286 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.optimizing;
+
+import com.netease.arctic.data.DataFileType;
+import com.netease.arctic.data.DataTreeNode;
+import com.netease.arctic.data.DefaultKeyedFile;
+import com.netease.arctic.data.PrimaryKeyedFile;
+import com.netease.arctic.utils.SerializationUtil;
+import org.apache.iceberg.ContentFile;
+import org.apache.iceberg.DataFile;
+import org.apache.iceberg.DeleteFile;
+import org.apache.iceberg.FileContent;
+import org.apache.iceberg.FileFormat;
+import org.apache.iceberg.IcebergContentFiles;
+import org.apache.iceberg.Metrics;
+import org.apache.iceberg.PartitionData;
+import org.apache.iceberg.PartitionSpec;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.relocated.com.google.common.collect.ImmutableMap;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.collect.Maps;
+import org.apache.iceberg.types.Conversions;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.ByteBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+public class TestRewriteFilesCodec {
+
+  private static final Schema SCHEMA =
+      new Schema(
+          Types.NestedField.required(1, "id", Types.IntegerType.get()),
+          Types.NestedField.optional(2, "name", Types.StringType.get()),
+          Types.NestedField.optional(3, "op_time", Types.TimestampType.withoutZone()));
+
+  private static final PartitionSpec SPEC =
+      PartitionSpec.builderFor(SCHEMA).withSpecId(1).identity("name").day("op_time").build();
+
+  @Test
+  public void testInputRoundTrip() {
+    RewriteFilesInput input = newInput(0, 10);
+    input.option("key", "value");
+
+    byte[] bytes = ByteBuffers.toByteArray(RewriteFilesCodec.serializeInput(input));
+    Assert.assertTrue(RewriteFilesCodec.isEncoded(bytes));
+    RewriteFilesInput decoded = RewriteFilesCodec.deserializeInput(bytes);
+
+    assertInputEquals(input, decoded);
+    Assert.assertEquals(input.getOptions(), decoded.getOptions());
+  }
+
+  @Test
+  public void testLegacyFormat() {
+    RewriteFilesInput input = newInput(0, 10);
+    byte[] inputBytes = ByteBuffers.toByteArray(RewriteFilesCodec.serializeInput(input, true));
+    Assert.assertFalse(RewriteFilesCodec.isEncoded(inputBytes));
+    // readable by optimizers which only Java-deserialize inputs
+    assertInputEquals(input, SerializationUtil.simpleDeserialize(inputBytes));
+    assertInputEquals(input, RewriteFilesCodec.deserializeInput(inputBytes));
+
+    RewriteFilesOutput output =
+        new RewriteFilesOutput(
+            new DataFile[] {dataFile("a", 1, 1L)},
+            new DeleteFile[] {positionDeleteFile("a", 2, 2L)},
+            ImmutableMap.of("input-data-files", "10"));
+    byte[] outputBytes = ByteBuffers.toByteArray(RewriteFilesCodec.serializeOutput(output, true));
+    Assert.assertFalse(RewriteFilesCodec.isEncoded(outputBytes));
+    RewriteFilesOutput decoded = SerializationUtil.simpleDeserialize(outputBytes);
+    assertFilesEquals(output.getDataFiles(), decoded.getDataFiles());
+    assertFilesEquals(output.getDeleteFiles(), decoded.getDeleteFiles());
+  }
+
+  @Test
+  public void testInputsRoundTrip() {
+    Map<Integer, RewriteFilesInput> inputs = Maps.newHashMap();
+    for (int i = 0; i < 5; i++) {
+      inputs.put(i, newInput(i * 10, 10));
+    }
+
+    Map<Integer, RewriteFilesInput> decoded =
+        RewriteFilesCodec.deserializeInputs(RewriteFilesCodec.serializeInputs(inputs));
+
+    Assert.assertEquals(inputs.keySet(), decoded.keySet());
+    inputs.forEach((taskId, input) -> assertInputEquals(input, decoded.get(taskId)));
+  }
+
+  @Test
+  public void testOutputRoundTrip() {
+    RewriteFilesOutput output =
+        new RewriteFilesOutput(
+            new DataFile[] {dataFile("a", 1, 1L)},
+            new DeleteFile[] {equalityDeleteFile("a", 2, 2L), positionDeleteFile("a", 3, 3L)},
+            ImmutableMap.of("input-data-files", "10"));
+
+    byte[] bytes = ByteBuffers.toByteArray(RewriteFilesCodec.serializeOutput(output));
+    RewriteFilesOutput decoded = RewriteFilesCodec.deserializeOutput(bytes);
+
+    assertFilesEquals(output.getDataFiles(), decoded.getDataFiles());
+    assertFilesEquals(output.getDeleteFiles(), decoded.getDeleteFiles());
+    Assert.assertEquals(output.summary(), decoded.summary());
+  }
+
+  @Test
+  public void testKeyedFileRoundTrip() {
+    DataFile dataFile = dataFile("b", 7, 5L);
+    DefaultKeyedFile keyedFile =
+        DefaultKeyedFile.of(
+            dataFile,
+            new DefaultKeyedFile.FileMeta(5L, DataFileType.INSERT_FILE, DataTreeNode.of(3, 1)));
+    RewriteFilesInput input =
+        new RewriteFilesInput(
+            new DataFile[] {keyedFile}, new DataFile[] {}, null, new ContentFile[] {}, null);
+
+    RewriteFilesInput decoded =
+        RewriteFilesCodec.deserializeInput(
+            ByteBuffers.toByteArray(RewriteFilesCodec.serializeInput(input)));
+
+    Assert.assertNull(decoded.readOnlyDeleteFiles());
+    Assert.assertTrue(decoded.rewrittenDataFiles()[0] instanceof PrimaryKeyedFile);
+    PrimaryKeyedFile decodedKeyedFile = (PrimaryKeyedFile) decoded.rewrittenDataFiles()[0];
+    Assert.assertEquals(keyedFile.transactionId(), decodedKeyedFile.transactionId());
+    Assert.assertEquals(keyedFile.type(), decodedKeyedFile.type());
+    Assert.assertEquals(keyedFile.node(), decodedKeyedFile.node());
+    assertFileEquals(keyedFile, decodedKeyedFile);
+  }
+
+  @Test
+  public void testReadJavaSerializedPayload() {
+    RewriteFilesInput input = newInput(0, 3);
+    byte[] legacy = ByteBuffers.toByteArray(SerializationUtil.simpleSerialize(input));
+
+    Assert.assertFalse(RewriteFilesCodec.isEncoded(legacy));
+    assertInputEquals(input, RewriteFilesCodec.deserializeInput(legacy));
+  }
+
+  @Test
+  public void testSmallerThanJavaSerialization() {
+    RewriteFilesInput input = newInput(0, 100);
+    int encoded = RewriteFilesCodec.serializeInput(input).remaining();
+    int serialized = SerializationUtil.simpleSerialize(input).remaining();
+    Assert.assertTrue(
+        String.format("encoded %d bytes, java serialized %d bytes", encoded, serialized),
+        encoded * 3 < serialized);
+  }
+
+  private RewriteFilesInput newInput(int start, int count) {
+    DataFile[] dataFiles = new DataFile[count];
+    for (int i = 0; i < count; i++) {
+      dataFiles[i] = dataFile("p" + (start + i) % 3, start + i, start + i + 1L);
+    }
+    ContentFile<?>[] deleteFiles =
+        new ContentFile<?>[] {
+          equalityDeleteFile("p0", start, start + 100L), positionDeleteFile("p1", start, 200L)
+        };
+    return new RewriteFilesInput(
+        dataFiles, new DataFile[] {dataFiles[0]}, deleteFiles, new ContentFile<?>[] {}, null);
+  }
+
+  private static DataFile dataFile(String name, int index, long sequence) {
+    return IcebergContentFiles.newDataFile(
+        SPEC.specId(),
+        String.format(
+            "/warehouse/db/table/data/name=%s/op_time_day=2023-01-01/%d.parquet", name, index),
+        FileFormat.PARQUET,
+        partition(name),
+        1024L * index + 1,
+        metrics(index),
+        null,
+        Lists.newArrayList(4L, 1024L * index),
+        0,
+        sequence,
+        sequence);
+  }
+
+  private static DeleteFile equalityDeleteFile(String name, int index, long sequence) {
+    return IcebergContentFiles.newDeleteFile(
+        SPEC.specId(),
+        FileContent.EQUALITY_DELETES,
+        String.format("/warehouse/db/table/data/name=%s/eq-delete-%d.parquet", name, index),
+        FileFormat.PARQUET,
+        partition(name),
+        256L,
+        metrics(index),
+        new int[] {1},
+        null,
+        null,
+        ByteBuffer.wrap(new byte[] {1, 2, 3}),
+        sequence,
+        sequence);
+  }
+
+  private static DeleteFile positionDeleteFile(String name, int index, long sequence) {
+    return IcebergContentFiles.newDeleteFile(
+        SPEC.specId(),
+        FileContent.POSITION_DELETES,
+        String.format("/warehouse/db/table/data/name=%s/pos-delete-%d.avro", name, index),
+        FileFormat.AVRO,
+        partition(name),
+        128L,
+        new Metrics(3L, null, null, null, null),
+        null,
+        null,
+        null,
+        null,
+        sequence,
+        null);
+  }
+
+  private static PartitionData partition(String name) {
+    PartitionData partition = new PartitionData(SPEC.partitionType());
+    partition.set(0, name);
+    partition.set(1, 19358);
+    return partition;
+  }
+
+  private static Metrics metrics(int index) {
+    return new Metrics(
+        100L + index,
+        ImmutableMap.of(1, 40L, 2, 80L),
+        ImmutableMap.of(1, 100L + index, 2, 100L + index),
+        ImmutableMap.of(1, 0L, 2, (long) index),
+        ImmutableMap.of(),
+        ImmutableMap.of(1, Conversions.toByteBuffer(Types.IntegerType.get(), index)),
+        ImmutableMap.of(1, Conversions.toByteBuffer(Types.IntegerType.get(), index + 100)));
+  }
+
+  private static void assertInputEquals(RewriteFilesInput expected, RewriteFilesInput actual) {
+    assertFilesEquals(expected.rewrittenDataFiles(), actual.rewrittenDataFiles());
+    assertFilesEquals(expected.rePosDeletedDataFiles(), actual.rePosDeletedDataFiles());
+    assertFilesEquals(expected.readOnlyDeleteFiles(), actual.readOnlyDeleteFiles());
+    assertFilesEquals(expected.rewrittenDeleteFiles(), actual.rewrittenDeleteFiles());
+  }
+
+  private static void assertFilesEquals(ContentFile<?>[] expected, ContentFile<?>[] actual) {
+    if (expected == null) {
+      Assert.assertNull(actual);
+      return;
+    }
+    Assert.assertEquals(expected.length, actual.length);
+    for (int i = 0; i < expected.length; i++) {
+      assertFileEquals(expected[i], actual[i]);
+    }
+  }
+
+  private static void assertFileEquals(ContentFile<?> expected, ContentFile<?> actual) {
+    Assert.assertEquals(expected.content(), actual.content());
+    Assert.assertEquals(expected.specId(), actual.specId());
+    Assert.assertEquals(expected.path().toString(), actual.path().toString());
+    Assert.assertEquals(expected.format(), actual.format());
+    Assert.assertEquals(expected.partition(), actual.partition());
+    Assert.assertEquals(expected.recordCount(), actual.recordCount());
+    Assert.assertEquals(expected.fileSizeInBytes(), actual.fileSizeInBytes());
+    Assert.assertEquals(expected.columnSizes(), actual.columnSizes());
+    Assert.assertEquals(expected.valueCounts(), actual.valueCounts());
+    Assert.assertEquals(expected.nullValueCounts(), actual.nullValueCounts());
+    Assert.assertEquals(expected.nanValueCounts(), actual.nanValueCounts());
+    Assert.assertEquals(expected.lowerBounds(), actual.lowerBounds());
+    Assert.assertEquals(expected.upperBounds(), actual.upperBounds());
+    Assert.assertEquals(expected.keyMetadata(), actual.keyMetadata());
+    Assert.assertEquals(expected.splitOffsets(), actual.splitOffsets());
+    Assert.assertEquals(expected.equalityFieldIds(), actual.equalityFieldIds());
+    Assert.assertEquals(expected.sortOrderId(), actual.sortOrderId());
+    Assert.assertEquals(expected.dataSequenceNumber(), actual.dataSequenceNumber());
+    Assert.assertEquals(expected.fileSequenceNumber(), actual.fileSequenceNumber());
+  }
+}
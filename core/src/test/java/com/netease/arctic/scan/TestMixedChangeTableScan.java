@@ -23,11 +23,13 @@ import com.netease.arctic.utils.ArcticDataFiles;
 import org.apache.iceberg.FileScanTask;
 import org.apache.iceberg.StructLike;
 import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.metrics.ScanReport;
 import org.apache.iceberg.util.StructLikeMap;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 public class TestMixedChangeTableScan extends TableDataTestBase {
@@ -92,6 +94,30 @@ public class TestMixedChangeTableScan extends TableDataTestBase {
     }
   }
 
+  @Test
+  public void testSkipManifestsBySequence() throws IOException {
+    AtomicReference<ScanReport> report = new AtomicReference<>();
+    ChangeTableIncrementalScan changeTableIncrementalScan =
+        getArcticTable().asKeyedTable().changeTable().newScan().fromSequence(1L);
+    changeTableIncrementalScan =
+        (ChangeTableIncrementalScan)
+            changeTableIncrementalScan.metricsReporter(r -> report.set((ScanReport) r));
+    try (CloseableIterable<FileScanTask> tasks = changeTableIncrementalScan.planFiles()) {
+      assertFilesSequence(tasks, 1, 2, 2);
+    }
+    Assert.assertEquals(1, report.get().scanMetrics().skippedDataManifests().value());
+    Assert.assertEquals(1, report.get().scanMetrics().scannedDataManifests().value());
+  }
+
+  @Test
+  public void testFilterManifests() throws IOException {
+    ChangeTableIncrementalScan changeTableIncrementalScan =
+        getArcticTable().asKeyedTable().changeTable().newScan().filterManifests(m -> false);
+    try (CloseableIterable<FileScanTask> tasks = changeTableIncrementalScan.planFiles()) {
+      assertFilesSequence(tasks, 0, 0, 0);
+    }
+  }
+
   private void assertFiles(
       CloseableIterable<FileScanTask> tasks, int fileCnt, Predicate<FileScanTask> validator) {
     int taskCount = 0;
@@ -0,0 +1,188 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils;
+
+import com.netease.arctic.data.ChangedLsn;
+import org.apache.avro.util.Utf8;
+import org.apache.iceberg.StructLike;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.types.Types;
+import org.apache.iceberg.util.StructLikeWrapper;
+import org.apache.iceberg.util.UUIDUtil;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class TestBinaryStructLikeSerializer {
+
+  private static final Types.StructType KEY_TYPE =
+      Types.StructType.of(
+          Types.NestedField.optional(1, "id", Types.LongType.get()),
+          Types.NestedField.optional(2, "name", Types.StringType.get()),
+          Types.NestedField.optional(3, "score", Types.DoubleType.get()),
+          Types.NestedField.optional(4, "flag", Types.BooleanType.get()),
+          Types.NestedField.optional(5, "amount", Types.DecimalType.of(38, 2)),
+          Types.NestedField.optional(6, "uid", Types.UUIDType.get()),
+          Types.NestedField.optional(7, "bin", Types.BinaryType.get()),
+          Types.NestedField.optional(
+              8,
+              "nested",
+              Types.StructType.of(
+                  Types.NestedField.optional(9, "ts", Types.TimestampType.withoutZone()),
+                  Types.NestedField.optional(10, "f", Types.FloatType.get()))));
+
+  private final StructLikeWrapper wrapper = StructLikeWrapper.forType(KEY_TYPE);
+
+  private final BinaryStructLikeSerializer serializer =
+      new BinaryStructLikeSerializer(KEY_TYPE, wrapper);
+
+  @Test
+  public void testRoundTrip() {
+    GenericRecord key = key(-7L, "a\u0000中文", -1.5d);
+    key.set(3, true);
+    key.set(4, new BigDecimal("-12345678901234567890.12"));
+    key.set(5, UUID.randomUUID());
+    key.set(6, ByteBuffer.wrap(new byte[] {0, 1, 0, (byte) 0xff}));
+    GenericRecord nested = GenericRecord.create(KEY_TYPE.fields().get(7).type().asStructType());
+    nested.set(0, 1700000000000000L);
+    nested.set(1, -0.25f);
+    key.set(7, nested);
+
+    StructLikeWrapper deserialized =
+        serializer.deserialize(serializer.serialize(wrapper.copyFor(key)));
+    Assert.assertEquals(wrapper.copyFor(key), deserialized);
+
+    GenericRecord nullKey = GenericRecord.create(KEY_TYPE);
+    Assert.assertEquals(
+        wrapper.copyFor(nullKey),
+        serializer.deserialize(serializer.serialize(wrapper.copyFor(nullKey))));
+  }
+
+  @Test
+  public void testUuidAsBytes() {
+    UUID uuid = UUID.randomUUID();
+    GenericRecord uuidKey = key(1L, "uuid", 1d);
+    uuidKey.set(5, uuid);
+    GenericRecord bytesKey = key(1L, "uuid", 1d);
+    bytesKey.set(5, UUIDUtil.convert(uuid));
+    GenericRecord bufferKey = key(1L, "uuid", 1d);
+    bufferKey.set(5, UUIDUtil.convertToByteBuffer(uuid));
+
+    byte[] expected = serializer.serialize(wrapper.copyFor(uuidKey));
+    Assert.assertArrayEquals(expected, serializer.serialize(wrapper.copyFor(bytesKey)));
+    Assert.assertArrayEquals(expected, serializer.serialize(wrapper.copyFor(bufferKey)));
+    StructLike deserialized =
+        serializer.deserialize(serializer.serialize(wrapper.copyFor(bytesKey))).get();
+    Assert.assertEquals(uuid, deserialized.get(5, UUID.class));
+    Assert.assertEquals("uuid", deserialized.get(1, String.class));
+  }
+
+  @Test
+  public void testEqualKeysHaveEqualBytes() {
+    GenericRecord stringKey = key(1L, "same", 1d);
+    GenericRecord utf8Key = key(1L, null, 1d);
+    utf8Key.set(1, new Utf8("same"));
+    Assert.assertArrayEquals(
+        serializer.serialize(wrapper.copyFor(stringKey)),
+        serializer.serialize(wrapper.copyFor(utf8Key)));
+  }
+
+  @Test
+  public void testOrderPreserving() {
+    List<GenericRecord> keys =
+        LongStream.of(Long.MIN_VALUE, -100, -1, 0, 1, 100, Long.MAX_VALUE)
+            .boxed()
+            .flatMap(
+                id ->
+                    Arrays.asList("", "a", "a\u0000", "ab", "b").stream()
+                        .flatMap(
+                            name ->
+                                Arrays.asList(Double.NEGATIVE_INFINITY, -2.5d, 0d, 3d).stream()
+                                    .map(score -> key(id, name, score))))
+            .collect(Collectors.toList());
+
+    Comparator<GenericRecord> expectedOrder =
+        Comparator.<GenericRecord, Long>comparing(r -> r.get(0, Long.class))
+            .thenComparing(r -> r.get(1, String.class))
+            .thenComparing(r -> r.get(2, Double.class));
+    for (int i = 1; i < keys.size(); i++) {
+      GenericRecord left = keys.get(i - 1);
+      GenericRecord right = keys.get(i);
+      Assert.assertEquals(
+          Integer.signum(expectedOrder.compare(left, right)),
+          Integer.signum(compareUnsigned(bytes(left), bytes(right))));
+    }
+  }
+
+  @Test
+  public void testCompactValueSerializer() {
+    SerializationUtil.SimpleSerializer<Object> valueSerializer =
+        SerializationUtil.createCompactValueSerializer();
+    for (Object value :
+        Arrays.asList(
+            Long.MIN_VALUE, 42L, Integer.MAX_VALUE, ChangedLsn.of(3, 1L << 40), "kryo value")) {
+      Assert.assertEquals(value, valueSerializer.deserialize(valueSerializer.serialize(value)));
+    }
+    Assert.assertEquals(9, valueSerializer.serialize(1L).length);
+    Assert.assertEquals(17, valueSerializer.serialize(ChangedLsn.of(1, 2)).length);
+  }
+
+  @Test
+  public void testFallbackForNestedCollections() {
+    Types.StructType listType =
+        Types.StructType.of(
+            Types.NestedField.optional(
+                1, "list", Types.ListType.ofOptional(2, Types.IntegerType.get())));
+    Assert.assertFalse(BinaryStructLikeSerializer.supports(listType));
+    Assert.assertTrue(
+        SerializationUtil.createStructLikeWrapperSerializer(
+                listType, StructLikeWrapper.forType(listType))
+            instanceof SerializationUtil.StructLikeWrapperSerializer);
+  }
+
+  private GenericRecord key(Long id, String name, Double score) {
+    GenericRecord record = GenericRecord.create(KEY_TYPE);
+    record.set(0, id);
+    record.set(1, name);
+    record.set(2, score);
+    return record;
+  }
+
+  private byte[] bytes(GenericRecord key) {
+    return serializer.serialize(wrapper.copyFor(key));
+  }
+
+  private static int compareUnsigned(byte[] left, byte[] right) {
+    for (int i = 0; i < Math.min(left.length, right.length); i++) {
+      int compare = Integer.compare(left[i] & 0xff, right[i] & 0xff);
+      if (compare != 0) {
+        return compare;
+      }
+    }
+    return Integer.compare(left.length, right.length);
+  }
+}
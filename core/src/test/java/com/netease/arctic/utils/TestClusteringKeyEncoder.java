@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils;
+
+import com.netease.arctic.optimizing.ClusteringStrategy;
+import org.apache.iceberg.data.GenericRecord;
+import org.apache.iceberg.relocated.com.google.common.collect.Lists;
+import org.apache.iceberg.relocated.com.google.common.primitives.UnsignedBytes;
+import org.apache.iceberg.types.Types;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class TestClusteringKeyEncoder {
+
+  private static final Types.StructType ROW_TYPE =
+      Types.StructType.of(
+          Types.NestedField.optional(1, "x", Types.IntegerType.get()),
+          Types.NestedField.optional(2, "y", Types.IntegerType.get()),
+          Types.NestedField.optional(3, "name", Types.StringType.get()),
+          Types.NestedField.optional(
+              4, "tags", Types.ListType.ofOptional(5, Types.StringType.get())));
+
+  private static final Comparator<byte[]> KEY_COMPARATOR =
+      UnsignedBytes.lexicographicalComparator();
+
+  @Test
+  public void testSupports() {
+    Assert.assertTrue(ClusteringKeyEncoder.supports(ROW_TYPE, Arrays.asList("x", "name")));
+    Assert.assertFalse(ClusteringKeyEncoder.supports(ROW_TYPE, Collections.emptyList()));
+    Assert.assertFalse(ClusteringKeyEncoder.supports(ROW_TYPE, Arrays.asList("x", "z")));
+    Assert.assertFalse(ClusteringKeyEncoder.supports(ROW_TYPE, Arrays.asList("x", "tags")));
+  }
+
+  @Test
+  public void testLinear() {
+    ClusteringKeyEncoder encoder =
+        new ClusteringKeyEncoder(ROW_TYPE, ClusteringStrategy.LINEAR, Arrays.asList("y", "name"));
+    List<GenericRecord> rows =
+        Lists.newArrayList(
+            row(0, 2, "b"), row(1, 1, "b"), row(2, 2, "a"), row(3, -1, "c"), row(4, null, "a"));
+
+    List<Integer> sorted = sortedX(encoder, rows);
+
+    Assert.assertEquals(Arrays.asList(4, 3, 1, 2, 0), sorted);
+  }
+
+  @Test
+  public void testZOrder() {
+    ClusteringKeyEncoder encoder =
+        new ClusteringKeyEncoder(ROW_TYPE, ClusteringStrategy.ZORDER, Arrays.asList("x", "y"));
+    List<GenericRecord> rows = Lists.newArrayList();
+    for (int x = 3; x >= 0; x--) {
+      for (int y = 3; y >= 0; y--) {
+        rows.add(row(x, y, null));
+      }
+    }
+    rows.sort(Comparator.comparing(encoder::encode, KEY_COMPARATOR));
+
+    // each quadrant is visited before the next one
+    for (int i = 0; i < rows.size(); i++) {
+      int quadrant = i / 4;
+      Assert.assertEquals(quadrant / 2, (int) rows.get(i).get(0, Integer.class) / 2);
+      Assert.assertEquals(quadrant % 2, (int) rows.get(i).get(1, Integer.class) / 2);
+    }
+  }
+
+  @Test
+  public void testInterleave() {
+    byte[] key = ClusteringKeyEncoder.interleave(new long[] {-1L, 0L});
+    Assert.assertEquals(16, key.length);
+    for (byte b : key) {
+      Assert.assertEquals((byte) 0xAA, b);
+    }
+  }
+
+  @Test
+  public void testHilbertCurveIsContinuous() {
+    int side = 16;
+    List<long[]> points = Lists.newArrayList();
+    for (long x = 0; x < side; x++) {
+      for (long y = 0; y < side; y++) {
+        points.add(new long[] {x, y});
+      }
+    }
+    points.sort(
+        Comparator.comparing(
+            point -> ClusteringKeyEncoder.interleave(ClusteringKeyEncoder.hilbertTranspose(point)),
+            KEY_COMPARATOR));
+
+    for (int i = 1; i < points.size(); i++) {
+      long[] previous = points.get(i - 1);
+      long[] current = points.get(i);
+      Assert.assertEquals(
+          1, Math.abs(previous[0] - current[0]) + Math.abs(previous[1] - current[1]));
+    }
+  }
+
+  @Test
+  public void testHilbertClustersNearbyRows() {
+    ClusteringKeyEncoder encoder =
+        new ClusteringKeyEncoder(ROW_TYPE, ClusteringStrategy.HILBERT, Arrays.asList("x", "y"));
+    List<GenericRecord> rows = Lists.newArrayList();
+    for (int x = -2; x < 2; x++) {
+      for (int y = -2; y < 2; y++) {
+        rows.add(row(x, y, null));
+      }
+    }
+    rows.sort(Comparator.comparing(encoder::encode, KEY_COMPARATOR));
+
+    // the 4 quadrants are visited in turn
+    for (int quadrant = 0; quadrant < 4; quadrant++) {
+      List<GenericRecord> quadrantRows = rows.subList(quadrant * 4, quadrant * 4 + 4);
+      Assert.assertEquals(
+          1,
+          quadrantRows.stream()
+              .map(row -> (row.get(0, Integer.class) < 0) + "," + (row.get(1, Integer.class) < 0))
+              .distinct()
+              .count());
+    }
+  }
+
+  private static List<Integer> sortedX(ClusteringKeyEncoder encoder, List<GenericRecord> rows) {
+    return rows.stream()
+        .sorted(Comparator.comparing(encoder::encode, KEY_COMPARATOR))
+        .map(row -> row.get(0, Integer.class))
+        .collect(Collectors.toList());
+  }
+
+  private static GenericRecord row(Integer x, Integer y, String name) {
+    GenericRecord row = GenericRecord.create(ROW_TYPE);
+    row.set(0, x);
+    row.set(1, y);
+    row.set(2, name);
+    return row;
+  }
+}
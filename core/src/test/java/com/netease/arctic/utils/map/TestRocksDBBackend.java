@@ -56,6 +56,23 @@ public class TestRocksDBBackend {
     }
   }
 
+  @Test
+  public void testMultiGet() {
+    RocksDBBackend rocksDBBackend = RocksDBBackend.getOrCreateInstance();
+    rocksDBBackend.addColumnFamily(CF_NAME);
+    rocksDBBackend.put(CF_NAME, new byte[] {1}, new byte[] {10});
+    rocksDBBackend.put(CF_NAME, new byte[] {3}, new byte[] {30});
+    List<byte[]> values =
+        rocksDBBackend.multiGet(
+            rocksDBBackend.getColumnFamilyHandle(CF_NAME),
+            Arrays.asList(new byte[] {1}, new byte[] {2}, new byte[] {3}));
+    Assert.assertEquals(3, values.size());
+    Assert.assertArrayEquals(new byte[] {10}, values.get(0));
+    Assert.assertNull(values.get(1));
+    Assert.assertArrayEquals(new byte[] {30}, values.get(2));
+    rocksDBBackend.dropColumnFamily(CF_NAME);
+  }
+
   @Test
   public void testIterator() {
     RocksDBBackend rocksDBBackend = RocksDBBackend.getOrCreateInstance();
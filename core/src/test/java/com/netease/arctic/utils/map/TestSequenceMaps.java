@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.utils.map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+
+public class TestSequenceMaps {
+
+  @Test
+  public void testLongSequenceMap() {
+    try (LongSequenceMap map = new LongSequenceMap(4)) {
+      // grow far beyond the expected size
+      for (long key = -50000; key < 50000; key++) {
+        map.putMax(key, key & 0xff);
+      }
+      Assert.assertEquals(100000, map.size());
+
+      map.putMax(7L, 1L);
+      Assert.assertEquals(7L, map.get(7L));
+      map.putMax(7L, 1000L);
+      Assert.assertEquals(1000L, map.get(7L));
+
+      Assert.assertEquals(0L, map.get(0L));
+      Assert.assertEquals(-50000L & 0xff, map.get(-50000L));
+      Assert.assertEquals(LongSequenceMap.NO_SEQUENCE, map.get(50000L));
+      Assert.assertEquals(LongSequenceMap.NO_SEQUENCE, map.get(Long.MIN_VALUE));
+      Assert.assertEquals(100000, map.size());
+    }
+  }
+
+  @Test
+  public void testStringSequenceMap() {
+    try (StringSequenceMap map = new StringSequenceMap(4)) {
+      for (int i = 0; i < 50000; i++) {
+        map.putMax("key-" + i, i);
+      }
+      map.putMax("", 3L);
+      map.putMax("中文主键", 5L);
+      Assert.assertEquals(50002, map.size());
+
+      Assert.assertEquals(12345L, map.get("key-12345"));
+      Assert.assertEquals(12345L, map.get(new StringBuilder("key-12345")));
+      map.putMax("key-12345", 1L);
+      Assert.assertEquals(12345L, map.get("key-12345"));
+      map.putMax("key-12345", 99999L);
+      Assert.assertEquals(99999L, map.get("key-12345"));
+
+      Assert.assertEquals(3L, map.get(""));
+      Assert.assertEquals(5L, map.get("中文主键"));
+      Assert.assertEquals(StringSequenceMap.NO_SEQUENCE, map.get("中文主"));
+      Assert.assertEquals(StringSequenceMap.NO_SEQUENCE, map.get("key-50000"));
+      Assert.assertEquals(StringSequenceMap.NO_SEQUENCE, map.get("key-123456"));
+      Assert.assertEquals(50002, map.size());
+    }
+  }
+
+  @Test
+  public void testGrowFirstSegment() {
+    DirectLongArray array = new DirectLongArray(10, -1L);
+    Assert.assertEquals(10, array.capacity());
+    Assert.assertEquals(10 * Long.BYTES, array.sizeInBytes());
+    for (int i = 0; i < 10; i++) {
+      array.set(i, i);
+    }
+
+    // the only segment at least doubles
+    array.ensureCapacity(11);
+    Assert.assertEquals(20, array.capacity());
+    // the first segment is filled, then whole segments are added
+    array.ensureCapacity((1 << 17) + 1);
+    Assert.assertEquals(2 << 17, array.capacity());
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals(i, array.get(i));
+    }
+    Assert.assertEquals(-1L, array.get(10));
+    Assert.assertEquals(-1L, array.get((2 << 17) - 1));
+    array.release();
+  }
+
+  @Test
+  public void testReleaseDirectMemory() {
+    long before = directMemoryUsed();
+    DirectLongArray array = new DirectLongArray(1 << 20, -1L);
+    Assert.assertEquals(-1L, array.get((1 << 20) - 1));
+    Assert.assertTrue(directMemoryUsed() - before >= array.sizeInBytes());
+
+    array.release();
+    Assert.assertEquals(0, array.sizeInBytes());
+    Assert.assertEquals(before, directMemoryUsed());
+    // releasing twice is a no-op
+    array.release();
+    Assert.assertEquals(before, directMemoryUsed());
+  }
+
+  private static long directMemoryUsed() {
+    return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+        .filter(pool -> "direct".equals(pool.getName()))
+        .mapToLong(BufferPoolMXBean::getMemoryUsed)
+        .sum();
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iceberg;
+
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.relocated.com.google.common.collect.Sets;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.IOException;
+import java.util.Set;
+
+@RunWith(Parameterized.class)
+public class TestIcebergManifestFiles extends TableTestBase {
+  @Parameterized.Parameters(name = "formatVersion = {0}")
+  public static Object[] parameters() {
+    return new Object[] {1, 2};
+  }
+
+  public TestIcebergManifestFiles(int formatVersion) {
+    super(formatVersion);
+  }
+
+  @Test
+  public void testReadDeletedEntries() throws IOException {
+    table.newAppend().appendFile(FILE_A).appendFile(FILE_B).commit();
+    table.newDelete().deleteFile(FILE_A).commit();
+
+    Assert.assertEquals(
+        Sets.newHashSet(FILE_A.path().toString(), FILE_B.path().toString()),
+        readAllPaths(table.currentSnapshot().dataManifests(table.io())));
+  }
+
+  @Test
+  public void testReadDeleteManifests() throws IOException {
+    Assume.assumeTrue(formatVersion == 2);
+    table.newAppend().appendFile(FILE_A).commit();
+    table.newRowDelta().addDeletes(FILE_A_DELETES).commit();
+
+    Assert.assertEquals(
+        Sets.newHashSet(FILE_A_DELETES.path().toString()),
+        readAllPaths(table.currentSnapshot().deleteManifests(table.io())));
+  }
+
+  private Set<String> readAllPaths(Iterable<ManifestFile> manifests) throws IOException {
+    Set<String> paths = Sets.newHashSet();
+    for (ManifestFile manifest : manifests) {
+      try (CloseableIterable<String> manifestPaths =
+          IcebergManifestFiles.readAllPaths(manifest, table.io())) {
+        manifestPaths.forEach(paths::add);
+      }
+    }
+    return paths;
+  }
+}
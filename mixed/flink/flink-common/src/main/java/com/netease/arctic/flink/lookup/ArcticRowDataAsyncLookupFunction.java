@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.lookup;
+
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_MAX_BATCH_SIZE;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_THREAD_NUMBER;
+
+import com.netease.arctic.flink.read.hybrid.reader.DataIteratorReaderFunction;
+import com.netease.arctic.flink.table.ArcticTableLoader;
+import com.netease.arctic.hive.io.reader.AbstractAdaptHiveKeyedDataReader;
+import com.netease.arctic.table.ArcticTable;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.functions.AsyncLookupFunction;
+import org.apache.flink.table.functions.FunctionContext;
+import org.apache.flink.util.Preconditions;
+import org.apache.flink.util.concurrent.ExecutorThreadFactory;
+import org.apache.iceberg.Schema;
+import org.apache.iceberg.expressions.Expression;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * An async lookup function for {@link RowData} type.
+ *
+ * <p>The lookups are queued and served by dedicated threads, each thread takes the queued lookups
+ * in batches and reads them from the {@link KVTable} with batched RocksDB multiGet, so slow reads
+ * and reloading never block the task thread. Whether the results are emitted in order is decided by
+ * the planner with 'table.exec.async-lookup.output-mode'.
+ */
+public class ArcticRowDataAsyncLookupFunction extends AsyncLookupFunction {
+  private static final Logger LOG = LoggerFactory.getLogger(ArcticRowDataAsyncLookupFunction.class);
+  private static final long serialVersionUID = 4393361284571207421L;
+  private final BasicLookupFunction<RowData> basicLookupFunction;
+  private final int threadNum;
+  private final int maxBatchSize;
+
+  private transient BlockingQueue<LookupRequest> requests;
+  private transient ExecutorService executor;
+  private transient volatile boolean closed;
+
+  public ArcticRowDataAsyncLookupFunction(
+      TableFactory<RowData> tableFactory,
+      ArcticTable arcticTable,
+      List<String> joinKeys,
+      Schema projectSchema,
+      List<Expression> filters,
+      ArcticTableLoader tableLoader,
+      Configuration config,
+      Predicate<RowData> predicate,
+      AbstractAdaptHiveKeyedDataReader<RowData> flinkArcticMORDataReader,
+      DataIteratorReaderFunction<RowData> readerFunction) {
+    this.basicLookupFunction =
+        new BasicLookupFunction<>(
+            tableFactory,
+            arcticTable,
+            joinKeys,
+            projectSchema,
+            filters,
+            tableLoader,
+            config,
+            predicate,
+            flinkArcticMORDataReader,
+            readerFunction);
+    this.threadNum = config.get(LOOKUP_ASYNC_THREAD_NUMBER);
+    this.maxBatchSize = config.get(LOOKUP_ASYNC_MAX_BATCH_SIZE);
+    Preconditions.checkArgument(
+        threadNum > 0, "%s must be greater than 0", LOOKUP_ASYNC_THREAD_NUMBER.key());
+    Preconditions.checkArgument(
+        maxBatchSize > 0, "%s must be greater than 0", LOOKUP_ASYNC_MAX_BATCH_SIZE.key());
+  }
+
+  @Override
+  public void open(FunctionContext context) throws IOException {
+    basicLookupFunction.open(context);
+    requests = new LinkedBlockingQueue<>();
+    closed = false;
+    executor =
+        Executors.newFixedThreadPool(threadNum, new ExecutorThreadFactory("Arctic-async-lookup"));
+    for (int i = 0; i < threadNum; i++) {
+      executor.execute(this::serveRequests);
+    }
+  }
+
+  @Override
+  public CompletableFuture<Collection<RowData>> asyncLookup(RowData keyRow) {
+    CompletableFuture<Collection<RowData>> future = new CompletableFuture<>();
+    if (closed) {
+      future.completeExceptionally(
+          new IllegalStateException("The async lookup function has been closed."));
+    } else {
+      requests.add(new LookupRequest(keyRow, future));
+    }
+    return future;
+  }
+
+  private void serveRequests() {
+    List<LookupRequest> batch = new ArrayList<>(maxBatchSize);
+    while (!closed) {
+      try {
+        LookupRequest request = requests.poll(100, TimeUnit.MILLISECONDS);
+        if (request == null) {
+          continue;
+        }
+        batch.add(request);
+        requests.drainTo(batch, maxBatchSize - 1);
+        serve(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void serve(List<LookupRequest> batch) {
+    List<RowData> keys = batch.stream().map(request -> request.key).collect(Collectors.toList());
+    try {
+      List<List<RowData>> results = basicLookupFunction.lookupAll(keys);
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).future.complete(results.get(i));
+      }
+    } catch (Throwable t) {
+      LOG.error("Failed to lookup {} keys.", batch.size(), t);
+      batch.forEach(request -> request.future.completeExceptionally(t));
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    closed = true;
+    if (executor != null) {
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    if (requests != null) {
+      LookupRequest request;
+      while ((request = requests.poll()) != null) {
+        request.future.completeExceptionally(
+            new IllegalStateException("The async lookup function has been closed."));
+      }
+    }
+    basicLookupFunction.close();
+  }
+
+  private static class LookupRequest {
+    private final RowData key;
+    private final CompletableFuture<Collection<RowData>> future;
+
+    private LookupRequest(RowData key, CompletableFuture<Collection<RowData>> future) {
+      this.key = key;
+      this.future = future;
+    }
+  }
+}
@@ -20,6 +20,7 @@ package com.netease.arctic.flink.lookup;
 
 import static com.netease.arctic.flink.lookup.LookupMetrics.GROUP_NAME_LOOKUP;
 import static com.netease.arctic.flink.lookup.LookupMetrics.LOADING_TIME_MS;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_SHARED;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_RELOADING_INTERVAL;
 import static com.netease.arctic.flink.util.ArcticUtils.loadArcticTable;
 import static org.apache.flink.util.Preconditions.checkArgument;
@@ -31,7 +32,9 @@ import com.netease.arctic.flink.table.ArcticTableLoader;
 import com.netease.arctic.hive.io.reader.AbstractAdaptHiveKeyedDataReader;
 import com.netease.arctic.table.ArcticTable;
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
 import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
 import org.apache.flink.streaming.api.operators.StreamingRuntimeContext;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.functions.FunctionContext;
@@ -48,8 +51,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadLocalRandom;
@@ -80,6 +88,15 @@ public class BasicLookupFunction<T> implements Serializable {
 
   private transient ScheduledExecutorService executor;
   private final AtomicReference<Throwable> failureThrowable = new AtomicReference<>();
+  private final boolean shared;
+  /** The key in the {@link KVTableRegistry} if the loaded table is shared. */
+  private transient String sharedKey;
+  /** The shared function which loads the table, may be this function itself. */
+  private transient BasicLookupFunction<T> sharedFunction;
+  /** Metrics of the loaded table if it is shared, which are reported by every sharing subtask. */
+  private transient SharedMetricGroup sharedMetrics;
+  /** The metric group of this subtask which reports the metrics of the shared table. */
+  private transient MetricGroup subtaskMetricGroup;
 
   public BasicLookupFunction(
       TableFactory<T> tableFactory,
@@ -108,6 +125,7 @@ public class BasicLookupFunction<T> implements Serializable {
     this.predicate = predicate;
     this.flinkArcticMORDataReader = flinkArcticMORDataReader;
     this.readerFunction = readerFunction;
+    this.shared = config.get(LOOKUP_CACHE_SHARED);
   }
 
   /**
@@ -116,8 +134,54 @@ public class BasicLookupFunction<T> implements Serializable {
    * @throws IOException If serialize or deserialize failed
    */
   public void open(FunctionContext context) throws IOException {
-    init(context);
-    start();
+    if (!shared) {
+      init(context);
+      start();
+      return;
+    }
+    String key = sharedKey();
+    sharedFunction = KVTableRegistry.acquire(key, () -> loadShared(context));
+    sharedKey = key;
+    subtaskMetricGroup = context.getMetricGroup().addGroup(GROUP_NAME_LOOKUP);
+    sharedFunction.sharedMetrics.registerTo(subtaskMetricGroup);
+  }
+
+  /**
+   * Load the table shared by the lookup functions in the same TaskManager. The kvTable is created
+   * in the loader thread, so its thread-local RocksDB instance is not mixed up with the other
+   * tables created by the task thread, and outlives the task which loads it.
+   */
+  private BasicLookupFunction<T> loadShared(FunctionContext context) {
+    LOG.info("Loading the shared lookup table {}.", arcticTable.name());
+    this.executor = createExecutor();
+    this.sharedMetrics = new SharedMetricGroup();
+    try {
+      executor.submit(() -> init(context, sharedMetrics)).get();
+      start();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      closeTable();
+      throw new FlinkRuntimeException(e);
+    } catch (ExecutionException e) {
+      closeTable();
+      throw new FlinkRuntimeException(e.getCause());
+    } catch (RuntimeException e) {
+      closeTable();
+      throw e;
+    }
+    return this;
+  }
+
+  private String sharedKey() {
+    return String.join(
+        "|",
+        kvTableFactory.getClass().getName(),
+        arcticTable.id().toString(),
+        projectSchema.asStruct().toString(),
+        joinKeys.toString(),
+        String.valueOf(filters),
+        String.valueOf(predicate),
+        new TreeMap<>(config.toMap()).toString());
   }
 
   /**
@@ -126,8 +190,11 @@ public class BasicLookupFunction<T> implements Serializable {
    * @param context
    */
   public void init(FunctionContext context) {
+    init(context, context.getMetricGroup().addGroup(GROUP_NAME_LOOKUP));
+  }
+
+  private void init(FunctionContext context, MetricGroup metricGroup) {
     LOG.info("lookup function row data predicate: {}.", predicate);
-    MetricGroup metricGroup = context.getMetricGroup().addGroup(GROUP_NAME_LOOKUP);
     if (arcticTable == null) {
       arcticTable = loadArcticTable(loader).asKeyedTable();
     }
@@ -160,9 +227,9 @@ public class BasicLookupFunction<T> implements Serializable {
     // initialization
     checkAndLoad();
 
-    this.executor =
-        Executors.newScheduledThreadPool(
-            1, new ExecutorThreadFactory("Arctic-lookup-scheduled-loader"));
+    if (executor == null) {
+      this.executor = createExecutor();
+    }
     this.executor.scheduleWithFixedDelay(
         () -> {
           try {
@@ -178,7 +245,15 @@ public class BasicLookupFunction<T> implements Serializable {
         TimeUnit.MILLISECONDS);
   }
 
+  private ScheduledExecutorService createExecutor() {
+    return Executors.newScheduledThreadPool(
+        1, new ExecutorThreadFactory("Arctic-lookup-scheduled-loader"));
+  }
+
   public List<T> lookup(RowData lookupKey) {
+    if (sharedFunction != null && sharedFunction != this) {
+      return sharedFunction.lookup(lookupKey);
+    }
     checkErrorAndRethrow();
     try {
       return kvTable.get(lookupKey);
@@ -187,6 +262,18 @@ public class BasicLookupFunction<T> implements Serializable {
     }
   }
 
+  public List<List<T>> lookupAll(List<RowData> lookupKeys) {
+    if (sharedFunction != null && sharedFunction != this) {
+      return sharedFunction.lookupAll(lookupKeys);
+    }
+    checkErrorAndRethrow();
+    try {
+      return kvTable.getAll(lookupKeys);
+    } catch (Exception e) {
+      throw new FlinkRuntimeException(e);
+    }
+  }
+
   /**
    * Check whether it is time to periodically load data to kvTable. Support to use {@link
    * Expression} filters to filter the data.
@@ -230,10 +317,27 @@ public class BasicLookupFunction<T> implements Serializable {
   }
 
   public KVTable<T> getKVTable() {
-    return kvTable;
+    return sharedFunction != null ? sharedFunction.kvTable : kvTable;
   }
 
   public void close() throws Exception {
+    if (sharedKey != null) {
+      // the shared table is closed by the function releasing the last reference
+      sharedFunction.sharedMetrics.unregisterFrom(subtaskMetricGroup);
+      BasicLookupFunction<?> last = KVTableRegistry.release(sharedKey);
+      sharedKey = null;
+      sharedFunction = null;
+      subtaskMetricGroup = null;
+      if (last != null) {
+        LOG.info("Closing the shared lookup table {}.", last.arcticTable.name());
+        last.closeTable();
+      }
+      return;
+    }
+    closeTable();
+  }
+
+  private void closeTable() {
     if (kvTable != null) {
       kvTable.close();
     }
@@ -266,4 +370,30 @@ public class BasicLookupFunction<T> implements Serializable {
       throw new RuntimeException(e);
     }
   }
+
+  /**
+   * Collects the gauges of a shared table and registers them to the metric groups of all subtasks
+   * sharing it, so the metrics are still reported after the subtask which loaded the table is
+   * closed.
+   */
+  private static class SharedMetricGroup extends UnregisteredMetricsGroup {
+    private final Map<String, Gauge<?>> gauges = new LinkedHashMap<>();
+    private final List<MetricGroup> groups = new ArrayList<>();
+
+    @Override
+    public synchronized <M, G extends Gauge<M>> G gauge(String name, G gauge) {
+      gauges.put(name, gauge);
+      groups.forEach(group -> group.gauge(name, gauge));
+      return gauge;
+    }
+
+    synchronized void registerTo(MetricGroup group) {
+      groups.add(group);
+      gauges.forEach(group::gauge);
+    }
+
+    synchronized void unregisterFrom(MetricGroup group) {
+      groups.remove(group);
+    }
+  }
 }
@@ -34,14 +34,14 @@ import java.io.Serializable;
 /**
  * This is a wrapper for {@link BinaryRowDataSerializer}. It is used to serialize and deserialize
  * RowData.
+ *
+ * <p>It is thread-safe, lookups and reloading threads could serialize and deserialize concurrently.
  */
 public class BinaryRowDataSerializerWrapper implements Serializable {
 
   private static final long serialVersionUID = 1L;
   protected BinaryRowDataSerializer serializer;
-  private RowDataSerializer rowDataSerializer;
-  private DataOutputSerializer outputView;
-  private DataInputDeserializer inputView;
+  private transient volatile ThreadLocal<Buffers> buffers;
   private final Schema schema;
 
   public BinaryRowDataSerializerWrapper(Schema schema) {
@@ -50,27 +50,42 @@ public class BinaryRowDataSerializerWrapper implements Serializable {
   }
 
   public byte[] serialize(RowData rowData) throws IOException {
-    if (rowDataSerializer == null) {
-      RowType rowType = FlinkSchemaUtil.convert(schema);
-      rowDataSerializer = new RowDataSerializer(rowType);
-    }
-    BinaryRowData binaryRowData = rowDataSerializer.toBinaryRow(rowData);
-    if (outputView == null) {
-      outputView = new DataOutputSerializer(32);
-    }
-    outputView.clear();
-    serializer.serialize(binaryRowData, outputView);
-    return outputView.getCopyOfBuffer();
+    Buffers buffers = buffers();
+    BinaryRowData binaryRowData = buffers.rowDataSerializer.toBinaryRow(rowData);
+    buffers.outputView.clear();
+    serializer.serialize(binaryRowData, buffers.outputView);
+    return buffers.outputView.getCopyOfBuffer();
   }
 
   public RowData deserialize(byte[] recordBytes) throws IOException {
     if (recordBytes == null) {
       return null;
     }
-    if (inputView == null) {
-      inputView = new DataInputDeserializer();
-    }
+    DataInputDeserializer inputView = buffers().inputView;
     inputView.setBuffer(recordBytes);
     return serializer.deserialize(inputView);
   }
+
+  private Buffers buffers() {
+    if (buffers == null) {
+      synchronized (this) {
+        if (buffers == null) {
+          buffers = ThreadLocal.withInitial(() -> new Buffers(schema));
+        }
+      }
+    }
+    return buffers.get();
+  }
+
+  /** The reused serializer and views of a thread. */
+  private static class Buffers {
+    private final RowDataSerializer rowDataSerializer;
+    private final DataOutputSerializer outputView = new DataOutputSerializer(32);
+    private final DataInputDeserializer inputView = new DataInputDeserializer();
+
+    private Buffers(Schema schema) {
+      RowType rowType = FlinkSchemaUtil.convert(schema);
+      this.rowDataSerializer = new RowDataSerializer(rowType);
+    }
+  }
 }
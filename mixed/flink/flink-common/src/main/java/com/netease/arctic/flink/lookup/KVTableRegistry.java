@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netease.arctic.flink.lookup;
+
+import org.apache.flink.annotation.VisibleForTesting;
+import org.apache.flink.util.FlinkRuntimeException;
+import org.apache.flink.util.Preconditions;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * A TaskManager-wide registry of the loaded {@link KVTable}s, which are shared by the parallel
+ * lookup subtasks running in the same JVM.
+ *
+ * <p>The lookup functions with the same table, projection, join keys, filters and options share one
+ * {@link BasicLookupFunction} which loads and reloads the KVTable. The table is loaded by the first
+ * acquirer, the others wait for the loading, and it is closed after the last reference is released.
+ */
+class KVTableRegistry {
+  private static final Map<String, SharedTable> TABLES = new HashMap<>();
+
+  private KVTableRegistry() {}
+
+  /**
+   * Acquire the shared lookup function of the key, the function is created and loaded by the loader
+   * if absent.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> BasicLookupFunction<T> acquire(String key, Supplier<BasicLookupFunction<T>> loader) {
+    SharedTable table;
+    boolean absent;
+    synchronized (TABLES) {
+      table = TABLES.get(key);
+      absent = table == null;
+      if (absent) {
+        table = new SharedTable();
+        TABLES.put(key, table);
+      }
+      table.refCount++;
+    }
+
+    if (absent) {
+      try {
+        table.function.complete(loader.get());
+      } catch (Throwable t) {
+        // the failed table is not kept, the next acquirer loads it again
+        synchronized (TABLES) {
+          TABLES.remove(key, table);
+        }
+        table.function.completeExceptionally(t);
+        throw t;
+      }
+    }
+    try {
+      return (BasicLookupFunction<T>) table.function.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new FlinkRuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new FlinkRuntimeException(
+          "Failed to load the shared lookup table " + key, e.getCause());
+    }
+  }
+
+  /**
+   * Release a reference of the key.
+   *
+   * @return the shared lookup function to be closed if it was the last reference, otherwise null.
+   */
+  static BasicLookupFunction<?> release(String key) {
+    SharedTable table;
+    synchronized (TABLES) {
+      table = TABLES.get(key);
+      Preconditions.checkState(table != null, "The shared lookup table %s is not acquired", key);
+      if (--table.refCount > 0) {
+        return null;
+      }
+      TABLES.remove(key);
+    }
+    return table.function.getNow(null);
+  }
+
+  @VisibleForTesting
+  static int refCount(String key) {
+    synchronized (TABLES) {
+      SharedTable table = TABLES.get(key);
+      return table == null ? 0 : table.refCount;
+    }
+  }
+
+  private static class SharedTable {
+    private final CompletableFuture<BasicLookupFunction<?>> function = new CompletableFuture<>();
+    private int refCount;
+  }
+}
@@ -32,6 +32,8 @@ public class LookupOptions implements Serializable {
   private final Duration ttlAfterWrite;
   private final long blockCacheCapacity;
   private final int blockCacheNumShardBits;
+  private final boolean bulkLoadEnabled;
+  private final long bulkLoadBufferSize;
 
   private LookupOptions(Builder builder) {
     this.lruMaximumSize = builder.lruMaximumSize;
@@ -39,6 +41,8 @@ public class LookupOptions implements Serializable {
     this.ttlAfterWrite = builder.ttlAfterWrite;
     this.blockCacheCapacity = builder.blockCacheCapacity;
     this.blockCacheNumShardBits = builder.blockCacheNumShardBits;
+    this.bulkLoadEnabled = builder.bulkLoadEnabled;
+    this.bulkLoadBufferSize = builder.bulkLoadBufferSize;
   }
 
   public long lruMaximumSize() {
@@ -65,6 +69,18 @@ public class LookupOptions implements Serializable {
     return blockCacheNumShardBits;
   }
 
+  /**
+   * The TTL rocksDB appends a timestamp to the written values, so the records could not be ingested
+   * from SST files when the ttlAfterWrite is validated.
+   */
+  public boolean bulkLoadEnabled() {
+    return bulkLoadEnabled && !isTTLAfterWriteValidated();
+  }
+
+  public long bulkLoadBufferSize() {
+    return bulkLoadBufferSize;
+  }
+
   @Override
   public String toString() {
     return "LookupOptions{"
@@ -78,6 +94,10 @@ public class LookupOptions implements Serializable {
         + blockCacheCapacity
         + ", blockCacheNumShardBits="
         + blockCacheNumShardBits
+        + ", bulkLoadEnabled="
+        + bulkLoadEnabled
+        + ", bulkLoadBufferSize="
+        + bulkLoadBufferSize
         + "}";
   }
 
@@ -87,6 +107,8 @@ public class LookupOptions implements Serializable {
     private Duration ttlAfterWrite;
     private long blockCacheCapacity;
     private int blockCacheNumShardBits;
+    private boolean bulkLoadEnabled;
+    private long bulkLoadBufferSize = 64 * 1024 * 1024L;
 
     /** LRU cache max size. */
     public Builder lruMaximumSize(long lruMaximumSize) {
@@ -126,6 +148,20 @@ public class LookupOptions implements Serializable {
       return this;
     }
 
+    /** Load the initial records by ingesting sorted SST files. */
+    public Builder bulkLoadEnabled(boolean bulkLoadEnabled) {
+      this.bulkLoadEnabled = bulkLoadEnabled;
+      return this;
+    }
+
+    /** Max size of the records sorted in memory before written into a SST file. */
+    public Builder bulkLoadBufferSize(long bulkLoadBufferSize) {
+      Preconditions.checkArgument(
+          bulkLoadBufferSize > 0, "bulkLoadBufferSize must be greater than 0");
+      this.bulkLoadBufferSize = bulkLoadBufferSize;
+      return this;
+    }
+
     public LookupOptions build() {
       return new LookupOptions(this);
     }
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.netease.arctic.flink.lookup;
+
+import com.netease.arctic.ArcticIOException;
+import com.netease.arctic.utils.map.RocksDBBackend;
+import org.apache.flink.util.FileUtils;
+import org.apache.iceberg.relocated.com.google.common.primitives.UnsignedBytes;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.SstFileWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Loads the initial records of a column family by writing them into SST files and ingesting the
+ * files, instead of putting the records one by one through the memtable and WAL.
+ *
+ * <p>Records are sorted by key in an in-memory run, each run is written into a local SST file with
+ * {@link SstFileWriter} once it exceeds the buffer size. The latest record wins within a run, and
+ * the runs are ingested in the order they were written, so a later run overrides an earlier one.
+ *
+ * <p>Not thread-safe, records are written by the thread that loads the table.
+ */
+public class RocksDBBulkLoader {
+  private static final Logger LOG = LoggerFactory.getLogger(RocksDBBulkLoader.class);
+  /** Rough per-entry overhead of the sorted run, used to limit the run size. */
+  private static final int ENTRY_OVERHEAD = 64;
+
+  private final RocksDBBackend rocksDB;
+  private final ColumnFamilyHandle columnFamilyHandle;
+  private final File sstDir;
+  private final long bufferSize;
+
+  /** A null value marks a deleted key. */
+  private final TreeMap<byte[], byte[]> run =
+      new TreeMap<>(UnsignedBytes.lexicographicalComparator());
+
+  private final List<String> sstFiles = new ArrayList<>();
+  private long runSize;
+  private long count;
+
+  public RocksDBBulkLoader(
+      RocksDBBackend rocksDB,
+      String columnFamilyName,
+      ColumnFamilyHandle columnFamilyHandle,
+      long bufferSize) {
+    this.rocksDB = rocksDB;
+    this.columnFamilyHandle = columnFamilyHandle;
+    this.sstDir = new File(rocksDB.getRocksDBBasePath(), "bulk-load-" + columnFamilyName);
+    this.bufferSize = bufferSize;
+  }
+
+  public void put(byte[] key, byte[] value) {
+    add(key, value);
+  }
+
+  public void delete(byte[] key) {
+    add(key, null);
+  }
+
+  private void add(byte[] key, byte[] value) {
+    byte[] previous = run.put(key, value);
+    runSize += value == null ? 0 : value.length;
+    if (previous != null) {
+      runSize -= previous.length;
+    } else {
+      runSize += key.length + ENTRY_OVERHEAD;
+    }
+    count++;
+    if (runSize >= bufferSize) {
+      flushRun();
+    }
+  }
+
+  /** Writes the remaining records and ingests all SST files into the column family. */
+  public void ingest() {
+    long start = System.currentTimeMillis();
+    flushRun();
+    try (IngestExternalFileOptions options = new IngestExternalFileOptions().setMoveFiles(true)) {
+      // ingest the files one by one, so that the later files get the larger sequence numbers
+      for (String sstFile : sstFiles) {
+        rocksDB
+            .getDB()
+            .ingestExternalFile(columnFamilyHandle, Collections.singletonList(sstFile), options);
+      }
+    } catch (RocksDBException e) {
+      throw new ArcticIOException(e);
+    } finally {
+      FileUtils.deleteDirectoryQuietly(sstDir);
+    }
+    LOG.info(
+        "Ingested {} records in {} SST files, cost:{} ms.",
+        count,
+        sstFiles.size(),
+        System.currentTimeMillis() - start);
+    sstFiles.clear();
+    count = 0;
+  }
+
+  private void flushRun() {
+    if (run.isEmpty()) {
+      return;
+    }
+    File sstFile = new File(sstDir, String.format("run-%05d.sst", sstFiles.size()));
+    try (EnvOptions envOptions = new EnvOptions();
+        Options options = new Options();
+        SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+      Files.createDirectories(sstDir.toPath());
+      writer.open(sstFile.getAbsolutePath());
+      for (Map.Entry<byte[], byte[]> entry : run.entrySet()) {
+        if (entry.getValue() == null) {
+          writer.delete(entry.getKey());
+        } else {
+          writer.put(entry.getKey(), entry.getValue());
+        }
+      }
+      writer.finish();
+    } catch (RocksDBException | IOException e) {
+      throw new ArcticIOException(e);
+    }
+    LOG.info("Wrote {} keys into {}.", run.size(), sstFile);
+    sstFiles.add(sstFile.getAbsolutePath());
+    run.clear();
+    runSize = 0;
+  }
+}
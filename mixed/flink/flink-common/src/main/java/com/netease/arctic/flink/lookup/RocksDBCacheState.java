@@ -78,7 +78,8 @@ public abstract class RocksDBCacheState<V> {
   private List<Future<?>> writeRocksDBThreadFutures;
   private final AtomicReference<Throwable> writingThreadException = new AtomicReference<>();
   protected final MetricGroup metricGroup;
-  private final LookupOptions lookupOptions;
+  protected final LookupOptions lookupOptions;
+  private RocksDBBulkLoader bulkLoader;
 
   public RocksDBCacheState(
       RocksDBBackend rocksDB,
@@ -113,6 +114,14 @@ public abstract class RocksDBCacheState<V> {
     addGauge(columnFamilyName + "_queue_size", () -> lookupRecordsQueue.size());
 
     lookupRecordsQueue = new ConcurrentLinkedQueue<>();
+    if (lookupOptions.bulkLoadEnabled() && !secondaryIndexMemoryMapEnabled) {
+      // the initial records are sorted into SST files by the loading thread, no writing threads
+      bulkLoader =
+          new RocksDBBulkLoader(
+              rocksDB, columnFamilyName, columnFamilyHandle, lookupOptions.bulkLoadBufferSize());
+      writeRocksDBThreadFutures = Collections.emptyList();
+      return;
+    }
     writeRocksDBThreadFutures =
         IntStream.range(0, writeRocksDBThreadNum)
             .mapToObj(
@@ -152,11 +161,32 @@ public abstract class RocksDBCacheState<V> {
 
   protected void putIntoQueue(LookupRecord lookupRecord) {
     Preconditions.checkNotNull(lookupRecord);
+    if (bulkLoader != null) {
+      switch (lookupRecord.opType()) {
+        case PUT_BYTES:
+          bulkLoader.put(lookupRecord.keyBytes(), lookupRecord.valueBytes());
+          break;
+        case DELETE_BYTES:
+          bulkLoader.delete(lookupRecord.keyBytes());
+          break;
+        default:
+          throw new IllegalArgumentException(
+              String.format("Not support this OpType %s", lookupRecord.opType()));
+      }
+      return;
+    }
     lookupRecordsQueue.add(lookupRecord);
   }
 
-  /** Waiting for the writing threads completed. */
+  /**
+   * Waiting for the writing threads completed. If the bulk load is enabled, the sorted SST files
+   * are ingested instead.
+   */
   public void waitWriteRocksDBDone() {
+    if (bulkLoader != null) {
+      bulkLoader.ingest();
+      bulkLoader = null;
+    }
     long every5SecondsPrint = Long.MIN_VALUE;
 
     while (true) {
@@ -27,6 +27,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 /** A class used to store the state of a lookup record. For {@link UniqueIndexTable}. */
@@ -91,6 +93,42 @@ public class RocksDBRecordState extends RocksDBCacheState<byte[]> {
     return Optional.ofNullable(deserializeValue(recordBytes));
   }
 
+  /**
+   * Retrieve the RowData of a batch of keys, the keys missing in guava cache are fetched from the
+   * rocksDB with one multiGet call.
+   *
+   * @param keysBytes the serialized keys.
+   * @return the records in the order of the keys, null if the key is not found.
+   */
+  public List<RowData> multiGet(List<byte[]> keysBytes) throws IOException {
+    byte[][] recordsBytes = new byte[keysBytes.size()][];
+    List<Integer> missingIndexes = new ArrayList<>();
+    List<byte[]> missingKeys = new ArrayList<>();
+    for (int i = 0; i < keysBytes.size(); i++) {
+      recordsBytes[i] = guavaCache.getIfPresent(wrap(keysBytes.get(i)));
+      if (recordsBytes[i] == null) {
+        missingIndexes.add(i);
+        missingKeys.add(keysBytes.get(i));
+      }
+    }
+    if (!missingKeys.isEmpty()) {
+      List<byte[]> values = rocksDB.multiGet(columnFamilyHandle, missingKeys);
+      for (int i = 0; i < values.size(); i++) {
+        byte[] recordBytes = values.get(i);
+        if (recordBytes != null) {
+          int index = missingIndexes.get(i);
+          recordsBytes[index] = recordBytes;
+          guavaCache.put(wrap(keysBytes.get(index)), recordBytes);
+        }
+      }
+    }
+    List<RowData> records = new ArrayList<>(recordsBytes.length);
+    for (byte[] recordBytes : recordsBytes) {
+      records.add(deserializeValue(recordBytes));
+    }
+    return records;
+  }
+
   /**
    * Putting the serialized RowData key and value into the rocksDB and cache.
    *
@@ -208,10 +208,19 @@ public class RocksDBSetSpilledState extends RocksDBCacheState<Set<ByteArrayWrapp
     int[] count = {0};
     long start = System.currentTimeMillis();
 
+    RocksDBBulkLoader bulkLoader =
+        lookupOptions.bulkLoadEnabled()
+            ? new RocksDBBulkLoader(
+                rocksDB, columnFamilyName, columnFamilyHandle, lookupOptions.bulkLoadBufferSize())
+            : null;
     tmpInitializationMap.forEach(
         (byteArrayWrapper, set) -> {
-          rocksDB.put(
-              columnFamilyHandle, byteArrayWrapper.bytes, ByteArraySetSerializer.serialize(set));
+          byte[] value = ByteArraySetSerializer.serialize(set);
+          if (bulkLoader != null) {
+            bulkLoader.put(byteArrayWrapper.bytes, value);
+          } else {
+            rocksDB.put(columnFamilyHandle, byteArrayWrapper.bytes, value);
+          }
           set = null;
           count[0] = count[0] + 1;
           if (count[0] % 100000 == 0) {
@@ -219,6 +228,9 @@ public class RocksDBSetSpilledState extends RocksDBCacheState<Set<ByteArrayWrapp
           }
         });
     tmpInitializationMap.clear();
+    if (bulkLoader != null) {
+      bulkLoader.ingest();
+    }
 
     LOG.info("Ingested {} completely, cost:{} ms.", count, System.currentTimeMillis() - start);
   }
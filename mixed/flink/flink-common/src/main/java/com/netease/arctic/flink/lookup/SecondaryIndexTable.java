@@ -99,6 +99,31 @@ public class SecondaryIndexTable extends UniqueIndexTable {
     return Collections.emptyList();
   }
 
+  @Override
+  public List<List<RowData>> getAll(List<RowData> keys) throws IOException {
+    List<List<ByteArrayWrapper>> uniqueKeysOfKeys = new ArrayList<>(keys.size());
+    List<byte[]> uniqueKeysBytes = new ArrayList<>();
+    for (RowData key : keys) {
+      List<ByteArrayWrapper> uniqueKeys = new ArrayList<>(setState.get(key));
+      uniqueKeysOfKeys.add(uniqueKeys);
+      uniqueKeys.forEach(uniqueKey -> uniqueKeysBytes.add(uniqueKey.bytes));
+    }
+    // read the records of all the keys with one batch
+    Iterator<RowData> records = recordState.multiGet(uniqueKeysBytes).iterator();
+    List<List<RowData>> results = new ArrayList<>(keys.size());
+    for (List<ByteArrayWrapper> uniqueKeys : uniqueKeysOfKeys) {
+      List<RowData> result = new ArrayList<>(uniqueKeys.size());
+      for (int i = 0; i < uniqueKeys.size(); i++) {
+        RowData record = records.next();
+        if (record != null) {
+          result.add(record);
+        }
+      }
+      results.add(result);
+    }
+    return results;
+  }
+
   @Override
   public void upsert(Iterator<RowData> dataStream) throws IOException {
     while (dataStream.hasNext()) {
@@ -18,6 +18,7 @@
 
 package com.netease.arctic.flink.table;
 
+import com.netease.arctic.flink.lookup.ArcticRowDataAsyncLookupFunction;
 import com.netease.arctic.flink.lookup.ArcticRowDataLookupFunction;
 import com.netease.arctic.flink.lookup.KVTableFactory;
 import com.netease.arctic.flink.lookup.filter.RowDataPredicate;
@@ -25,6 +26,7 @@ import com.netease.arctic.flink.lookup.filter.RowDataPredicateExpressionVisitor;
 import com.netease.arctic.flink.read.hybrid.reader.DataIteratorReaderFunction;
 import com.netease.arctic.flink.read.hybrid.reader.RowDataReaderFunction;
 import com.netease.arctic.flink.read.source.FlinkArcticMORDataReader;
+import com.netease.arctic.flink.table.descriptors.ArcticValidator;
 import com.netease.arctic.flink.util.FilterUtil;
 import com.netease.arctic.flink.util.IcebergAndFlinkFilters;
 import com.netease.arctic.hive.io.reader.AbstractAdaptHiveKeyedDataReader;
@@ -42,10 +44,12 @@ import org.apache.flink.table.connector.source.abilities.SupportsFilterPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsLimitPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsProjectionPushDown;
 import org.apache.flink.table.connector.source.abilities.SupportsWatermarkPushDown;
+import org.apache.flink.table.connector.source.lookup.AsyncLookupFunctionProvider;
 import org.apache.flink.table.connector.source.lookup.LookupFunctionProvider;
 import org.apache.flink.table.data.RowData;
 import org.apache.flink.table.expressions.CallExpression;
 import org.apache.flink.table.expressions.ResolvedExpression;
+import org.apache.flink.table.functions.AsyncLookupFunction;
 import org.apache.flink.table.functions.BuiltInFunctionDefinitions;
 import org.apache.flink.table.functions.FunctionIdentifier;
 import org.apache.flink.table.functions.LookupFunction;
@@ -247,6 +251,9 @@ public class ArcticDynamicSource
       joinKeys[i] = context.getKeys()[i][0];
     }
 
+    if (lookupConfiguration().get(ArcticValidator.LOOKUP_ASYNC)) {
+      return AsyncLookupFunctionProvider.of(getAsyncLookupFunction(joinKeys));
+    }
     return LookupFunctionProvider.of(getLookupFunction(joinKeys));
   }
 
@@ -255,9 +262,6 @@ public class ArcticDynamicSource
 
     List<String> joinKeyNames = getJoinKeyNames(joinKeys, projectedSchema);
 
-    Configuration config = new Configuration();
-    properties.forEach(config::setString);
-
     Optional<RowDataPredicate> rowDataPredicate =
         generatePredicate(projectedSchema, flinkExpression);
 
@@ -273,12 +277,44 @@ public class ArcticDynamicSource
         projectedSchema,
         filters,
         tableLoader,
-        config,
+        lookupConfiguration(),
         rowDataPredicate.orElse(null),
         flinkArcticMORDataReader,
         readerFunction);
   }
 
+  protected AsyncLookupFunction getAsyncLookupFunction(int[] joinKeys) {
+    Schema projectedSchema = getProjectedSchema();
+
+    List<String> joinKeyNames = getJoinKeyNames(joinKeys, projectedSchema);
+
+    Optional<RowDataPredicate> rowDataPredicate =
+        generatePredicate(projectedSchema, flinkExpression);
+
+    AbstractAdaptHiveKeyedDataReader<RowData> flinkArcticMORDataReader =
+        generateMORReader(arcticTable, projectedSchema);
+    DataIteratorReaderFunction<RowData> readerFunction =
+        generateReaderFunction(arcticTable, projectedSchema);
+
+    return new ArcticRowDataAsyncLookupFunction(
+        KVTableFactory.INSTANCE,
+        arcticTable,
+        joinKeyNames,
+        projectedSchema,
+        filters,
+        tableLoader,
+        lookupConfiguration(),
+        rowDataPredicate.orElse(null),
+        flinkArcticMORDataReader,
+        readerFunction);
+  }
+
+  private Configuration lookupConfiguration() {
+    Configuration config = new Configuration();
+    properties.forEach(config::setString);
+    return config;
+  }
+
   protected DataIteratorReaderFunction<RowData> generateReaderFunction(
       ArcticTable arcticTable, Schema projectedSchema) {
     return new RowDataReaderFunction(
@@ -22,12 +22,18 @@ import static com.netease.arctic.flink.FlinkSchemaUtil.getPhysicalSchema;
 import static com.netease.arctic.flink.FlinkSchemaUtil.getPhysicalSchemaForDimTable;
 import static com.netease.arctic.flink.catalog.factories.ArcticCatalogFactoryOptions.METASTORE_URL;
 import static com.netease.arctic.flink.table.KafkaConnectorOptionsUtil.getKafkaProperties;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_MAX_BATCH_SIZE;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_ASYNC_THREAD_NUMBER;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_MAX_ROWS;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_SHARED;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_CACHE_TTL_AFTER_WRITE;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.LOOKUP_RELOADING_INTERVAL;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ROCKSDB_AUTO_COMPACTIONS;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ROCKSDB_BLOCK_CACHE_CAPACITY;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ROCKSDB_BLOCK_CACHE_NUM_SHARD_BITS;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ROCKSDB_BULK_LOAD_BUFFER_SIZE;
+import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ROCKSDB_BULK_LOAD_ENABLED;
 import static com.netease.arctic.flink.table.descriptors.ArcticValidator.ROCKSDB_WRITING_THREADS;
 import static com.netease.arctic.table.TableProperties.ENABLE_LOG_STORE;
 import static com.netease.arctic.table.TableProperties.ENABLE_LOG_STORE_DEFAULT;
@@ -239,11 +245,17 @@ public class DynamicTableFactory implements DynamicTableSourceFactory, DynamicTa
     options.add(LOOKUP_CACHE_MAX_ROWS);
     options.add(LOOKUP_RELOADING_INTERVAL);
     options.add(LOOKUP_CACHE_TTL_AFTER_WRITE);
+    options.add(LOOKUP_ASYNC);
+    options.add(LOOKUP_ASYNC_THREAD_NUMBER);
+    options.add(LOOKUP_ASYNC_MAX_BATCH_SIZE);
+    options.add(LOOKUP_CACHE_SHARED);
 
     options.add(ROCKSDB_AUTO_COMPACTIONS);
     options.add(ROCKSDB_WRITING_THREADS);
     options.add(ROCKSDB_BLOCK_CACHE_CAPACITY);
     options.add(ROCKSDB_BLOCK_CACHE_NUM_SHARD_BITS);
+    options.add(ROCKSDB_BULK_LOAD_ENABLED);
+    options.add(ROCKSDB_BULK_LOAD_BUFFER_SIZE);
     return options;
   }
 
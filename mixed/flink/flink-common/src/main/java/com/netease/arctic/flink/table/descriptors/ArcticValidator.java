@@ -245,6 +245,36 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
               "Configuration option for specifying the interval in seconds to reload lookup data in RocksDB."
                   + "\nThe default value is 10 seconds.");
 
+  public static final ConfigOption<Boolean> LOOKUP_CACHE_SHARED =
+      ConfigOptions.key("lookup.cache.shared")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Share the loaded lookup table by the parallel lookup subtasks in the same TaskManager,"
+                  + " if they look up the same table with the same projection, filters and options."
+                  + "\nThe table is loaded and reloaded once in the TaskManager, instead of once per subtask.");
+
+  public static final ConfigOption<Boolean> LOOKUP_ASYNC =
+      ConfigOptions.key("lookup.async")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Whether to serve the lookups asynchronously by dedicated threads."
+                  + "\nThe output mode of the async lookup join is decided by "
+                  + "'table.exec.async-lookup.output-mode'.");
+
+  public static final ConfigOption<Integer> LOOKUP_ASYNC_THREAD_NUMBER =
+      ConfigOptions.key("lookup.async.thread-number")
+          .intType()
+          .defaultValue(2)
+          .withDescription("The number of threads serving the async lookups.");
+
+  public static final ConfigOption<Integer> LOOKUP_ASYNC_MAX_BATCH_SIZE =
+      ConfigOptions.key("lookup.async.max-batch-size")
+          .intType()
+          .defaultValue(128)
+          .withDescription("The maximum number of async lookups read from RocksDB with one batch.");
+
   public static final ConfigOption<Boolean> ROCKSDB_AUTO_COMPACTIONS =
       ConfigOptions.key("rocksdb.auto-compactions")
           .booleanType()
@@ -276,6 +306,23 @@ public class ArcticValidator extends ConnectorDescriptorValidator {
                   + " of the key. Default is -1, means it is automatically determined: every shard will be at least 512KB and"
                   + " number of shard bits will not exceed 6.");
 
+  public static final ConfigOption<Boolean> ROCKSDB_BULK_LOAD_ENABLED =
+      ConfigOptions.key("rocksdb.bulk-load.enabled")
+          .booleanType()
+          .defaultValue(false)
+          .withDescription(
+              "Load the initial records by sorting them into local SST files and ingesting the files"
+                  + " into rocksDB, instead of writing the records one by one. Not supported with the TTL."
+                  + "\nThe incremental records are written after the ingestion completed.");
+
+  public static final ConfigOption<Long> ROCKSDB_BULK_LOAD_BUFFER_SIZE =
+      ConfigOptions.key("rocksdb.bulk-load.buffer-size")
+          .longType()
+          .defaultValue(64 * 1024 * 1024L)
+          .withDescription(
+              "The max size of the records sorted in memory before they are written into a SST"
+                  + " file during the bulk load. Default is 64MB.");
+
   public static final ConfigOption<TableFormat> TABLE_FORMAT =
       ConfigOptions.key("table.format")
           .enumType(TableFormat.class)
@@ -31,6 +31,8 @@ public class LookupUtil {
         .ttlAfterWrite(config.get(ArcticValidator.LOOKUP_CACHE_TTL_AFTER_WRITE))
         .blockCacheCapacity(config.get(ArcticValidator.ROCKSDB_BLOCK_CACHE_CAPACITY))
         .blockCacheNumShardBits(config.get(ArcticValidator.ROCKSDB_BLOCK_CACHE_NUM_SHARD_BITS))
+        .bulkLoadEnabled(config.get(ArcticValidator.ROCKSDB_BULK_LOAD_ENABLED))
+        .bulkLoadBufferSize(config.get(ArcticValidator.ROCKSDB_BULK_LOAD_BUFFER_SIZE))
         .build();
   }
 }
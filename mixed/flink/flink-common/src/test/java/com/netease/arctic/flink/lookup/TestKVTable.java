@@ -212,6 +212,48 @@ public class TestKVTable extends TestRowDataPredicateBase {
     }
   }
 
+  @Test
+  public void testBulkLoadUniqueKeyTable() throws IOException {
+    config.set(ArcticValidator.ROCKSDB_BULK_LOAD_ENABLED, true);
+    // a tiny buffer writes every record into its own SST file
+    config.set(ArcticValidator.ROCKSDB_BULK_LOAD_BUFFER_SIZE, 1L);
+    List<String> joinKeys = Lists.newArrayList("id", "grade");
+    try (UniqueIndexTable uniqueIndexTable = (UniqueIndexTable) createTable(joinKeys)) {
+      uniqueIndexTable.open();
+
+      initTable(
+          uniqueIndexTable,
+          upsertStream(
+              row(RowKind.INSERT, 1, "1", 1),
+              row(RowKind.INSERT, 2, "2", 2),
+              row(RowKind.DELETE, 1, "1", 1),
+              row(RowKind.UPDATE_BEFORE, 2, "2", 2),
+              row(RowKind.UPDATE_AFTER, 2, "2", 3)));
+
+      if (!uniqueIndexTable.initialized()) {
+        uniqueIndexTable.waitInitializationCompleted();
+      }
+
+      assertTable(uniqueIndexTable, row(1, "1"), null, row(2, "2"), row(2, "2", 3));
+
+      upsertTable(
+          uniqueIndexTable,
+          upsertStream(row(RowKind.INSERT, 1, "1", 4), row(RowKind.DELETE, 2, "2", 3)));
+
+      assertTable(uniqueIndexTable, row(1, "1"), row(1, "1", 4), row(2, "2"), null);
+    }
+  }
+
+  @Test
+  public void testBulkLoadSecondaryKeyTable() throws IOException {
+    config.set(ArcticValidator.ROCKSDB_BULK_LOAD_ENABLED, true);
+    config.set(ArcticValidator.ROCKSDB_BULK_LOAD_BUFFER_SIZE, 1L);
+    List<String> joinKeys = Lists.newArrayList("id");
+    try (SecondaryIndexTable secondaryIndexTable = (SecondaryIndexTable) createTable(joinKeys)) {
+      writeAndAssert(secondaryIndexTable);
+    }
+  }
+
   @Test
   public void testSecondaryKeysMapping() throws IOException {
     // primary keys are id and grade.
@@ -494,26 +536,38 @@ public class TestKVTable extends TestRowDataPredicateBase {
   }
 
   private void assertTable(KVTable<RowData> table, RowData... rows) throws IOException {
+    List<RowData> keys = new ArrayList<>();
     // Loop through the rows array in steps of 2
     for (int i = 0; i < rows.length; i = i + 2) {
       // Get the key and expected value at the current index and the next index
       RowData key = rows[i], expected = rows[i + 1];
+      keys.add(key);
+      assertValues(expected, table.get(key));
+    }
 
-      List<RowData> values = table.get(key);
-      Assert.assertNotNull(values);
-      if (expected == null) {
-        Assert.assertEquals(0, values.size());
-        continue;
-      }
-      Assert.assertEquals(expected.toString(), 1, values.size());
-      RowData actual = values.get(0);
-      assertRecord(expected, actual);
+    // the batched lookup returns the same results
+    List<List<RowData>> results = table.getAll(keys);
+    Assert.assertEquals(keys.size(), results.size());
+    for (int i = 0; i < results.size(); i++) {
+      assertValues(rows[2 * i + 1], results.get(i));
+    }
+  }
+
+  private void assertValues(RowData expected, List<RowData> values) {
+    Assert.assertNotNull(values);
+    if (expected == null) {
+      Assert.assertEquals(0, values.size());
+      return;
     }
+    Assert.assertEquals(expected.toString(), 1, values.size());
+    RowData actual = values.get(0);
+    assertRecord(expected, actual);
   }
 
   private void assertTableSet(KVTable<RowData> table, RowData key, RowData... expects)
       throws IOException {
     List<RowData> values = table.get(key);
+    Assert.assertEquals(values.size(), table.getAll(Collections.singletonList(key)).get(0).size());
     if (expects == null) {
       Assert.assertEquals(0, values.size());
       return;
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.netease.arctic.flink.lookup;
+
+import org.apache.flink.util.FlinkRuntimeException;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestKVTableRegistry {
+
+  @Test
+  public void testAcquireAndRelease() {
+    String key = "testAcquireAndRelease";
+    AtomicInteger loadCount = new AtomicInteger();
+    BasicLookupFunction<Object> function = mockFunction();
+
+    BasicLookupFunction<Object> first =
+        KVTableRegistry.acquire(key, () -> countLoad(loadCount, function));
+    BasicLookupFunction<Object> second =
+        KVTableRegistry.acquire(key, () -> countLoad(loadCount, mockFunction()));
+    Assert.assertSame(function, first);
+    Assert.assertSame(function, second);
+    Assert.assertEquals(1, loadCount.get());
+
+    // the function is returned to be closed when the last reference is released
+    Assert.assertNull(KVTableRegistry.release(key));
+    Assert.assertSame(function, KVTableRegistry.release(key));
+    Assert.assertEquals(0, KVTableRegistry.refCount(key));
+    Assert.assertThrows(IllegalStateException.class, () -> KVTableRegistry.release(key));
+
+    // a released table is loaded again
+    BasicLookupFunction<Object> reloaded = mockFunction();
+    Assert.assertSame(reloaded, KVTableRegistry.acquire(key, () -> countLoad(loadCount, reloaded)));
+    Assert.assertEquals(2, loadCount.get());
+    Assert.assertSame(reloaded, KVTableRegistry.release(key));
+  }
+
+  @Test
+  public void testLoadFailure() throws Exception {
+    String key = "testLoadFailure";
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch failing = new CountDownLatch(1);
+    CompletableFuture<BasicLookupFunction<Object>> loader =
+        CompletableFuture.supplyAsync(
+            () ->
+                KVTableRegistry.acquire(
+                    key,
+                    () -> {
+                      loading.countDown();
+                      await(failing);
+                      throw new IllegalStateException("load error");
+                    }));
+    Assert.assertTrue(loading.await(10, TimeUnit.SECONDS));
+    CompletableFuture<BasicLookupFunction<Object>> waiter =
+        CompletableFuture.supplyAsync(
+            () -> KVTableRegistry.acquire(key, TestKVTableRegistry::mockFunction));
+    while (KVTableRegistry.refCount(key) < 2) {
+      Thread.sleep(10);
+    }
+    failing.countDown();
+
+    // the loader gets the failure, and the waiter gets it wrapped
+    ExecutionException loaderError =
+        Assert.assertThrows(ExecutionException.class, () -> loader.get(10, TimeUnit.SECONDS));
+    Assert.assertTrue(loaderError.getCause() instanceof IllegalStateException);
+    ExecutionException waiterError =
+        Assert.assertThrows(ExecutionException.class, () -> waiter.get(10, TimeUnit.SECONDS));
+    Assert.assertTrue(waiterError.getCause() instanceof FlinkRuntimeException);
+    Assert.assertEquals(0, KVTableRegistry.refCount(key));
+
+    // the failed table is loaded again by the next acquirer
+    BasicLookupFunction<Object> function = mockFunction();
+    Assert.assertSame(function, KVTableRegistry.acquire(key, () -> function));
+    Assert.assertSame(function, KVTableRegistry.release(key));
+  }
+
+  private static BasicLookupFunction<Object> countLoad(
+      AtomicInteger loadCount, BasicLookupFunction<Object> function) {
+    loadCount.incrementAndGet();
+    return function;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static BasicLookupFunction<Object> mockFunction() {
+    return Mockito.mock(BasicLookupFunction.class);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -89,11 +89,20 @@ public class LookupITCase extends CatalogITCaseBase implements FlinkTaskWriterBa
 
   @Test()
   public void testLookup() throws Exception {
+    assertLookup("");
+  }
+
+  @Test()
+  public void testSharedLookup() throws Exception {
+    assertLookup("/*+ OPTIONS('lookup.cache.shared'='true') */");
+  }
+
+  private void assertLookup(String dimHint) throws Exception {
     TableResult tableResult =
         exec(
-            "select L.id, D.name from vi L LEFT JOIN arctic.%s.DIM "
+            "select L.id, D.name from vi L LEFT JOIN arctic.%s.DIM %s "
                 + "for system_time as of L.proc AS D ON L.id = D.id",
-            db);
+            db, dimHint);
 
     tableResult.await(1, TimeUnit.MINUTES); // wait for the first row.
 